@@ -0,0 +1,216 @@
+/*
+ * MappedFileMatrix.java   Oct 18, 2026
+ */
+
+package com.dtw;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+
+
+// A cost matrix kept in a memory-mapped temporary file instead of the Java heap.  The cells of each column are stored
+//    contiguously at offsets computed from the search window, the same layout as a MemoryResidentMatrix.  The 2
+//    columns being filled are kept in memory and a column is copied into the mapped file in one bulk write once the
+//    matrix moves past it, so the file is written sequentially.  The swap file is created in the directory named by
+//    the "com.dtw.swapdir" system property (the default temporary directory if it is not set) and is deleted as soon
+//    as it is mapped where the operating system allows it, otherwise by freeMem() or on exit.
+class MappedFileMatrix implements CostMatrix
+{
+   // CONSTANTS
+   private static final double OUT_OF_WINDOW_VALUE = Double.POSITIVE_INFINITY;
+   static final String SWAP_DIR_PROPERTY = "com.dtw.swapdir";
+   private static final int SEGMENT_SHIFT = 27;   // 2^27 doubles (1 GB) per mapped segment
+   private static final long SEGMENT_MASK = (1L<<SEGMENT_SHIFT)-1;
+
+
+
+   // PRIVATE DATA
+   private final SearchWindow window;
+   private final long[] colOffsets;
+
+   // Private data needed to store the last 2 colums of the matrix.
+   private double[] lastCol;
+   private double[] currCol;
+   private int currColIndex;
+   private int minLastRow;
+   private int minCurrRow;
+
+   // Private data needed to read values from the swap file.
+   private final File swapFile;
+   private DoubleBuffer[] segments;
+
+
+
+   // CONSTRUCTOR
+   MappedFileMatrix(SearchWindow searchWindow)
+   {
+      window = searchWindow;
+      colOffsets = new long[window.maxI()+1];
+
+      // Fill in the offset matrix
+      long currentOffset = 0;
+      for (int i=window.minI(); i<=window.maxI(); i++)
+      {
+         colOffsets[i] = currentOffset;
+         currentOffset += window.maxJforI(i)-window.minJforI(i)+1;
+      }
+
+      if (window.maxI() > 0)
+      {
+         currCol = new double[window.maxJforI(1)-window.minJforI(1)+1];
+         currColIndex = 1;
+         minLastRow = window.minJforI(currColIndex-1);
+      }
+      else   // special case for a <=1 point time series, less than 2 columns to fill in
+         currColIndex = 0;
+
+      minCurrRow = window.minJforI(currColIndex);
+      lastCol = new double[window.maxJforI(0)-window.minJforI(0)+1];
+
+      // Map the whole window, one segment at a time.
+      final String swapDir = System.getProperty(SWAP_DIR_PROPERTY);
+      File file = null;
+      RandomAccessFile cellValuesFile = null;
+      try
+      {
+         file = File.createTempFile("fastdtw", ".swap", swapDir==null ? null : new File(swapDir));
+         file.deleteOnExit();
+         cellValuesFile = new RandomAccessFile(file, "rw");
+         cellValuesFile.setLength(8*currentOffset);
+
+         final FileChannel channel = cellValuesFile.getChannel();
+         segments = new DoubleBuffer[(int)((currentOffset+SEGMENT_MASK)>>>SEGMENT_SHIFT)];
+         for (int s=0; s<segments.length; s++)
+         {
+            final long start = (long)s<<SEGMENT_SHIFT;
+            final long length = Math.min(SEGMENT_MASK+1, currentOffset-start);
+            segments[s] = channel.map(FileChannel.MapMode.READ_WRITE, 8*start, 8*length)
+                                 .order(ByteOrder.nativeOrder()).asDoubleBuffer();
+         }
+      }
+      catch (IOException e)
+      {
+         segments = null;
+         if (file != null)
+            file.delete();
+         throw new InternalError("ERROR:  Unable to create swap file in " +
+                                 (swapDir==null ? System.getProperty("java.io.tmpdir") : swapDir) + ": " + e);
+      }
+      finally
+      {
+         // The mappings stay valid after the file is closed.
+         try
+         {
+            if (cellValuesFile != null)
+               cellValuesFile.close();
+         }
+         catch (IOException e)
+         {
+            // ignore the exception
+         }  // end try
+      }  // end try
+
+      // A mapped file can be unlinked at once on most systems, then nothing is left behind even if the JVM crashes.
+      swapFile = file;
+      swapFile.delete();
+   }  // end Constructor
+
+
+
+   // PUBLIC FUNCTIONS
+   public void put(int col, int row, double value)
+   {
+      if ( (row<window.minJforI(col)) || (row>window.maxJforI(col)) )
+      {
+         throw new InternalError("CostMatrix is filled in a cell (col=" + col + ", row=" + row + ") that is not in the " +
+                                  "search window");
+      }
+      else
+      {
+         if (col == currColIndex)
+            currCol[row-minCurrRow] = value;
+         else if (col == currColIndex-1)
+         {
+            lastCol[row-minLastRow] = value;
+         }
+         else if (col == currColIndex+1)
+         {
+            // Write the last column to the swap file.
+            if (segments == null)
+               throw new InternalError("The MappedFileMatrix has been freed by the freeMem() method");
+            else
+               writeColumn(colOffsets[currColIndex-1], lastCol);
+
+            lastCol = currCol;
+            minLastRow = minCurrRow;
+            minCurrRow = window.minJforI(col);
+            currColIndex++;
+            currCol = new double[window.maxJforI(col)-window.minJforI(col)+1];
+            currCol[row-minCurrRow] = value;
+         }
+         else
+            throw new InternalError("A MappedFileMatrix can only fill in 2 adjacent columns at a time");
+      }  // end if
+   }  // end put(...)
+
+
+   public double get(int col, int row)
+   {
+      if ((row<window.minJforI(col)) || (row>window.maxJforI(col)))
+         return OUT_OF_WINDOW_VALUE;
+      else if (col == currColIndex)
+         return currCol[row-minCurrRow];
+      else if (col == currColIndex-1)
+         return lastCol[row-minLastRow];
+      else if (col > currColIndex)
+         throw new InternalError("The requested value is in the search window but has not been entered into " +
+                                 "the matrix: (col=" + col + "row=" + row + ").");
+      else if (segments == null)
+         throw new InternalError("The MappedFileMatrix has been freed by the freeMem() method");
+      else
+      {
+         final long cell = colOffsets[col]+row-window.minJforI(col);
+         return segments[(int)(cell>>>SEGMENT_SHIFT)].get((int)(cell&SEGMENT_MASK));
+      }  // end if
+   }  // end get(..)
+
+
+   public int size()
+   {
+      return window.size();
+   }
+
+
+   // Releases the mapped segments and deletes the swap file if it could not be deleted when it was mapped.  The
+   //    mapped memory itself is returned to the system once the segments are garbage collected.
+   public void freeMem()
+   {
+      segments = null;
+      if (swapFile.exists() && !swapFile.delete())
+         System.err.println("unable to delete swap file '" + swapFile.getPath() + "'");
+   }  // end freeMem
+
+
+
+   // PRIVATE FUNCTIONS
+   // Copies a whole column into the mapped segments, split where it crosses a segment boundary.
+   private void writeColumn(long offset, double[] column)
+   {
+      int written = 0;
+      while (written < column.length)
+      {
+         final DoubleBuffer segment = segments[(int)((offset+written)>>>SEGMENT_SHIFT)];
+         final int position = (int)((offset+written)&SEGMENT_MASK);
+         final int length = Math.min(column.length-written, segment.capacity()-position);
+
+         segment.position(position);
+         segment.put(column, written, length);
+         written += length;
+      }  // end while
+   }  // end writeColumn(..)
+
+}  // end class MappedFileMatrix
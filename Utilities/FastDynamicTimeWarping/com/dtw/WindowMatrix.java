@@ -11,6 +11,11 @@ package com.dtw;
 
 class WindowMatrix implements CostMatrix
 {
+   // CONSTANTS
+   private static final double MAX_HEAP_FRACTION = 0.5;   // larger windows go straight to a swap file
+
+
+
    // PRIVATE DATA
    private CostMatrix windowCells;
 
@@ -19,17 +24,27 @@ class WindowMatrix implements CostMatrix
    // CONSTRUCTOR
    WindowMatrix(SearchWindow searchWindow)
    {
-      try
+      // Windows that cannot be held in one array or would take most of the heap are not even tried in memory.
+      long cells = 0;
+      for (int i=searchWindow.minI(); i<=searchWindow.maxI(); i++)
+         cells += searchWindow.maxJforI(i)-searchWindow.minJforI(i)+1;
+
+      if ((cells > Integer.MAX_VALUE) || (cells > MAX_HEAP_FRACTION*Runtime.getRuntime().maxMemory()/8))
+         windowCells = new MappedFileMatrix(searchWindow);
+      else
       {
-         windowCells = new MemoryResidentMatrix(searchWindow);
-      }
-      catch (OutOfMemoryError e)
-      {
-         System.err.println("Ran out of memory initializing window matrix, all cells in the window cannot fit into " +
-                            "main memory.  Will use a swap file instead (will run ~50% slower)");
-         System.gc();
-         windowCells = new SwapFileMatrix(searchWindow);
-      }  // end try
+         try
+         {
+            windowCells = new MemoryResidentMatrix(searchWindow);
+         }
+         catch (OutOfMemoryError e)
+         {
+            System.err.println("Ran out of memory initializing window matrix, all cells in the window cannot fit into " +
+                               "main memory.  Will use a memory-mapped swap file instead");
+            System.gc();
+            windowCells = new MappedFileMatrix(searchWindow);
+         }  // end try
+      }  // end if
    }  // end Constructor
 
 
@@ -55,12 +70,12 @@ class WindowMatrix implements CostMatrix
 
    public void freeMem()
    {
-      // Resources only need to be freed for a SwapFileMatrix.
-      if (windowCells instanceof SwapFileMatrix)
+      // Resources only need to be freed for a MappedFileMatrix.
+      if (windowCells instanceof MappedFileMatrix)
       {
          try
          {
-            ((SwapFileMatrix)windowCells).freeMem();
+            ((MappedFileMatrix)windowCells).freeMem();
          }
          catch (Throwable t)
          {
@@ -0,0 +1,46 @@
+package hierarchicalclustering;
+
+/**
+ * Project: DCDMC
+ * Package: hierarchicalclustering
+ * Date: 18/Oct/2026
+ * Time: 17:25
+ * System Time: 5:25 PM
+ */
+
+/**
+ * Condensed distance matrix backed by a pdist array
+ */
+class CondensedArray implements CondensedDistanceMatrix {
+
+    private final double[] mCondensed; // the upper triangle row by row
+    private final int mSize; // the number of instances
+
+    /**
+     * class constructor
+     * @param condensed the upper triangle row by row, as pdist gives it
+     * @param size the number of instances
+     */
+    CondensedArray(double[] condensed, int size) {
+        if (size < 1 || condensed == null || condensed.length != (long) size * (size - 1) / 2) {
+            throw new IllegalArgumentException("Invalid distance matrix");
+        }
+        this.mCondensed = condensed;
+        this.mSize = size;
+    }
+
+    @Override
+    public int size() {
+        return this.mSize;
+    }
+
+    @Override
+    public double get(long index) {
+        return this.mCondensed[(int) index];
+    }
+
+    @Override
+    public void set(long index, double value) {
+        this.mCondensed[(int) index] = value;
+    }
+}
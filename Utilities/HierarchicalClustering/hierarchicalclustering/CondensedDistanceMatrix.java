@@ -0,0 +1,37 @@
+package hierarchicalclustering;
+
+/**
+ * Project: DCDMC
+ * Package: hierarchicalclustering
+ * Date: 18/Oct/2026
+ * Time: 17:20
+ * System Time: 5:20 PM
+ */
+
+/**
+ * Condensed distance matrix which SLINK and the nearest-neighbor chain read, the upper triangle row by row as pdist
+ * gives it. The pair (i, j) with i < j is at index n * i - i * (i + 1) / 2 + j - i - 1. Indices are long, so the
+ * values may live outside the Java heap and beyond the length of an array
+ */
+public interface CondensedDistanceMatrix {
+
+    /**
+     * The number of instances
+     * @return the number of instances
+     */
+    public int size();
+
+    /**
+     * Get a value by its condensed index
+     * @param index condensed index
+     * @return the distance
+     */
+    public double get(long index);
+
+    /**
+     * Set a value by its condensed index, only the nearest-neighbor chain writes
+     * @param index condensed index
+     * @param value the distance
+     */
+    public void set(long index, double value);
+}
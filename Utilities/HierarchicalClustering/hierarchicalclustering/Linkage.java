@@ -0,0 +1,208 @@
+package hierarchicalclustering;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Project: DCDMC
+ * Package: hierarchicalclustering
+ * Date: 17/Oct/2026
+ * Time: 23:55
+ * System Time: 11:55 PM
+ */
+
+/*
+    Compact result of an agglomerative clustering, the linkage array of scipy.cluster.hierarchy.
+
+    Leaves are numbered 0 .. n - 1 and the cluster made by merge k is numbered n + k. Merge k joins clusters
+    getLeft(k) < getRight(k) at getHeight(k) into a cluster of getCount(k) leaves, and merges are sorted by height,
+    ties kept in the order the algorithm made them. Four arrays of n - 1 primitives replace the Cluster objects of
+    HierarchyBuilder; toCluster builds the Cluster tree when one is needed, e.g. for DendrogramPanel.
+ */
+public class Linkage {
+
+    private final int mSize; // the number of leaves
+    private final int[] mLeft; // the smaller cluster of each merge
+    private final int[] mRight; // the larger cluster of each merge
+    private final double[] mHeights; // linkage distance of each merge
+    private final int[] mCounts; // the number of leaves of each merged cluster
+
+    /**
+     * class constructor
+     * @param size the number of leaves
+     * @param left the smaller cluster of each merge
+     * @param right the larger cluster of each merge
+     * @param heights linkage distance of each merge
+     * @param counts the number of leaves of each merged cluster
+     */
+    private Linkage(int size, int[] left, int[] right, double[] heights, int[] counts) {
+        this.mSize = size;
+        this.mLeft = left;
+        this.mRight = right;
+        this.mHeights = heights;
+        this.mCounts = counts;
+    }
+
+    /**
+     * Build a linkage from the merges in the order an algorithm made them, each merge naming its two clusters by
+     * any leaf of them
+     * @param size the number of leaves
+     * @param leaves1 a leaf of the first cluster of each merge
+     * @param leaves2 a leaf of the second cluster of each merge
+     * @param heights linkage distance of each merge
+     * @param keys sort key of each merge, not smaller than the keys of the merges which made its clusters
+     * @return the linkage, merges sorted by key and clusters numbered as scipy does
+     */
+    static Linkage fromMerges(int size, int[] leaves1, int[] leaves2, double[] heights, final double[] keys) {
+        int mergeNum = size - 1;
+
+        // stable sort by key, NaN last
+        Integer[] order = new Integer[mergeNum];
+        for (int k = 0; k < mergeNum; k++) order[k] = k;
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer o1, Integer o2) {
+                return Double.compare(keys[o1], keys[o2]);
+            }
+        });
+
+        // union-find over leaves, labels[root] is the number of its cluster
+        int[] parents = new int[size];
+        int[] labels = new int[size];
+        int[] counts = new int[size];
+        for (int i = 0; i < size; i++) {
+            parents[i] = i;
+            labels[i] = i;
+            counts[i] = 1;
+        }
+
+        int[] left = new int[mergeNum];
+        int[] right = new int[mergeNum];
+        double[] sortedHeights = new double[mergeNum];
+        int[] mergedCounts = new int[mergeNum];
+        for (int k = 0; k < mergeNum; k++) {
+            int merge = order[k];
+            int root1 = find(parents, leaves1[merge]);
+            int root2 = find(parents, leaves2[merge]);
+
+            left[k] = Math.min(labels[root1], labels[root2]);
+            right[k] = Math.max(labels[root1], labels[root2]);
+            sortedHeights[k] = heights[merge];
+            mergedCounts[k] = counts[root1] + counts[root2];
+
+            parents[root2] = root1;
+            labels[root1] = size + k;
+            counts[root1] = mergedCounts[k];
+        }
+
+        return new Linkage(size, left, right, sortedHeights, mergedCounts);
+    }
+
+    /**
+     * Find the root of a leaf, halving the path on the way
+     * @param parents parent of each leaf
+     * @param leaf a leaf
+     * @return the root
+     */
+    private static int find(int[] parents, int leaf) {
+        while (parents[leaf] != leaf) {
+            parents[leaf] = parents[parents[leaf]];
+            leaf = parents[leaf];
+        }
+        return leaf;
+    }
+
+    /**
+     * Getter
+     * @return the number of leaves
+     */
+    public int size() {
+        return this.mSize;
+    }
+
+    /**
+     * Getter
+     * @return the number of merges, size() - 1
+     */
+    public int getMergeNum() {
+        return this.mHeights.length;
+    }
+
+    /**
+     * Getter
+     * @param k a merge
+     * @return the smaller cluster of the merge
+     */
+    public int getLeft(int k) {
+        return this.mLeft[k];
+    }
+
+    /**
+     * Getter
+     * @param k a merge
+     * @return the larger cluster of the merge
+     */
+    public int getRight(int k) {
+        return this.mRight[k];
+    }
+
+    /**
+     * Getter
+     * @param k a merge
+     * @return linkage distance of the merge
+     */
+    public double getHeight(int k) {
+        return this.mHeights[k];
+    }
+
+    /**
+     * Getter
+     * @param k a merge
+     * @return the number of leaves of the merged cluster
+     */
+    public int getCount(int k) {
+        return this.mCounts[k];
+    }
+
+    /**
+     * The linkage as a (n - 1) x 4 matrix, one row {left, right, height, count} per merge, as scipy gives it
+     * @return the linkage matrix
+     */
+    public double[][] toArray() {
+        double[][] linkage = new double[getMergeNum()][];
+        for (int k = 0; k < linkage.length; k++) {
+            linkage[k] = new double[]{this.mLeft[k], this.mRight[k], this.mHeights[k], this.mCounts[k]};
+        }
+        return linkage;
+    }
+
+    /**
+     * Build the Cluster tree of the linkage, weights counting leaves as ClusterPair.agglomerate does
+     * @param clusterNames names of the leaves
+     * @return the root cluster
+     */
+    public Cluster toCluster(String[] clusterNames) {
+        if (clusterNames == null || clusterNames.length != this.mSize) {
+            throw new IllegalArgumentException("Invalid cluster name array");
+        }
+
+        Cluster[] clusters = new Cluster[this.mSize + getMergeNum()];
+        for (int i = 0; i < this.mSize; i++) {
+            clusters[i] = new Cluster(clusterNames[i]);
+        }
+
+        for (int k = 0; k < getMergeNum(); k++) {
+            Cluster left = clusters[this.mLeft[k]];
+            Cluster right = clusters[this.mRight[k]];
+            Cluster cluster = new Cluster("clstr#" + (k + 1));
+            cluster.setDistance(new Distance(this.mHeights[k], left.getWeightValue() + right.getWeightValue()));
+            cluster.addChild(left);
+            cluster.addChild(right);
+            left.setParent(cluster);
+            right.setParent(cluster);
+            clusters[this.mSize + k] = cluster;
+        }
+
+        return clusters[clusters.length - 1];
+    }
+}
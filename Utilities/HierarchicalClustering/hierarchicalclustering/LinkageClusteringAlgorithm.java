@@ -0,0 +1,103 @@
+package hierarchicalclustering;
+
+/**
+ * Project: DCDMC
+ * Package: hierarchicalclustering
+ * Date: 18/Oct/2026
+ * Time: 00:55
+ * System Time: 12:55 AM
+ */
+
+/**
+ * Hierarchical clustering of a pdist-like matrix through a linkage array, SLINK for single linkage and the
+ * nearest-neighbor chain for complete, average and weighted linkage. Takes the same input as
+ * PDistClusteringAlgorithm without a ClusterPair per pair
+ */
+public class LinkageClusteringAlgorithm implements ClusteringAlgorithm {
+
+    /**
+     * Cluster a condensed distance matrix
+     * @param condensed the upper triangle row by row, as pdist gives it; not modified
+     * @param size the number of instances
+     * @param linkageStrategy single, complete, average or weighted linkage
+     * @return the linkage
+     */
+    public static Linkage computeLinkage(double[] condensed, int size, LinkageStrategy linkageStrategy) {
+        return computeLinkage(condensed, size, linkageStrategy, false);
+    }
+
+    /**
+     * Cluster a condensed distance matrix
+     * @param condensed the upper triangle row by row, as pdist gives it
+     * @param size the number of instances
+     * @param linkageStrategy single, complete, average or weighted linkage
+     * @param overwrite true if condensed may be used as working memory, which saves a copy
+     * @return the linkage
+     */
+    public static Linkage computeLinkage(double[] condensed, int size, LinkageStrategy linkageStrategy,
+                                         boolean overwrite) {
+        if (linkageStrategy == null) {
+            throw new IllegalArgumentException("Undefined linkage strategy");
+        }
+        if (linkageStrategy instanceof SingleLinkageStrategy) {
+            return SLINK.cluster(condensed, size);
+        }
+        return NearestNeighborChain.cluster(condensed, size, linkageStrategy, overwrite);
+    }
+
+    /**
+     * Cluster a condensed distance matrix which may be kept outside the Java heap
+     * @param distances condensed distance matrix, single linkage only reads it and the other linkages overwrite it
+     * @param linkageStrategy single, complete, average or weighted linkage
+     * @return the linkage
+     */
+    public static Linkage computeLinkage(CondensedDistanceMatrix distances, LinkageStrategy linkageStrategy) {
+        if (linkageStrategy == null) {
+            throw new IllegalArgumentException("Undefined linkage strategy");
+        }
+        if (linkageStrategy instanceof SingleLinkageStrategy) {
+            return SLINK.cluster(distances);
+        }
+        return NearestNeighborChain.cluster(distances, linkageStrategy);
+    }
+
+    @Override
+    public Cluster performClustering(double[][] distances, String[] clusterNames, LinkageStrategy linkageStrategy) {
+
+        /* Argument checks */
+        if (distances == null || distances.length == 0) {
+            throw new IllegalArgumentException("Invalid distance matrix");
+        }
+        if (clusterNames == null || distances[0].length != (long) clusterNames.length * (clusterNames.length - 1) / 2) {
+            throw new IllegalArgumentException("Invalid cluster name array");
+        }
+
+        return computeLinkage(distances[0], clusterNames.length, linkageStrategy).toCluster(clusterNames);
+    }
+
+    @Override
+    public Cluster performWeightedClustering(double[][] distances, String[] clusterNames,
+                                             double[] weights, LinkageStrategy linkageStrategy) {
+        return performClustering(distances, clusterNames, linkageStrategy);
+    }
+
+    /**
+     * test
+     * @param args user input
+     */
+    public static void main(String[] args) {
+        String[] names = new String[]{"O1", "O2", "O3", "O4", "O5", "O6"};
+        double[][] pdist = new double[][]{{1, 9, 7, 11, 14, 4, 3, 8, 10, 9, 2, 8, 6, 13, 10}};
+
+        LinkageStrategy[] strategies = new LinkageStrategy[]{new SingleLinkageStrategy(),
+                new CompleteLinkageStrategy(), new AverageLinkageStrategy(), new WeightedLinkageStrategy()};
+        for (LinkageStrategy strategy : strategies) {
+            System.out.println(strategy.getClass().getSimpleName());
+            Linkage linkage = computeLinkage(pdist[0], names.length, strategy);
+            for (double[] merge : linkage.toArray()) {
+                System.out.println(merge[0] + " " + merge[1] + " " + merge[2] + " " + merge[3]);
+            }
+            new LinkageClusteringAlgorithm().performClustering(pdist, names, strategy).toConsole(0);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package hierarchicalclustering;
+
+import java.util.Arrays;
+
+/**
+ * Project: DCDMC
+ * Package: hierarchicalclustering
+ * Date: 18/Oct/2026
+ * Time: 00:10
+ * System Time: 12:10 AM
+ */
+
+/*
+    Nearest-neighbor chain clustering on a condensed distance matrix, for the complete, average and weighted linkage
+    strategies.
+
+    The chain follows nearest neighbours from any cluster until two clusters are nearest neighbours of each other,
+    which are merged. The three linkages are reducible (a merged cluster is never closer to a third cluster than the
+    nearer of its parts), so the chain below the merged pair stays valid and the hierarchy is the one of
+    HierarchyBuilder, in O(n^2) time. The distances to a merged cluster are the Lance-Williams updates computed by the
+    LinkageStrategy classes from the distances to its two parts:
+
+        CompleteLinkageStrategy     max(d1, d2)
+        AverageLinkageStrategy      (d1 + d2) / 2
+        WeightedLinkageStrategy     (n1 * d1 + n2 * d2) / (n1 + n2), with n1 and n2 the numbers of leaves
+
+    One working copy of the condensed matrix is the only O(n^2) memory, a merged cluster takes the row of its part
+    with the larger index. The working copy may be kept outside the Java heap by passing a CondensedDistanceMatrix.
+ */
+public class NearestNeighborChain {
+
+    // Lance-Williams updates
+    private static final int COMPLETE = 0;
+    private static final int AVERAGE = 1;
+    private static final int WEIGHTED = 2;
+
+    /**
+     * Cluster a condensed distance matrix
+     * @param condensed the upper triangle row by row, as pdist gives it; not modified
+     * @param size the number of instances
+     * @param linkageStrategy CompleteLinkageStrategy, AverageLinkageStrategy or WeightedLinkageStrategy
+     * @return the linkage
+     */
+    public static Linkage cluster(double[] condensed, int size, LinkageStrategy linkageStrategy) {
+        return cluster(condensed, size, linkageStrategy, false);
+    }
+
+    /**
+     * Cluster a condensed distance matrix
+     * @param condensed the upper triangle row by row, as pdist gives it
+     * @param size the number of instances
+     * @param linkageStrategy CompleteLinkageStrategy, AverageLinkageStrategy or WeightedLinkageStrategy
+     * @param overwrite true to work on condensed itself instead of a copy, for callers which own a copy already
+     * @return the linkage
+     */
+    public static Linkage cluster(double[] condensed, int size, LinkageStrategy linkageStrategy,
+                                  boolean overwrite) {
+        if (size < 1 || condensed == null || condensed.length != (long) size * (size - 1) / 2) {
+            throw new IllegalArgumentException("Invalid distance matrix");
+        }
+
+        double[] distances = overwrite ? condensed : Arrays.copyOf(condensed, condensed.length);
+        return cluster(new CondensedArray(distances, size), linkageStrategy);
+    }
+
+    /**
+     * Cluster a condensed distance matrix in place
+     * @param distances condensed distance matrix, used as working memory and overwritten
+     * @param linkageStrategy CompleteLinkageStrategy, AverageLinkageStrategy or WeightedLinkageStrategy
+     * @return the linkage
+     */
+    public static Linkage cluster(CondensedDistanceMatrix distances, LinkageStrategy linkageStrategy) {
+        int update;
+        if (linkageStrategy instanceof CompleteLinkageStrategy) {
+            update = COMPLETE;
+        } else if (linkageStrategy instanceof AverageLinkageStrategy) {
+            update = AVERAGE;
+        } else if (linkageStrategy instanceof WeightedLinkageStrategy) {
+            update = WEIGHTED;
+        } else {
+            throw new IllegalArgumentException("Unsupported linkage strategy");
+        }
+        if (distances == null || distances.size() < 1) {
+            throw new IllegalArgumentException("Invalid distance matrix");
+        }
+
+        int size = distances.size();
+        int[] counts = new int[size];
+        Arrays.fill(counts, 1);
+        boolean[] merged = new boolean[size]; // rows given up by merged clusters
+        int[] chain = new int[size];
+        int chainLength = 0;
+        int first = 0; // no row before it is active
+
+        int[] leaves1 = new int[Math.max(0, size - 1)];
+        int[] leaves2 = new int[leaves1.length];
+        double[] heights = new double[leaves1.length];
+
+        // rounding may put a merge a little below the merges of its parts, so merges are sorted by the largest
+        // height of the merges in each cluster
+        double[] keys = new double[leaves1.length];
+        double[] floors = new double[size];
+        Arrays.fill(floors, Double.NEGATIVE_INFINITY);
+
+        for (int k = 0; k < size - 1; k++) {
+            if (chainLength == 0) {
+                while (merged[first]) first++;
+                chain[chainLength++] = first;
+            }
+
+            // grow the chain until its last two clusters are nearest neighbours of each other
+            int a;
+            int b;
+            double best;
+            while (true) {
+                a = chain[chainLength - 1];
+                int previous = chainLength > 1 ? chain[chainLength - 2] : -1;
+
+                // the previous cluster wins ties, so the chain cannot cycle
+                b = previous;
+                best = previous < 0 ? Double.POSITIVE_INFINITY : distances.get(index(a, previous, size));
+                for (int x = first; x < size; x++) {
+                    if (x == a || merged[x]) continue;
+                    double distance = distances.get(index(a, x, size));
+                    if (b < 0 || distance < best) {
+                        best = distance;
+                        b = x;
+                    }
+                }
+
+                if (b == previous) break;
+                chain[chainLength++] = b;
+            }
+            chainLength -= 2;
+
+            // the merged cluster takes row y
+            int x = Math.min(a, b);
+            int y = Math.max(a, b);
+            leaves1[k] = x;
+            leaves2[k] = y;
+            heights[k] = best;
+            keys[k] = Math.max(best, Math.max(floors[x], floors[y]));
+            floors[y] = keys[k];
+
+            double countX = counts[x];
+            double countY = counts[y];
+            merged[x] = true;
+            counts[y] += counts[x];
+            for (int i = first; i < size; i++) {
+                if (merged[i] || i == y) continue;
+                double distanceX = distances.get(index(i, x, size));
+                double distanceY = distances.get(index(i, y, size));
+                double distance;
+                if (update == COMPLETE) {
+                    distance = Math.max(distanceX, distanceY);
+                } else if (update == AVERAGE) {
+                    distance = (distanceX + distanceY) / 2;
+                } else {
+                    distance = (distanceX * countX + distanceY * countY) / (countX + countY);
+                }
+                distances.set(index(i, y, size), distance);
+            }
+        }
+
+        return Linkage.fromMerges(size, leaves1, leaves2, heights, keys);
+    }
+
+    /**
+     * The index of a pair in the condensed matrix
+     * @param i an instance
+     * @param j another instance
+     * @param size the number of instances
+     * @return the condensed index
+     */
+    static long index(int i, int j, int size) {
+        if (i > j) {
+            int swap = i;
+            i = j;
+            j = swap;
+        }
+        return (long) size * i - (long) i * (i + 1) / 2 + j - i - 1;
+    }
+}
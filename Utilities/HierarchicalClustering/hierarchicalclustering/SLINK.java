@@ -0,0 +1,82 @@
+package hierarchicalclustering;
+
+/**
+ * Project: DCDMC
+ * Package: hierarchicalclustering
+ * Date: 18/Oct/2026
+ * Time: 00:40
+ * System Time: 12:40 AM
+ */
+
+/*
+    SLINK, Sibson's single linkage clustering on a condensed distance matrix.
+
+    Instances are added one at a time to the pointer representation of the dendrogram: pi[j] is the last instance
+    of the cluster which j joins at height lambda[j], the last instance having no pointer. Adding instance i reads
+    the distances from i to the instances before it, one column of the condensed matrix, so the matrix is only
+    read and three arrays of n values are the only other memory, in O(n^2) time. The matrix may be kept outside the
+    Java heap, SLINK never copies it. The pointer representation is
+    turned into the linkage by taking the merges (j, pi[j]) by increasing height.
+ */
+public class SLINK {
+
+    /**
+     * Cluster a condensed distance matrix with single linkage, as SingleLinkageStrategy does
+     * @param condensed the upper triangle row by row, as pdist gives it; not modified
+     * @param size the number of instances
+     * @return the linkage
+     */
+    public static Linkage cluster(double[] condensed, int size) {
+        return cluster(new CondensedArray(condensed, size));
+    }
+
+    /**
+     * Cluster a condensed distance matrix with single linkage, as SingleLinkageStrategy does
+     * @param condensed condensed distance matrix; not modified
+     * @return the linkage
+     */
+    public static Linkage cluster(CondensedDistanceMatrix condensed) {
+        if (condensed == null || condensed.size() < 1) {
+            throw new IllegalArgumentException("Invalid distance matrix");
+        }
+
+        int size = condensed.size();
+        int[] pi = new int[size];
+        double[] lambda = new double[size];
+        double[] m = new double[size]; // distances from instance i to the instances before it
+
+        for (int i = 0; i < size; i++) {
+            pi[i] = i;
+            lambda[i] = Double.POSITIVE_INFINITY;
+            for (int j = 0; j < i; j++) {
+                m[j] = condensed.get(NearestNeighborChain.index(j, i, size));
+            }
+
+            for (int j = 0; j < i; j++) {
+                if (lambda[j] >= m[j]) {
+                    m[pi[j]] = Math.min(m[pi[j]], lambda[j]);
+                    lambda[j] = m[j];
+                    pi[j] = i;
+                } else {
+                    m[pi[j]] = Math.min(m[pi[j]], m[j]);
+                }
+            }
+
+            for (int j = 0; j < i; j++) {
+                if (lambda[j] >= lambda[pi[j]]) pi[j] = i;
+            }
+        }
+
+        // instance j joins the cluster of pi[j] at lambda[j], all but the last instance
+        int[] leaves1 = new int[size - 1];
+        int[] leaves2 = new int[size - 1];
+        double[] heights = new double[size - 1];
+        for (int j = 0; j < size - 1; j++) {
+            leaves1[j] = j;
+            leaves2[j] = pi[j];
+            heights[j] = lambda[j];
+        }
+
+        return Linkage.fromMerges(size, leaves1, leaves2, heights, heights);
+    }
+}
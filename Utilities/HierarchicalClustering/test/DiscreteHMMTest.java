@@ -0,0 +1,195 @@
+package test;
+
+import model.DiscreteHMM;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Project: DCDMC
+ * Package: test
+ * Date: 18/Oct/2026
+ * Time: 11:20
+ * System Time: 11:20 AM
+ */
+
+public class DiscreteHMMTest {
+
+    private static final int STATENUM = 3;
+    private static final int OUTPUTNUM = 4;
+
+    @Test
+    public void testLogLikelihood() {
+        Random random = new Random(19);
+        double[] work = new double[2 * STATENUM];
+        for (long seed = 1; seed <= 5; seed++) {
+            DiscreteHMM model = new DiscreteHMM(STATENUM, OUTPUTNUM);
+            model.initialize(seed);
+            for (int t = 0; t < 10; t++) {
+                int[] sequence = createSequence(random, 1 + random.nextInt(7));
+                double expected = Math.log(sumPaths(model, sequence, null));
+                Assert.assertEquals(expected, model.logLikelihood(sequence, sequence.length, work),
+                        1e-9 * Math.abs(expected));
+            }
+        }
+
+        DiscreteHMM model = new DiscreteHMM(STATENUM, OUTPUTNUM);
+        Assert.assertEquals(0.0, model.logLikelihood(new int[0], 0, work), 0.0);
+        Assert.assertEquals(Double.NEGATIVE_INFINITY, model.logLikelihood(new int[]{0, OUTPUTNUM}, 2, work), 0.0);
+    }
+
+    @Test
+    public void testBaumWelchStep() {
+        Random random = new Random(23);
+        int[][] sequences = new int[12][];
+        for (int i = 0; i < sequences.length; i++) sequences[i] = createSequence(random, 1 + random.nextInt(7));
+
+        DiscreteHMM model = new DiscreteHMM(STATENUM, OUTPUTNUM);
+        model.initialize(3);
+
+        // expected counts by enumerating the state paths of every sequence
+        double[] initial = new double[STATENUM];
+        double[][] transition = new double[STATENUM][STATENUM];
+        double[][] emission = new double[STATENUM][OUTPUTNUM];
+        double logLikelihood = 0;
+        for (int[] sequence : sequences) {
+            double[][][] counts = new double[][][]{{initial}, transition, emission};
+            logLikelihood += Math.log(sumPaths(model, sequence, counts));
+        }
+        normalize(initial, model.getInitial());
+        double[][] previousTransition = model.getTransition();
+        double[][] previousEmission = model.getEmission();
+        for (int s = 0; s < STATENUM; s++) {
+            normalize(transition[s], previousTransition[s]);
+            normalize(emission[s], previousEmission[s]);
+        }
+
+        double lik = model.train(sequences, 1, 0.0);
+        Assert.assertEquals(1, model.getIterationNum());
+        Assert.assertEquals(logLikelihood / sequences.length, lik, 1e-9 * Math.abs(lik));
+        assertClose(initial, model.getInitial());
+        for (int s = 0; s < STATENUM; s++) {
+            assertClose(transition[s], model.getTransition()[s]);
+            assertClose(emission[s], model.getEmission()[s]);
+        }
+    }
+
+    @Test
+    public void testSameForAnyThreadNum() {
+        Random random = new Random(31);
+        int[][] sequences = new int[300][];
+        for (int i = 0; i < sequences.length; i++) sequences[i] = createSequence(random, 20 + random.nextInt(60));
+
+        DiscreteHMM serial = new DiscreteHMM(STATENUM, OUTPUTNUM);
+        double expected = serial.train(sequences, 20, 0.0);
+        for (int threadNum : new int[]{2, 4, 7}) {
+            DiscreteHMM parallel = new DiscreteHMM(STATENUM, OUTPUTNUM);
+            Assert.assertEquals(expected, parallel.train(sequences, 20, 0.0, threadNum), 0.0);
+            Assert.assertEquals(serial.getIterationNum(), parallel.getIterationNum());
+            Assert.assertTrue(Arrays.equals(serial.getInitial(), parallel.getInitial()));
+            Assert.assertTrue(Arrays.deepEquals(serial.getTransition(), parallel.getTransition()));
+            Assert.assertTrue(Arrays.deepEquals(serial.getEmission(), parallel.getEmission()));
+        }
+    }
+
+    @Test
+    public void testInvalidInput() {
+        DiscreteHMM model = new DiscreteHMM(STATENUM, OUTPUTNUM);
+        Assert.assertTrue(Double.isNaN(model.train(null, 10, 0.01)));
+        Assert.assertTrue(Double.isNaN(model.train(new int[0][], 10, 0.01)));
+        Assert.assertTrue(Double.isNaN(model.train(new int[][]{{0, 1}, {OUTPUTNUM}}, 10, 0.01)));
+        Assert.assertEquals(0, model.getIterationNum());
+    }
+
+    /**
+     * Probability of a sequence by enumerating all state paths
+     * @param model a model
+     * @param sequence output symbols
+     * @param counts if not null, the posterior counts of the initial states, transitions and emissions are added
+     *               to counts[0][0], counts[1] and counts[2]
+     * @return the probability of the sequence
+     */
+    private static double sumPaths(DiscreteHMM model, int[] sequence, double[][][] counts) {
+        double[] initial = model.getInitial();
+        double[][] transition = model.getTransition();
+        double[][] emission = model.getEmission();
+        int T = sequence.length;
+        int pathNum = 1;
+        for (int t = 0; t < T; t++) pathNum *= STATENUM;
+
+        double[] probabilities = new double[pathNum];
+        double sum = 0;
+        int[] path = new int[T];
+        for (int p = 0; p < pathNum; p++) {
+            decodePath(p, path);
+            double probability = initial[path[0]] * emission[path[0]][sequence[0]];
+            for (int t = 1; t < T; t++) {
+                probability *= transition[path[t - 1]][path[t]] * emission[path[t]][sequence[t]];
+            }
+            probabilities[p] = probability;
+            sum += probability;
+        }
+
+        if (counts != null) {
+            for (int p = 0; p < pathNum; p++) {
+                decodePath(p, path);
+                double posterior = probabilities[p] / sum;
+                counts[0][0][path[0]] += posterior;
+                for (int t = 1; t < T; t++) counts[1][path[t - 1]][path[t]] += posterior;
+                for (int t = 0; t < T; t++) counts[2][path[t]][sequence[t]] += posterior;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * The states of a path from its number, in base stateNum
+     * @param p number of the path
+     * @param path filled with the state of each time step
+     */
+    private static void decodePath(int p, int[] path) {
+        for (int t = 0; t < path.length; t++) {
+            path[t] = p % STATENUM;
+            p /= STATENUM;
+        }
+    }
+
+    /**
+     * Normalize a row of counts in place, a row without counts takes the previous parameters
+     * @param row non-negative counts
+     * @param previous the previous parameters of the row
+     */
+    private static void normalize(double[] row, double[] previous) {
+        double sum = 0;
+        for (double value : row) sum += value;
+        for (int i = 0; i < row.length; i++) row[i] = sum > 0 ? row[i] / sum : previous[i];
+    }
+
+    /**
+     * Assert that two probability rows agree up to rounding
+     * @param expected the expected row
+     * @param actual the actual row
+     */
+    private static void assertClose(double[] expected, double[] actual) {
+        Assert.assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) Assert.assertEquals(expected[i], actual[i], 1e-12);
+    }
+
+    /**
+     * A random sequence whose symbols come in two groups, 0 and 1 or 2 and 3
+     * @param random random number generator
+     * @param length the length of the sequence
+     * @return output symbols
+     */
+    private static int[] createSequence(Random random, int length) {
+        int[] sequence = new int[length];
+        int group = random.nextInt(2);
+        for (int t = 0; t < length; t++) {
+            if (random.nextDouble() < 0.2) group = 1 - group;
+            sequence[t] = 2 * group + random.nextInt(2);
+        }
+        return sequence;
+    }
+}
@@ -0,0 +1,135 @@
+package test;
+
+import initializer.distancematrix.DistanceMatrix;
+import initializer.distancematrix.DistanceMatrixEngine;
+import initializer.distancematrix.PRECISION;
+import initializer.dtws.IDTW;
+import initializer.dtws.IDTWFactory;
+import initializer.dtws.OriginalDTW;
+import initializer.dtws.PrimitiveFastOptimalDTW;
+import initializer.dtws.PrimitiveItakuraParallelogramDTW;
+import initializer.dtws.PrimitiveSakoeChibaDTW;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Project: DCDMC
+ * Package: test
+ * Date: 18/Oct/2026
+ * Time: 10:20
+ * System Time: 10:20 AM
+ */
+
+public class DistanceMatrixEngineTest {
+
+    private static final IDTWFactory[] FACTORIES = new IDTWFactory[]{
+            new IDTWFactory() {
+                @Override
+                public IDTW createDTW() {
+                    return new OriginalDTW("EuclideanDistance");
+                }
+            },
+            new IDTWFactory() {
+                @Override
+                public IDTW createDTW() {
+                    return new PrimitiveItakuraParallelogramDTW("ManhattanDistance", 3);
+                }
+            },
+            new IDTWFactory() {
+                @Override
+                public IDTW createDTW() {
+                    return new PrimitiveSakoeChibaDTW("BinaryDistance", 4);
+                }
+            },
+            new IDTWFactory() {
+                @Override
+                public IDTW createDTW() {
+                    return new PrimitiveFastOptimalDTW("EuclideanDistance", 2);
+                }
+            }};
+
+    @Test
+    public void testSameAsSerialLoop() {
+        List<List<Double>> instances = createInstances(new Random(5), 45);
+        for (IDTWFactory factory : FACTORIES) {
+            double[][] expected = computeBruteForce(factory.createDTW(), instances);
+            for (int threadNum : new int[]{1, 4}) {
+                for (int tileSize : new int[]{1, 7, DistanceMatrixEngine.DEFAULTTILESIZE, 100}) {
+                    DistanceMatrix distanceMatrix = new DistanceMatrixEngine(factory, threadNum, tileSize)
+                            .computeDistanceMatrix(instances, PRECISION.DOUBLE);
+                    Assert.assertEquals(instances.size(), distanceMatrix.size());
+                    for (int i = 0; i < instances.size(); i++) {
+                        for (int j = 0; j < instances.size(); j++) {
+                            Assert.assertEquals(expected[i][j], distanceMatrix.get(i, j), 0.0);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFloatPrecision() {
+        List<List<Double>> instances = createInstances(new Random(9), 30);
+        double[][] expected = computeBruteForce(FACTORIES[0].createDTW(), instances);
+        DistanceMatrix distanceMatrix = new DistanceMatrixEngine(FACTORIES[0], 3, 4)
+                .computeDistanceMatrix(instances, PRECISION.FLOAT);
+        for (int i = 0; i < instances.size(); i++) {
+            for (int j = 0; j < instances.size(); j++) {
+                Assert.assertEquals((float) expected[i][j], distanceMatrix.get(i, j), 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidInput() {
+        DistanceMatrixEngine engine = new DistanceMatrixEngine(FACTORIES[0], 2, 4);
+        Assert.assertNull(engine.computeDistanceMatrix(null, PRECISION.DOUBLE));
+        Assert.assertNull(engine.computeDistanceMatrix(new ArrayList<List<Double>>(), PRECISION.DOUBLE));
+        Assert.assertNull(engine.computeDistanceMatrix(createInstances(new Random(1), 5),
+                DistanceMatrix.allocateDirect(4, PRECISION.DOUBLE)));
+    }
+
+    /**
+     * Distances of all pairs by the serial double loop
+     * @param idtw dynamic time warping
+     * @param instances instance dataset
+     * @return the full distance matrix
+     */
+    private static double[][] computeBruteForce(IDTW idtw, List<List<Double>> instances) {
+        int N = instances.size();
+        double[][] res = new double[N][N];
+        for (int i = 0; i < N; i++) {
+            for (int j = i + 1; j < N; j++) {
+                res[i][j] = idtw.computeDistance(instances.get(i), instances.get(j));
+                res[j][i] = res[i][j];
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Random sequences of states 1 to 3 of different lengths
+     * @param random random number generator
+     * @param N the number of instances
+     * @return instance dataset
+     */
+    static List<List<Double>> createInstances(Random random, int N) {
+        List<List<Double>> instances = new ArrayList<List<Double>>();
+        for (int i = 0; i < N; i++) {
+            int length = 20 + random.nextInt(20);
+            List<Double> instance = new ArrayList<Double>();
+            double state = 1 + random.nextInt(3);
+            for (int t = 0; t < length; t++) {
+                if (random.nextDouble() < 0.2) state = 1 + random.nextInt(3);
+                instance.add(state);
+            }
+            instances.add(instance);
+        }
+        return instances;
+    }
+}
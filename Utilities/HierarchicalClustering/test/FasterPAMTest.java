@@ -0,0 +1,183 @@
+package test;
+
+import initializer.clusterings.FasterPAM;
+import initializer.distancematrix.DistanceMatrix;
+import initializer.distancematrix.PRECISION;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Project: DCDMC
+ * Package: test
+ * Date: 18/Oct/2026
+ * Time: 11:00
+ * System Time: 11:00 AM
+ */
+
+public class FasterPAMTest {
+
+    @Test
+    public void testNoImprovingSwap() {
+        Random random = new Random(13);
+        DistanceMatrix distanceMatrix = DistanceMatrix.fromArray(createDistances(random, 80, 4), PRECISION.DOUBLE);
+        for (int K : new int[]{1, 2, 5, 12}) {
+            int[] medoids = createMedoids(random, 80, K);
+            int[] labels = new int[80];
+            double deviation = new FasterPAM(distanceMatrix, 2).run(medoids, labels);
+
+            boolean[] isMedoid = new boolean[80];
+            for (int medoid : medoids) {
+                Assert.assertFalse(isMedoid[medoid]);
+                isMedoid[medoid] = true;
+            }
+
+            // the labels point to a nearest medoid and sum up to the returned deviation
+            double expected = computeDeviation(distanceMatrix, medoids);
+            Assert.assertEquals(expected, deviation, 1e-9 * expected);
+            for (int o = 0; o < 80; o++) {
+                double nearest = Double.POSITIVE_INFINITY;
+                for (int medoid : medoids) nearest = Math.min(nearest, distanceMatrix.get(o, medoid));
+                Assert.assertEquals(nearest, distanceMatrix.get(o, medoids[labels[o]]), 0.0);
+            }
+
+            // no swap of a medoid with an instance decreases the deviation
+            for (int k = 0; k < K; k++) {
+                for (int x = 0; x < 80; x++) {
+                    if (isMedoid[x]) continue;
+                    int[] swapped = Arrays.copyOf(medoids, K);
+                    swapped[k] = x;
+                    Assert.assertTrue(computeDeviation(distanceMatrix, swapped) >= deviation * (1 - 1e-9));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testExhaustiveOptimum() {
+        // three separated groups of five instances, the best medoid of each group is the optimum
+        Random random = new Random(29);
+        double[][] points = new double[15][2];
+        for (int o = 0; o < 15; o++) {
+            points[o][0] = 100 * (o / 5) + random.nextGaussian();
+            points[o][1] = random.nextGaussian();
+        }
+        DistanceMatrix distanceMatrix = DistanceMatrix.fromArray(computeDistances(points), PRECISION.DOUBLE);
+
+        double optimum = Double.POSITIVE_INFINITY;
+        for (int a = 0; a < 15; a++) {
+            for (int b = a + 1; b < 15; b++) {
+                for (int c = b + 1; c < 15; c++) {
+                    optimum = Math.min(optimum, computeDeviation(distanceMatrix, new int[]{a, b, c}));
+                }
+            }
+        }
+
+        // all medoids start in the first group
+        double deviation = new FasterPAM(distanceMatrix, 1).run(new int[]{0, 1, 2}, new int[15]);
+        Assert.assertEquals(optimum, deviation, 1e-9 * optimum);
+    }
+
+    @Test
+    public void testSameForAnyThreadNum() {
+        Random random = new Random(41);
+        DistanceMatrix distanceMatrix = DistanceMatrix.fromArray(createDistances(random, 300, 6), PRECISION.FLOAT);
+        int[] initialMedoids = createMedoids(random, 300, 9);
+
+        int[] expectedMedoids = Arrays.copyOf(initialMedoids, 9);
+        int[] expectedLabels = new int[300];
+        FasterPAM serial = new FasterPAM(distanceMatrix, 1);
+        double expected = serial.run(expectedMedoids, expectedLabels);
+        Assert.assertTrue(serial.getSwapNum() > 0);
+        for (int threadNum : new int[]{2, 3, 8}) {
+            int[] medoids = Arrays.copyOf(initialMedoids, 9);
+            int[] labels = new int[300];
+            FasterPAM parallel = new FasterPAM(distanceMatrix, threadNum);
+            Assert.assertEquals(expected, parallel.run(medoids, labels), 0.0);
+            Assert.assertTrue(Arrays.equals(expectedMedoids, medoids));
+            Assert.assertTrue(Arrays.equals(expectedLabels, labels));
+            Assert.assertEquals(serial.getSwapNum(), parallel.getSwapNum());
+        }
+    }
+
+    @Test
+    public void testInvalidInput() {
+        DistanceMatrix distanceMatrix = DistanceMatrix.fromArray(createDistances(new Random(1), 10, 2),
+                PRECISION.DOUBLE);
+        FasterPAM test = new FasterPAM(distanceMatrix, 2);
+        Assert.assertTrue(Double.isNaN(test.run(new int[0], new int[10])));
+        Assert.assertTrue(Double.isNaN(test.run(new int[]{0, 0}, new int[10])));
+        Assert.assertTrue(Double.isNaN(test.run(new int[]{0, 10}, new int[10])));
+        Assert.assertTrue(Double.isNaN(test.run(new int[]{0, 1}, new int[9])));
+    }
+
+    /**
+     * The total deviation of medoids by brute force
+     * @param distanceMatrix distance matrix of the instances
+     * @param medoids instance No. of the medoids
+     * @return the sum of the distances of the instances to their nearest medoids
+     */
+    private static double computeDeviation(DistanceMatrix distanceMatrix, int[] medoids) {
+        double deviation = 0;
+        for (int o = 0; o < distanceMatrix.size(); o++) {
+            double nearest = Double.POSITIVE_INFINITY;
+            for (int medoid : medoids) nearest = Math.min(nearest, distanceMatrix.get(o, medoid));
+            deviation += nearest;
+        }
+        return deviation;
+    }
+
+    /**
+     * Distinct random medoids
+     * @param random random number generator
+     * @param N the number of instances
+     * @param K the number of medoids
+     * @return instance No. of the medoids
+     */
+    private static int[] createMedoids(Random random, int N, int K) {
+        int[] instanceNos = new int[N];
+        for (int o = 0; o < N; o++) instanceNos[o] = o;
+        for (int o = 0; o < K; o++) {
+            int other = o + random.nextInt(N - o);
+            int temp = instanceNos[o];
+            instanceNos[o] = instanceNos[other];
+            instanceNos[other] = temp;
+        }
+        return Arrays.copyOf(instanceNos, K);
+    }
+
+    /**
+     * Euclidean distances of random points around a few centers
+     * @param random random number generator
+     * @param N the number of instances
+     * @param centerNum the number of centers
+     * @return the full distance matrix
+     */
+    private static double[][] createDistances(Random random, int N, int centerNum) {
+        double[][] points = new double[N][2];
+        for (int o = 0; o < N; o++) {
+            int center = random.nextInt(centerNum);
+            points[o][0] = 10 * center + 3 * random.nextGaussian();
+            points[o][1] = 10 * (center % 2) + 3 * random.nextGaussian();
+        }
+        return computeDistances(points);
+    }
+
+    /**
+     * Euclidean distances of points
+     * @param points coordinates of each point
+     * @return the full distance matrix
+     */
+    private static double[][] computeDistances(double[][] points) {
+        int N = points.length;
+        double[][] res = new double[N][N];
+        for (int i = 0; i < N; i++) {
+            for (int j = 0; j < N; j++) {
+                res[i][j] = Math.hypot(points[i][0] - points[j][0], points[i][1] - points[j][1]);
+            }
+        }
+        return res;
+    }
+}
@@ -0,0 +1,130 @@
+package test;
+
+import hierarchicalclustering.AverageLinkageStrategy;
+import hierarchicalclustering.Cluster;
+import hierarchicalclustering.CompleteLinkageStrategy;
+import hierarchicalclustering.CondensedDistanceMatrix;
+import hierarchicalclustering.Linkage;
+import hierarchicalclustering.LinkageClusteringAlgorithm;
+import hierarchicalclustering.LinkageStrategy;
+import hierarchicalclustering.PDistClusteringAlgorithm;
+import hierarchicalclustering.SingleLinkageStrategy;
+import hierarchicalclustering.WeightedLinkageStrategy;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Project: DCDMC
+ * Package: test
+ * Date: 18/Oct/2026
+ * Time: 01:10
+ * System Time: 1:10 AM
+ */
+
+public class LinkageClusteringAlgorithmTest {
+
+    private static final double[][] PDIST = new double[][]{{1, 9, 7, 11, 14, 4, 3, 8, 10, 9, 2, 8, 6, 13, 10}};
+    private static final String[] NAMES = new String[]{"O1", "O2", "O3", "O4", "O5", "O6"};
+
+    private static final LinkageStrategy[] STRATEGIES = new LinkageStrategy[]{new SingleLinkageStrategy(),
+            new CompleteLinkageStrategy(), new AverageLinkageStrategy(), new WeightedLinkageStrategy()};
+
+    @Test
+    public void testLinkageArray() {
+        Linkage linkage = LinkageClusteringAlgorithm.computeLinkage(PDIST[0], NAMES.length,
+                new AverageLinkageStrategy());
+        Assert.assertEquals(5, linkage.getMergeNum());
+
+        // O1 and O2 first, then O3 and O5
+        Assert.assertEquals(0, linkage.getLeft(0));
+        Assert.assertEquals(1, linkage.getRight(0));
+        Assert.assertEquals(1.0, linkage.getHeight(0), 0.0);
+        Assert.assertEquals(2, linkage.getLeft(1));
+        Assert.assertEquals(4, linkage.getRight(1));
+        Assert.assertEquals(6, linkage.getCount(4));
+        for (int k = 1; k < linkage.getMergeNum(); k++) {
+            Assert.assertTrue(linkage.getHeight(k - 1) <= linkage.getHeight(k));
+        }
+    }
+
+    @Test
+    public void testSameHierarchyAsPDist() {
+        Random random = new Random(17);
+        for (int t = 0; t < 10; t++) {
+            int n = 2 + random.nextInt(40);
+            String[] names = new String[n];
+            for (int i = 0; i < n; i++) names[i] = String.valueOf(i + 1);
+            double[][] pdist = new double[1][n * (n - 1) / 2];
+            for (int k = 0; k < pdist[0].length; k++) pdist[0][k] = random.nextDouble() * 100;
+
+            for (LinkageStrategy strategy : STRATEGIES) {
+                Cluster expected = new PDistClusteringAlgorithm().performClustering(pdist, names, strategy);
+                Cluster actual = new LinkageClusteringAlgorithm().performClustering(pdist, names, strategy);
+                Assert.assertEquals(describe(expected), describe(actual));
+            }
+        }
+    }
+
+    @Test
+    public void testCondensedDistanceMatrix() {
+        Random random = new Random(29);
+        int n = 30;
+        final double[] pdist = new double[n * (n - 1) / 2];
+        for (int k = 0; k < pdist.length; k++) pdist[k] = random.nextDouble() * 100;
+
+        for (LinkageStrategy strategy : STRATEGIES) {
+            final double[] working = pdist.clone();
+            final int size = n;
+            CondensedDistanceMatrix distances = new CondensedDistanceMatrix() {
+                public int size() {
+                    return size;
+                }
+
+                public double get(long index) {
+                    return working[(int) index];
+                }
+
+                public void set(long index, double value) {
+                    working[(int) index] = value;
+                }
+            };
+
+            Linkage expected = LinkageClusteringAlgorithm.computeLinkage(pdist, n, strategy);
+            Linkage actual = LinkageClusteringAlgorithm.computeLinkage(distances, strategy);
+            Assert.assertArrayEquals(expected.toArray(), actual.toArray());
+            if (strategy instanceof SingleLinkageStrategy) {
+                Assert.assertTrue(Arrays.equals(pdist, working)); // SLINK only reads the matrix
+            }
+        }
+    }
+
+    /**
+     * Sorted descriptions of the internal clusters, leaves and distance, independent of the order of children
+     */
+    private static List<String> describe(Cluster root) {
+        List<String> descriptions = new ArrayList<String>();
+        describe(root, descriptions);
+        Collections.sort(descriptions);
+        return descriptions;
+    }
+
+    private static List<String> describe(Cluster cluster, List<String> descriptions) {
+        List<String> leaves = new ArrayList<String>();
+        if (cluster.isLeaf()) {
+            leaves.add(cluster.getName());
+            return leaves;
+        }
+        for (Cluster child : cluster.getChildren()) {
+            leaves.addAll(describe(child, descriptions));
+        }
+        Collections.sort(leaves);
+        descriptions.add(leaves + String.format("@%.9f", cluster.getDistanceValue()));
+        return leaves;
+    }
+}
@@ -0,0 +1,140 @@
+package test;
+
+import initializer.distancematrix.NearestNeighborEngine;
+import initializer.dtws.IDTW;
+import initializer.dtws.IDTWFactory;
+import initializer.dtws.OriginalDTW;
+import initializer.dtws.PrimitiveSakoeChibaDTW;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Project: DCDMC
+ * Package: test
+ * Date: 18/Oct/2026
+ * Time: 10:40
+ * System Time: 10:40 AM
+ */
+
+public class NearestNeighborEngineTest {
+
+    private static final IDTWFactory[] FACTORIES = new IDTWFactory[]{
+            new IDTWFactory() {
+                @Override
+                public IDTW createDTW() {
+                    return new OriginalDTW("ManhattanDistance");
+                }
+            },
+            new IDTWFactory() {
+                @Override
+                public IDTW createDTW() {
+                    return new PrimitiveSakoeChibaDTW("EuclideanDistance", 5);
+                }
+            },
+            new IDTWFactory() {
+                @Override
+                public IDTW createDTW() {
+                    return new PrimitiveSakoeChibaDTW("BinaryDistance", 3);
+                }
+            }};
+
+    @Test
+    public void testAssignNearestMedoids() {
+        Random random = new Random(3);
+        List<List<Double>> instances = DistanceMatrixEngineTest.createInstances(random, 150);
+        for (IDTWFactory factory : FACTORIES) {
+            double[][] expectedDistances = computeBruteForce(factory.createDTW(), instances);
+            for (int threadNum : new int[]{1, 4}) {
+                NearestNeighborEngine engine = new NearestNeighborEngine(factory, instances, threadNum);
+                for (int K : new int[]{1, 2, 7, 20}) {
+                    int[] medoids = new int[K];
+                    List<Integer> instanceNos = new ArrayList<Integer>();
+                    for (int i = 0; i < instances.size(); i++) instanceNos.add(i);
+                    Collections.shuffle(instanceNos, random);
+                    for (int k = 0; k < K; k++) medoids[k] = instanceNos.get(k);
+
+                    double[] distances = new double[instances.size()];
+                    int[] labels = engine.assignNearestMedoids(medoids, distances);
+                    for (int i = 0; i < instances.size(); i++) {
+                        // the nearest medoid, ties go to the smaller medoid index
+                        int label = 0;
+                        for (int k = 1; k < K; k++) {
+                            if (expectedDistances[i][medoids[k]] < expectedDistances[i][medoids[label]]) label = k;
+                        }
+                        Assert.assertEquals(label, labels[i]);
+                        Assert.assertEquals(expectedDistances[i][medoids[label]], distances[i], 0.0);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFindNearestNeighbors() {
+        List<List<Double>> instances = DistanceMatrixEngineTest.createInstances(new Random(11), 80);
+        for (IDTWFactory factory : FACTORIES) {
+            final double[][] expectedDistances = computeBruteForce(factory.createDTW(), instances);
+            NearestNeighborEngine engine = new NearestNeighborEngine(factory, instances, 2);
+            for (int query = 0; query < instances.size(); query += 7) {
+                // all other instances from the nearest, ties by the smaller instance No.
+                final int q = query;
+                List<Integer> expected = new ArrayList<Integer>();
+                for (int i = 0; i < instances.size(); i++) {
+                    if (i != query) expected.add(i);
+                }
+                Collections.sort(expected, new Comparator<Integer>() {
+                    @Override
+                    public int compare(Integer o1, Integer o2) {
+                        int res = Double.compare(expectedDistances[q][o1], expectedDistances[q][o2]);
+                        return res != 0 ? res : o1.compareTo(o2);
+                    }
+                });
+
+                for (int k : new int[]{1, 5, instances.size() - 1}) {
+                    double[] distances = new double[k];
+                    int[] neighbors = engine.findNearestNeighbors(query, k, distances);
+                    Assert.assertEquals(k, neighbors.length);
+                    for (int c = 0; c < k; c++) {
+                        Assert.assertEquals((int) expected.get(c), neighbors[c]);
+                        Assert.assertEquals(expectedDistances[query][expected.get(c)], distances[c], 0.0);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidInput() {
+        List<List<Double>> instances = DistanceMatrixEngineTest.createInstances(new Random(1), 10);
+        NearestNeighborEngine engine = new NearestNeighborEngine(FACTORIES[1], instances, 2);
+        Assert.assertNull(engine.assignNearestMedoids(null, null));
+        Assert.assertNull(engine.assignNearestMedoids(new int[]{0, 10}, null));
+        Assert.assertNull(engine.assignNearestMedoids(new int[]{0}, new double[9]));
+        Assert.assertNull(engine.findNearestNeighbors(-1, 1, null));
+        Assert.assertNull(engine.findNearestNeighbors(0, 10, null));
+        Assert.assertNull(engine.findNearestNeighbors(0, 2, new double[1]));
+    }
+
+    /**
+     * Full dynamic time warping distances of all pairs
+     * @param idtw dynamic time warping
+     * @param instances instance dataset
+     * @return the full distance matrix
+     */
+    private static double[][] computeBruteForce(IDTW idtw, List<List<Double>> instances) {
+        int N = instances.size();
+        double[][] res = new double[N][N];
+        for (int i = 0; i < N; i++) {
+            for (int j = 0; j < N; j++) {
+                if (i != j) res[i][j] = idtw.computeDistance(instances.get(i), instances.get(j));
+            }
+        }
+        return res;
+    }
+}
@@ -103,6 +103,54 @@ public class WeibullDist extends ContinuousDistribution {
       }
    }
 
+   // Same as Function, for distinct observations x[i] repeated w[i] times.
+   private static class WeightedFunction implements MathFunction {
+      private int n;
+      private double xi[];
+      private double wi[];
+      private double lnXi[];
+      private double sumW = 0.0;
+      private double sumLnXi = 0.0;
+      private final double LN_EPS = Num.LN_DBL_MIN - Num.LN2;
+
+      public WeightedFunction (double x[], double w[], int n)
+      {
+         this.n = n;
+         this.xi = new double[n];
+         this.wi = new double[n];
+         this.lnXi = new double[n];
+
+         for (int i = 0; i < n; i++)
+         {
+            this.xi[i] = x[i];
+            this.wi[i] = w[i];
+            if (x[i] > 0.0)
+               this.lnXi[i] = Math.log (x[i]);
+            else
+               this.lnXi[i] = LN_EPS;
+            sumW += w[i];
+            sumLnXi += w[i] * this.lnXi[i];
+         }
+      }
+
+      public double evaluate (double x)
+      {
+         if (x <= 0.0) return 1.0e200;
+         double sumXiLnXi = 0.0;
+         double sumXi = 0.0;
+         double xalpha;
+
+         for (int i = 0; i < n; i++)
+         {
+            xalpha = wi[i] * Math.pow (this.xi[i], x);
+            sumXiLnXi += xalpha * lnXi[i];
+            sumXi += xalpha;
+         }
+
+         return (x * (sumW * sumXiLnXi - sumLnXi * sumXi) - sumW * sumXi);
+      }
+   }
+
 
 
 
@@ -370,6 +418,105 @@ public class WeibullDist extends ContinuousDistribution {
    }
 
 
+   private static double[] getMaximumLikelihoodEstimate (double[] x, double[] w,
+                                                         int n, double delta) {
+      if (n <= 0)
+         throw new IllegalArgumentException ("n <= 0");
+      if (delta != 0.0)
+         throw new IllegalArgumentException ("delta must be equal to 0");
+
+      final double LN_EPS = Num.LN_DBL_MIN - Num.LN2;
+      double sumW = 0.0;
+      double sumLn = 0.0;
+      double sumLn2 = 0.0;
+      double lnxi;
+      for (int i = 0; i < n; i++) {
+         if (w[i] < 0.0)
+            throw new IllegalArgumentException ("w[" + i + "] < 0");
+         if (x[i] <= delta)
+            lnxi = LN_EPS;
+         else
+            lnxi = Math.log (x[i]);
+         sumW += w[i];
+         sumLn += w[i] * lnxi;
+         sumLn2 += w[i] * lnxi * lnxi;
+      }
+      if (sumW <= 0.0)
+         throw new IllegalArgumentException ("the sum of the weights <= 0");
+
+      double alpha0 = Math.sqrt (sumW / ((6.0 / (Math.PI * Math.PI)) *
+                  (sumLn2 - sumLn * sumLn / sumW)));
+      double a = alpha0 - 20.0;
+      if (a <= delta)
+         a = delta + 1.0e-5;
+
+      double param[] = new double[3];
+      param[2] = 0.0;
+      WeightedFunction f = new WeightedFunction (x, w, n);
+      param[0] = RootFinder.brentDekker (a, alpha0 + 20.0, f, 1e-5);
+
+      double sumXalpha = 0.0;
+      for (int i = 0; i < n; i++)
+         sumXalpha += w[i] * Math.pow (x[i], param[0]);
+      param[1] = Math.pow (sumW / sumXalpha, 1.0 / param[0]);
+
+      return param;
+   }
+
+   /**
+    * Estimates the parameters 
+    * <SPAN CLASS="MATH">(<I>&#945;</I>, <I>&#955;</I>)</SPAN> of the Weibull  distribution,
+    *    assuming that 
+    * <SPAN CLASS="MATH"><I>&#948;</I> = 0</SPAN>,
+    *     using the maximum likelihood method, from the <SPAN CLASS="MATH"><I>n</I></SPAN> distinct observations
+    *    <SPAN CLASS="MATH"><I>x</I>[<I>i</I>]</SPAN>, each observed
+    *    <SPAN CLASS="MATH"><I>w</I>[<I>i</I>]</SPAN> times, 
+    * <SPAN CLASS="MATH"><I>i</I> = 0, 1,&#8230;, <I>n</I> - 1</SPAN>. The estimates are those of
+    *     {@link #getMLE(double[],int) getMLE} on the observations repeated by their weights, but each
+    *     iteration only costs <SPAN CLASS="MATH"><I>O</I>(<I>n</I>)</SPAN>.
+    *     The estimates are returned in a three-element array, in regular order:
+    *     [<SPAN CLASS="MATH"><I>&#945;</I></SPAN>, <SPAN CLASS="MATH"><I>&#955;</I></SPAN>, 0].
+    * 
+    * @param x the list of distinct observations to use to evaluate parameters
+    * 
+    *    @param w the number of times each observation is observed, non-negative
+    * 
+    *    @param n the number of distinct observations to use to evaluate parameters
+    * 
+    *    @return returns the parameter [
+    * <SPAN CLASS="MATH">hat(&alpha;)</SPAN>, 
+    * <SPAN CLASS="MATH">hat(&lambda;)</SPAN>, 
+    * <SPAN CLASS="MATH">hat(&delta;)</SPAN> = 0]
+    * 
+    */
+   public static double[] getMLE (double[] x, double[] w, int n)
+   {
+      return getMaximumLikelihoodEstimate (x, w, n, 0.0);
+   }
+
+
+   /**
+    * Creates a new instance of a Weibull distribution with parameters <SPAN CLASS="MATH"><I>&#945;</I></SPAN>,
+    *    <SPAN CLASS="MATH"><I>&#955;</I></SPAN> and 
+    * <SPAN CLASS="MATH"><I>&#948;</I> = 0</SPAN>
+    *    estimated using the maximum likelihood method based on the <SPAN CLASS="MATH"><I>n</I></SPAN> distinct
+    *    observations <SPAN CLASS="MATH"><I>x</I>[<I>i</I>]</SPAN> with weights <SPAN CLASS="MATH"><I>w</I>[<I>i</I>]</SPAN>, 
+    * <SPAN CLASS="MATH"><I>i</I> = 0, 1,&#8230;, <I>n</I> - 1</SPAN>.
+    * 
+    * @param x the list of distinct observations to use to evaluate parameters
+    * 
+    *    @param w the number of times each observation is observed, non-negative
+    * 
+    *    @param n the number of distinct observations to use to evaluate parameters
+    * 
+    * 
+    */
+   public static WeibullDist getInstanceFromMLE (double[] x, double[] w, int n) {
+      double param[] = getMLE (x, w, n);
+      return new WeibullDist (param[0], param[1], param[2]);
+   }
+
+
    /**
     * Computes and returns the mean
     * of the Weibull distribution with parameters <SPAN CLASS="MATH"><I>&#945;</I></SPAN>, <SPAN CLASS="MATH"><I>&#955;</I></SPAN> and <SPAN CLASS="MATH"><I>&#948;</I></SPAN>.
@@ -8,8 +8,6 @@ package Utilities;
  * System Time: 8:33 PM
  */
 
-import starter.Config;
-
 import javax.swing.*;
 import java.io.*;
 import java.util.ArrayList;
@@ -233,8 +231,9 @@ public class IOOperation {
      * Write the input list into file
      * @param dataList a list
      * @param path file path
+     * @param separator separator between the values of a line
      */
-    public static void writeDataAsCSVFile(List<List<Double>> dataList, String path) {
+    public static void writeDataAsCSVFile(List<List<Double>> dataList, String path, String separator) {
 
         if (dataList == null) {
             LOGGER.info("The input two dimensional list is null!");
@@ -257,7 +256,7 @@ public class IOOperation {
                     double value = dataList.get(i).get(j);
                     bw.write(String.valueOf((int)value));
 
-                    if (j < M - 1) bw.write(Config.getCSVFILESEPARATOR());
+                    if (j < M - 1) bw.write(separator);
                 }
                 bw.newLine();
             }
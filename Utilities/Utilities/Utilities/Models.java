@@ -8,7 +8,7 @@ package Utilities;
  * System Time: 8:03 AM
  */
 
-import starter.Config;
+import dao.SequenceDataset;
 
 import java.util.*;
 import java.util.logging.Level;
@@ -24,12 +24,13 @@ public class Models {
     /**
      * Count state transition of a sequence in a matrix
      * @param seq a sequence of data whose index starts with 1
+     * @param stateNum state number
      * @return a matrix of state transition
      */
-    public static int[][] countStateTransitionForOneSequence(int[] seq) {
+    public static int[][] countStateTransitionForOneSequence(int[] seq, int stateNum) {
 
         // a sequence of data whose index starts with 1
-        int[][] stateTransition = new int[Config.getSTATENUM()][Config.getSTATENUM()];
+        int[][] stateTransition = new int[stateNum][stateNum];
         if (seq == null || seq.length < 2) {
             LOGGER.log(Level.INFO, "The sequence is null or the length of the sequence is less than 2!");
             return stateTransition;
@@ -46,12 +47,13 @@ public class Models {
     /**
      * Count state transition of a sequence (no state transition from one to iteself) in a matrix
      * @param seq a sequence of data whose index starts with 1
+     * @param stateNum state number
      * @return a matrix of state transition (no state transition from one to iteself)
      */
-    public static int[][] countNoSelfStateTransitionForOneSequence(int[] seq) {
+    public static int[][] countNoSelfStateTransitionForOneSequence(int[] seq, int stateNum) {
 
         // a sequence of data whose index starts with 1
-        int[][] stateTransition = new int[Config.getSTATENUM()][Config.getSTATENUM()];
+        int[][] stateTransition = new int[stateNum][stateNum];
         if (seq == null || seq.length < 2) {
             LOGGER.log(Level.INFO, "The sequence is null or the length of the sequence is less than 2!");
             return stateTransition;
@@ -71,12 +73,13 @@ public class Models {
     /**
      * Count state transition of a sequence in a matrix
      * @param seq a sequence of data whose index starts with 1
+     * @param stateNum state number
      * @return a matrix of state transition
      */
-    public static int[][] countStateTransitionForOneSequence(List<Integer> seq) {
+    public static int[][] countStateTransitionForOneSequence(List<Integer> seq, int stateNum) {
 
         // a sequence of data whose index starts with 1
-        int[][] stateTransition = new int[Config.getSTATENUM()][Config.getSTATENUM()];
+        int[][] stateTransition = new int[stateNum][stateNum];
         if (seq == null || seq.size() < 1) {
             LOGGER.log(Level.INFO, "The sequence is null or the length of the sequence is less than 2!");
             return stateTransition;
@@ -93,12 +96,13 @@ public class Models {
     /**
      * Count state transition (no self transition) of a sequence in a matrix
      * @param seq a sequence of data whose index starts with 1
+     * @param stateNum state number
      * @return a matrix of state transition (no self transition)
      */
-    public static int[][] countNoSelfStateTransitionForOneSequence(List<Integer> seq) {
+    public static int[][] countNoSelfStateTransitionForOneSequence(List<Integer> seq, int stateNum) {
 
         // a sequence of data whose index starts with 1
-        int[][] stateTransition = new int[Config.getSTATENUM()][Config.getSTATENUM()];
+        int[][] stateTransition = new int[stateNum][stateNum];
         if (seq == null || seq.size() < 1) {
             LOGGER.log(Level.INFO, "The sequence is null or the length of the sequence is less than 2!");
             return stateTransition;
@@ -118,12 +122,13 @@ public class Models {
     /**
      * Count state transition of a sequence in a matrix
      * @param seqs a array of sequences whose index starts with 1
+     * @param stateNum state number
      * @return a matrix of state transition
      */
-    public static int[][] countStateTransitionForSequences(int[][] seqs) {
+    public static int[][] countStateTransitionForSequences(int[][] seqs, int stateNum) {
 
         // a sequence of data whose index starts with 1
-        int[][] stateTransition = new int[Config.getSTATENUM()][Config.getSTATENUM()];
+        int[][] stateTransition = new int[stateNum][stateNum];
         if (seqs == null) {
             LOGGER.log(Level.INFO, "The sequence is null!");
             return stateTransition;
@@ -150,12 +155,13 @@ public class Models {
     /**
      * Count state transition (no self transition) of a sequence in a matrix
      * @param seqs a array of sequences whose index starts with 1
+     * @param stateNum state number
      * @return a matrix of state transition (no self transition)
      */
-    public static int[][] countNoSelfStateTransitionForSequences(int[][] seqs) {
+    public static int[][] countNoSelfStateTransitionForSequences(int[][] seqs, int stateNum) {
 
         // a sequence of data whose index starts with 1
-        int[][] stateTransition = new int[Config.getSTATENUM()][Config.getSTATENUM()];
+        int[][] stateTransition = new int[stateNum][stateNum];
         if (seqs == null) {
             LOGGER.log(Level.INFO, "The sequence is null!");
             return stateTransition;
@@ -184,12 +190,13 @@ public class Models {
     /**
      * Count state transition of a sequence in a matrix
      * @param seqs a array of sequences whose index starts with 1
+     * @param stateNum state number
      * @return a matrix of state transition
      */
-    public static int[][] countStateTransitionForSequences(List<List<Integer>> seqs) {
+    public static int[][] countStateTransitionForSequences(List<List<Integer>> seqs, int stateNum) {
 
         // a sequence of data whose index starts with 0
-        int[][] stateTransition = new int[Config.getSTATENUM()][Config.getSTATENUM()];
+        int[][] stateTransition = new int[stateNum][stateNum];
         if (seqs == null) {
             LOGGER.log(Level.INFO, "The sequence is null or the length of the sequence is less than 2!");
             return stateTransition;
@@ -216,12 +223,13 @@ public class Models {
     /**
      * Count state transition (no self transition) of a sequence in a matrix
      * @param seqs a array of sequences whose index starts with 1
+     * @param stateNum state number
      * @return a matrix of state transition (no self transition)
      */
-    public static int[][] countNoSelfStateTransitionForSequences(List<List<Integer>> seqs) {
+    public static int[][] countNoSelfStateTransitionForSequences(List<List<Integer>> seqs, int stateNum) {
 
         // a sequence of data whose index starts with 0
-        int[][] stateTransition = new int[Config.getSTATENUM()][Config.getSTATENUM()];
+        int[][] stateTransition = new int[stateNum][stateNum];
         if (seqs == null) {
             LOGGER.log(Level.INFO, "The sequence is null or the length of the sequence is less than 2!");
             return stateTransition;
@@ -247,6 +255,76 @@ public class Models {
         return stateTransition;
     }
 
+    /**
+     * Count state transition of sequences in a matrix
+     * @param seqs a dataset of sequences whose index starts with 1
+     * @param stateNum state number
+     * @return a matrix of state transition
+     */
+    public static int[][] countStateTransitionForSequences(SequenceDataset seqs, int stateNum) {
+
+        // a sequence of data whose index starts with 0
+        int[][] stateTransition = new int[stateNum][stateNum];
+        if (seqs == null) {
+            LOGGER.log(Level.INFO, "The sequence is null or the length of the sequence is less than 2!");
+            return stateTransition;
+        }
+
+        if (seqs.size() == 0) {
+            LOGGER.info("The sequence is empty!");
+            return stateTransition;
+        }
+
+        int ROW = seqs.size();
+
+        // count state transition
+        for (int i = 0; i < ROW; i++) {
+            SequenceDataset.Sequence seq = seqs.getSequence(i);
+            int COLUMN = seq.length();
+            for (int j = 0; j < COLUMN - 1; j++) {
+                stateTransition[seq.getState(j) - 1][seq.getState(j + 1) - 1]++;
+            }
+        }
+
+        return stateTransition;
+    }
+
+    /**
+     * Count state transition (no self transition) of sequences in a matrix
+     * @param seqs a dataset of sequences whose index starts with 1
+     * @param stateNum state number
+     * @return a matrix of state transition (no self transition)
+     */
+    public static int[][] countNoSelfStateTransitionForSequences(SequenceDataset seqs, int stateNum) {
+
+        // a sequence of data whose index starts with 0
+        int[][] stateTransition = new int[stateNum][stateNum];
+        if (seqs == null) {
+            LOGGER.log(Level.INFO, "The sequence is null or the length of the sequence is less than 2!");
+            return stateTransition;
+        }
+
+        if (seqs.size() == 0) {
+            LOGGER.info("The sequence is empty!");
+            return stateTransition;
+        }
+
+        int ROW = seqs.size();
+
+        // count state transition
+        for (int i = 0; i < ROW; i++) {
+            SequenceDataset.Sequence seq = seqs.getSequence(i);
+            int COLUMN = seq.length();
+            for (int j = 0; j < COLUMN - 1; j++) {
+                int pre = seq.getState(j) - 1;
+                int cur = seq.getState(j + 1) - 1;
+                if (pre != cur) stateTransition[pre][cur]++;
+            }
+        }
+
+        return stateTransition;
+    }
+
     /**
      * Count state duration of a sequence in a map of map
      * @param seq a sequence of data whose index starts with 1
@@ -355,6 +433,55 @@ public class Models {
         return stateDurations;
     }
 
+    /**
+     * Count state duration of a sequence in a map of map
+     * @param seq a sequence of data whose index starts with 1
+     * @return a map of map of state durations
+     */
+    public static Map<Integer, Map<Integer, Integer>> countStateDurationForOneSequence(SequenceDataset.Sequence seq) {
+
+        // a sequence of data whose index starts with 1
+        Map<Integer, Map<Integer, Integer>> stateDurations = null;
+        if (seq == null || seq.length() < 1) {
+            LOGGER.log(Level.INFO, "The sequence is null or the length of the sequence is less than 2!");
+            return stateDurations;
+        }
+
+        stateDurations = new HashMap<Integer, Map<Integer, Integer>>();
+        addStateDurations(seq, stateDurations);
+
+        return stateDurations;
+    }
+
+    /**
+     * Add the state durations of a sequence into a map of map
+     * @param seq a sequence of data whose index starts with 1
+     * @param stateDurations state No. -> (state duration value -> frequency), updated in place
+     */
+    private static void addStateDurations(SequenceDataset.Sequence seq, Map<Integer, Map<Integer, Integer>> stateDurations) {
+        int N = seq.length();
+        int i = 0;
+        while (i < N) {
+            int curState = seq.getState(i);
+            int count = 1;
+            int j = i + 1;
+            while (j < N && seq.getState(j) == curState) {
+                count++; // count the duration for a given state
+                j++;
+            }
+
+            Map<Integer, Integer> curStateDurations = stateDurations.get(curState);
+            if (curStateDurations == null) {
+                curStateDurations = new HashMap<Integer, Integer>();
+                stateDurations.put(curState, curStateDurations);
+            }
+            Integer frequency = curStateDurations.get(count);
+            curStateDurations.put(count, frequency == null ? 1 : frequency + 1);
+
+            i = j; // move i
+        }
+    }
+
     /**
      * Count state duration of a sequence for a given state
      * @param seq a sequence of data whose index starts with 1
@@ -539,6 +666,35 @@ public class Models {
         return stateDurations;
     }
 
+    /**
+     * Count state duration of sequences in a map of map
+     * @param seqs a dataset of sequences whose index starts with 1
+     * @return a map of map of state durations
+     */
+    public static Map<Integer, Map<Integer, Integer>> countStateDurationForSequences(SequenceDataset seqs) {
+
+        // a sequence of data whose index starts with 1
+        Map<Integer, Map<Integer, Integer>> stateDurations = null;
+        if (seqs == null) {
+            LOGGER.log(Level.INFO, "The sequence is null!");
+            return stateDurations;
+        }
+
+        if (seqs.size() == 0) {
+            LOGGER.log(Level.INFO, "The sequence is empty!");
+            return stateDurations;
+        }
+
+        stateDurations = new HashMap<Integer, Map<Integer, Integer>>();
+        int ROW = seqs.size();
+
+        for (int k = 0; k < ROW; k++) {
+            addStateDurations(seqs.getSequence(k), stateDurations);
+        }
+
+        return stateDurations;
+    }
+
     /**
      * Count state duration of a sequence for a given state
      * @param seqs a sequence of data whose index starts with 1
@@ -599,10 +755,10 @@ public class Models {
 
         //------------------------------- test count state transition -------------------------------//
         int[] seq = {1, 1, 1, 1, 1, 2, 2, 2, 2, 1, 1, 1, 1, 3, 3, 3, 1, 1, 2, 3};
-        Utilities.printMatrix(Models.countStateTransitionForOneSequence(seq));
+        Utilities.printMatrix(Models.countStateTransitionForOneSequence(seq, 3));
 
         List<Integer> seql = new ArrayList<Integer>(Arrays.asList(1, 1, 1, 1, 1, 2, 2, 2, 2, 1, 1, 1, 1, 3, 3, 3, 1, 1, 2, 3));
-        Utilities.printMatrix(Models.countStateTransitionForOneSequence(seql));
+        Utilities.printMatrix(Models.countStateTransitionForOneSequence(seql, 3));
 
         Map<Integer, Map<Integer, Integer>> data = Models.countStateDurationForOneSequence(seq);
 
@@ -0,0 +1,313 @@
+package initializer.clusterings;
+
+import initializer.distancematrix.DistanceMatrix;
+import initializer.distancematrix.DistanceMatrixEngine;
+import initializer.distancematrix.NearestNeighborEngine;
+import initializer.distancematrix.PRECISION;
+import initializer.dtws.IDTW;
+import initializer.dtws.IDTWFactory;
+import initializer.dtws.PrimitiveSakoeChibaDTW;
+import umontreal.iro.lecuyer.rng.RandomPermutation;
+import umontreal.iro.lecuyer.rng.RandomStream;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Project: DCDMC
+ * Package: initializer.clusterings
+ * Date: 18/Oct/2026
+ * Time: 03:10
+ * System Time: 3:10 AM
+ */
+
+/*
+    CLARA, k-medoids of a few random samples of the instances.
+
+    Each sample is clustered by FasterPAM on its own small distance matrix, and all instances are then assigned to
+    the medoids of the sample; the medoids with the smallest total deviation over all instances are kept. After the
+    first sample, every sample contains the best medoids so far, which are also its initial medoids.
+
+    Given the sequences, the distances are computed by dynamic time warping: the matrix of each sample, and the
+    distances of all instances to its medoids by a NearestNeighborEngine, whose lower bounds skip most of them. The
+    work is O(S^2 + N K) distances per sample of S instances, so no N x N matrix is ever built. Given a distance
+    matrix, the same distances are read from it.
+ */
+public class CLARAClusterAdapter implements ISequenceClusteringAlgorithm {
+
+    private static final Logger LOGGER = Logger.getLogger(CLARAClusterAdapter.class.getName());
+
+    public final static int DEFAULTSAMPLENUM = 5; // default number of samples
+
+    private final int mThreadNum;
+    private final RandomStream mStream;
+    private final int mSampleNum;
+    private final int mSampleSize; // 0 for 40 + 2 K instances
+    private int[] mMedoids; // instance No. of the medoids of the last call
+
+    /**
+     * class constructor, one thread per processor, the default seed and the sample sizes of Kaufman and Rousseeuw
+     */
+    public CLARAClusterAdapter() {
+        this(0);
+    }
+
+    /**
+     * class constructor with the default seed and the sample sizes of Kaufman and Rousseeuw
+     * @param threadNum the number of worker threads, 0 for all processors
+     */
+    public CLARAClusterAdapter(int threadNum) {
+        this(threadNum, KMedoidsClusterAdapter.createStream(KMedoidsClusterAdapter.DEFAULTSEED), DEFAULTSAMPLENUM, 0);
+    }
+
+    /**
+     * class constructor
+     * @param threadNum the number of worker threads, 0 for all processors
+     * @param stream random stream of the samples
+     * @param sampleNum the number of samples
+     * @param sampleSize the number of instances of a sample, 0 for 40 + 2 K
+     */
+    public CLARAClusterAdapter(int threadNum, RandomStream stream, int sampleNum, int sampleSize) {
+        this.mThreadNum = threadNum > 0 ? threadNum : Runtime.getRuntime().availableProcessors();
+        this.mStream = stream;
+        this.mSampleNum = Math.max(1, sampleNum);
+        this.mSampleSize = Math.max(0, sampleSize);
+        this.mMedoids = null;
+    }
+
+    /**
+     * Get cluster assignment starting with 0 as class labels
+     * @param clusterNum the maximum of clusters
+     * @param distanceMatrix condensed distance matrix of sequences
+     * @return an array of cluster assignments
+     */
+    @Override
+    public int[] getClusterAssignment(int clusterNum, DistanceMatrix distanceMatrix) {
+
+        if (distanceMatrix == null) {
+            LOGGER.info("The distance matrix is null!");
+            return null;
+        }
+
+        if (distanceMatrix.size() == 0) {
+            LOGGER.info("The distance matrix is empty!");
+            return null;
+        }
+
+        return cluster(clusterNum, distanceMatrix.size(), distanceMatrix, null, null, null);
+    }
+
+    /**
+     * Get cluster assignment starting with 0 as class labels, computing the distances it needs from the sequences
+     * instead of reading them from a distance matrix
+     * @param clusterNum the maximum of clusters
+     * @param instances instance dataset
+     * @param idtwFactory the factory of dynamic time warping workers
+     * @return an array of cluster assignments
+     */
+    @Override
+    public int[] getClusterAssignment(int clusterNum, List<List<Double>> instances, IDTWFactory idtwFactory) {
+
+        if (instances == null || idtwFactory == null) {
+            LOGGER.info("The instances or the dynamic time warping factory are null!");
+            return null;
+        }
+
+        if (instances.size() == 0) {
+            LOGGER.info("The instances are empty!");
+            return null;
+        }
+
+        NearestNeighborEngine engine = new NearestNeighborEngine(idtwFactory, instances, this.mThreadNum);
+        return cluster(clusterNum, instances.size(), null, instances, idtwFactory, engine);
+    }
+
+    /**
+     * Cluster the samples and keep the best medoids, the distances read from the matrix if it is given
+     * @param clusterNum the maximum of clusters
+     * @param N the number of instances
+     * @param distanceMatrix condensed distance matrix, or null
+     * @param instances instance dataset if there is no matrix
+     * @param idtwFactory the factory of dynamic time warping workers if there is no matrix
+     * @param engine nearest medoid queries of the instances if there is no matrix
+     * @return an array of cluster assignments
+     */
+    private int[] cluster(int clusterNum, int N, DistanceMatrix distanceMatrix, List<List<Double>> instances,
+                          IDTWFactory idtwFactory, NearestNeighborEngine engine) {
+
+        if (this.mStream == null) {
+            LOGGER.log(Level.INFO, "The random stream is null!");
+            return null;
+        }
+
+        int K = Math.max(1, Math.min(clusterNum, N));
+        int S = Math.min(N, Math.max(K, this.mSampleSize > 0 ? this.mSampleSize : 40 + 2 * K));
+        this.mStream.resetStartStream();
+
+        int[] instanceNos = new int[N];
+        for (int i = 0; i < N; i++) instanceNos[i] = i;
+        boolean[] isBest = new boolean[N];
+
+        int[] bestMedoids = null;
+        int[] bestLabels = null;
+        double bestDeviation = Double.POSITIVE_INFINITY;
+        int[] labels = new int[N];
+        double[] distances = new double[N];
+        long computedNum = 0;
+
+        // a sample of all instances needs no other sample
+        int sampleNum = S == N ? 1 : this.mSampleNum;
+        for (int s = 0; s < sampleNum; s++) {
+
+            // the best medoids, then random instances
+            int[] sample = new int[S];
+            int c = 0;
+            if (bestMedoids != null) {
+                for (int medoid : bestMedoids) sample[c++] = medoid;
+            }
+            RandomPermutation.shuffle(instanceNos, N, Math.min(N, S + K), this.mStream);
+            for (int i = 0; c < S; i++) {
+                if (!isBest[instanceNos[i]]) sample[c++] = instanceNos[i];
+            }
+
+            // initial medoids, the best medoids so far or random sampled instances
+            int[] sampleMedoids = new int[K];
+            if (bestMedoids != null) {
+                for (int k = 0; k < K; k++) sampleMedoids[k] = k;
+            } else {
+                sampleMedoids = KMedoidsClusterAdapter.drawInstances(S, K, this.mStream);
+            }
+
+            DistanceMatrix sampleMatrix = computeSampleMatrix(sample, distanceMatrix, instances, idtwFactory);
+            if (sampleMatrix == null) return null;
+            computedNum += DistanceMatrix.getCondensedLength(S);
+            if (Double.isNaN(new FasterPAM(sampleMatrix, this.mThreadNum).run(sampleMedoids, new int[S]))) {
+                LOGGER.log(Level.INFO, "K-medoids of sample " + (s + 1) + " failed!");
+                return null;
+            }
+
+            int[] medoids = new int[K];
+            for (int k = 0; k < K; k++) medoids[k] = sample[sampleMedoids[k]];
+            double deviation = assign(medoids, labels, distances, distanceMatrix, engine);
+            if (Double.isNaN(deviation)) return null;
+
+            LOGGER.log(Level.INFO, "CLARA: sample " + (s + 1) + " of " + S + " instances, total deviation "
+                    + deviation + ".");
+
+            if (deviation < bestDeviation) {
+                if (bestMedoids != null) {
+                    for (int medoid : bestMedoids) isBest[medoid] = false;
+                }
+                for (int medoid : medoids) isBest[medoid] = true;
+                bestMedoids = medoids;
+                bestLabels = Arrays.copyOf(labels, N);
+                bestDeviation = deviation;
+            }
+        }
+
+        if (engine != null) {
+            LOGGER.log(Level.INFO, "CLARA: " + K + " medoids of " + N + " instances with " + computedNum
+                    + " sample distances and " + engine.getComputedNum() + " full, " + engine.getAbandonedNum()
+                    + " abandoned and " + engine.getPrunedNum() + " pruned assignment distances.");
+        }
+
+        this.mMedoids = bestMedoids;
+        return KMedoidsClusterAdapter.relabel(bestLabels, K);
+    }
+
+    /**
+     * Distance matrix of a sample
+     * @param sample instance No. of the sampled instances
+     * @param distanceMatrix condensed distance matrix, or null
+     * @param instances instance dataset if there is no matrix
+     * @param idtwFactory the factory of dynamic time warping workers if there is no matrix
+     * @return the distance matrix of the sample
+     */
+    private DistanceMatrix computeSampleMatrix(int[] sample, DistanceMatrix distanceMatrix,
+                                               List<List<Double>> instances, IDTWFactory idtwFactory) {
+        int S = sample.length;
+        if (distanceMatrix == null) {
+            List<List<Double>> sampleInstances = new ArrayList<List<Double>>(S);
+            for (int instanceNo : sample) sampleInstances.add(instances.get(instanceNo));
+            return new DistanceMatrixEngine(idtwFactory, this.mThreadNum,
+                    DistanceMatrixEngine.DEFAULTTILESIZE).computeDistanceMatrix(sampleInstances, PRECISION.DOUBLE);
+        }
+
+        DistanceMatrix sampleMatrix = DistanceMatrix.allocateDirect(S, distanceMatrix.getPrecision());
+        for (int i = 0; i < S; i++) {
+            for (int j = i + 1; j < S; j++) {
+                sampleMatrix.set(i, j, distanceMatrix.get(sample[i], sample[j]));
+            }
+        }
+        return sampleMatrix;
+    }
+
+    /**
+     * Assign all instances to their nearest medoids
+     * @param medoids instance No. of the medoids
+     * @param labels filled with the medoid index of each instance
+     * @param distances filled with the distance of each instance to its nearest medoid
+     * @param distanceMatrix condensed distance matrix, or null
+     * @param engine nearest medoid queries of the instances if there is no matrix
+     * @return the total deviation, NaN if the assignment failed
+     */
+    private static double assign(int[] medoids, int[] labels, double[] distances, DistanceMatrix distanceMatrix,
+                                 NearestNeighborEngine engine) {
+        if (distanceMatrix == null) {
+            int[] nearest = engine.assignNearestMedoids(medoids, distances);
+            if (nearest == null) return Double.NaN;
+            System.arraycopy(nearest, 0, labels, 0, labels.length);
+        } else {
+            for (int i = 0; i < labels.length; i++) {
+                labels[i] = 0;
+                distances[i] = distanceMatrix.get(i, medoids[0]);
+                for (int k = 1; k < medoids.length; k++) {
+                    double distance = distanceMatrix.get(i, medoids[k]);
+                    if (distance < distances[i]) {
+                        labels[i] = k;
+                        distances[i] = distance;
+                    }
+                }
+            }
+        }
+
+        double deviation = 0;
+        for (double distance : distances) deviation += distance;
+        return deviation;
+    }
+
+    /**
+     * Getter
+     * @return instance No. of the medoids of the last call, in the order of their medoid index; null before
+     */
+    public int[] getMedoids() {
+        return this.mMedoids == null ? null : Arrays.copyOf(this.mMedoids, this.mMedoids.length);
+    }
+
+    /**
+     * test
+     * @param args user input
+     */
+    public static void main(String[] args) {
+        List<List<Double>> instances = new ArrayList<List<Double>>();
+        for (int i = 0; i < 200; i++) {
+            List<Double> instance = new ArrayList<Double>();
+            for (int j = 0; j < 50; j++) instance.add((double) (1 + ((j + 3 * i) / (5 + i % 4)) % 3));
+            instances.add(instance);
+        }
+
+        IDTWFactory idtwFactory = new IDTWFactory() {
+            @Override
+            public IDTW createDTW() {
+                return new PrimitiveSakoeChibaDTW("BinaryDistance", 10);
+            }
+        };
+
+        CLARAClusterAdapter test = new CLARAClusterAdapter(2);
+        System.out.println(Arrays.toString(test.getClusterAssignment(4, instances, idtwFactory)));
+        System.out.println(Arrays.toString(test.getMedoids()));
+    }
+}
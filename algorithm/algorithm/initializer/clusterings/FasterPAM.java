@@ -0,0 +1,353 @@
+package initializer.clusterings;
+
+import initializer.distancematrix.DistanceMatrix;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Project: DCDMC
+ * Package: initializer.clusterings
+ * Date: 18/Oct/2026
+ * Time: 02:10
+ * System Time: 2:10 AM
+ */
+
+/*
+    FasterPAM, the swap phase of k-medoids by Schubert and Rousseeuw.
+
+    For every instance the nearest and the second nearest medoid are kept, and for every medoid the loss of removing
+    it. The change of the total deviation of swapping a candidate in is then found for all K medoids at once in one
+    pass over the instances, O(N) instead of the O(N K) of PAM. Swaps are eager: the candidates are visited in
+    order and the first one which improves the total deviation is swapped in at once, until a whole round of
+    candidates brings no improvement.
+
+    The candidates are evaluated in blocks on a fork-join pool, the state being unchanged within a block, and the
+    first improving candidate of a block is swapped in, so the medoids are the same as visiting the candidates one
+    by one whatever the number of threads.
+ */
+public class FasterPAM {
+
+    private static final Logger LOGGER = Logger.getLogger(FasterPAM.class.getName());
+
+    public final static int DEFAULTMAXROUNDS = 100; // default maximum of rounds over all candidates
+    private final static int MINBLOCKSIZE = 16; // candidates evaluated together
+    private final static int CHUNKSIZE = 4; // candidates per task
+    private final static double TOLERANCE = 1e-12; // relative decrease of a swap, smaller ones are rounding errors
+
+    private final DistanceMatrix mDistanceMatrix;
+    private final int mThreadNum;
+    private final int mMaxRounds;
+
+    // state of the current medoids
+    private int[] mNearest; // medoid index of the nearest medoid of each instance
+    private int[] mSecond; // medoid index of the second nearest medoid of each instance
+    private double[] mNearestDistances;
+    private double[] mSecondDistances;
+    private double[] mRemovalLoss; // change of the total deviation of removing each medoid
+
+    private int mSwapNum; // swaps of the last run
+    private int mEvaluationNum; // candidates evaluated by the last run
+
+    /**
+     * class constructor
+     * @param distanceMatrix condensed distance matrix of the instances
+     * @param threadNum the number of worker threads
+     */
+    public FasterPAM(DistanceMatrix distanceMatrix, int threadNum) {
+        this(distanceMatrix, threadNum, DEFAULTMAXROUNDS);
+    }
+
+    /**
+     * class constructor
+     * @param distanceMatrix condensed distance matrix of the instances
+     * @param threadNum the number of worker threads
+     * @param maxRounds the maximum of rounds over all candidates
+     */
+    public FasterPAM(DistanceMatrix distanceMatrix, int threadNum, int maxRounds) {
+        this.mDistanceMatrix = distanceMatrix;
+        this.mThreadNum = Math.max(1, threadNum);
+        this.mMaxRounds = Math.max(1, maxRounds);
+    }
+
+    /**
+     * Improve the medoids by swaps until no swap decreases the total deviation
+     * @param medoids instance No. of the initial medoids, distinct, replaced by the final medoids
+     * @param labels filled with the medoid index (0 .. K - 1) of the nearest medoid of each instance
+     * @return the total deviation, the sum of the distances of the instances to their nearest medoids; NaN if the
+     * input is invalid
+     */
+    public double run(int[] medoids, int[] labels) {
+
+        if (this.mDistanceMatrix == null || this.mDistanceMatrix.size() == 0) {
+            LOGGER.log(Level.INFO, "The distance matrix is null or empty!");
+            return Double.NaN;
+        }
+
+        int N = this.mDistanceMatrix.size();
+        if (medoids == null || medoids.length == 0 || medoids.length > N) {
+            LOGGER.log(Level.INFO, "The number of medoids should be between 1 and " + N + "!");
+            return Double.NaN;
+        }
+
+        if (labels == null || labels.length != N) {
+            LOGGER.log(Level.INFO, "The labels do not match the instances!");
+            return Double.NaN;
+        }
+
+        boolean[] isMedoid = new boolean[N];
+        for (int medoid : medoids) {
+            if (medoid < 0 || medoid >= N || isMedoid[medoid]) {
+                LOGGER.log(Level.INFO, "Medoid " + medoid + " is not an instance or is repeated!");
+                return Double.NaN;
+            }
+            isMedoid[medoid] = true;
+        }
+
+        int K = medoids.length;
+        this.mNearest = new int[N];
+        this.mSecond = new int[N];
+        this.mNearestDistances = new double[N];
+        this.mSecondDistances = new double[N];
+        this.mRemovalLoss = new double[K];
+        this.mSwapNum = 0;
+        this.mEvaluationNum = 0;
+
+        for (int o = 0; o < N; o++) findNearest(medoids, o);
+        updateRemovalLoss();
+        double deviation = computeDeviation();
+
+        if (K < N) {
+            int blockSize = Math.max(MINBLOCKSIZE, CHUNKSIZE * this.mThreadNum);
+            double[] changes = new double[blockSize];
+            int[] removals = new int[blockSize];
+
+            ForkJoinPool pool = new ForkJoinPool(this.mThreadNum);
+            try {
+                int lastSwap = -1; // the candidate of the last swap, a round ends there
+                int candidate = 0;
+                long evaluationLimit = (long) this.mMaxRounds * N;
+                boolean converged = deviation == 0;
+
+                while (!converged && this.mEvaluationNum < evaluationLimit) {
+                    int from = candidate;
+                    int to = Math.min(N, from + blockSize);
+                    pool.invoke(new SwapTask(medoids, isMedoid, changes, removals, from, from, to));
+
+                    int swapped = -1;
+                    for (int x = from; x < to; x++) {
+                        if (x == lastSwap) {
+                            converged = true; // a whole round without improvement
+                            break;
+                        }
+                        if (isMedoid[x]) continue;
+                        this.mEvaluationNum++;
+                        if (changes[x - from] < -TOLERANCE * deviation) {
+                            swapped = x;
+                            break;
+                        }
+                    }
+
+                    if (swapped >= 0) {
+                        int removal = removals[swapped - from];
+                        isMedoid[medoids[removal]] = false;
+                        isMedoid[swapped] = true;
+                        medoids[removal] = swapped;
+                        updateNearest(medoids, removal, swapped);
+                        updateRemovalLoss();
+                        deviation = computeDeviation();
+                        this.mSwapNum++;
+                        lastSwap = swapped;
+                        candidate = swapped + 1;
+                    } else {
+                        candidate = to;
+                        if (lastSwap < 0 && to == N) converged = true; // the first round found nothing
+                    }
+                    if (candidate == N) candidate = 0;
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        System.arraycopy(this.mNearest, 0, labels, 0, N);
+        return deviation;
+    }
+
+    /**
+     * The total deviation of the current medoids
+     * @return the sum of the distances of the instances to their nearest medoids
+     */
+    private double computeDeviation() {
+        double deviation = 0;
+        for (double distance : this.mNearestDistances) deviation += distance;
+        return deviation;
+    }
+
+    /**
+     * Find the nearest and the second nearest medoids of an instance
+     * @param medoids instance No. of the medoids
+     * @param o an instance
+     */
+    private void findNearest(int[] medoids, int o) {
+        int nearest = -1;
+        int second = -1;
+        double nearestDistance = Double.POSITIVE_INFINITY;
+        double secondDistance = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < medoids.length; i++) {
+            double distance = this.mDistanceMatrix.get(o, medoids[i]);
+            if (nearest < 0 || distance < nearestDistance) {
+                second = nearest;
+                secondDistance = nearestDistance;
+                nearest = i;
+                nearestDistance = distance;
+            } else if (second < 0 || distance < secondDistance) {
+                second = i;
+                secondDistance = distance;
+            }
+        }
+        this.mNearest[o] = nearest;
+        this.mSecond[o] = Math.max(second, 0);
+        this.mNearestDistances[o] = nearestDistance;
+        this.mSecondDistances[o] = secondDistance;
+    }
+
+    /**
+     * Update the nearest medoids after medoid removal was replaced by the instance x
+     * @param medoids instance No. of the medoids, after the swap
+     * @param removal the replaced medoid index
+     * @param x the new medoid
+     */
+    private void updateNearest(int[] medoids, int removal, int x) {
+        for (int o = 0; o < this.mNearest.length; o++) {
+            if (this.mNearest[o] == removal || this.mSecond[o] == removal) {
+                findNearest(medoids, o);
+                continue;
+            }
+
+            double distance = this.mDistanceMatrix.get(o, x);
+            if (distance < this.mNearestDistances[o]) {
+                this.mSecond[o] = this.mNearest[o];
+                this.mSecondDistances[o] = this.mNearestDistances[o];
+                this.mNearest[o] = removal;
+                this.mNearestDistances[o] = distance;
+            } else if (distance < this.mSecondDistances[o]) {
+                this.mSecond[o] = removal;
+                this.mSecondDistances[o] = distance;
+            }
+        }
+    }
+
+    /**
+     * Recompute the loss of removing each medoid, the instances moving to their second nearest medoids
+     */
+    private void updateRemovalLoss() {
+        Arrays.fill(this.mRemovalLoss, 0);
+        if (this.mRemovalLoss.length == 1) return; // the only medoid can only be replaced
+        for (int o = 0; o < this.mNearest.length; o++) {
+            this.mRemovalLoss[this.mNearest[o]] += this.mSecondDistances[o] - this.mNearestDistances[o];
+        }
+    }
+
+    /**
+     * Change of the total deviation of swapping the instance x in, for the best medoid to swap out
+     * @param x a non-medoid
+     * @param changes the removal loss of each medoid on entry, the change of each swap on return
+     * @return the medoid index of the best swap
+     */
+    private int evaluateSwap(int x, double[] changes) {
+        int K = changes.length;
+
+        // with one medoid, all instances move to x
+        if (K == 1) {
+            double change = 0;
+            for (int o = 0; o < this.mNearest.length; o++) {
+                change += this.mDistanceMatrix.get(o, x) - this.mNearestDistances[o];
+            }
+            changes[0] = change;
+            return 0;
+        }
+
+        double gain = 0; // change of the instances moving to x whichever medoid is removed
+        for (int o = 0; o < this.mNearest.length; o++) {
+            double distance = this.mDistanceMatrix.get(o, x);
+            double nearestDistance = this.mNearestDistances[o];
+            if (distance < nearestDistance) {
+                gain += distance - nearestDistance;
+                changes[this.mNearest[o]] += nearestDistance - this.mSecondDistances[o];
+            } else if (distance < this.mSecondDistances[o]) {
+                changes[this.mNearest[o]] += distance - this.mSecondDistances[o];
+            }
+        }
+
+        int best = 0;
+        for (int i = 1; i < K; i++) {
+            if (changes[i] < changes[best]) best = i;
+        }
+        changes[best] += gain;
+        return best;
+    }
+
+    /**
+     * Getter
+     * @return the number of swaps of the last run
+     */
+    public int getSwapNum() {
+        return this.mSwapNum;
+    }
+
+    /**
+     * Getter
+     * @return the number of candidates evaluated by the last run
+     */
+    public int getEvaluationNum() {
+        return this.mEvaluationNum;
+    }
+
+    /**
+     * Recursively split a block of candidates until a chunk is left
+     */
+    private class SwapTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 7574918311415852851L;
+
+        private final int[] medoids;
+        private final boolean[] isMedoid;
+        private final double[] changes;
+        private final int[] removals;
+        private final int offset; // the first candidate of the block
+        private final int from;
+        private final int to;
+
+        SwapTask(int[] medoids, boolean[] isMedoid, double[] changes, int[] removals, int offset, int from, int to) {
+            this.medoids = medoids;
+            this.isMedoid = isMedoid;
+            this.changes = changes;
+            this.removals = removals;
+            this.offset = offset;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNKSIZE) {
+                double[] loss = new double[medoids.length];
+                for (int x = from; x < to; x++) {
+                    if (isMedoid[x]) continue;
+                    System.arraycopy(mRemovalLoss, 0, loss, 0, loss.length);
+                    removals[x - offset] = evaluateSwap(x, loss);
+                    changes[x - offset] = loss[removals[x - offset]];
+                }
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new SwapTask(medoids, isMedoid, changes, removals, offset, from, middle),
+                    new SwapTask(medoids, isMedoid, changes, removals, offset, middle, to));
+        }
+    }
+}
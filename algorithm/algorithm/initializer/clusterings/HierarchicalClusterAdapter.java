@@ -2,13 +2,13 @@ package initializer.clusterings;
 
 import Utilities.Utilities;
 import hierarchicalclustering.*;
-import starter.Config;
+import initializer.distancematrix.DistanceMatrix;
+import initializer.distancematrix.PRECISION;
 import visualization.DendrogramPanel;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.*;
-import java.util.List;
+import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -27,12 +27,13 @@ public class HierarchicalClusterAdapter implements IClusteringAlgorithm {
 
     private static final Logger LOGGER = Logger.getLogger(HierarchicalClusterAdapter.class.getName());
     private LinkageStrategy linkageStrategy;
+    private boolean showDendrogram; // build the Cluster tree and show it in a DendrogramPanel
 
     /**
      * class constructor
+     * @param linkageType hierarchical linkage type
      */
-    public HierarchicalClusterAdapter() {
-        String linkageType = Config.getHIERARCHICALLINKAGETYPE();
+    public HierarchicalClusterAdapter(String linkageType) {
         if (linkageType == null) {
             LOGGER.warning("No Linkage Type Info!");
         } else if (linkageType.equals("AVERAGELINKAGESTRATEGY")) {
@@ -51,235 +52,140 @@ public class HierarchicalClusterAdapter implements IClusteringAlgorithm {
     /**
      * Get cluster assignment starting with 0 as class labels
      * @param clusterNum the maximum of clusters
-     * @param distanceMatrix distance matrix of sequences
+     * @param distanceMatrix condensed distance matrix of sequences
      * @return an array of cluster assignments
      */
     @Override
-    public int[] getClusterAssignment(int clusterNum, double[][] distanceMatrix) {
+    public int[] getClusterAssignment(int clusterNum, DistanceMatrix distanceMatrix) {
 
         if (distanceMatrix == null) {
             LOGGER.info("The distance matrix is null!");
             return null;
         }
 
-        if (distanceMatrix.length == 0 || distanceMatrix[0].length == 0) {
+        if (distanceMatrix.size() == 0) {
             LOGGER.info("The distance matrix is empty!");
             return null;
         }
 
-        int[] clusterAssignment = null;
-
         // get hierarchical cluster
-        Cluster cluster = getClusterAlgorithm(this.linkageStrategy, distanceMatrix);
-
-        // get a map of distance with corresponding instances
-        Stack<ClusterWrapperNode> listClusterNodes = getCluster(cluster);
+        Linkage linkage = getLinkage(this.linkageStrategy, distanceMatrix);
 
-        if (cluster == null) {
+        if (linkage == null) {
             LOGGER.log(Level.INFO, "Hierarchical cluster is null!");
-            return clusterAssignment;
-        }
-
-        if (listClusterNodes == null) {
-            LOGGER.log(Level.INFO, "The list of hierarchical cluster nodes is null!");
-            return clusterAssignment;
-        }
-
-        clusterAssignment = new int[distanceMatrix.length];
-
-        int curClusterNum = listClusterNodes.size();
-        while(curClusterNum > clusterNum) {
-
-            if (curClusterNum < 2) {
-                LOGGER.log(Level.INFO, "There are at most one node in the queue!");
-                break;
-            }
-
-            /*
-                The method of combining clusters:
-                    1. Every time pop up the first two nodes in the stack
-                    2. Combine the first two nodes into one
-                    3. Push back the new one into the stack
-             */
-
-            // get the first two nodes to combine them into one
-            ClusterWrapperNode cn1 = listClusterNodes.pop();
-            ClusterWrapperNode cn2 = listClusterNodes.pop();
-
-            // add the new node into the head of the list
-            cn1.combineClusterNodes(cn2);
-            listClusterNodes.push(cn1);
-
-            // reduce one cluster
-            curClusterNum--;
+            return null;
         }
 
-        int classLabel = 0;
-        while(!listClusterNodes.isEmpty()) {
-            ClusterWrapperNode node = listClusterNodes.pop();
-            for (Integer seqNo : node.instances) {
-                clusterAssignment[seqNo - 1] = classLabel;
+        // the Cluster tree is only built for the dendrogram view
+        if (this.showDendrogram) {
+            String[] names = new String[linkage.size()]; // name instances starting with 1
+            for (int i = 0; i < names.length; i++) {
+                names[i] = String.valueOf(i + 1);
             }
-
-            classLabel++;
+            visualizeHierarchicalClustering(linkage.toCluster(names));
         }
 
-        return clusterAssignment;
+        return cutTree(linkage, clusterNum);
     }
 
     /**
-     * A stack of instances in the wrapper class of the distance with corresponding instances
-     * @param cluster hierarchical cluster instance
-     * @return a stack of distances with corresponding instances
+     * Cut the dendrogram into clusterNum clusters by applying all merges but the last clusterNum - 1
+     * @param linkage linkage of instances, merges sorted by height
+     * @param clusterNum the maximum of clusters
+     * @return an array of cluster assignments, labels numbered by the first instance of each cluster
      */
-    private Stack<ClusterWrapperNode> getCluster(Cluster cluster) {
-
-        Stack<ClusterWrapperNode> clusterNodeList = null;
-
-        if (cluster == null) {
-            LOGGER.log(Level.INFO, "Hierarchical cluster is null!");
-            return clusterNodeList;
+    private int[] cutTree(Linkage linkage, int clusterNum) {
+        int N = linkage.size();
+        int mergeNum = N - Math.max(1, Math.min(clusterNum, N));
+
+        // union-find over leaves and merged clusters, merge k makes the cluster N + k
+        int[] parents = new int[N + mergeNum];
+        for (int i = 0; i < parents.length; i++) {
+            parents[i] = i;
+        }
+        for (int k = 0; k < mergeNum; k++) {
+            parents[linkage.getLeft(k)] = N + k;
+            parents[linkage.getRight(k)] = N + k;
         }
 
-        clusterNodeList = new Stack<ClusterWrapperNode>();
-
-        Queue<List<Cluster>> queue = new LinkedList<List<Cluster>>();
-        queue.offer(new ArrayList<Cluster>(Arrays.asList(cluster)));
-
-        Double levelDistance = 0.0; // the distance from the leaf node
-        while(!queue.isEmpty()) {
-
-            List<Cluster> curClusterList = queue.poll();
-
-            //---------- If the list is the list of only containing leaf nodes -----------//
-            boolean flag = true;
-            List<Integer> levelList = new ArrayList<Integer>();
-            for (Cluster curCluster : curClusterList) {
-                if (!curCluster.isLeaf()) {
-                    flag = false;
-                    break;
-                }
-                String name = curCluster.getName(); // the leaf node name
-                levelList.add(Integer.parseInt(name));
-            }
-
-            if (flag) {
-                if (levelList != null && levelList.size() > 0) {
-                    clusterNodeList.push(new ClusterWrapperNode(levelDistance, levelList));
-                }
-                continue; // move to the next list in the queue
+        // label clusters in order of their first instance
+        int[] labels = new int[parents.length];
+        Arrays.fill(labels, -1);
+        int[] clusterAssignment = new int[N];
+        int classLabel = 0;
+        for (int i = 0; i < N; i++) {
+            int root = i;
+            while (parents[root] != root) {
+                parents[root] = parents[parents[root]]; // path halving
+                root = parents[root];
             }
-
-            //---------- If the list is not the list of only containing left nodes ----------//
-            List<Cluster> levelClusterList = new ArrayList<Cluster>();
-            for (Cluster curCluster : curClusterList) {
-                // if the current cluster node is leaf
-                if (curCluster.isLeaf()) {
-                    levelClusterList.add(curCluster);
-
-                } else {
-
-                    // add the list of leaf nodes so far as a list into the queue
-                    if (levelClusterList != null && levelClusterList.size() > 0) {
-                        queue.offer(levelClusterList);
-                        levelClusterList = new ArrayList<Cluster>();
-                    }
-
-                    levelDistance = curCluster.getDistanceValue(); // update level distance
-
-                    // get the children of the current non-leaf node as one single list
-                    List<Cluster> tempClusterNodeList = new ArrayList<Cluster>();
-                    for (Cluster child : curCluster.getChildren()) {
-                        tempClusterNodeList.add(child);
-                    }
-                    queue.offer(tempClusterNodeList);
-                }
-
+            if (labels[root] < 0) {
+                labels[root] = classLabel++;
             }
-
+            clusterAssignment[i] = labels[root];
         }
 
-        return clusterNodeList;
+        return clusterAssignment;
     }
 
     /**
-     * Generate a hierarchical clustering instance
+     * Generate the linkage of instances
      * @param linkageStrategy linkage strategy
-     * @return a hierarchical clustering instance
+     * @param distanceMatrix condensed distance matrix
+     * @return the linkage of instances
      */
-    private Cluster getClusterAlgorithm(LinkageStrategy linkageStrategy, double[][] distances) {
+    private Linkage getLinkage(LinkageStrategy linkageStrategy, DistanceMatrix distanceMatrix) {
 
-        Cluster cluster = null;
-        if (distances == null) {
+        Linkage linkage = null;
+        if (distanceMatrix == null) {
             LOGGER.log(Level.INFO, "Distance matrix is null!");
-            return cluster;
-        }
-
-        if (distances.length == 0 || distances[0].length == 0) {
-            LOGGER.log(Level.INFO, "Distance matrix is empty!");
-            return cluster;
+            return linkage;
         }
 
-        int ROW = distances.length;
-        int COLUMN = distances[0].length;
-
-        if (ROW != COLUMN) {
-            LOGGER.log(Level.INFO, "The dimensions in distance matrix is not consistent!");
+        if (linkageStrategy == null) {
+            LOGGER.log(Level.INFO, "Linkage strategy is null!");
+            return linkage;
         }
 
-        String[] names = new String[ROW]; // name instances starting with 1
-        for (int i = 0; i < names.length; i++) {
-            names[i] = String.valueOf(i + 1);
+        // SLINK only reads the matrix, the nearest-neighbor chain overwrites a copy; the matrix may be shared by
+        // several runs, and both stay outside the Java heap with the same condensed layout as pdist
+        DistanceMatrix distances = distanceMatrix;
+        if (!(linkageStrategy instanceof SingleLinkageStrategy)) {
+            distances = DistanceMatrix.allocateDirect(distanceMatrix.size(), PRECISION.DOUBLE);
+            long length = DistanceMatrix.getCondensedLength(distanceMatrix.size());
+            for (long k = 0; k < length; k++) {
+                distances.setCondensed(k, distanceMatrix.getCondensed(k));
+            }
         }
 
+        // do hierarchical clustering algorithm, SLINK or nearest-neighbor chain
+        linkage = LinkageClusteringAlgorithm.computeLinkage(asCondensed(distances), linkageStrategy);
 
-        ClusteringAlgorithm alg = new DefaultClusteringAlgorithm();
-
-        // do hierarchical clustering algorithm
-        cluster = alg.performClustering(distances, names, linkageStrategy);
-
-        // visualize hierarchical clustering
-        visualizeHierarchicalClustering(cluster);
-
-        return cluster;
-
+        return linkage;
     }
 
     /**
-     * Construct a class including both the distance and its corresponding instances
+     * View a distance matrix as the condensed matrix of the linkage algorithms, without copying it
+     * @param distanceMatrix condensed distance matrix
+     * @return the same values by condensed index
      */
-    private class ClusterWrapperNode implements Comparator<ClusterWrapperNode>{
-        Double distance;
-        List<Integer> instances;
-
-        ClusterWrapperNode(Double distance, List<Integer> instances) {
-            this.distance = distance;
-            this.instances = instances;
-        }
+    private static CondensedDistanceMatrix asCondensed(final DistanceMatrix distanceMatrix) {
+        return new CondensedDistanceMatrix() {
+            @Override
+            public int size() {
+                return distanceMatrix.size();
+            }
 
-        /**
-         * compare two cluster nodes
-         * @param o1 cluster node 1
-         * @param o2 clsuter node 2
-         * @return 0 if they are euqal, 1 if o1 is bigger than o2, otherwise -1.
-         */
-        @Override
-        public int compare(ClusterWrapperNode o1, ClusterWrapperNode o2) {
-            double diff = o1.distance - o2.distance;
-            if (diff > 0) return 1;
-            else if (diff < 0) return -1;
-            else return 0;
-        }
+            @Override
+            public double get(long index) {
+                return distanceMatrix.getCondensed(index);
+            }
 
-        /**
-         * Combine two cluster nodes into one
-         * @param cn the other cluster node
-         * @return one cluster nodes
-         */
-        ClusterWrapperNode combineClusterNodes(ClusterWrapperNode cn) {
-            this.instances.addAll(cn.instances);
-            return new ClusterWrapperNode(Math.max(this.distance, cn.distance), this.instances);
-        }
+            @Override
+            public void set(long index, double value) {
+                distanceMatrix.setCondensed(index, value);
+            }
+        };
     }
 
     /**
@@ -290,6 +196,14 @@ public class HierarchicalClusterAdapter implements IClusteringAlgorithm {
         this.linkageStrategy = linkageStrategy;
     }
 
+    /**
+     * Setter for the dendrogram view, off at default
+     * @param showDendrogram true to show the dendrogram of each clustering
+     */
+    public void setShowDendrogram(boolean showDendrogram) {
+        this.showDendrogram = showDendrogram;
+    }
+
     /**
      * Build a dendrogram panel to visualize hierarchical clustering
      * @param cluster hierarchical clustering of instances
@@ -342,17 +256,20 @@ public class HierarchicalClusterAdapter implements IClusteringAlgorithm {
         double[][] distances = new double[][] { { 0, 1, 9, 7, 11, 14 }, { 1, 0, 4, 3, 8, 10 }, { 9, 4, 0, 9, 2, 8 },
                 { 7, 3, 9, 0, 6, 13 }, { 11, 8, 2, 6, 0, 10 }, { 14, 10, 8, 13, 10, 0 } };
 
-        HierarchicalClusterAdapter test = new HierarchicalClusterAdapter();
-        int[] clusterAssignments = test.getClusterAssignment(5, distances);
+        DistanceMatrix distanceMatrix = DistanceMatrix.fromArray(distances, PRECISION.DOUBLE);
+
+        HierarchicalClusterAdapter test = new HierarchicalClusterAdapter("AVERAGELINKAGESTRATEGY");
+        test.setShowDendrogram(true);
+        int[] clusterAssignments = test.getClusterAssignment(5, distanceMatrix);
         Utilities.printArray(clusterAssignments);
 
-        clusterAssignments = test.getClusterAssignment(4, distances);
+        clusterAssignments = test.getClusterAssignment(4, distanceMatrix);
         Utilities.printArray(clusterAssignments);
 
-        clusterAssignments = test.getClusterAssignment(3, distances);
+        clusterAssignments = test.getClusterAssignment(3, distanceMatrix);
         Utilities.printArray(clusterAssignments);
 
-        clusterAssignments = test.getClusterAssignment(2, distances);
+        clusterAssignments = test.getClusterAssignment(2, distanceMatrix);
         Utilities.printArray(clusterAssignments);
     }
 }
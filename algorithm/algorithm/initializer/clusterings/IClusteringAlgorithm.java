@@ -1,5 +1,7 @@
 package initializer.clusterings;
 
+import initializer.distancematrix.DistanceMatrix;
+
 /**
  * Project: DCDMC
  * Package: initializer.initializers
@@ -12,8 +14,8 @@ public interface IClusteringAlgorithm {
     /**
      * Get cluster assignment starting with 0 as class labels
      * @param clusterNum the maximum of clusters
-     * @param distanceMatrix distance matrix of sequences
+     * @param distanceMatrix condensed distance matrix of sequences
      * @return an array of cluster assignments
      */
-    public int[] getClusterAssignment(int clusterNum, double[][] distanceMatrix);
+    public int[] getClusterAssignment(int clusterNum, DistanceMatrix distanceMatrix);
 }
@@ -13,5 +13,7 @@ package initializer.clusterings;
  */
 public enum INITIALCLUSTERINGTYPE {
     HIERARCHICALCLUSTERING, // hierarchical clustering
-    KMEANSCLUSTERING; // kmeans clustering
+    KMEANSCLUSTERING, // kmeans clustering, k-medoids since dynamic time warping has no means
+    KMEDOIDSCLUSTERING, // k-medoids clustering by FasterPAM
+    CLARACLUSTERING; // k-medoids clustering of samples, without the distance matrix
 }
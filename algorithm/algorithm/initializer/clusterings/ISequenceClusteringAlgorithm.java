@@ -0,0 +1,25 @@
+package initializer.clusterings;
+
+import initializer.dtws.IDTWFactory;
+
+import java.util.List;
+
+/**
+ * Project: DCDMC
+ * Package: initializer.clusterings
+ * Date: 18/Oct/2026
+ * Time: 03:05
+ * System Time: 3:05 AM
+ */
+public interface ISequenceClusteringAlgorithm extends IClusteringAlgorithm {
+
+    /**
+     * Get cluster assignment starting with 0 as class labels, computing the distances it needs from the sequences
+     * instead of reading them from a distance matrix
+     * @param clusterNum the maximum of clusters
+     * @param instances instance dataset
+     * @param idtwFactory the factory of dynamic time warping workers
+     * @return an array of cluster assignments
+     */
+    public int[] getClusterAssignment(int clusterNum, List<List<Double>> instances, IDTWFactory idtwFactory);
+}
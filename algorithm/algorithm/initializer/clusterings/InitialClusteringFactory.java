@@ -1,5 +1,7 @@
 package initializer.clusterings;
 
+import starter.RunConfig;
+
 import java.util.logging.Logger;
 
 /**
@@ -29,19 +31,24 @@ private static InitialClusteringFactory ourInstance = new InitialClusteringFacto
         }
 
         /**
-         * Generate data source
+         * Generate data source for a run
          * @param dt data type
+         * @param runConfig configuration of the run
          * @return data interface
          */
-        public IClusteringAlgorithm createInitialClusters(INITIALCLUSTERINGTYPE dt) {
+        public IClusteringAlgorithm createInitialClusters(INITIALCLUSTERINGTYPE dt, RunConfig runConfig) {
             IClusteringAlgorithm iInitializer = null;
 
             switch (dt) {
                 case HIERARCHICALCLUSTERING:
-                    iInitializer = new HierarchicalClusterAdapter();
+                    iInitializer = new HierarchicalClusterAdapter(runConfig.getHIERARCHICALLINKAGETYPE());
                     break;
                 case KMEANSCLUSTERING:
-                    iInitializer = new KMeansClusterAdapter();
+                case KMEDOIDSCLUSTERING:
+                    iInitializer = new KMedoidsClusterAdapter(runConfig.getTHREADNUM());
+                    break;
+                case CLARACLUSTERING:
+                    iInitializer = new CLARAClusterAdapter(runConfig.getTHREADNUM());
                     break;
                 default:
                     LOGGER.info("No Matching Instance To Created!");
@@ -0,0 +1,178 @@
+package initializer.clusterings;
+
+import initializer.distancematrix.DistanceMatrix;
+import initializer.distancematrix.PRECISION;
+import umontreal.iro.lecuyer.rng.MRG32k3a;
+import umontreal.iro.lecuyer.rng.RandomPermutation;
+import umontreal.iro.lecuyer.rng.RandomStream;
+
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Project: DCDMC
+ * Package: initializer.clusterings
+ * Date: 18/Oct/2026
+ * Time: 02:45
+ * System Time: 2:45 AM
+ */
+
+/**
+ * K-medoids cluster adapter, random initial medoids improved by FasterPAM on the distance matrix. The medoids are
+ * drawn from a RandomStream which is reset to its start on every call, so the same stream gives the same clusters
+ */
+public class KMedoidsClusterAdapter implements IClusteringAlgorithm {
+
+    private static final Logger LOGGER = Logger.getLogger(KMedoidsClusterAdapter.class.getName());
+
+    public final static long DEFAULTSEED = 12345; // default seed of the random stream
+
+    private final int mThreadNum;
+    private final RandomStream mStream;
+    private int[] mMedoids; // instance No. of the medoids of the last call
+
+    /**
+     * class constructor, one thread per processor and the default seed
+     */
+    public KMedoidsClusterAdapter() {
+        this(0);
+    }
+
+    /**
+     * class constructor with the default seed
+     * @param threadNum the number of worker threads, 0 for all processors
+     */
+    public KMedoidsClusterAdapter(int threadNum) {
+        this(threadNum, createStream(DEFAULTSEED));
+    }
+
+    /**
+     * class constructor
+     * @param threadNum the number of worker threads, 0 for all processors
+     * @param stream random stream of the initial medoids
+     */
+    public KMedoidsClusterAdapter(int threadNum, RandomStream stream) {
+        this.mThreadNum = threadNum > 0 ? threadNum : Runtime.getRuntime().availableProcessors();
+        this.mStream = stream;
+        this.mMedoids = null;
+    }
+
+    /**
+     * Get cluster assignment starting with 0 as class labels
+     * @param clusterNum the maximum of clusters
+     * @param distanceMatrix condensed distance matrix of sequences
+     * @return an array of cluster assignments
+     */
+    @Override
+    public int[] getClusterAssignment(int clusterNum, DistanceMatrix distanceMatrix) {
+
+        if (distanceMatrix == null) {
+            LOGGER.info("The distance matrix is null!");
+            return null;
+        }
+
+        if (distanceMatrix.size() == 0) {
+            LOGGER.info("The distance matrix is empty!");
+            return null;
+        }
+
+        if (this.mStream == null) {
+            LOGGER.log(Level.INFO, "The random stream is null!");
+            return null;
+        }
+
+        int N = distanceMatrix.size();
+        int K = Math.max(1, Math.min(clusterNum, N));
+        this.mStream.resetStartStream();
+        int[] medoids = drawInstances(N, K, this.mStream);
+
+        FasterPAM fasterPAM = new FasterPAM(distanceMatrix, this.mThreadNum);
+        int[] labels = new int[N];
+        double deviation = fasterPAM.run(medoids, labels);
+        if (Double.isNaN(deviation)) {
+            LOGGER.log(Level.INFO, "K-medoids failed!");
+            return null;
+        }
+
+        LOGGER.log(Level.INFO, "FasterPAM: " + K + " medoids of " + N + " instances after " + fasterPAM.getSwapNum()
+                + " swaps, total deviation " + deviation + ".");
+
+        this.mMedoids = medoids;
+        return relabel(labels, K);
+    }
+
+    /**
+     * Getter
+     * @return instance No. of the medoids of the last call, in the order of their medoid index; null before
+     */
+    public int[] getMedoids() {
+        return this.mMedoids == null ? null : Arrays.copyOf(this.mMedoids, this.mMedoids.length);
+    }
+
+    /**
+     * Create an MRG32k3a stream whose six seed components are all the given seed
+     * @param seed seed of the stream, between 1 and 4294944442
+     * @return the random stream at its start
+     */
+    public static RandomStream createStream(long seed) {
+        MRG32k3a stream = new MRG32k3a();
+        long[] seeds = new long[6];
+        Arrays.fill(seeds, seed);
+        stream.setSeed(seeds);
+        return stream;
+    }
+
+    /**
+     * Draw distinct instances at random
+     * @param N the number of instances
+     * @param K the number of instances to draw
+     * @param stream random stream
+     * @return instance No. of the drawn instances
+     */
+    static int[] drawInstances(int N, int K, RandomStream stream) {
+        int[] instanceNos = new int[N];
+        for (int i = 0; i < N; i++) instanceNos[i] = i;
+        RandomPermutation.shuffle(instanceNos, N, K, stream);
+        return Arrays.copyOf(instanceNos, K);
+    }
+
+    /**
+     * Number the clusters by their first instance, as HierarchicalClusterAdapter does
+     * @param labels medoid index of each instance
+     * @param K the number of medoids
+     * @return an array of cluster assignments starting with 0
+     */
+    static int[] relabel(int[] labels, int K) {
+        int[] clusterNos = new int[K];
+        Arrays.fill(clusterNos, -1);
+        int clusterNum = 0;
+        int[] clusterAssignments = new int[labels.length];
+        for (int i = 0; i < labels.length; i++) {
+            if (clusterNos[labels[i]] < 0) clusterNos[labels[i]] = clusterNum++;
+            clusterAssignments[i] = clusterNos[labels[i]];
+        }
+        return clusterAssignments;
+    }
+
+    /**
+     * test
+     * @param args user input
+     */
+    public static void main(String[] args) {
+        double[][] matrix = new double[][]{
+                {0, 1, 9, 7, 11, 14},
+                {1, 0, 4, 3, 8, 10},
+                {9, 4, 0, 9, 2, 8},
+                {7, 3, 9, 0, 6, 13},
+                {11, 8, 2, 6, 0, 10},
+                {14, 10, 8, 13, 10, 0}};
+        DistanceMatrix distanceMatrix = DistanceMatrix.fromArray(matrix, PRECISION.DOUBLE);
+
+        KMedoidsClusterAdapter test = new KMedoidsClusterAdapter(2);
+        for (int K = 1; K <= 4; K++) {
+            System.out.println(Arrays.toString(test.getClusterAssignment(K, distanceMatrix)) + " medoids "
+                    + Arrays.toString(test.getMedoids()));
+        }
+    }
+}
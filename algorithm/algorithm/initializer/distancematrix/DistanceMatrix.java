@@ -0,0 +1,282 @@
+package initializer.distancematrix;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.logging.Logger;
+
+/**
+ * Project: DCDMC
+ * Package: initializer.distancematrix
+ * Date: 17/Oct/2026
+ * Time: 10:05
+ * System Time: 10:05 AM
+ */
+
+/*
+    Symmetric distance matrix which only stores the condensed upper triangle.
+
+    The pair (i, j) with i < j is stored at index n * i - i * (i + 1) / 2 + j - i - 1, which is the same layout as
+    PDistClusteringAlgorithm.accessFunction and the condensed vector of Matlab pdist. The diagonal is always 0.
+    Values are kept outside the Java heap, either in direct buffers or in a memory-mapped file, in float or double
+    precision. Since a single buffer holds at most 2 GB, the values are split into segments of 1 GB.
+ */
+public class DistanceMatrix {
+
+    private static final Logger LOGGER = Logger.getLogger(DistanceMatrix.class.getName());
+
+    private static final int SEGMENTSHIFT = 30; // 1 GB per segment
+    private static final long SEGMENTMASK = (1L << SEGMENTSHIFT) - 1;
+
+    private final int mSize; // the number of instances
+    private final PRECISION mPrecision; // float or double
+    private final int mWidth; // bytes per value
+    private final ByteBuffer[] mSegments; // condensed upper triangle
+
+    /**
+     * class constructor
+     * @param size the number of instances
+     * @param precision float or double precision
+     * @param segments buffers of the condensed upper triangle
+     */
+    private DistanceMatrix(int size, PRECISION precision, ByteBuffer[] segments) {
+        this.mSize = size;
+        this.mPrecision = precision;
+        this.mWidth = getWidth(precision);
+        this.mSegments = segments;
+    }
+
+    /**
+     * Allocate a distance matrix in direct buffers
+     * @param size the number of instances
+     * @param precision float or double precision
+     * @return a distance matrix filled with 0
+     */
+    public static DistanceMatrix allocateDirect(int size, PRECISION precision) {
+        long bytes = getCondensedLength(size) * getWidth(precision);
+        ByteBuffer[] segments = new ByteBuffer[getSegmentNum(bytes)];
+        for (int s = 0; s < segments.length; s++) {
+            int capacity = (int) Math.min(1L << SEGMENTSHIFT, bytes - ((long) s << SEGMENTSHIFT));
+            segments[s] = ByteBuffer.allocateDirect(capacity).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return new DistanceMatrix(size, precision, segments);
+    }
+
+    /**
+     * Map a distance matrix onto a file region
+     * @param channel file channel
+     * @param offset the position of the first value in the file
+     * @param size the number of instances
+     * @param precision float or double precision
+     * @param mode READ_ONLY to use an existing file, READ_WRITE to fill it
+     * @return a distance matrix backed by the file
+     * @throws IOException if the file cannot be mapped
+     */
+    public static DistanceMatrix map(FileChannel channel, long offset, int size, PRECISION precision,
+                                     FileChannel.MapMode mode) throws IOException {
+        long bytes = getCondensedLength(size) * getWidth(precision);
+        ByteBuffer[] segments = new ByteBuffer[getSegmentNum(bytes)];
+        for (int s = 0; s < segments.length; s++) {
+            long position = (long) s << SEGMENTSHIFT;
+            long capacity = Math.min(1L << SEGMENTSHIFT, bytes - position);
+            segments[s] = channel.map(mode, offset + position, capacity).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return new DistanceMatrix(size, precision, segments);
+    }
+
+    /**
+     * Build a distance matrix from the upper triangle of a full matrix
+     * @param matrix full distance matrix
+     * @param precision float or double precision
+     * @return a condensed distance matrix
+     */
+    public static DistanceMatrix fromArray(double[][] matrix, PRECISION precision) {
+
+        if (matrix == null) {
+            LOGGER.info("The distance matrix is null!");
+            return null;
+        }
+
+        int ROW = matrix.length;
+        DistanceMatrix distanceMatrix = allocateDirect(ROW, precision);
+        for (int i = 0; i < ROW; i++) {
+            for (int j = i + 1; j < ROW; j++) {
+                distanceMatrix.set(i, j, matrix[i][j]);
+            }
+        }
+        return distanceMatrix;
+    }
+
+    /**
+     * The number of values in the condensed upper triangle
+     * @param size the number of instances
+     * @return n * (n - 1) / 2
+     */
+    public static long getCondensedLength(int size) {
+        return (long) size * (size - 1) / 2;
+    }
+
+    /**
+     * The index of the pair (i, j) in the condensed upper triangle
+     * @param i the first instance, i < j
+     * @param j the second instance
+     * @param size the number of instances
+     * @return the condensed index
+     */
+    public static long getCondensedIndex(int i, int j, int size) {
+        return (long) size * i - (long) i * (i + 1) / 2 + j - i - 1;
+    }
+
+    /**
+     * Bytes per value
+     * @param precision float or double precision
+     * @return 4 for float, 8 for double
+     */
+    public static int getWidth(PRECISION precision) {
+        return precision == PRECISION.FLOAT ? 4 : 8;
+    }
+
+    /**
+     * The number of segments to hold the given bytes, at least one
+     * @param bytes the total bytes
+     * @return the number of segments
+     */
+    private static int getSegmentNum(long bytes) {
+        return (int) Math.max(1, (bytes + SEGMENTMASK) >>> SEGMENTSHIFT);
+    }
+
+    /**
+     * Getter
+     * @return the number of instances
+     */
+    public int size() {
+        return this.mSize;
+    }
+
+    /**
+     * Getter
+     * @return precision of stored values
+     */
+    public PRECISION getPrecision() {
+        return this.mPrecision;
+    }
+
+    /**
+     * Get the distance between two instances
+     * @param i the first instance
+     * @param j the second instance
+     * @return the distance, 0 on the diagonal
+     */
+    public double get(int i, int j) {
+        if (i == j) return 0.0;
+        return getCondensed(i < j ? getCondensedIndex(i, j, this.mSize) : getCondensedIndex(j, i, this.mSize));
+    }
+
+    /**
+     * Set the distance between two different instances, (j, i) is set as well
+     * @param i the first instance
+     * @param j the second instance
+     * @param value the distance
+     */
+    public void set(int i, int j, double value) {
+        if (i == j) {
+            LOGGER.info("The diagonal of distance matrix is always 0!");
+            return;
+        }
+        setCondensed(i < j ? getCondensedIndex(i, j, this.mSize) : getCondensedIndex(j, i, this.mSize), value);
+    }
+
+    /**
+     * Get a value by its condensed index
+     * @param index condensed index
+     * @return the distance
+     */
+    public double getCondensed(long index) {
+        long position = index * this.mWidth;
+        ByteBuffer segment = this.mSegments[(int) (position >>> SEGMENTSHIFT)];
+        int offset = (int) (position & SEGMENTMASK);
+        return this.mWidth == 4 ? segment.getFloat(offset) : segment.getDouble(offset);
+    }
+
+    /**
+     * Set a value by its condensed index
+     * @param index condensed index
+     * @param value the distance
+     */
+    public void setCondensed(long index, double value) {
+        long position = index * this.mWidth;
+        ByteBuffer segment = this.mSegments[(int) (position >>> SEGMENTSHIFT)];
+        int offset = (int) (position & SEGMENTMASK);
+        if (this.mWidth == 4) segment.putFloat(offset, (float) value);
+        else segment.putDouble(offset, value);
+    }
+
+    /**
+     * Copy the condensed upper triangle into a [1][n * (n - 1) / 2] array as PDistClusteringAlgorithm expects
+     * @return condensed distances
+     */
+    public double[][] toCondensedArray() {
+        long length = getCondensedLength(this.mSize);
+        if (length > Integer.MAX_VALUE - 8) {
+            LOGGER.info("The distance matrix is too large for an array!");
+            return null;
+        }
+
+        double[][] condensed = new double[1][(int) length];
+        for (int k = 0; k < condensed[0].length; k++) {
+            condensed[0][k] = getCondensed(k);
+        }
+        return condensed;
+    }
+
+    /**
+     * Copy into a full two-dimensional matrix, only for small matrices
+     * @return full distance matrix
+     */
+    public double[][] toArray() {
+        double[][] matrix = new double[this.mSize][this.mSize];
+        for (int i = 0; i < this.mSize; i++) {
+            for (int j = i + 1; j < this.mSize; j++) {
+                matrix[i][j] = get(i, j);
+                matrix[j][i] = matrix[i][j];
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Flush changes of a memory-mapped matrix to the file, nothing to do for direct buffers
+     */
+    public void force() {
+        for (ByteBuffer segment : this.mSegments) {
+            if (segment instanceof MappedByteBuffer && !segment.isReadOnly()) {
+                ((MappedByteBuffer) segment).force();
+            }
+        }
+    }
+
+    /**
+     * Buffers of the condensed upper triangle, each holds at most 1 GB
+     * @return segments
+     */
+    ByteBuffer[] getSegments() {
+        return this.mSegments;
+    }
+
+    /**
+     * test
+     * @param args user input
+     */
+    public static void main(String[] args) {
+        double[][] distances = new double[][] { { 0, 1, 9, 7 }, { 1, 0, 4, 3 }, { 9, 4, 0, 9 }, { 7, 3, 9, 0 } };
+        DistanceMatrix test = DistanceMatrix.fromArray(distances, PRECISION.FLOAT);
+        for (int i = 0; i < test.size(); i++) {
+            for (int j = 0; j < test.size(); j++) {
+                System.out.print(test.get(i, j) + " ");
+            }
+            System.out.println();
+        }
+    }
+}
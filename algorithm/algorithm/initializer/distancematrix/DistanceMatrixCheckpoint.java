@@ -0,0 +1,476 @@
+package initializer.distancematrix;
+
+import initializer.dtws.IDTW;
+import initializer.dtws.IDTWFactory;
+import initializer.dtws.PrimitiveSakoeChibaDTW;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Project: DCDMC
+ * Package: initializer.distancematrix
+ * Date: 18/Oct/2026
+ * Time: 11:30
+ * System Time: 11:30 AM
+ */
+
+/*
+    Checkpoint of a distance matrix computed tile by tile straight into its binary file.
+
+    The binary file, a DistanceMatrixHeader and the condensed upper triangle, is created at its full length and
+    mapped read-write, so every finished tile is already in place. Next to it a manifest, the file path with
+    MANIFESTSUFFIX, records which tiles are finished, in little endian:
+        0   magic "DCDP"
+        4   format version
+        8   the number of instances N
+        12  bytes per value, 4 for float and 8 for double
+        16  tile size
+        20  fingerprint of the instances, see DistanceMatrixIO.computeFingerprint
+        28  the number of tiles
+        32  length of DTW type name in bytes, followed by the name in UTF-8
+        ..  the finished tiles as the words of a BitSet
+    At most every checkpoint interval, the mapped matrix is forced to disk and only then the manifest is replaced,
+    so the manifest never lists a tile whose distances are not on disk. A restarted computation with the same
+    instances, precision and DTW type resumes from the manifest and only computes the tiles it does not list;
+    anything else starts over.
+
+    The tiles are numbered column by column, tile (r, c) with r <= c before the tiles of column c + 1, so the
+    leading instances whose distances are all finished grow with the computation and can be read while the rest
+    is still being computed, see readCompleted.
+ */
+public class DistanceMatrixCheckpoint {
+
+    private static final Logger LOGGER = Logger.getLogger(DistanceMatrixCheckpoint.class.getName());
+
+    public final static int MAGIC = 0x50444344; // "DCDP" in little endian
+    public final static int VERSION = 1; // current manifest version
+    public final static String MANIFESTSUFFIX = ".progress"; // manifest path is the matrix path with this suffix
+    public final static long DEFAULTINTERVAL = 60000; // default milliseconds between checkpoints
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private final String mPath; // binary distance matrix file path
+    private final int mTileSize;
+    private final String mDTWType;
+    private final long mFingerprint;
+    private final long mInterval;
+    private final DistanceMatrix mDistanceMatrix; // mapped read-write onto the file
+    private final BitSet mFinished; // finished tiles, the persisted ones and those since the last checkpoint
+    private final int mResumedTileNum; // tiles finished before this computation
+    private long mLastCheckpoint; // time of the last checkpoint
+
+    /**
+     * class constructor
+     * @param path binary distance matrix file path
+     * @param tileSize the number of rows and columns in a tile
+     * @param dtwType DTW type which computes the matrix
+     * @param fingerprint fingerprint of the instances
+     * @param interval milliseconds between checkpoints
+     * @param distanceMatrix the matrix mapped read-write onto the file
+     * @param finished the tiles finished before this computation
+     */
+    private DistanceMatrixCheckpoint(String path, int tileSize, String dtwType, long fingerprint, long interval,
+                                     DistanceMatrix distanceMatrix, BitSet finished) {
+        this.mPath = path;
+        this.mTileSize = tileSize;
+        this.mDTWType = dtwType;
+        this.mFingerprint = fingerprint;
+        this.mInterval = Math.max(0, interval);
+        this.mDistanceMatrix = distanceMatrix;
+        this.mFinished = finished;
+        this.mResumedTileNum = finished.cardinality();
+        this.mLastCheckpoint = System.currentTimeMillis();
+    }
+
+    /**
+     * Resume the computation of a distance matrix from its file, or start it over if the file has no manifest or
+     * was computed from other instances, precision or DTW type
+     * @param path binary distance matrix file path
+     * @param instances instance dataset
+     * @param precision float or double precision
+     * @param tileSize the number of rows and columns in a tile, a resumed computation keeps its own
+     * @param dtwType DTW type which computes the matrix
+     * @param checksum checksum of the dataset file, written into the header
+     * @param interval milliseconds between checkpoints, 0 to checkpoint every tile
+     * @return the checkpoint, null if the file cannot be created or mapped
+     */
+    public static DistanceMatrixCheckpoint open(String path, List<List<Double>> instances, PRECISION precision,
+                                                int tileSize, String dtwType, long checksum, long interval) {
+
+        if (path == null || path.length() == 0) {
+            LOGGER.info("The distance matrix path is null!");
+            return null;
+        }
+
+        if (instances == null || instances.size() == 0) {
+            LOGGER.info("The instances are null or empty!");
+            return null;
+        }
+
+        int ROW = instances.size();
+        String type = dtwType == null ? "" : dtwType;
+        long fingerprint = DistanceMatrixIO.computeFingerprint(instances);
+
+        // resume only if the manifest and the matrix are both for these instances
+        Manifest manifest = readManifest(path + MANIFESTSUFFIX);
+        DistanceMatrixHeader header = DistanceMatrixIO.readHeader(path);
+        boolean resume = manifest != null && header != null
+                && new File(path).length() >= header.getFileLength()
+                && header.getSize() == ROW && header.getPrecision() == precision
+                && manifest.size == ROW && manifest.width == DistanceMatrix.getWidth(precision)
+                && manifest.fingerprint == fingerprint && manifest.dtwType.equals(type)
+                && manifest.tileSize > 0 && manifest.finished.length() <= getTileNum(ROW, manifest.tileSize);
+        if (manifest != null && !resume) {
+            LOGGER.info("The checkpoint of " + path + " does not match the instances, the distance matrix is "
+                    + "computed from the start!");
+        }
+
+        int size = resume ? manifest.tileSize : Math.max(1, tileSize);
+        BitSet finished = resume ? manifest.finished : new BitSet();
+
+        try{
+            RandomAccessFile raf = new RandomAccessFile(path, "rw");
+            try {
+                FileChannel channel = raf.getChannel();
+                if (!resume) {
+                    header = new DistanceMatrixHeader(ROW, precision, type, checksum);
+                    raf.setLength(0);
+                    DistanceMatrixIO.writeFully(channel, header.encode());
+                    raf.setLength(header.getFileLength());
+                }
+
+                // the mapping stays valid after the channel is closed
+                DistanceMatrix distanceMatrix = DistanceMatrix.map(channel, DistanceMatrixHeader.HEADERSIZE, ROW,
+                        precision, FileChannel.MapMode.READ_WRITE);
+                DistanceMatrixCheckpoint checkpoint = new DistanceMatrixCheckpoint(path, size, type, fingerprint,
+                        interval, distanceMatrix, finished);
+                if (!resume && !checkpoint.checkpoint()) return null;
+                return checkpoint;
+            } finally {
+                raf.close();
+            }
+        } catch(IOException e) {
+            e.printStackTrace();
+        }
+
+        return null;
+    }
+
+    /**
+     * Copy the leading instances whose distances are all finished, which can be done while the rest of the matrix
+     * is still being computed
+     * @param path binary distance matrix file path
+     * @return the condensed distance matrix of the leading instances in direct buffers, null if the file has no
+     * manifest
+     */
+    public static DistanceMatrix readCompleted(String path) {
+
+        if (path == null || path.length() == 0) {
+            LOGGER.info("The input path is null!");
+            return null;
+        }
+
+        Manifest manifest = readManifest(path + MANIFESTSUFFIX);
+        if (manifest == null) {
+            LOGGER.info("The distance matrix has no checkpoint: " + path);
+            return null;
+        }
+
+        DistanceMatrix distanceMatrix = DistanceMatrixIO.readBinary(path);
+        if (distanceMatrix == null || distanceMatrix.size() != manifest.size) {
+            LOGGER.info("The distance matrix does not match its checkpoint: " + path);
+            return null;
+        }
+
+        int completed = getCompletedSize(manifest.finished, manifest.size, manifest.tileSize);
+        DistanceMatrix leading = DistanceMatrix.allocateDirect(completed, distanceMatrix.getPrecision());
+        for (int i = 0; i < completed; i++) {
+            for (int j = i + 1; j < completed; j++) {
+                leading.set(i, j, distanceMatrix.get(i, j));
+            }
+        }
+        return leading;
+    }
+
+    /**
+     * The number of tiles of the upper triangle
+     * @param size the number of instances
+     * @param tileSize the number of rows and columns in a tile
+     * @return the number of tiles
+     */
+    public static int getTileNum(int size, int tileSize) {
+        long columns = (size + (long) tileSize - 1) / tileSize;
+        return (int) (columns * (columns + 1) / 2);
+    }
+
+    /**
+     * The tiles of the upper triangle column by column, the same numbering as the manifest
+     * @param size the number of instances
+     * @param tileSize the number of rows and columns in a tile
+     * @return the first row, the first column, the row end, the column end and the No. of each tile
+     */
+    static List<int[]> collectTiles(int size, int tileSize) {
+        List<int[]> tiles = new ArrayList<int[]>();
+        for (int colStart = 0; colStart < size; colStart += tileSize) {
+            for (int rowStart = 0; rowStart <= colStart; rowStart += tileSize) {
+                tiles.add(new int[]{rowStart, colStart, Math.min(rowStart + tileSize, size),
+                        Math.min(colStart + tileSize, size), tiles.size()});
+            }
+        }
+        return tiles;
+    }
+
+    /**
+     * The number of leading instances whose distances are all finished
+     * @param finished finished tiles
+     * @param size the number of instances
+     * @param tileSize the number of rows and columns in a tile
+     * @return the number of leading instances
+     */
+    private static int getCompletedSize(BitSet finished, int size, int tileSize) {
+        long unfinished = finished.nextClearBit(0);
+        long columns = 0; // whole tile columns in the finished prefix of tiles
+        while ((columns + 1) * (columns + 2) / 2 <= unfinished) columns++;
+        return (int) Math.min(size, columns * tileSize);
+    }
+
+    /**
+     * Record a finished tile and checkpoint if the interval has passed, called from the worker threads
+     * @param tile tile No.
+     */
+    synchronized void tileFinished(int tile) {
+        this.mFinished.set(tile);
+        if (System.currentTimeMillis() - this.mLastCheckpoint >= this.mInterval) checkpoint();
+    }
+
+    /**
+     * Check whether a tile is finished
+     * @param tile tile No.
+     * @return true if the tile was finished before or during this computation
+     */
+    public synchronized boolean isTileFinished(int tile) {
+        return this.mFinished.get(tile);
+    }
+
+    /**
+     * Force the finished tiles to disk and then replace the manifest
+     * @return true if the manifest is written
+     */
+    public synchronized boolean checkpoint() {
+        this.mDistanceMatrix.force();
+        this.mLastCheckpoint = System.currentTimeMillis();
+
+        byte[] name = this.mDTWType.getBytes(UTF8);
+        long[] words = this.mFinished.toLongArray();
+        ByteBuffer buffer = ByteBuffer.allocate(36 + name.length + 8 * words.length).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(this.mDistanceMatrix.size());
+        buffer.putInt(DistanceMatrix.getWidth(this.mDistanceMatrix.getPrecision()));
+        buffer.putInt(this.mTileSize);
+        buffer.putLong(this.mFingerprint);
+        buffer.putInt(getTileNum());
+        buffer.putInt(name.length);
+        buffer.put(name);
+        for (long word : words) buffer.putLong(word);
+        buffer.flip();
+
+        // write the new manifest aside and move it over the old one, so a crash leaves one of them whole
+        File manifest = new File(this.mPath + MANIFESTSUFFIX);
+        File temporary = new File(this.mPath + MANIFESTSUFFIX + ".tmp");
+        try{
+            RandomAccessFile raf = new RandomAccessFile(temporary, "rw");
+            try {
+                raf.setLength(0);
+                DistanceMatrixIO.writeFully(raf.getChannel(), buffer);
+                raf.getChannel().force(true);
+            } finally {
+                raf.close();
+            }
+            Files.move(temporary.toPath(), manifest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch(IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Checkpoint the last finished tiles, the matrix stays usable
+     */
+    public void close() {
+        checkpoint();
+    }
+
+    /**
+     * Read a manifest
+     * @param path manifest file path
+     * @return the manifest, null if there is no valid manifest
+     */
+    private static Manifest readManifest(String path) {
+        File file = new File(path);
+        if (!file.isFile() || file.length() < 36) return null;
+
+        try{
+            RandomAccessFile raf = new RandomAccessFile(file, "r");
+            try {
+                ByteBuffer buffer = ByteBuffer.allocate((int) file.length()).order(ByteOrder.LITTLE_ENDIAN);
+                FileChannel channel = raf.getChannel();
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                    // fill the manifest buffer
+                }
+                buffer.flip();
+
+                if (buffer.remaining() < 36 || buffer.getInt() != MAGIC) {
+                    LOGGER.info("The file is not a distance matrix checkpoint: " + path);
+                    return null;
+                }
+
+                int version = buffer.getInt();
+                if (version > VERSION) {
+                    LOGGER.info("Unsupported checkpoint version " + version + "!");
+                    return null;
+                }
+
+                Manifest manifest = new Manifest();
+                manifest.size = buffer.getInt();
+                manifest.width = buffer.getInt();
+                manifest.tileSize = buffer.getInt();
+                manifest.fingerprint = buffer.getLong();
+                buffer.getInt(); // the number of tiles follows from the size and the tile size
+                int length = buffer.getInt();
+                if (length < 0 || length > buffer.remaining() || (buffer.remaining() - length) % 8 != 0) {
+                    LOGGER.info("The distance matrix checkpoint is corrupted: " + path);
+                    return null;
+                }
+                byte[] name = new byte[length];
+                buffer.get(name);
+                manifest.dtwType = new String(name, UTF8);
+                long[] words = new long[buffer.remaining() / 8];
+                for (int w = 0; w < words.length; w++) words[w] = buffer.getLong();
+                manifest.finished = BitSet.valueOf(words);
+                return manifest;
+            } finally {
+                raf.close();
+            }
+        } catch(IOException e) {
+            e.printStackTrace();
+        }
+
+        return null;
+    }
+
+    /**
+     * Getter
+     * @return the distance matrix mapped read-write onto the file
+     */
+    public DistanceMatrix getDistanceMatrix() {
+        return this.mDistanceMatrix;
+    }
+
+    /**
+     * Getter
+     * @return binary distance matrix file path
+     */
+    public String getPath() {
+        return this.mPath;
+    }
+
+    /**
+     * Getter
+     * @return the number of rows and columns in a tile
+     */
+    public int getTileSize() {
+        return this.mTileSize;
+    }
+
+    /**
+     * Getter
+     * @return the number of tiles of the matrix
+     */
+    public int getTileNum() {
+        return getTileNum(this.mDistanceMatrix.size(), this.mTileSize);
+    }
+
+    /**
+     * Getter
+     * @return the number of tiles finished before this computation
+     */
+    public int getResumedTileNum() {
+        return this.mResumedTileNum;
+    }
+
+    /**
+     * Getter
+     * @return the number of finished tiles
+     */
+    public synchronized int getFinishedTileNum() {
+        return this.mFinished.cardinality();
+    }
+
+    /**
+     * Getter
+     * @return the number of leading instances whose distances are all finished
+     */
+    public synchronized int getCompletedSize() {
+        return getCompletedSize(this.mFinished, this.mDistanceMatrix.size(), this.mTileSize);
+    }
+
+    /**
+     * Content of a manifest file
+     */
+    private static class Manifest {
+        int size;
+        int width;
+        int tileSize;
+        long fingerprint;
+        String dtwType;
+        BitSet finished;
+    }
+
+    /**
+     * test
+     * @param args user input
+     */
+    public static void main(String[] args) throws IOException {
+        List<List<Double>> instances = new ArrayList<List<Double>>();
+        for (int i = 0; i < 50; i++) {
+            List<Double> instance = new ArrayList<Double>();
+            for (int j = 0; j < 30; j++) instance.add((double) (1 + ((j + 3 * i) / (5 + i % 4)) % 3));
+            instances.add(instance);
+        }
+
+        IDTWFactory idtwFactory = new IDTWFactory() {
+            @Override
+            public IDTW createDTW() {
+                return new PrimitiveSakoeChibaDTW("BinaryDistance", 10);
+            }
+        };
+
+        String path = File.createTempFile("checkpoint", ".bin").getPath();
+        DistanceMatrixEngine engine = new DistanceMatrixEngine(idtwFactory, 2, 8);
+        DistanceMatrixCheckpoint checkpoint = open(path, instances, PRECISION.DOUBLE, 8, "Test", 0, 0);
+        engine.computeDistanceMatrix(instances, checkpoint);
+        checkpoint.close();
+
+        DistanceMatrixCheckpoint resumed = open(path, instances, PRECISION.DOUBLE, 8, "Test", 0, 0);
+        System.out.println("Resumed " + resumed.getResumedTileNum() + " of " + resumed.getTileNum()
+                + " tiles, leading " + readCompleted(path).size() + " instances complete.");
+
+        new File(path).delete();
+        new File(path + MANIFESTSUFFIX).delete();
+    }
+}
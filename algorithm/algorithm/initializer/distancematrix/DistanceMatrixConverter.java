@@ -0,0 +1,44 @@
+package initializer.distancematrix;
+
+import java.util.logging.Logger;
+
+/**
+ * Project: DCDMC
+ * Package: initializer.distancematrix
+ * Date: 17/Oct/2026
+ * Time: 13:55
+ * System Time: 1:55 PM
+ */
+
+/*
+    One-shot converter from text distance matrices into the binary format.
+    Usage: DistanceMatrixConverter textPath binaryPath [FLOAT|DOUBLE] [DTWTYPE] [datasetPath]
+ */
+public class DistanceMatrixConverter {
+
+    private static final Logger LOGGER = Logger.getLogger(DistanceMatrixConverter.class.getName());
+
+    /**
+     * Convert a text distance matrix into the binary format
+     * @param args textPath binaryPath [FLOAT|DOUBLE] [DTWTYPE] [datasetPath]
+     */
+    public static void main(String[] args) {
+
+        if (args == null || args.length < 2) {
+            LOGGER.info("Usage: DistanceMatrixConverter textPath binaryPath [FLOAT|DOUBLE] [DTWTYPE] [datasetPath]");
+            return;
+        }
+
+        PRECISION precision = args.length > 2 ? PRECISION.valueOf(args[2].toUpperCase()) : PRECISION.DOUBLE;
+        String dtwType = args.length > 3 ? args[3].toUpperCase() : "";
+        long checksum = args.length > 4 ? DistanceMatrixIO.computeChecksum(args[4]) : 0;
+
+        long start = System.currentTimeMillis();
+        DistanceMatrixIO.convertTextToBinary(args[0], args[1], precision, dtwType, checksum);
+
+        DistanceMatrixHeader header = DistanceMatrixIO.readHeader(args[1]);
+        System.out.println("Converted " + args[0] + " into " + args[1] + " in "
+                + (System.currentTimeMillis() - start) + " ms.");
+        System.out.println(header);
+    }
+}
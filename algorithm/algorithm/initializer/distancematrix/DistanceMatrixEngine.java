@@ -0,0 +1,300 @@
+package initializer.distancematrix;
+
+import initializer.dtws.IDTW;
+import initializer.dtws.IDTWFactory;
+import initializer.dtws.IMultiResolutionDTW;
+import initializer.dtws.PAAPyramid;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Project: DCDMC
+ * Package: initializer.distancematrix
+ * Date: 17/Oct/2026
+ * Time: 09:20
+ * System Time: 9:20 AM
+ */
+
+/*
+    Parallel tiled distance matrix computation.
+
+    The upper triangle of the N by N matrix is split into square tiles of TILESIZE rows by TILESIZE columns,
+    and the tiles are processed on a fork-join pool. Each worker thread owns its own IDTW instance created by the
+    given IDTWFactory, because the IDTW implementations keep per-call state in fields.
+    Every cell is written by exactly one tile, so the matrix is identical to the one computed by the serial loop.
+    Given a DistanceMatrixCheckpoint, the matrix is computed into its file and the tiles it lists as finished are
+    skipped, so a computation which was interrupted resumes where it was last checkpointed.
+    For an IMultiResolutionDTW the pyramid of each sequence is built once before the tiles and shared by all of
+    its pairs.
+    Only the condensed upper triangle is stored, see DistanceMatrix.
+ */
+public class DistanceMatrixEngine {
+
+    private static final Logger LOGGER = Logger.getLogger(DistanceMatrixEngine.class.getName());
+
+    public final static int DEFAULTTILESIZE = 32; // default tile size
+
+    private final IDTWFactory mIdtwFactory;
+    private final int mThreadNum;
+    private final int mTileSize;
+    private IProgressListener mListener;
+
+    /**
+     * class constructor, the pool is sized to the machine
+     * @param idtwFactory the factory of dynamic time warping workers
+     */
+    public DistanceMatrixEngine(IDTWFactory idtwFactory) {
+        this(idtwFactory, Runtime.getRuntime().availableProcessors(), DEFAULTTILESIZE);
+    }
+
+    /**
+     * class constructor
+     * @param idtwFactory the factory of dynamic time warping workers
+     * @param threadNum the number of worker threads
+     * @param tileSize the number of rows and columns in a tile
+     */
+    public DistanceMatrixEngine(IDTWFactory idtwFactory, int threadNum, int tileSize) {
+        this.mIdtwFactory = idtwFactory;
+        this.mThreadNum = Math.max(1, threadNum);
+        this.mTileSize = Math.max(1, tileSize);
+        this.mListener = null;
+    }
+
+    /**
+     * Setter for progress listener
+     * @param listener the listener notified after each finished tile
+     */
+    public void setProgressListener(IProgressListener listener) {
+        this.mListener = listener;
+    }
+
+    /**
+     * Compute the symmetric distance matrix of the instances in direct buffers
+     * @param instances instance dataset
+     * @param precision float or double precision
+     * @return the condensed distance matrix of the instances
+     */
+    public DistanceMatrix computeDistanceMatrix(List<List<Double>> instances, PRECISION precision) {
+
+        if (instances == null) {
+            LOGGER.log(Level.INFO, "The instances are null!");
+            return null;
+        }
+
+        if (instances.size() == 0) {
+            LOGGER.log(Level.INFO, "The instances are empty!");
+            return null;
+        }
+
+        return computeDistanceMatrix(instances, DistanceMatrix.allocateDirect(instances.size(), precision));
+    }
+
+    /**
+     * Compute the symmetric distance matrix of the instances into the given matrix
+     * @param instances instance dataset
+     * @param distanceMatrix the target matrix whose size is the number of instances
+     * @return the filled distance matrix
+     */
+    public DistanceMatrix computeDistanceMatrix(List<List<Double>> instances, DistanceMatrix distanceMatrix) {
+
+        if (instances == null || distanceMatrix == null) {
+            LOGGER.log(Level.INFO, "The instances or the distance matrix are null!");
+            return null;
+        }
+
+        if (instances.size() != distanceMatrix.size()) {
+            LOGGER.log(Level.INFO, "The size of distance matrix does not match the instances!");
+            return null;
+        }
+
+        return compute(instances, distanceMatrix, this.mTileSize, null);
+    }
+
+    /**
+     * Compute the symmetric distance matrix of the instances into the file of a checkpoint, skipping the tiles
+     * finished before and recording each finished tile
+     * @param instances instance dataset
+     * @param checkpoint checkpoint of the matrix file, its tile size is used
+     * @return the filled distance matrix, mapped onto the file
+     */
+    public DistanceMatrix computeDistanceMatrix(List<List<Double>> instances, DistanceMatrixCheckpoint checkpoint) {
+
+        if (instances == null || checkpoint == null) {
+            LOGGER.log(Level.INFO, "The instances or the checkpoint are null!");
+            return null;
+        }
+
+        if (instances.size() != checkpoint.getDistanceMatrix().size()) {
+            LOGGER.log(Level.INFO, "The size of distance matrix does not match the instances!");
+            return null;
+        }
+
+        return compute(instances, checkpoint.getDistanceMatrix(), checkpoint.getTileSize(), checkpoint);
+    }
+
+    /**
+     * Compute the tiles of the upper triangle which are not finished yet
+     * @param instances instance dataset
+     * @param distanceMatrix the target matrix whose size is the number of instances
+     * @param tileSize the number of rows and columns in a tile
+     * @param checkpoint checkpoint of the matrix file, or null
+     * @return the filled distance matrix
+     */
+    private DistanceMatrix compute(List<List<Double>> instances, DistanceMatrix distanceMatrix, int tileSize,
+                                   DistanceMatrixCheckpoint checkpoint) {
+
+        int ROW = instances.size();
+
+        // collect the tiles in the upper triangle, without the finished ones
+        List<int[]> tiles = new ArrayList<int[]>();
+        long finishedPairs = 0;
+        for (int[] tile : DistanceMatrixCheckpoint.collectTiles(ROW, tileSize)) {
+            if (checkpoint != null && checkpoint.isTileFinished(tile[4])) finishedPairs += getPairNum(tile);
+            else tiles.add(tile);
+        }
+
+        long totalPairs = DistanceMatrix.getCondensedLength(ROW);
+        System.out.println("Compute Distance Matrix [ " + ROW + " by " + ROW + " ] with " + this.mThreadNum
+                + " threads and " + tiles.size() + " tiles"
+                + (finishedPairs > 0 ? ", resumed with " + finishedPairs + " of " + totalPairs + " pairs." : "."));
+
+        ForkJoinPool pool = new ForkJoinPool(this.mThreadNum);
+        try {
+            PAAPyramid[] pyramids = createPyramids(instances);
+            pool.invoke(new TileTask(instances, pyramids, distanceMatrix, tiles, 0, tiles.size(),
+                    new ThreadLocalDTW(this.mIdtwFactory), new AtomicLong(finishedPairs), totalPairs, checkpoint));
+        } finally {
+            pool.shutdown();
+        }
+
+        return distanceMatrix;
+    }
+
+    /**
+     * The number of pairs (i, j) with i < j inside a tile
+     * @param tile the first row, the first column, the row end and the column end of the tile
+     * @return the number of pairs
+     */
+    private static long getPairNum(int[] tile) {
+        long pairs = 0;
+        for (int i = tile[0]; i < tile[2]; i++) pairs += Math.max(0, tile[3] - Math.max(tile[1], i + 1));
+        return pairs;
+    }
+
+    /**
+     * Build the pyramid of each sequence, if the dynamic time warping warps pyramids
+     * @param instances instance dataset
+     * @return the pyramid of each instance, null if the dynamic time warping does not use them
+     */
+    private PAAPyramid[] createPyramids(List<List<Double>> instances) {
+        IDTW idtw = this.mIdtwFactory.createDTW();
+        if (!(idtw instanceof IMultiResolutionDTW)) return null;
+
+        PAAPyramid[] pyramids = new PAAPyramid[instances.size()];
+        for (int i = 0; i < pyramids.length; i++) {
+            List<Double> instance = instances.get(i);
+            double[] sequence = new double[instance.size()];
+            for (int j = 0; j < sequence.length; j++) sequence[j] = instance.get(j);
+            pyramids[i] = ((IMultiResolutionDTW) idtw).createPyramid(sequence);
+        }
+        return pyramids;
+    }
+
+    /**
+     * One IDTW instance per worker thread
+     */
+    private static class ThreadLocalDTW extends ThreadLocal<IDTW> {
+
+        private final IDTWFactory idtwFactory;
+
+        ThreadLocalDTW(IDTWFactory idtwFactory) {
+            this.idtwFactory = idtwFactory;
+        }
+
+        @Override
+        protected IDTW initialValue() {
+            return idtwFactory.createDTW();
+        }
+    }
+
+    /**
+     * Recursively split the tile range until a single tile is left
+     */
+    private class TileTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 8742514861359412280L;
+
+        private final List<List<Double>> instances;
+        private final PAAPyramid[] pyramids; // null unless the dynamic time warping warps pyramids
+        private final DistanceMatrix distanceMatrix;
+        private final List<int[]> tiles;
+        private final int from;
+        private final int to;
+        private final ThreadLocalDTW workers;
+        private final AtomicLong finishedPairs;
+        private final long totalPairs;
+        private final DistanceMatrixCheckpoint checkpoint; // null unless the matrix is checkpointed
+
+        TileTask(List<List<Double>> instances, PAAPyramid[] pyramids, DistanceMatrix distanceMatrix,
+                 List<int[]> tiles, int from, int to, ThreadLocalDTW workers, AtomicLong finishedPairs,
+                 long totalPairs, DistanceMatrixCheckpoint checkpoint) {
+            this.instances = instances;
+            this.pyramids = pyramids;
+            this.distanceMatrix = distanceMatrix;
+            this.tiles = tiles;
+            this.from = from;
+            this.to = to;
+            this.workers = workers;
+            this.finishedPairs = finishedPairs;
+            this.totalPairs = totalPairs;
+            this.checkpoint = checkpoint;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (to > from) computeTile(tiles.get(from));
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new TileTask(instances, pyramids, distanceMatrix, tiles, from, middle, workers, finishedPairs,
+                            totalPairs, checkpoint),
+                    new TileTask(instances, pyramids, distanceMatrix, tiles, middle, to, workers, finishedPairs,
+                            totalPairs, checkpoint));
+        }
+
+        /**
+         * Compute all pairs (i, j) with i < j inside a tile
+         * @param tile the first row, the first column, the row end, the column end and the No. of the tile
+         */
+        private void computeTile(int[] tile) {
+            int rowEnd = tile[2];
+            int colEnd = tile[3];
+            IDTW idtw = workers.get();
+            long pairs = 0;
+
+            for (int i = tile[0]; i < rowEnd; i++) {
+                for (int j = Math.max(tile[1], i + 1); j < colEnd; j++) {
+
+                    // get the dynamic time warping distance between two sequences,
+                    // here assume it guarantees the symmetric feature for DTW
+                    distanceMatrix.set(i, j, pyramids == null
+                            ? idtw.computeDistance(instances.get(i), instances.get(j))
+                            : ((IMultiResolutionDTW) idtw).computeDistance(pyramids[i], pyramids[j]));
+                    pairs++;
+                }
+            }
+
+            if (checkpoint != null) checkpoint.tileFinished(tile[4]);
+            long finished = finishedPairs.addAndGet(pairs);
+            if (mListener != null) mListener.progressChanged(finished, totalPairs);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package initializer.distancematrix;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.util.logging.Logger;
+
+/**
+ * Project: DCDMC
+ * Package: initializer.distancematrix
+ * Date: 17/Oct/2026
+ * Time: 13:10
+ * System Time: 1:10 PM
+ */
+
+/*
+    Header of the binary distance matrix file, HEADERSIZE bytes in little endian:
+        0   magic "DCDM"
+        4   format version
+        8   the number of instances N
+        12  bytes per value, 4 for float and 8 for double
+        16  checksum of the dataset the matrix was computed from
+        24  length of DTW type name in bytes
+        28  DTW type name in UTF-8, at most MAXDTWTYPELENGTH bytes
+    The condensed upper triangle follows at HEADERSIZE.
+ */
+public class DistanceMatrixHeader {
+
+    private static final Logger LOGGER = Logger.getLogger(DistanceMatrixHeader.class.getName());
+
+    public final static int MAGIC = 0x4D444344; // "DCDM" in little endian
+    public final static int VERSION = 1; // current format version
+    public final static int HEADERSIZE = 128; // bytes before the first value
+    public final static int MAXDTWTYPELENGTH = HEADERSIZE - 28; // bytes for DTW type name
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private final int mVersion;
+    private final int mSize;
+    private final PRECISION mPrecision;
+    private final long mChecksum;
+    private final String mDTWType;
+
+    /**
+     * class constructor
+     * @param size the number of instances
+     * @param precision float or double precision
+     * @param dtwType DTW type which computed the matrix
+     * @param checksum checksum of the dataset
+     */
+    public DistanceMatrixHeader(int size, PRECISION precision, String dtwType, long checksum) {
+        this(VERSION, size, precision, dtwType, checksum);
+    }
+
+    /**
+     * class constructor
+     * @param version format version
+     * @param size the number of instances
+     * @param precision float or double precision
+     * @param dtwType DTW type which computed the matrix
+     * @param checksum checksum of the dataset
+     */
+    private DistanceMatrixHeader(int version, int size, PRECISION precision, String dtwType, long checksum) {
+        this.mVersion = version;
+        this.mSize = size;
+        this.mPrecision = precision;
+        this.mDTWType = dtwType == null ? "" : dtwType;
+        this.mChecksum = checksum;
+    }
+
+    /**
+     * Encode the header
+     * @return a buffer of HEADERSIZE bytes ready to be written
+     */
+    public ByteBuffer encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADERSIZE).order(ByteOrder.LITTLE_ENDIAN);
+        byte[] name = this.mDTWType.getBytes(UTF8);
+        int length = Math.min(name.length, MAXDTWTYPELENGTH);
+
+        buffer.putInt(MAGIC);
+        buffer.putInt(this.mVersion);
+        buffer.putInt(this.mSize);
+        buffer.putInt(DistanceMatrix.getWidth(this.mPrecision));
+        buffer.putLong(this.mChecksum);
+        buffer.putInt(length);
+        buffer.put(name, 0, length);
+
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Decode the header
+     * @param buffer the first HEADERSIZE bytes of the file
+     * @return the header, null if the buffer is not a distance matrix header
+     */
+    public static DistanceMatrixHeader decode(ByteBuffer buffer) {
+
+        if (buffer == null || buffer.remaining() < HEADERSIZE) {
+            LOGGER.info("The header is too short!");
+            return null;
+        }
+
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt() != MAGIC) {
+            LOGGER.info("The file is not a binary distance matrix!");
+            return null;
+        }
+
+        int version = buffer.getInt();
+        if (version > VERSION) {
+            LOGGER.info("Unsupported distance matrix version " + version + "!");
+            return null;
+        }
+
+        int size = buffer.getInt();
+        int width = buffer.getInt();
+        long checksum = buffer.getLong();
+        int length = Math.min(buffer.getInt(), MAXDTWTYPELENGTH);
+        byte[] name = new byte[Math.max(0, length)];
+        buffer.get(name);
+
+        if (size < 0 || (width != 4 && width != 8)) {
+            LOGGER.info("The distance matrix header is corrupted!");
+            return null;
+        }
+
+        return new DistanceMatrixHeader(version, size, width == 4 ? PRECISION.FLOAT : PRECISION.DOUBLE,
+                new String(name, UTF8), checksum);
+    }
+
+    /**
+     * Getter
+     * @return format version
+     */
+    public int getVersion() {
+        return this.mVersion;
+    }
+
+    /**
+     * Getter
+     * @return the number of instances
+     */
+    public int getSize() {
+        return this.mSize;
+    }
+
+    /**
+     * Getter
+     * @return precision of stored values
+     */
+    public PRECISION getPrecision() {
+        return this.mPrecision;
+    }
+
+    /**
+     * Getter
+     * @return checksum of the dataset
+     */
+    public long getChecksum() {
+        return this.mChecksum;
+    }
+
+    /**
+     * Getter
+     * @return DTW type which computed the matrix
+     */
+    public String getDTWType() {
+        return this.mDTWType;
+    }
+
+    /**
+     * The total file length of a matrix with this header
+     * @return bytes
+     */
+    public long getFileLength() {
+        return HEADERSIZE + DistanceMatrix.getCondensedLength(this.mSize) * DistanceMatrix.getWidth(this.mPrecision);
+    }
+
+    @Override
+    public String toString() {
+        return "Distance Matrix [ " + this.mSize + " by " + this.mSize + " ] version " + this.mVersion + ", "
+                + this.mPrecision + ", " + this.mDTWType + ", dataset checksum " + Long.toHexString(this.mChecksum);
+    }
+}
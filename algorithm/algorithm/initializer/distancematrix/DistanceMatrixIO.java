@@ -0,0 +1,387 @@
+package initializer.distancematrix;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.logging.Logger;
+
+/**
+ * Project: DCDMC
+ * Package: initializer.distancematrix
+ * Date: 17/Oct/2026
+ * Time: 10:40
+ * System Time: 10:40 AM
+ */
+
+/*
+    Read and write distance matrices.
+    The text format is the full N by N matrix with space separated values per line.
+    The binary format is a DistanceMatrixHeader followed by the condensed upper triangle, which is mapped
+    with FileChannel.map and used without parsing.
+ */
+public class DistanceMatrixIO {
+
+    private static final Logger LOGGER = Logger.getLogger(DistanceMatrixIO.class.getName());
+
+    /**
+     * Read a full text distance matrix, only the upper triangle is kept
+     * @param path file path
+     * @param precision float or double precision
+     * @return a condensed distance matrix
+     */
+    public static DistanceMatrix readText(String path, PRECISION precision) {
+
+        DistanceMatrix distanceMatrix = null;
+        if (path == null || path.length() == 0) {
+            LOGGER.info("The input path is null!");
+            return distanceMatrix;
+        }
+
+        try{
+            BufferedReader br = new BufferedReader(new FileReader(path));
+            String line = br.readLine();
+            if (line == null) {
+                LOGGER.info("The distance matrix file is empty!");
+                br.close();
+                return distanceMatrix;
+            }
+
+            int ROW = line.split(" ").length;
+            distanceMatrix = DistanceMatrix.allocateDirect(ROW, precision);
+            parseText(br, line, distanceMatrix);
+
+            br.close();
+        } catch(IOException e) {
+            e.printStackTrace();
+        }
+
+        return distanceMatrix;
+    }
+
+    /**
+     * Parse the upper triangle of text rows into a distance matrix
+     * @param br reader positioned after the first line
+     * @param firstLine the first line of the text matrix
+     * @param distanceMatrix the target matrix
+     * @throws IOException if the file cannot be read
+     */
+    private static void parseText(BufferedReader br, String firstLine, DistanceMatrix distanceMatrix) throws IOException {
+        int ROW = distanceMatrix.size();
+        String line = firstLine;
+        int count = 0;
+        while(line != null && count < ROW) {
+            String[] parts = line.split(" ");
+            for (int j = count + 1; j < ROW; j++) {
+                distanceMatrix.set(count, j, Double.parseDouble(parts[j]));
+            }
+            count++;
+            line = br.readLine();
+        }
+    }
+
+    /**
+     * Write a distance matrix as a full text matrix
+     * @param distanceMatrix distance matrix
+     * @param path file path
+     */
+    public static void writeText(DistanceMatrix distanceMatrix, String path) {
+
+        if (distanceMatrix == null) {
+            LOGGER.info("The distance matrix is null!");
+            return;
+        }
+
+        try{
+            BufferedWriter bw = new BufferedWriter(new FileWriter(path));
+            int ROW = distanceMatrix.size();
+
+            for (int i = 0; i < ROW; i++) {
+                for (int j = 0; j < ROW; j++) {
+                    bw.write(String.valueOf(distanceMatrix.get(i, j)));
+                    if (j < ROW - 1) bw.write(" ");
+                }
+                bw.newLine();
+            }
+
+            bw.close();
+        } catch(IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Read a distance matrix in either format, binary files are recognized by their header
+     * @param path file path
+     * @param precision precision for text files, binary files keep their own precision
+     * @return a condensed distance matrix
+     */
+    public static DistanceMatrix read(String path, PRECISION precision) {
+        if (readHeader(path) != null) {
+            return readBinary(path);
+        }
+        return readText(path, precision);
+    }
+
+    /**
+     * Read the header of a binary distance matrix file
+     * @param path file path
+     * @return the header, null if the file is not a binary distance matrix
+     */
+    public static DistanceMatrixHeader readHeader(String path) {
+
+        if (path == null || path.length() == 0) {
+            LOGGER.info("The input path is null!");
+            return null;
+        }
+
+        File file = new File(path);
+        if (!file.isFile() || file.length() < DistanceMatrixHeader.HEADERSIZE) {
+            return null;
+        }
+
+        try{
+            RandomAccessFile raf = new RandomAccessFile(file, "r");
+            try {
+                ByteBuffer buffer = ByteBuffer.allocate(DistanceMatrixHeader.HEADERSIZE);
+                FileChannel channel = raf.getChannel();
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                    // fill the header buffer
+                }
+                buffer.flip();
+                // text matrices are recognized quietly by the missing magic number
+                if (buffer.remaining() < DistanceMatrixHeader.HEADERSIZE
+                        || buffer.order(ByteOrder.LITTLE_ENDIAN).getInt(0) != DistanceMatrixHeader.MAGIC) {
+                    return null;
+                }
+                return DistanceMatrixHeader.decode(buffer);
+            } finally {
+                raf.close();
+            }
+        } catch(IOException e) {
+            e.printStackTrace();
+        }
+
+        return null;
+    }
+
+    /**
+     * Map a binary distance matrix file as read only
+     * @param path file path
+     * @return a condensed distance matrix backed by the file
+     */
+    public static DistanceMatrix readBinary(String path) {
+
+        DistanceMatrixHeader header = readHeader(path);
+        if (header == null) {
+            LOGGER.info("The file is not a binary distance matrix: " + path);
+            return null;
+        }
+
+        if (new File(path).length() < header.getFileLength()) {
+            LOGGER.info("The binary distance matrix is truncated: " + path);
+            return null;
+        }
+
+        try{
+            RandomAccessFile raf = new RandomAccessFile(path, "r");
+            try {
+                // the mapping stays valid after the channel is closed
+                return DistanceMatrix.map(raf.getChannel(), DistanceMatrixHeader.HEADERSIZE, header.getSize(),
+                        header.getPrecision(), FileChannel.MapMode.READ_ONLY);
+            } finally {
+                raf.close();
+            }
+        } catch(IOException e) {
+            e.printStackTrace();
+        }
+
+        return null;
+    }
+
+    /**
+     * Write a distance matrix in binary format
+     * @param distanceMatrix distance matrix
+     * @param path file path
+     * @param dtwType DTW type which computed the matrix
+     * @param checksum checksum of the dataset
+     */
+    public static void writeBinary(DistanceMatrix distanceMatrix, String path, String dtwType, long checksum) {
+
+        if (distanceMatrix == null) {
+            LOGGER.info("The distance matrix is null!");
+            return;
+        }
+
+        DistanceMatrixHeader header = new DistanceMatrixHeader(distanceMatrix.size(), distanceMatrix.getPrecision(),
+                dtwType, checksum);
+
+        try{
+            RandomAccessFile raf = new RandomAccessFile(path, "rw");
+            try {
+                raf.setLength(0);
+                FileChannel channel = raf.getChannel();
+                writeFully(channel, header.encode());
+                for (ByteBuffer segment : distanceMatrix.getSegments()) {
+                    ByteBuffer buffer = segment.duplicate();
+                    buffer.clear();
+                    writeFully(channel, buffer);
+                }
+            } finally {
+                raf.close();
+            }
+        } catch(IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Write a distance matrix, binary unless the path ends with .txt
+     * @param distanceMatrix distance matrix
+     * @param path file path
+     * @param dtwType DTW type which computed the matrix
+     * @param checksum checksum of the dataset
+     */
+    public static void write(DistanceMatrix distanceMatrix, String path, String dtwType, long checksum) {
+        if (path != null && path.toLowerCase().endsWith(".txt")) {
+            writeText(distanceMatrix, path);
+        } else {
+            writeBinary(distanceMatrix, path, dtwType, checksum);
+        }
+    }
+
+    /**
+     * Convert a text distance matrix into binary format without holding it on the heap
+     * @param textPath text matrix file path
+     * @param binaryPath binary matrix file path
+     * @param precision float or double precision
+     * @param dtwType DTW type which computed the matrix
+     * @param checksum checksum of the dataset
+     */
+    public static void convertTextToBinary(String textPath, String binaryPath, PRECISION precision,
+                                           String dtwType, long checksum) {
+
+        if (textPath == null || binaryPath == null) {
+            LOGGER.info("The input path is null!");
+            return;
+        }
+
+        try{
+            BufferedReader br = new BufferedReader(new FileReader(textPath));
+            RandomAccessFile raf = new RandomAccessFile(binaryPath, "rw");
+            try {
+                String line = br.readLine();
+                if (line == null) {
+                    LOGGER.info("The distance matrix file is empty!");
+                    return;
+                }
+
+                int ROW = line.split(" ").length;
+                DistanceMatrixHeader header = new DistanceMatrixHeader(ROW, precision, dtwType, checksum);
+                raf.setLength(0);
+                FileChannel channel = raf.getChannel();
+                writeFully(channel, header.encode());
+
+                // parse rows straight into the mapped file
+                DistanceMatrix distanceMatrix = DistanceMatrix.map(channel, DistanceMatrixHeader.HEADERSIZE, ROW,
+                        precision, FileChannel.MapMode.READ_WRITE);
+                parseText(br, line, distanceMatrix);
+                distanceMatrix.force();
+            } finally {
+                br.close();
+                raf.close();
+            }
+        } catch(IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Compute the CRC32 checksum of a dataset file
+     * @param path dataset file path
+     * @return checksum, 0 if the file cannot be read
+     */
+    public static long computeChecksum(String path) {
+
+        if (path == null || path.length() == 0) {
+            LOGGER.info("The input path is null!");
+            return 0;
+        }
+
+        CRC32 crc = new CRC32();
+        try{
+            InputStream is = new FileInputStream(path);
+            try {
+                byte[] buffer = new byte[1 << 16];
+                int length;
+                while ((length = is.read(buffer)) > 0) {
+                    crc.update(buffer, 0, length);
+                }
+            } finally {
+                is.close();
+            }
+        } catch(IOException e) {
+            e.printStackTrace();
+            return 0;
+        }
+
+        return crc.getValue();
+    }
+
+    /**
+     * Compute the CRC32 fingerprint of a dataset in memory, over the number of instances, the length of each
+     * instance and the bits of every value, so it does not depend on how the dataset file is formatted
+     * @param instances instance dataset
+     * @return fingerprint, 0 if the instances are null
+     */
+    public static long computeFingerprint(List<List<Double>> instances) {
+
+        if (instances == null) {
+            LOGGER.info("The instances are null!");
+            return 0;
+        }
+
+        CRC32 crc = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(instances.size());
+        for (List<Double> instance : instances) {
+            if (buffer.remaining() < 4) {
+                crc.update(buffer.array(), 0, buffer.position());
+                buffer.clear();
+            }
+            buffer.putInt(instance.size());
+            for (Double value : instance) {
+                if (buffer.remaining() < 8) {
+                    crc.update(buffer.array(), 0, buffer.position());
+                    buffer.clear();
+                }
+                buffer.putDouble(value);
+            }
+        }
+        crc.update(buffer.array(), 0, buffer.position());
+
+        return crc.getValue();
+    }
+
+    /**
+     * Write the whole buffer to the channel
+     * @param channel file channel
+     * @param buffer bytes to write
+     * @throws IOException if the file cannot be written
+     */
+    static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package initializer.distancematrix;
+
+/**
+ * Project: DCDMC
+ * Package: initializer.distancematrix
+ * Date: 17/Oct/2026
+ * Time: 09:15
+ * System Time: 9:15 AM
+ */
+
+/**
+ * Callback for the progress of a distance matrix computation
+ */
+public interface IProgressListener {
+
+    /**
+     * Invoked after a tile of the distance matrix is finished, possibly from a worker thread
+     * @param finishedPairs the number of finished pairs
+     * @param totalPairs the total number of pairs in the upper triangle
+     */
+    public void progressChanged(long finishedPairs, long totalPairs);
+}
@@ -0,0 +1,442 @@
+package initializer.distancematrix;
+
+import initializer.dtws.IBoundedDTW;
+import initializer.dtws.IDTW;
+import initializer.dtws.IDTWFactory;
+import initializer.dtws.PrimitiveSakoeChibaDTW;
+import initializer.dtws.SequenceEnvelope;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Project: DCDMC
+ * Package: initializer.distancematrix
+ * Date: 17/Oct/2026
+ * Time: 23:10
+ * System Time: 11:10 PM
+ */
+
+/*
+    Nearest medoid and nearest neighbour queries without the distance matrix.
+
+    The sequences and their envelopes are prepared once. For each query the candidates are visited in order of
+    their lower bounds, and a candidate is skipped as soon as its lower bound exceeds the best distance found so
+    far, so the remaining candidates are skipped too. The others are warped with the best distance as threshold and
+    abandoned once they must exceed it. Ties are broken by the smaller index, so the answers are the same as
+    comparing all full distances. Dynamic time warping without lower bounds (not IBoundedDTW) falls back to full
+    distances. Each worker thread owns its own IDTW instance created by the given IDTWFactory.
+ */
+public class NearestNeighborEngine {
+
+    private static final Logger LOGGER = Logger.getLogger(NearestNeighborEngine.class.getName());
+
+    public final static int DEFAULTCHUNKSIZE = 64; // default number of instances per task
+
+    private final IDTWFactory mIdtwFactory;
+    private final int mThreadNum;
+    private final List<List<Double>> mInstances;
+    private final double[][] mSequences;
+    private final SequenceEnvelope[] mEnvelopes; // null if the dynamic time warping has no lower bounds
+
+    // query statistics
+    private final AtomicLong mComputedNum; // distances warped to the end
+    private final AtomicLong mAbandonedNum; // distances abandoned against the best so far
+    private final AtomicLong mPrunedNum; // distances skipped by lower bounds
+
+    /**
+     * class constructor, the pool is sized to the machine
+     * @param idtwFactory the factory of dynamic time warping workers
+     * @param instances instance dataset
+     */
+    public NearestNeighborEngine(IDTWFactory idtwFactory, List<List<Double>> instances) {
+        this(idtwFactory, instances, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * class constructor, prepares the sequences and their envelopes
+     * @param idtwFactory the factory of dynamic time warping workers
+     * @param instances instance dataset
+     * @param threadNum the number of worker threads
+     */
+    public NearestNeighborEngine(IDTWFactory idtwFactory, List<List<Double>> instances, int threadNum) {
+        this.mIdtwFactory = idtwFactory;
+        this.mThreadNum = Math.max(1, threadNum);
+        this.mInstances = instances;
+        this.mComputedNum = new AtomicLong(0);
+        this.mAbandonedNum = new AtomicLong(0);
+        this.mPrunedNum = new AtomicLong(0);
+
+        if (instances == null || idtwFactory == null) {
+            LOGGER.log(Level.INFO, "The instances or the dynamic time warping factory are null!");
+            this.mSequences = null;
+            this.mEnvelopes = null;
+            return;
+        }
+
+        int N = instances.size();
+        this.mSequences = new double[N][];
+        for (int i = 0; i < N; i++) {
+            List<Double> instance = instances.get(i);
+            this.mSequences[i] = new double[instance.size()];
+            for (int j = 0; j < instance.size(); j++) this.mSequences[i][j] = instance.get(j);
+        }
+
+        IDTW idtw = idtwFactory.createDTW();
+        if (idtw instanceof IBoundedDTW) {
+            this.mEnvelopes = new SequenceEnvelope[N];
+            for (int i = 0; i < N; i++) this.mEnvelopes[i] = ((IBoundedDTW) idtw).createEnvelope(this.mSequences[i]);
+        } else {
+            this.mEnvelopes = null;
+        }
+    }
+
+    /**
+     * Assign every instance to its nearest medoid
+     * @param medoids instance No. of each medoid
+     * @param distances filled with the distance of each instance to its nearest medoid, may be null
+     * @return the medoid index (0 .. K - 1, not the instance No.) of each instance, null if the input is invalid
+     */
+    public int[] assignNearestMedoids(int[] medoids, double[] distances) {
+
+        if (this.mSequences == null || this.mSequences.length == 0) {
+            LOGGER.log(Level.INFO, "The instances are null or empty!");
+            return null;
+        }
+
+        if (medoids == null || medoids.length == 0) {
+            LOGGER.log(Level.INFO, "The medoids are null or empty!");
+            return null;
+        }
+
+        int N = this.mSequences.length;
+        if (distances != null && distances.length != N) {
+            LOGGER.log(Level.INFO, "The distances do not match the instances!");
+            return null;
+        }
+
+        for (int medoid : medoids) {
+            if (medoid < 0 || medoid >= N) {
+                LOGGER.log(Level.INFO, "Medoid " + medoid + " is not an instance!");
+                return null;
+            }
+        }
+
+        int[] labels = new int[N];
+        double[] nearest = distances == null ? new double[N] : distances;
+        long computed = this.mComputedNum.get();
+        long abandoned = this.mAbandonedNum.get();
+        long pruned = this.mPrunedNum.get();
+
+        ForkJoinPool pool = new ForkJoinPool(this.mThreadNum);
+        try {
+            pool.invoke(new AssignTask(medoids, labels, nearest, 0, N, new ThreadLocalDTW(this.mIdtwFactory)));
+        } finally {
+            pool.shutdown();
+        }
+
+        LOGGER.log(Level.INFO, "Assign " + N + " instances to " + medoids.length + " medoids with "
+                + (this.mComputedNum.get() - computed) + " full, " + (this.mAbandonedNum.get() - abandoned)
+                + " abandoned and " + (this.mPrunedNum.get() - pruned) + " pruned distances.");
+
+        return labels;
+    }
+
+    /**
+     * Find the nearest instances of an instance, itself excluded
+     * @param query instance No. of the query
+     * @param k the number of neighbours
+     * @param distances filled with the distance of each neighbour, may be null
+     * @return instance No. of the neighbours from the nearest, ties by the smaller No., null if the input is invalid
+     */
+    public int[] findNearestNeighbors(int query, int k, double[] distances) {
+
+        if (this.mSequences == null || this.mSequences.length == 0) {
+            LOGGER.log(Level.INFO, "The instances are null or empty!");
+            return null;
+        }
+
+        int N = this.mSequences.length;
+        if (query < 0 || query >= N) {
+            LOGGER.log(Level.INFO, "The query " + query + " is not an instance!");
+            return null;
+        }
+
+        if (k <= 0 || k >= N) {
+            LOGGER.log(Level.INFO, "The number of neighbours should be between 1 and " + (N - 1) + "!");
+            return null;
+        }
+
+        if (distances != null && distances.length != k) {
+            LOGGER.log(Level.INFO, "The distances do not match the number of neighbours!");
+            return null;
+        }
+
+        int[] instanceNos = new int[N - 1];
+        for (int j = 0, c = 0; j < N; j++) {
+            if (j != query) instanceNos[c++] = j;
+        }
+        int[] candidates = new int[N - 1];
+        for (int c = 0; c < N - 1; c++) candidates[c] = c;
+
+        IDTW idtw = this.mIdtwFactory.createDTW();
+        int[] neighbors = new int[k];
+        double[] nearest = distances == null ? new double[k] : distances;
+        Arrays.fill(neighbors, -1);
+        Arrays.fill(nearest, Double.POSITIVE_INFINITY);
+        search(idtw, query, instanceNos, candidates, new double[candidates.length], neighbors, nearest);
+
+        for (int c = 0; c < k; c++) {
+            if (neighbors[c] >= 0) neighbors[c] = instanceNos[neighbors[c]];
+        }
+        return neighbors;
+    }
+
+    /**
+     * Find the k nearest candidates of a query, k is the length of neighbors
+     * @param idtw dynamic time warping of this thread
+     * @param query instance No. of the query
+     * @param instanceNos instance No. of each candidate
+     * @param candidates candidates 0 .. C - 1, reordered in place, ties go to the smaller candidate
+     * @param bounds scratch array for the lower bounds, as long as candidates
+     * @param neighbors the nearest candidates from the nearest, filled in place
+     * @param nearest the distance of each neighbour, filled in place
+     * @return the number of neighbours found
+     */
+    private int search(IDTW idtw, int query, int[] instanceNos, int[] candidates, double[] bounds, int[] neighbors,
+                       double[] nearest) {
+        int C = candidates.length;
+        int k = neighbors.length;
+
+        // lower bounds first, then the candidates in order of their bounds
+        IBoundedDTW boundedDTW = this.mEnvelopes == null ? null : (IBoundedDTW) idtw;
+        if (boundedDTW != null) {
+            for (int c = 0; c < C; c++) {
+                bounds[c] = boundedDTW.computeLowerBound(this.mEnvelopes[query],
+                        this.mEnvelopes[instanceNos[candidates[c]]], Double.POSITIVE_INFINITY);
+            }
+            sortByBound(candidates, bounds, C);
+        }
+
+        int found = 0;
+        for (int c = 0; c < C; c++) {
+            double threshold = found < k ? Double.POSITIVE_INFINITY : nearest[k - 1];
+            if (bounds[c] > threshold) {
+                this.mPrunedNum.addAndGet(C - c);
+                break;
+            }
+
+            int candidate = candidates[c];
+            int instanceNo = instanceNos[candidate];
+            double distance;
+            if (boundedDTW != null) {
+                distance = boundedDTW.computeDistance(this.mSequences[query], this.mSequences[instanceNo], threshold);
+                if (distance > threshold) {
+                    this.mAbandonedNum.incrementAndGet();
+                    continue;
+                }
+            } else {
+                distance = idtw.computeDistance(this.mInstances.get(query), this.mInstances.get(instanceNo));
+            }
+            this.mComputedNum.incrementAndGet();
+
+            // insert into the sorted neighbours
+            if (found == k && !isBefore(distance, candidate, nearest[k - 1], neighbors[k - 1])) continue;
+            int position = Math.min(found, k - 1);
+            while (position > 0 && isBefore(distance, candidate, nearest[position - 1], neighbors[position - 1])) {
+                nearest[position] = nearest[position - 1];
+                neighbors[position] = neighbors[position - 1];
+                position--;
+            }
+            nearest[position] = distance;
+            neighbors[position] = candidate;
+            if (found < k) found++;
+        }
+
+        return found;
+    }
+
+    /**
+     * Order of two answers, the smaller distance first and then the smaller candidate
+     * @param distance1 distance of the first answer
+     * @param index1 the first candidate
+     * @param distance2 distance of the second answer
+     * @param index2 the second candidate
+     * @return true if the first answer comes before the second one
+     */
+    private static boolean isBefore(double distance1, int index1, double distance2, int index2) {
+        return distance1 < distance2 || (distance1 == distance2 && index1 < index2);
+    }
+
+    /**
+     * Sort candidates by their lower bounds with a stable merge sort, so equal bounds keep the candidates ascending
+     * @param candidates the candidates, ascending before the sort
+     * @param bounds lower bound of each candidate
+     * @param C the number of candidates
+     */
+    private static void sortByBound(int[] candidates, double[] bounds, int C) {
+        int[] candidateBuffer = new int[C];
+        double[] boundBuffer = new double[C];
+        int[] fromCandidates = candidates;
+        double[] fromBounds = bounds;
+        int[] toCandidates = candidateBuffer;
+        double[] toBounds = boundBuffer;
+
+        for (int width = 1; width < C; width <<= 1) {
+            for (int left = 0; left < C; left += width << 1) {
+                int middle = Math.min(left + width, C);
+                int right = Math.min(left + (width << 1), C);
+                int a = left;
+                int b = middle;
+                for (int c = left; c < right; c++) {
+                    if (a < middle && (b >= right || fromBounds[a] <= fromBounds[b])) {
+                        toCandidates[c] = fromCandidates[a];
+                        toBounds[c] = fromBounds[a++];
+                    } else {
+                        toCandidates[c] = fromCandidates[b];
+                        toBounds[c] = fromBounds[b++];
+                    }
+                }
+            }
+            int[] tempCandidates = fromCandidates;
+            fromCandidates = toCandidates;
+            toCandidates = tempCandidates;
+            double[] tempBounds = fromBounds;
+            fromBounds = toBounds;
+            toBounds = tempBounds;
+        }
+
+        if (fromCandidates != candidates) {
+            System.arraycopy(fromCandidates, 0, candidates, 0, C);
+            System.arraycopy(fromBounds, 0, bounds, 0, C);
+        }
+    }
+
+    /**
+     * Getter
+     * @return the number of distances warped to the end by all queries so far
+     */
+    public long getComputedNum() {
+        return this.mComputedNum.get();
+    }
+
+    /**
+     * Getter
+     * @return the number of distances abandoned against the best distance so far by all queries so far
+     */
+    public long getAbandonedNum() {
+        return this.mAbandonedNum.get();
+    }
+
+    /**
+     * Getter
+     * @return the number of distances skipped by lower bounds by all queries so far
+     */
+    public long getPrunedNum() {
+        return this.mPrunedNum.get();
+    }
+
+    /**
+     * One IDTW instance per worker thread
+     */
+    private static class ThreadLocalDTW extends ThreadLocal<IDTW> {
+
+        private final IDTWFactory idtwFactory;
+
+        ThreadLocalDTW(IDTWFactory idtwFactory) {
+            this.idtwFactory = idtwFactory;
+        }
+
+        @Override
+        protected IDTW initialValue() {
+            return idtwFactory.createDTW();
+        }
+    }
+
+    /**
+     * Recursively split the instance range until a chunk is left
+     */
+    private class AssignTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 6003810849197860622L;
+
+        private final int[] medoids;
+        private final int[] labels;
+        private final double[] distances;
+        private final int from;
+        private final int to;
+        private final ThreadLocalDTW workers;
+
+        AssignTask(int[] medoids, int[] labels, double[] distances, int from, int to, ThreadLocalDTW workers) {
+            this.medoids = medoids;
+            this.labels = labels;
+            this.distances = distances;
+            this.from = from;
+            this.to = to;
+            this.workers = workers;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= DEFAULTCHUNKSIZE) {
+                assignChunk();
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new AssignTask(medoids, labels, distances, from, middle, workers),
+                    new AssignTask(medoids, labels, distances, middle, to, workers));
+        }
+
+        /**
+         * Assign the instances of the chunk to their nearest medoids
+         */
+        private void assignChunk() {
+            int K = medoids.length;
+            IDTW idtw = workers.get();
+            int[] candidates = new int[K];
+            double[] bounds = new double[K];
+            int[] neighbor = new int[1];
+            double[] nearest = new double[1];
+
+            for (int i = from; i < to; i++) {
+                for (int k = 0; k < K; k++) candidates[k] = k;
+                neighbor[0] = -1;
+                nearest[0] = Double.POSITIVE_INFINITY;
+                search(idtw, i, medoids, candidates, bounds, neighbor, nearest);
+
+                labels[i] = Math.max(neighbor[0], 0);
+                distances[i] = nearest[0];
+            }
+        }
+    }
+
+    /**
+     * test
+     * @param args user input
+     */
+    public static void main(String[] args) {
+        List<List<Double>> instances = new ArrayList<List<Double>>();
+        for (int i = 0; i < 20; i++) {
+            List<Double> instance = new ArrayList<Double>();
+            for (int j = 0; j < 50; j++) instance.add((double) (1 + ((j + 3 * i) / (5 + i % 4)) % 3));
+            instances.add(instance);
+        }
+
+        NearestNeighborEngine test = new NearestNeighborEngine(new IDTWFactory() {
+            @Override
+            public IDTW createDTW() {
+                return new PrimitiveSakoeChibaDTW("BinaryDistance", 10);
+            }
+        }, instances, 2);
+
+        System.out.println(Arrays.toString(test.assignNearestMedoids(new int[]{0, 7, 13}, null)));
+        System.out.println(Arrays.toString(test.findNearestNeighbors(0, 3, null)));
+    }
+}
@@ -0,0 +1,13 @@
+package initializer.distancematrix;
+
+/**
+ * Project: DCDMC
+ * Package: initializer.distancematrix
+ * Date: 17/Oct/2026
+ * Time: 10:02
+ * System Time: 10:02 AM
+ */
+public enum PRECISION {
+    FLOAT,
+    DOUBLE;
+}
@@ -10,132 +10,119 @@ package initializer.dtws;
 
 import Utilities.Utilities;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 /**
  * Global Weighted Dynamic Time Warping
+ *
+ * The state of a row is its DP row followed by its deviation row, the deviation following the warp path.
+ * Both are computed row by row with two rolling states, and the path in linear space, see LinearSpaceDTW
  */
-public class GlobalWeightedDTW implements IDTW {
+public class GlobalWeightedDTW extends LinearSpaceDTW {
 
-    private static final Logger LOGGER = Logger.getLogger(MatlabOriginalDTW.class.getName());
-
-    private double[][] DPMatrix; // dynamic programming of time warping matrix
-    private double[][] DeviationMatrix; // deviations
-    private List<Integer> p; // x coordinates in the optimal path
-    private List<Integer> q; // y coordinates in the optimal path
     private double weight; // weight between original DTW and deviation
 
-
     /**
      * class constructor
      */
     public GlobalWeightedDTW() {
-        this.DPMatrix = null;
-        this.DeviationMatrix = null;
-        this.p = null;
-        this.p = null;
+        super();
         this.weight = 0.89;
     }
 
     /**
-     * Compute the DTW-related distance between two time series
-     * @param timeseries1 the first time series
-     * @param timeseries2 the second time series
-     * @return the distance between two time series
+     * The number of values in the state of a row
+     * @param m length of the second sequence
+     * @return the DP row and the deviation row
      */
     @Override
-    public double computeDistance(double[] timeseries1, double[] timeseries2) {
-
-        // two parameters could be null
-
-        double distance = Integer.MIN_VALUE;
-
-        if (timeseries1 == null || timeseries2 == null) {
-            LOGGER.log(Level.INFO, "The time series are null!");
-            return distance;
-        }
-
-        if (timeseries1.length == 0 || timeseries2.length == 0) {
-            LOGGER.log(Level.INFO, "The time series are empty!");
-            return distance;
-        }
-
-        // compute the DPMatrix two-dimensional matrix
-        computeDTW(timeseries1, timeseries2);
-
-        // get the dynamic time warping distance between two sequences
-        int ROW = timeseries1.length;
-        int COLUMN = timeseries2.length;
-        distance = this.DPMatrix[ROW - 1][COLUMN - 1];
-
-
-        return distance;
+    protected int stateWidth(int m) {
+        return 2 * (m + 1);
     }
 
     /**
-     * Compute the optimal warping path between two time series
-     * @param timeseries1 the first time series
-     * @param timeseries2 the second time series
-     * @return the optimal warping path between two time series
+     * Fill the state of row 0
+     * @param state the state to fill
+     * @param n length of the first sequence
+     * @param m length of the second sequence
      */
     @Override
-    public List<List<Integer>> computePath(double[] timeseries1, double[] timeseries2){
-        List<List<Integer>> optimalPath = null;
-
-        if (timeseries1 == null || timeseries2 == null) {
-            LOGGER.log(Level.INFO, "The time series are null!");
-            return optimalPath;
+    protected void firstRow(double[] state, int n, int m) {
+        //----------------- very important initialization ------------------//
+        state[0] = 0;
+        for (int j = 1; j <= m; j++) {
+            state[j] = BORDER;
         }
-
-        if (timeseries1.length == 0 || timeseries2.length == 0) {
-            LOGGER.log(Level.INFO, "The time series are empty!");
-            return optimalPath;
+        for (int j = 0; j <= m; j++) {
+            state[m + 1 + j] = 0;
         }
+    }
 
-        int N = this.p.size();
-        for (int i = 0; i < N; i++) {
-            optimalPath.add(Arrays.asList(p.get(i), q.get(i)));
+    /**
+     * Compute the state of row i + 1 from the state of row i
+     * @param state the state of row i
+     * @param next the state of row i + 1, to fill
+     * @param i index of the row of the cost matrix
+     * @param value1 the element i of the first sequence
+     * @param series2 the second sequence
+     * @param n length of the first sequence
+     * @param m length of the second sequence
+     * @param phi trace back moves of row i, null if not needed
+     * @param offset offset of row i in phi
+     */
+    @Override
+    protected void nextRow(double[] state, double[] next, int i, double value1, double[] series2,
+                           int n, int m, byte[] phi, int offset) {
+        int deviations = m + 1; // offset of the deviation row in a state
+        double diagonalSlope = m == 0 ? 0 : m * 1.0 / n; // diagonal line slope
+        double y = diagonalSlope * (i + 1);
+
+        next[0] = BORDER;
+        next[deviations] = 0;
+        for (int j = 0; j < m; j++) {
+            double difference = Math.abs((j + 1) - y);
+
+            //------------------ First Compute DTW -------------------//
+            // compare DP[i][j] with DP[i][j + 1]
+            double min = Math.min(state[j], state[j + 1]);
+            byte index = min == state[j] ? DIAGONAL : UP;
+
+            // compare the larger one with DP[i + 1][j]
+            double mincopy = min; // only to be consistent with the algorithm in matlab
+            min = Math.min(min, next[j]);
+            index = min == mincopy ? index : LEFT;
+
+            // update DP[i + 1][j + 1]
+            next[j + 1] = getLocalCostMeasure(value1, series2[j]);
+            next[j + 1] += min;
+            if (phi != null) phi[offset + j] = index;
+
+            //------------------ Second Compute Deviation ----------------//
+            next[deviations + j + 1] = difference;
+            if (index == DIAGONAL) {
+                next[deviations + j + 1] += state[deviations + j];
+            } else if (index == UP) {
+                next[deviations + j + 1] += state[deviations + j + 1];
+            } else {
+                next[deviations + j + 1] += next[deviations + j];
+            }
         }
-
-        return optimalPath;
     }
 
     /**
-     * Compute the DTW-related distance between two time series
+     * Compute the global weighted DTW distance between two time series, the DP distance weighted with the
+     * deviation of the warp path. The double[] overload gives the DP distance alone
      * @param timeseries1 the first time series
      * @param timeseries2 the second time series
      * @return the distance between two time series
      */
     @Override
     public double computeDistance(List<Double> timeseries1, List<Double> timeseries2) {
+        double distance = super.computeDistance(timeseries1, timeseries2);
+        if (distance == Integer.MIN_VALUE) return distance; // null or empty time series
 
-        // two parameters could be null
-
-        double distance = Integer.MIN_VALUE;
-
-        if (timeseries1 == null || timeseries2 == null) {
-            LOGGER.log(Level.INFO, "The time series are null!");
-            return distance;
-        }
-
-        if (timeseries1.size() == 0 || timeseries2.size() == 0) {
-            LOGGER.log(Level.INFO, "The time series are empty!");
-            return distance;
-        }
-
-        // compute the DPMatrix two-dimensional matrix
-        computeDTW(timeseries1, timeseries2);
-
-        // get the dynamic time warping distance between two sequences
-        int ROW = timeseries1.size();
-        int COLUMN = timeseries2.size();
-        distance = this.DPMatrix[ROW - 1][COLUMN - 1];
-
-        double deviation = this.DeviationMatrix[ROW - 1][COLUMN - 1];
+        int m = timeseries2.size();
+        double deviation = getLastRow()[m + 1 + m];
 
         // compute the global weighted DTW distance
         distance = this.weight * distance + (1 - this.weight) * Math.sqrt(deviation);
@@ -143,207 +130,6 @@ public class GlobalWeightedDTW implements IDTW {
         return distance;
     }
 
-    /**
-     * Compute the optimal warping path between two time series
-     * @param timeseries1 the first time series
-     * @param timeseries2 the second time series
-     * @return the optimal warping path between two time series
-     */
-    @Override
-    public List<List<Integer>> computePath(List<Double> timeseries1, List<Double> timeseries2){
-        List<List<Integer>> optimalPath = null;
-
-        if (timeseries1 == null || timeseries2 == null) {
-            LOGGER.log(Level.INFO, "The time series are null!");
-            return optimalPath;
-        }
-
-        if (timeseries1.size() == 0 || timeseries2.size() == 0) {
-            LOGGER.log(Level.INFO, "The time series are empty!");
-            return optimalPath;
-        }
-
-        int N = this.p.size();
-        for (int i = 0; i < N; i++) {
-            optimalPath.add(Arrays.asList(p.get(i), q.get(i)));
-        }
-
-        return optimalPath;
-    }
-
-    /**
-     * Compute the cost matrix with the minimum cost path between these two sequences
-     * @param seq1 the first sequence
-     * @param seq2 the second sequence
-     * @return local cost matrix
-     */
-    private double[][] computeDTW(double[] seq1, double[] seq2) {
-        int length1 = seq1.length;
-        int length2 = seq2.length;
-
-        double[][] localCostMatrix = new double[length1][length2];
-
-        // compute the local cost matrix by two sequences
-        for (int i = 0; i < length1; i++) {
-            for (int j = 0; j < length2; j++) {
-                localCostMatrix[i][j] = getLocalCostMeasure(seq1[i], seq2[j]);
-            }
-        }
-
-        // compute the dynamic time warping
-        int[][] traceback = dpDTW(localCostMatrix);
-
-        // add the starting point (0, 0) into the minimum cost optimal path
-        this.p.add(0, 0);
-        this.q.add(0, 0);
-
-        return localCostMatrix;
-    }
-
-    /**
-     * Compute the cost matrix with the minimum cost path between these two sequences
-     * @param seq1 the first sequence
-     * @param seq2 the second sequence
-     * @return local cost matrix
-     */
-    private double[][] computeDTW(List<Double> seq1, List<Double> seq2) {
-        double[] sequence1 = Utilities.convertToOneDimensionalDoubleArray(seq1);
-        double[] sequence2 = Utilities.convertToOneDimensionalDoubleArray(seq2);
-
-        return computeDTW(sequence1, sequence2);
-    }
-
-    /**
-     * Calculate dynamic time warping matrix
-     * @param costMatrix cost matrix constructed by two sequences
-     * @return a dynamic time warping matrix
-     */
-    private int[][] dpDTW(double[][] costMatrix) {
-
-        double[][] DP = null; // dynamic programming
-        int[][] phi = null; // trace back
-
-        clearAll(); // clear all member variables
-
-        if (costMatrix == null) {
-            LOGGER.log(Level.INFO, "The cost matrix is null!");
-            return phi;
-        }
-
-        if (costMatrix.length == 0 || costMatrix[0].length == 0) {
-            LOGGER.log(Level.INFO, "The cost matrix is empty!");
-            return phi;
-        }
-
-        int ROW = costMatrix.length; // The length of the first sequence
-        int COLUMN = costMatrix[0].length; // The length of the second sequence
-        DP = new double[ROW + 1][COLUMN + 1];
-        phi = new int[ROW][COLUMN]; // store the optimal path info
-
-        // initialize the first row and the first column
-        for (int i = 0; i <= ROW; i++) {
-            DP[i][0] = Integer.MAX_VALUE;
-        }
-
-        for (int i = 0; i <= COLUMN; i++) {
-            DP[0][i] = Integer.MAX_VALUE;
-        }
-
-        //----------------- very important initialization ------------------//
-        DP[0][0] = 0;
-        // copy cost matrix into the DP
-        for (int i = 0; i < ROW; i++) {
-            for (int j = 0; j < COLUMN; j++) {
-                DP[i + 1][j + 1] = costMatrix[i][j];
-            }
-        }
-
-        //--------- dynamic programming for calculating DP matrix ----------//
-        double diagonalSlope = COLUMN == 0 ? 0 : COLUMN * 1.0 / ROW; // diagonal line slope
-        double[][] deviations = new double[ROW + 1][COLUMN + 1];
-
-        for (int i = 0; i < ROW; i++) {
-            for (int j = 0; j < COLUMN; j++) {
-                double min = DP[i][j];
-                int index = 0;
-
-                double y = diagonalSlope * (i + 1);
-                double difference = Math.abs((j + 1) - y);
-
-                //------------------ First Compute DTW -------------------//
-                // compare DP[i][j] with DP[i][j + 1]
-                min = Math.min(DP[i][j], DP[i][j + 1]);
-                index = min == DP[i][j] ? 0 : 1;
-
-                // compare the larger one with DP[i + 1][j]
-                double mincopy = min; // only to be consistent with the algorithm in matlab
-                min = Math.min(min, DP[i + 1][j]);
-                index = min == mincopy ? index : 2;
-
-                // update DP[i + 1][j + 1]
-                DP[i + 1][j + 1] += min;
-                phi[i][j] = index;
-
-                //------------------ Second Compute Deviation ----------------//
-                deviations[i + 1][j + 1] = difference;
-                if (index == 0) {
-                    deviations[i + 1][j + 1] += deviations[i][j];
-                } else if (index == 1) {
-                    deviations[i + 1][j + 1] += deviations[i][j + 1];
-                } else {
-                    deviations[i + 1][j + 1] += deviations[i + 1][j];
-                }
-            }
-        }
-
-        //---------------------- trace back from top left -------------------//
-        int i = ROW - 1;
-        int j = COLUMN - 1;
-        this.p = new ArrayList<Integer>();
-        this.q = new ArrayList<Integer>();
-        p.add(i);
-        q.add(j);
-
-        while (i > 0 && j > 0) {
-            int tb = phi[i][j];
-            if (tb == 0) {
-                i--;
-                j--;
-            } else if (tb == 1) {
-                i--;
-            } else if (tb == 2) {
-                j--;
-            } else {
-                LOGGER.log(Level.INFO, "The trace back error happens!");
-            }
-            p.add(0, i);
-            q.add(0, j);
-
-        }
-
-        // strip off the edges of the DP matrix before returning
-        double[][] cache = new double[ROW][COLUMN];
-        for (i = 1; i <= ROW; i++) {
-            for (j = 1; j <= COLUMN; j++) {
-                cache[i-1][j-1] = DP[i][j];
-            }
-        }
-
-        // strip off the edges of the Deviation matrix before returning
-        double[][] cacheDeviation = new double[ROW][COLUMN];
-        for (i = 1; i <= ROW; i++) {
-            for (j = 1; j <= COLUMN; j++) {
-                cacheDeviation[i-1][j-1] = deviations[i][j];
-            }
-        }
-
-        // store the final results
-        this.DPMatrix = cache;
-        this.DeviationMatrix = cacheDeviation;
-
-        return phi; // trace back path
-    }
-
     /**
      * Calculate the cost of two elements in two sequences.
      * @param element1 a discrete value in sequence 1
@@ -355,47 +141,6 @@ public class GlobalWeightedDTW implements IDTW {
         else return 1;
     }
 
-    /**
-     * clear all member variables
-     */
-    private void clearAll() {
-        this.DPMatrix = null;
-        this.p = null;
-        this.q = null;
-    }
-
-    /**
-     * Getter function for DPMatrix
-     * @return member variable DPMatrix
-     */
-    public double[][] getDPMatrix() {
-        return this.DPMatrix;
-    }
-
-    /**
-     * Getter function for Deviation Matrix
-     * @return member variable DeviationMatrix
-     */
-    public double[][] getDeviationMatrix() {
-        return this.DeviationMatrix;
-    }
-
-    /**
-     * Getter function for p
-     * @return memeber variable p
-     */
-    public List<Integer> getXOptimalPath() {
-        return this.p;
-    }
-
-    /**
-     * Getter function for q
-     * @return memeber variable q
-     */
-    public List<Integer> getYOptimalPath() {
-        return this.q;
-    }
-
     /**
      * test
      * @param args user input
@@ -404,21 +149,13 @@ public class GlobalWeightedDTW implements IDTW {
         GlobalWeightedDTW test = new GlobalWeightedDTW();
         double[] a = new double[]{1, 1, 0, 1};
         double[] b = new double[]{1, 0, 1, 0};
-        double[][] localCostMatrix = test.computeDTW(a ,b);
-
-        // print out local cost matrix
-        Utilities.printMatrix(localCostMatrix);
-
-        // print out DP matrix
-        Utilities.printMatrix(test.getDPMatrix());
-
-        // print out deviation matrix
-        Utilities.printMatrix(test.getDeviationMatrix());
 
-        // print out p path
-        Utilities.printArray(test.getXOptimalPath());
+        // print out the distance
+        System.out.println(test.computeDistance(a, b));
 
-        // print out q path
-        Utilities.printArray(test.getYOptimalPath());
+        // print out p and q paths
+        int[][] path = test.computeCompactPath(a, b);
+        Utilities.printArray(path[0]);
+        Utilities.printArray(path[1]);
     }
 }
@@ -0,0 +1,42 @@
+package initializer.dtws;
+
+/**
+ * Project: DCDMC
+ * Package: initializer.dtws
+ * Date: 17/Oct/2026
+ * Time: 22:40
+ * System Time: 10:40 PM
+ */
+
+/**
+ * Dynamic time warping with lower bounds and early abandoning, for nearest neighbour queries
+ * where most candidates can be rejected against the best distance found so far
+ */
+public interface IBoundedDTW extends IDTW {
+
+    /**
+     * Precompute what the lower bounds need from a sequence, once per sequence
+     * @param sequence a sequence
+     * @return the envelope of the sequence
+     */
+    public SequenceEnvelope createEnvelope(double[] sequence);
+
+    /**
+     * Compute a lower bound of the distance between two sequences, cheap bounds first.
+     * The computation may stop as soon as the bound exceeds bestSoFar
+     * @param envelope1 envelope of the first sequence
+     * @param envelope2 envelope of the second sequence
+     * @param bestSoFar the best distance found so far
+     * @return a lower bound of the distance, larger than bestSoFar if the pair can be skipped
+     */
+    public double computeLowerBound(SequenceEnvelope envelope1, SequenceEnvelope envelope2, double bestSoFar);
+
+    /**
+     * Compute the DTW-related distance between two time series, abandoned once it must exceed bestSoFar
+     * @param timeseries1 the first time series
+     * @param timeseries2 the second time series
+     * @param bestSoFar the best distance found so far
+     * @return the distance if it is not larger than bestSoFar, otherwise positive infinity
+     */
+    public double computeDistance(double[] timeseries1, double[] timeseries2, double bestSoFar);
+}
@@ -0,0 +1,23 @@
+package initializer.dtws;
+
+/**
+ * Project: DCDMC
+ * Package: initializer.dtws
+ * Date: 17/Oct/2026
+ * Time: 09:12
+ * System Time: 9:12 AM
+ */
+
+/**
+ * Factory for dynamic time warping workers.
+ * The IDTW implementations keep per-call state in fields (e.g. DPMatrix, p, q),
+ * so every worker thread asks the factory for its own instance.
+ */
+public interface IDTWFactory {
+
+    /**
+     * Create a new dynamic time warping instance
+     * @return a fresh dynamic time warping instance
+     */
+    public IDTW createDTW();
+}
@@ -0,0 +1,31 @@
+package initializer.dtws;
+
+/**
+ * Project: DCDMC
+ * Package: initializer.dtws
+ * Date: 18/Oct/2026
+ * Time: 10:35
+ * System Time: 10:35 AM
+ */
+
+/**
+ * Dynamic time warping over coarser resolutions of the sequences, which can be built once per sequence
+ * instead of once per pair when all pairs of a dataset are warped
+ */
+public interface IMultiResolutionDTW extends IDTW {
+
+    /**
+     * Build the resolutions this dynamic time warping needs from a sequence, once per sequence
+     * @param sequence a sequence
+     * @return the pyramid of the sequence
+     */
+    public PAAPyramid createPyramid(double[] sequence);
+
+    /**
+     * Compute the DTW-related distance between two time series from their pyramids
+     * @param pyramid1 pyramid of the first time series
+     * @param pyramid2 pyramid of the second time series
+     * @return the distance between two time series
+     */
+    public double computeDistance(PAAPyramid pyramid1, PAAPyramid pyramid2);
+}
@@ -0,0 +1,438 @@
+package initializer.dtws;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Project: DCDMC
+ * Package: initializer.dtws
+ * Date: 17/Oct/2026
+ * Time: 23:30
+ * System Time: 11:30 PM
+ */
+
+/*
+    Row-by-row dynamic time warping of the matlab family (MatlabOriginalDTW, DeviatedDTW, GlobalWeightedDTW and
+    StepwiseDeviatedDTW) in linear space.
+
+    A subclass gives the recurrence as a step from the state of one row of the DP matrix (the DP row, and the
+    deviation row if any) to the state of the next row. Distances keep two rolling states. Warp paths are found by
+    divide and conquer over the rows: the state of the middle row is computed forward and kept, the upper half is
+    solved first since the trace back runs from the last cell, then the lower half from the kept state of its first
+    row. Bands of rows which fit in about 64K cells keep their trace back, one byte per cell. Only one state per level
+    of the recursion is kept, so a path takes O(m log n) space and O(n m log n) time. The state is recomputed forward
+    instead of backward as in Hirschberg's algorithm, so the tie breaking of the trace back and the recurrences
+    which update earlier cells in place are reproduced exactly.
+
+    The warp path is the one of the matlab program: the trace back from (n - 1, m - 1) stops on the first row or
+    the first column, then (0, 0) is put in front.
+ */
+public abstract class LinearSpaceDTW implements IDTW {
+
+    private static final Logger LOGGER = Logger.getLogger(LinearSpaceDTW.class.getName());
+
+    protected static final double BORDER = Integer.MAX_VALUE; // DP cells out of the cost matrix
+
+    // trace back moves, as phi in the matlab program
+    protected static final byte DIAGONAL = 0;
+    protected static final byte UP = 1; // from the previous row
+    protected static final byte LEFT = 2; // from the previous column
+
+    // bands of rows which keep their trace back, at least MINBANDROWS rows and otherwise about BANDCELLS cells
+    private static final int MINBANDROWS = 16;
+    private static final int BANDCELLS = 1 << 16;
+
+    // input copies for lists
+    private double[] mSeries1;
+    private double[] mSeries2;
+
+    // states of the current and the next row
+    private double[] mState;
+    private double[] mNext;
+    private double[][] mCheckpoints; // the state of the first row of the range, one per level of the recursion
+    private byte[] mPhi; // trace back of a band of rows
+
+    // warp path of the last path call, as the matlab program gives it
+    private int[] mPathX;
+    private int[] mPathY;
+    private int mPathLength;
+
+    // cursor of the trace back
+    private int mI;
+    private int mJ;
+
+    /**
+     * class constructor
+     */
+    public LinearSpaceDTW() {
+        this.mSeries1 = new double[0];
+        this.mSeries2 = new double[0];
+        this.mState = new double[0];
+        this.mNext = new double[0];
+        this.mCheckpoints = new double[0][];
+        this.mPhi = new byte[0];
+        this.mPathX = new int[0];
+        this.mPathY = new int[0];
+        this.mPathLength = 0;
+    }
+
+    /**
+     * The number of values in the state of a row
+     * @param m length of the second sequence
+     * @return the state width, at least m + 1 for the DP row
+     */
+    protected abstract int stateWidth(int m);
+
+    /**
+     * Fill the state of row 0, the border above the cost matrix
+     * @param state the state to fill
+     * @param n length of the first sequence
+     * @param m length of the second sequence
+     */
+    protected abstract void firstRow(double[] state, int n, int m);
+
+    /**
+     * Compute the state of row i + 1 from the state of row i, state[j] being DP[i][j] of the matlab program.
+     * The state of row i may be updated in place
+     * @param state the state of row i
+     * @param next the state of row i + 1, to fill
+     * @param i index of the row of the cost matrix
+     * @param value1 the element i of the first sequence
+     * @param series2 the second sequence
+     * @param n length of the first sequence
+     * @param m length of the second sequence
+     * @param phi trace back moves of row i, phi[offset + j] for column j; null if not needed
+     * @param offset offset of row i in phi
+     */
+    protected abstract void nextRow(double[] state, double[] next, int i, double value1, double[] series2,
+                                    int n, int m, byte[] phi, int offset);
+
+    /**
+     * Compute the DTW-related distance between two time series
+     * @param timeseries1 the first time series
+     * @param timeseries2 the second time series
+     * @return the distance between two time series
+     */
+    @Override
+    public double computeDistance(double[] timeseries1, double[] timeseries2) {
+        if (!isValid(timeseries1 == null ? -1 : timeseries1.length, timeseries2 == null ? -1 : timeseries2.length)) {
+            return Integer.MIN_VALUE;
+        }
+        int m = timeseries2.length;
+        return lastRow(timeseries1, timeseries1.length, timeseries2, m)[m]; // DP[n][m]
+    }
+
+    /**
+     * Compute the optimal warping path between two time series
+     * @param timeseries1 the first time series
+     * @param timeseries2 the second time series
+     * @return the optimal warping path between two time series
+     */
+    @Override
+    public List<List<Integer>> computePath(double[] timeseries1, double[] timeseries2) {
+        if (computeCompactPath(timeseries1, timeseries2) == null) return null;
+        return getOptimalPath();
+    }
+
+    /**
+     * Compute the DTW-related distance between two time series
+     * @param timeseries1 the first time series
+     * @param timeseries2 the second time series
+     * @return the distance between two time series
+     */
+    @Override
+    public double computeDistance(List<Double> timeseries1, List<Double> timeseries2) {
+        if (!isValid(timeseries1 == null ? -1 : timeseries1.size(), timeseries2 == null ? -1 : timeseries2.size())) {
+            return Integer.MIN_VALUE;
+        }
+        this.mSeries1 = copy(timeseries1, this.mSeries1);
+        this.mSeries2 = copy(timeseries2, this.mSeries2);
+        int m = timeseries2.size();
+        return lastRow(this.mSeries1, timeseries1.size(), this.mSeries2, m)[m]; // DP[n][m]
+    }
+
+    /**
+     * Compute the optimal warping path between two time series
+     * @param timeseries1 the first time series
+     * @param timeseries2 the second time series
+     * @return the optimal warping path between two time series
+     */
+    @Override
+    public List<List<Integer>> computePath(List<Double> timeseries1, List<Double> timeseries2) {
+        if (!isValid(timeseries1 == null ? -1 : timeseries1.size(), timeseries2 == null ? -1 : timeseries2.size())) {
+            return null;
+        }
+        this.mSeries1 = copy(timeseries1, this.mSeries1);
+        this.mSeries2 = copy(timeseries2, this.mSeries2);
+        tracePath(this.mSeries1, timeseries1.size(), this.mSeries2, timeseries2.size());
+        return getOptimalPath();
+    }
+
+    /**
+     * Compute the optimal warping path between two time series in linear space
+     * @param timeseries1 the first time series
+     * @param timeseries2 the second time series
+     * @return {x coordinates, y coordinates} of the path, trimmed copies; null if the time series are invalid
+     */
+    public int[][] computeCompactPath(double[] timeseries1, double[] timeseries2) {
+        if (!isValid(timeseries1 == null ? -1 : timeseries1.length, timeseries2 == null ? -1 : timeseries2.length)) {
+            return null;
+        }
+        tracePath(timeseries1, timeseries1.length, timeseries2, timeseries2.length);
+        return new int[][]{Arrays.copyOf(this.mPathX, this.mPathLength), Arrays.copyOf(this.mPathY, this.mPathLength)};
+    }
+
+    /**
+     * Run the recurrence over all rows with two rolling states
+     * @param series1 the first sequence
+     * @param n length of the first sequence
+     * @param series2 the second sequence
+     * @param m length of the second sequence
+     * @return the state of row n
+     */
+    protected double[] lastRow(double[] series1, int n, double[] series2, int m) {
+        ensureCapacity(n, m);
+        firstRow(this.mState, n, m);
+        advance(series1, 0, n, series2, n, m, null);
+        return this.mState;
+    }
+
+    /**
+     * Getter
+     * @return the state of row n of the last distance call
+     */
+    protected double[] getLastRow() {
+        return this.mState;
+    }
+
+    /**
+     * Run the recurrence from the current state, the result is left in mState
+     * @param series1 the first sequence
+     * @param from the first row to compute
+     * @param to the row after the last row to compute
+     * @param series2 the second sequence
+     * @param n length of the first sequence
+     * @param m length of the second sequence
+     * @param phi trace back of rows from .. to - 1 if not null
+     */
+    private void advance(double[] series1, int from, int to, double[] series2, int n, int m, byte[] phi) {
+        double[] state = this.mState;
+        double[] next = this.mNext;
+        for (int i = from; i < to; i++) {
+            nextRow(state, next, i, series1[i], series2, n, m, phi, (i - from) * m);
+            double[] swap = state;
+            state = next;
+            next = swap;
+        }
+        this.mState = state;
+        this.mNext = next;
+    }
+
+    /**
+     * Find the warp path of the matlab program, kept in mPathX and mPathY
+     * @param series1 the first sequence
+     * @param n length of the first sequence
+     * @param series2 the second sequence
+     * @param m length of the second sequence
+     */
+    private void tracePath(double[] series1, int n, double[] series2, int m) {
+        ensureCapacity(n, m);
+        this.mPathLength = 0;
+
+        // the trace back is collected from the last cell, then reversed
+        this.mI = n - 1;
+        this.mJ = m - 1;
+        addPoint(this.mI, this.mJ);
+        if (this.mI > 0 && this.mJ > 0) {
+            firstRow(this.mCheckpoints[0], n, m);
+            solve(series1, 0, n, series2, n, m, 0);
+        }
+        addPoint(0, 0); // the starting point, in front of the path once reversed
+
+        for (int low = 0, high = this.mPathLength - 1; low < high; low++, high--) {
+            int x = this.mPathX[low];
+            this.mPathX[low] = this.mPathX[high];
+            this.mPathX[high] = x;
+            int y = this.mPathY[low];
+            this.mPathY[low] = this.mPathY[high];
+            this.mPathY[high] = y;
+        }
+    }
+
+    /**
+     * Continue the trace back through rows from .. to - 1, the cursor being in that range on entry.
+     * mCheckpoints[level] keeps the state of row from, and is left unchanged
+     * @param series1 the first sequence
+     * @param from the first row of the range
+     * @param to the row after the last row of the range
+     * @param series2 the second sequence
+     * @param n length of the first sequence
+     * @param m length of the second sequence
+     * @param level level of the recursion
+     */
+    private void solve(double[] series1, int from, int to, double[] series2, int n, int m, int level) {
+        int width = stateWidth(m);
+
+        if (to - from <= bandRows(m)) {
+            System.arraycopy(this.mCheckpoints[level], 0, this.mState, 0, width);
+            advance(series1, from, to, series2, n, m, this.mPhi);
+            while (this.mI > 0 && this.mJ > 0) {
+                int move = this.mPhi[(this.mI - from) * m + this.mJ];
+                if (move == DIAGONAL) {
+                    this.mI--;
+                    this.mJ--;
+                } else if (move == UP) {
+                    this.mI--;
+                } else if (move == LEFT) {
+                    this.mJ--;
+                } else {
+                    LOGGER.log(Level.INFO, "The trace back error happens!");
+                }
+                addPoint(this.mI, this.mJ);
+                if (this.mI < from) return; // the lower rows are solved by the caller
+            }
+            return;
+        }
+
+        int middle = (from + to) >>> 1;
+        System.arraycopy(this.mCheckpoints[level], 0, this.mState, 0, width);
+        advance(series1, from, middle, series2, n, m, null);
+        System.arraycopy(this.mState, 0, this.mCheckpoints[level + 1], 0, width);
+
+        if (this.mI >= middle) solve(series1, middle, to, series2, n, m, level + 1);
+        if (this.mI > 0 && this.mJ > 0 && this.mI >= from) solve(series1, from, middle, series2, n, m, level);
+    }
+
+    /**
+     * Append a point to the reversed warp path
+     * @param x x coordinate
+     * @param y y coordinate
+     */
+    private void addPoint(int x, int y) {
+        if (this.mPathLength == this.mPathX.length) {
+            int capacity = grow(this.mPathX.length, this.mPathLength + 1);
+            this.mPathX = Arrays.copyOf(this.mPathX, capacity);
+            this.mPathY = Arrays.copyOf(this.mPathY, capacity);
+        }
+        this.mPathX[this.mPathLength] = x;
+        this.mPathY[this.mPathLength] = y;
+        this.mPathLength++;
+    }
+
+    /**
+     * Make room for the states, the checkpoints and the trace back of a band
+     * @param n length of the first sequence
+     * @param m length of the second sequence
+     */
+    private void ensureCapacity(int n, int m) {
+        int width = stateWidth(m);
+        if (this.mState.length < width) {
+            int capacity = grow(this.mState.length, width);
+            this.mState = new double[capacity];
+            this.mNext = new double[capacity];
+            for (int level = 0; level < this.mCheckpoints.length; level++) {
+                this.mCheckpoints[level] = new double[capacity];
+            }
+        }
+        int bandRows = bandRows(m);
+        if (this.mPhi.length < bandRows * m) {
+            this.mPhi = new byte[grow(this.mPhi.length, bandRows * m)];
+        }
+
+        // ranges halve at each level until a band
+        int levels = 1;
+        for (int rows = n; rows > bandRows; rows = (rows + 1) >>> 1) levels++;
+        if (this.mCheckpoints.length < levels) {
+            int from = this.mCheckpoints.length;
+            this.mCheckpoints = Arrays.copyOf(this.mCheckpoints, levels);
+            for (int level = from; level < levels; level++) {
+                this.mCheckpoints[level] = new double[this.mState.length];
+            }
+        }
+    }
+
+    /**
+     * The number of rows of a band
+     * @param m length of the second sequence
+     * @return rows of a band
+     */
+    private static int bandRows(int m) {
+        return Math.max(MINBANDROWS, BANDCELLS / m);
+    }
+
+    /**
+     * Check the lengths of two time series
+     * @param n length of the first time series, negative if null
+     * @param m length of the second time series, negative if null
+     * @return true if both time series are non-empty
+     */
+    private boolean isValid(int n, int m) {
+        if (n < 0 || m < 0) {
+            LOGGER.log(Level.INFO, "The time series are null!");
+            return false;
+        }
+        if (n == 0 || m == 0) {
+            LOGGER.log(Level.INFO, "The time series are empty!");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Getter function for the x coordinates of the last warp path
+     * @return x coordinates in the optimal path, a copy
+     */
+    public List<Integer> getXOptimalPath() {
+        List<Integer> p = new ArrayList<Integer>(this.mPathLength);
+        for (int k = 0; k < this.mPathLength; k++) p.add(this.mPathX[k]);
+        return p;
+    }
+
+    /**
+     * Getter function for the y coordinates of the last warp path
+     * @return y coordinates in the optimal path, a copy
+     */
+    public List<Integer> getYOptimalPath() {
+        List<Integer> q = new ArrayList<Integer>(this.mPathLength);
+        for (int k = 0; k < this.mPathLength; k++) q.add(this.mPathY[k]);
+        return q;
+    }
+
+    /**
+     * The last warp path as pairs of coordinates
+     * @return the optimal path
+     */
+    private List<List<Integer>> getOptimalPath() {
+        List<List<Integer>> optimalPath = new ArrayList<List<Integer>>(this.mPathLength);
+        for (int k = 0; k < this.mPathLength; k++) {
+            optimalPath.add(Arrays.asList(this.mPathX[k], this.mPathY[k]));
+        }
+        return optimalPath;
+    }
+
+    /**
+     * New capacity of a buffer
+     * @param capacity current capacity
+     * @param required required capacity
+     * @return the new capacity
+     */
+    private static int grow(int capacity, int required) {
+        return Math.max(required, capacity + (capacity >> 1));
+    }
+
+    /**
+     * Copy a list into a buffer
+     * @param values a list
+     * @param buffer a buffer, replaced if too short
+     * @return the buffer holding the values
+     */
+    private static double[] copy(List<Double> values, double[] buffer) {
+        int n = values.size();
+        if (buffer.length < n) buffer = new double[grow(buffer.length, n)];
+        for (int i = 0; i < n; i++) buffer[i] = values.get(i);
+        return buffer;
+    }
+}
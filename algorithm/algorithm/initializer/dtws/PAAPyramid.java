@@ -0,0 +1,158 @@
+package initializer.dtws;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Project: DCDMC
+ * Package: initializer.dtws
+ * Date: 18/Oct/2026
+ * Time: 10:20
+ * System Time: 10:20 AM
+ */
+
+/*
+    The resolutions of a sequence for fast dynamic time warping, built once per sequence and shared by all pairs.
+
+    Level 0 is the sequence itself and each further level halves the one before by piecewise aggregate
+    approximation, the same as com.timeseries.PAA, until a level is no longer than the minimum size. Each level
+    also keeps the number of points of the level before aggregated into each of its points, which the projection of
+    a warp path onto the finer level needs. The pyramid is never modified after it is built, so one pyramid can be
+    read by many threads.
+ */
+public class PAAPyramid {
+
+    private static final Logger LOGGER = Logger.getLogger(PAAPyramid.class.getName());
+
+    private static final double RESOLUTIONFACTOR = 2.0;
+
+    private final int mMinSize; // levels no longer than this are not halved
+    private final double[][] mLevels; // the sequence at each resolution
+    private final int[][] mAggregateSizes; // points of level l - 1 aggregated into each point of level l
+
+    /**
+     * class constructor
+     * @param minSize levels no longer than this are not halved
+     * @param levels the sequence at each resolution
+     * @param aggregateSizes points aggregated into each point of each level
+     */
+    private PAAPyramid(int minSize, double[][] levels, int[][] aggregateSizes) {
+        this.mMinSize = minSize;
+        this.mLevels = levels;
+        this.mAggregateSizes = aggregateSizes;
+    }
+
+    /**
+     * Build the resolutions of a sequence
+     * @param sequence a sequence, not copied
+     * @param minSize levels no longer than this are not halved
+     * @return the pyramid, null if the sequence is null or empty
+     */
+    public static PAAPyramid create(double[] sequence, int minSize) {
+
+        if (sequence == null || sequence.length == 0) {
+            LOGGER.info("The sequence is null or empty!");
+            return null;
+        }
+
+        List<double[]> levels = new ArrayList<double[]>();
+        List<int[]> aggregateSizes = new ArrayList<int[]>();
+        levels.add(sequence);
+        aggregateSizes.add(null);
+
+        double[] level = sequence;
+        while (level.length > minSize) {
+            int shrunkSize = (int) (level.length / RESOLUTIONFACTOR);
+            double[] shrunk = new double[shrunkSize + 1]; // one spare point against rounding
+            int[] sizes = new int[shrunkSize + 1];
+            int size = aggregate(level, level.length, shrunkSize, shrunk, sizes);
+
+            level = Arrays.copyOf(shrunk, size);
+            levels.add(level);
+            aggregateSizes.add(Arrays.copyOf(sizes, size));
+        }
+
+        return new PAAPyramid(minSize, levels.toArray(new double[levels.size()][]),
+                aggregateSizes.toArray(new int[aggregateSizes.size()][]));
+    }
+
+    /**
+     * Piecewise aggregate approximation, the same as com.timeseries.PAA
+     * @param series a sequence
+     * @param n length of the sequence
+     * @param shrunkSize the number of aggregated points
+     * @param shrunk aggregated points, filled in place
+     * @param aggregateSizes the number of points aggregated into each point, filled in place
+     * @return the number of aggregated points
+     */
+    static int aggregate(double[] series, int n, int shrunkSize, double[] shrunk, int[] aggregateSizes) {
+        double reducedPtSize = (double) n / (double) shrunkSize;
+        int size = 0;
+        int ptToReadFrom = 0;
+        while (ptToReadFrom < n) {
+            int ptToReadTo = (int) Math.round(reducedPtSize * (size + 1)) - 1; // determine end of current range
+            int ptsToRead = ptToReadTo - ptToReadFrom + 1;
+
+            double measurementSum = 0.0;
+            for (int pt = ptToReadFrom; pt <= ptToReadTo; pt++) {
+                measurementSum += series[pt];
+            }
+
+            aggregateSizes[size] = ptsToRead;
+            shrunk[size++] = measurementSum / ptsToRead; // find the average of the measurements
+            ptToReadFrom = ptToReadTo + 1;
+        }
+        return size;
+    }
+
+    /**
+     * Getter
+     * @return levels no longer than this are not halved
+     */
+    public int getMinSize() {
+        return this.mMinSize;
+    }
+
+    /**
+     * Getter
+     * @return the number of levels, the sequence itself included
+     */
+    public int getLevelNum() {
+        return this.mLevels.length;
+    }
+
+    /**
+     * Getter
+     * @param level resolution, 0 is the sequence
+     * @return the sequence at the resolution, not a copy
+     */
+    public double[] getLevel(int level) {
+        return this.mLevels[level];
+    }
+
+    /**
+     * Getter
+     * @param level resolution from 1
+     * @return the number of points of the finer level aggregated into each point, not a copy
+     */
+    public int[] getAggregateSizes(int level) {
+        return this.mAggregateSizes[level];
+    }
+
+    /**
+     * test
+     * @param args user input
+     */
+    public static void main(String[] args) {
+        double[] sequence = new double[25];
+        for (int i = 0; i < sequence.length; i++) sequence[i] = 1 + (i / 4) % 3;
+
+        PAAPyramid test = PAAPyramid.create(sequence, 4);
+        for (int level = 0; level < test.getLevelNum(); level++) {
+            System.out.println(Arrays.toString(test.getLevel(level)) + " "
+                    + (level == 0 ? "" : Arrays.toString(test.getAggregateSizes(level))));
+        }
+    }
+}
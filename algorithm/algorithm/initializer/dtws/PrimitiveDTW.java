@@ -0,0 +1,679 @@
+package initializer.dtws;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Project: DCDMC
+ * Package: initializer.dtws
+ * Date: 17/Oct/2026
+ * Time: 20:10
+ * System Time: 8:10 PM
+ */
+
+/*
+    Dynamic time warping kernels over primitive arrays.
+
+    A search window is kept as the first and the last row of each column (minJ[i], maxJ[i]), the same layout as
+    com.dtw.SearchWindow, and only the cells inside the window are filled. The recurrences, the tie breaking of the
+    warp path and the local distances are the same as com.dtw.DTW, so the distances and paths are the same as the
+    TimeSeries-based implementations. All buffers are kept in fields and grow on demand, so an instance (one per
+    worker thread, see IDTWFactory) allocates nothing per pair once it has seen the longest sequences.
+
+    Distance-only calls may be given the best distance found so far. Costs only grow along a warp path, so the
+    call is abandoned as soon as every cell of a column exceeds it. The lower bound is LB_Kim on the first and the
+    last cells, which every warp path passes, followed by LB_Keogh over the search window of searchWindow: every
+    warp path visits each column inside the window, so the cheapest local distance in the rows of the window of
+    each column bounds the cost of that column.
+ */
+public abstract class PrimitiveDTW implements IBoundedDTW {
+
+    private static final Logger LOGGER = Logger.getLogger(PrimitiveDTW.class.getName());
+
+    // local distances, named as in com.util.DistanceFunctionFactory
+    private static final int BINARYDISTANCE = 0;
+    private static final int EUCLIDEANDISTANCE = 1;
+    private static final int MANHATTANDISTANCE = 2;
+
+    // LB_Keogh adds the column costs in another order than the dynamic programming, real-valued bounds are shrunk
+    // by this relative margin so that rounding cannot lift them above the distance
+    private static final double ROUNDINGMARGIN = 1e-9;
+
+    private final int mDistance; // local distance
+
+    // input copies for lists and integer sequences
+    private double[] mSeries1;
+    private double[] mSeries2;
+
+    // search window
+    protected int[] mMinJ;
+    protected int[] mMaxJ;
+    private int[] mSnapshotMinJ; // window before an expansion
+    private int[] mSnapshotMaxJ;
+
+    // dynamic programming
+    private double[] mLastColumn; // rolling columns for distance-only calls
+    private double[] mCurrentColumn;
+    private double[] mCells; // all cells of the window for path calls
+    private int[] mColumnOffsets;
+
+    // warp path of the last path call, from (0, 0) to (n - 1, m - 1)
+    protected int[] mPathI;
+    protected int[] mPathJ;
+    protected int mPathLength;
+
+    // distance-only calls are abandoned once every cell of a column exceeds it
+    protected double mThreshold;
+
+    /**
+     * Class constructor
+     * @param distanceName local distance, BinaryDistance, EuclideanDistance or ManhattanDistance
+     */
+    public PrimitiveDTW(String distanceName) {
+        if ("EuclideanDistance".equals(distanceName)) {
+            this.mDistance = EUCLIDEANDISTANCE;
+        } else if ("ManhattanDistance".equals(distanceName)) {
+            this.mDistance = MANHATTANDISTANCE;
+        } else if ("BinaryDistance".equals(distanceName)) {
+            this.mDistance = BINARYDISTANCE;
+        } else {
+            throw new IllegalArgumentException("There is no DistanceFunction for the name " + distanceName);
+        }
+
+        this.mSeries1 = new double[0];
+        this.mSeries2 = new double[0];
+        this.mMinJ = new int[0];
+        this.mMaxJ = new int[0];
+        this.mSnapshotMinJ = new int[0];
+        this.mSnapshotMaxJ = new int[0];
+        this.mLastColumn = new double[0];
+        this.mCurrentColumn = new double[0];
+        this.mCells = new double[0];
+        this.mColumnOffsets = new int[0];
+        this.mPathI = new int[0];
+        this.mPathJ = new int[0];
+        this.mPathLength = 0;
+        this.mThreshold = Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Warp two sequences
+     * @param series1 the first sequence, only the first n values are used
+     * @param n length of the first sequence
+     * @param series2 the second sequence, only the first m values are used
+     * @param m length of the second sequence
+     * @param withPath true to keep the warp path in mPathI and mPathJ
+     * @return the distance between two sequences
+     */
+    protected abstract double warp(double[] series1, int n, double[] series2, int m, boolean withPath);
+
+    /**
+     * Compute the DTW-related distance between two time series
+     * @param timeseries1 the first time series
+     * @param timeseries2 the second time series
+     * @return the distance between two time series
+     */
+    @Override
+    public double computeDistance(double[] timeseries1, double[] timeseries2) {
+        if (!isValid(timeseries1 == null ? 0 : timeseries1.length, timeseries2 == null ? 0 : timeseries2.length)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return warp(timeseries1, timeseries1.length, timeseries2, timeseries2.length, false);
+    }
+
+    /**
+     * Compute the optimal warping path between two time series
+     * @param timeseries1 the first time series
+     * @param timeseries2 the second time series
+     * @return the optimal warping path between two time series
+     */
+    @Override
+    public List<List<Integer>> computePath(double[] timeseries1, double[] timeseries2) {
+        if (!isValid(timeseries1 == null ? 0 : timeseries1.length, timeseries2 == null ? 0 : timeseries2.length)) {
+            return null;
+        }
+        warp(timeseries1, timeseries1.length, timeseries2, timeseries2.length, true);
+        return getOptimalPath();
+    }
+
+    /**
+     * Compute the DTW-related distance between two time series
+     * @param timeseries1 the first time series
+     * @param timeseries2 the second time series
+     * @return the distance between two time series
+     */
+    @Override
+    public double computeDistance(List<Double> timeseries1, List<Double> timeseries2) {
+        if (!isValid(timeseries1 == null ? 0 : timeseries1.size(), timeseries2 == null ? 0 : timeseries2.size())) {
+            return Double.POSITIVE_INFINITY;
+        }
+        this.mSeries1 = copy(timeseries1, this.mSeries1);
+        this.mSeries2 = copy(timeseries2, this.mSeries2);
+        return warp(this.mSeries1, timeseries1.size(), this.mSeries2, timeseries2.size(), false);
+    }
+
+    /**
+     * Compute the optimal warping path between two time series
+     * @param timeseries1 the first time series
+     * @param timeseries2 the second time series
+     * @return the optimal warping path between two time series
+     */
+    @Override
+    public List<List<Integer>> computePath(List<Double> timeseries1, List<Double> timeseries2) {
+        if (!isValid(timeseries1 == null ? 0 : timeseries1.size(), timeseries2 == null ? 0 : timeseries2.size())) {
+            return null;
+        }
+        this.mSeries1 = copy(timeseries1, this.mSeries1);
+        this.mSeries2 = copy(timeseries2, this.mSeries2);
+        warp(this.mSeries1, timeseries1.size(), this.mSeries2, timeseries2.size(), true);
+        return getOptimalPath();
+    }
+
+    /**
+     * Compute the DTW-related distance between two time series, abandoned once it must exceed bestSoFar
+     * @param timeseries1 the first time series
+     * @param timeseries2 the second time series
+     * @param bestSoFar the best distance found so far
+     * @return the distance if it is not larger than bestSoFar, otherwise positive infinity
+     */
+    @Override
+    public double computeDistance(double[] timeseries1, double[] timeseries2, double bestSoFar) {
+        if (!isValid(timeseries1 == null ? 0 : timeseries1.length, timeseries2 == null ? 0 : timeseries2.length)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        this.mThreshold = bestSoFar;
+        try {
+            double distance = warp(timeseries1, timeseries1.length, timeseries2, timeseries2.length, false);
+            return distance > bestSoFar ? Double.POSITIVE_INFINITY : distance;
+        } finally {
+            this.mThreshold = Double.POSITIVE_INFINITY;
+        }
+    }
+
+    /**
+     * Compute the DTW-related distance between two state sequences
+     * @param sequence1 the first sequence
+     * @param sequence2 the second sequence
+     * @return the distance between two sequences
+     */
+    public double computeDistance(int[] sequence1, int[] sequence2) {
+        if (!isValid(sequence1 == null ? 0 : sequence1.length, sequence2 == null ? 0 : sequence2.length)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        this.mSeries1 = copy(sequence1, this.mSeries1);
+        this.mSeries2 = copy(sequence2, this.mSeries2);
+        return warp(this.mSeries1, sequence1.length, this.mSeries2, sequence2.length, false);
+    }
+
+    /**
+     * Compute the optimal warping path between two state sequences
+     * @param sequence1 the first sequence
+     * @param sequence2 the second sequence
+     * @return the optimal warping path between two sequences
+     */
+    public List<List<Integer>> computePath(int[] sequence1, int[] sequence2) {
+        if (!isValid(sequence1 == null ? 0 : sequence1.length, sequence2 == null ? 0 : sequence2.length)) {
+            return null;
+        }
+        this.mSeries1 = copy(sequence1, this.mSeries1);
+        this.mSeries2 = copy(sequence2, this.mSeries2);
+        warp(this.mSeries1, sequence1.length, this.mSeries2, sequence2.length, true);
+        return getOptimalPath();
+    }
+
+    // ------------------------------------- Lower Bound ------------------------------------- //
+
+    /**
+     * Precompute what the lower bounds need from a sequence, once per sequence
+     * @param sequence a sequence
+     * @return the envelope of the sequence, null if the sequence is null or empty
+     */
+    @Override
+    public SequenceEnvelope createEnvelope(double[] sequence) {
+        return this.mDistance == BINARYDISTANCE ? SequenceEnvelope.symbolic(sequence) : SequenceEnvelope.numeric(sequence);
+    }
+
+    /**
+     * Compute LB_Kim, and LB_Keogh over the search window if LB_Kim does not exceed bestSoFar
+     * @param envelope1 envelope of the first sequence
+     * @param envelope2 envelope of the second sequence
+     * @param bestSoFar the best distance found so far
+     * @return a lower bound of the distance, larger than bestSoFar if the pair can be skipped
+     */
+    @Override
+    public double computeLowerBound(SequenceEnvelope envelope1, SequenceEnvelope envelope2, double bestSoFar) {
+        if (envelope1 == null || envelope2 == null) {
+            LOGGER.info("The envelopes are null!");
+            return 0.0;
+        }
+
+        double[] series1 = envelope1.getValues();
+        double[] series2 = envelope2.getValues();
+        int n = series1.length;
+        int m = series2.length;
+
+        // LB_Kim: the first and the last cells
+        double bound = localDistance(series1[0], series2[0]);
+        if (n > 1 || m > 1) bound += localDistance(series1[n - 1], series2[m - 1]);
+        if (bound > bestSoFar || n <= 2) return bound;
+
+        // LB_Keogh: the cheapest cell of each inner column inside the search window
+        searchWindow(n, m);
+        for (int i = 1; i < n - 1 && bound <= bestSoFar; i++) {
+            int from = Math.max(this.mMinJ[i], 0);
+            int to = Math.min(this.mMaxJ[i], m - 1);
+            if (from <= to) bound += rangeDistance(series1[i], envelope2, from, to);
+        }
+
+        return this.mDistance == BINARYDISTANCE ? bound : bound * (1.0 - ROUNDINGMARGIN);
+    }
+
+    /**
+     * The cheapest local distance between a value and a range of a sequence
+     * @param value a value
+     * @param envelope envelope of the sequence
+     * @param from first position, inclusive
+     * @param to last position, inclusive
+     * @return the cheapest local distance
+     */
+    private double rangeDistance(double value, SequenceEnvelope envelope, int from, int to) {
+        if (envelope.isSymbolic()) {
+            return envelope.contains(value, from, to) ? 0.0 : localDistance(0.0, 1.0);
+        }
+        double max = envelope.max(from, to);
+        if (value > max) return localDistance(value, max);
+        double min = envelope.min(from, to);
+        if (value < min) return localDistance(value, min);
+        return 0.0;
+    }
+
+    /**
+     * Build the search window of two sequences without warping them, for the lower bounds.
+     * The default is all cells, which bounds every windowed distance as well
+     * @param n the number of columns
+     * @param m the number of rows
+     */
+    protected void searchWindow(int n, int m) {
+        fullWindow(n, m);
+    }
+
+    /**
+     * Check that both sequences have values
+     * @param n length of the first sequence
+     * @param m length of the second sequence
+     * @return true if both sequences are not empty
+     */
+    private boolean isValid(int n, int m) {
+        if (n == 0 || m == 0) {
+            LOGGER.info("The time series are null or empty!");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * The warp path of the last path call as (i, j) points
+     * @return the warp path
+     */
+    private List<List<Integer>> getOptimalPath() {
+        List<List<Integer>> optimalPath = new ArrayList<List<Integer>>();
+        for (int k = 0; k < this.mPathLength; k++) {
+            List<Integer> point = new ArrayList<Integer>();
+            point.add(this.mPathI[k]);
+            point.add(this.mPathJ[k]);
+            optimalPath.add(point);
+        }
+        return optimalPath;
+    }
+
+    // ----------------------------------- Local Distance ----------------------------------- //
+
+    /**
+     * Local distance between two values, the same as the com.util distance functions on one-dimensional points
+     * @param a a value
+     * @param b the other value
+     * @return the local distance
+     */
+    private double localDistance(double a, double b) {
+        switch (this.mDistance) {
+            case EUCLIDEANDISTANCE:
+                return Math.sqrt(0.0 + Math.pow(a - b, 2.0));
+            case MANHATTANDISTANCE:
+                return 0.0 + Math.abs(a - b);
+            default:
+                // java.util.Arrays.equals compares the bits of doubles
+                return Double.doubleToLongBits(a) == Double.doubleToLongBits(b) ? 0.0 : 1.0;
+        }
+    }
+
+    // ------------------------------------ Search Window ------------------------------------ //
+
+    /**
+     * Make room for a window of n columns and clear it
+     * @param n the number of columns
+     */
+    protected void clearWindow(int n) {
+        if (this.mMinJ.length < n) {
+            this.mMinJ = new int[grow(this.mMinJ.length, n)];
+            this.mMaxJ = new int[this.mMinJ.length];
+        }
+        for (int i = 0; i < n; i++) {
+            this.mMinJ[i] = -1;
+            this.mMaxJ[i] = 0;
+        }
+    }
+
+    /**
+     * Set the window to all cells
+     * @param n the number of columns
+     * @param m the number of rows
+     */
+    protected void fullWindow(int n, int m) {
+        clearWindow(n);
+        for (int i = 0; i < n; i++) {
+            this.mMinJ[i] = 0;
+            this.mMaxJ[i] = m - 1;
+        }
+    }
+
+    /**
+     * Add a cell into the window, the same as SearchWindow.markVisited
+     * @param col column
+     * @param row row
+     */
+    protected void markVisited(int col, int row) {
+        if (this.mMinJ[col] == -1) {
+            this.mMinJ[col] = row;
+            this.mMaxJ[col] = row;
+        } else if (this.mMinJ[col] > row) {
+            this.mMinJ[col] = row;
+        } else if (this.mMaxJ[col] < row) {
+            this.mMaxJ[col] = row;
+        }
+    }
+
+    /**
+     * Expand the window by a radius, the same as SearchWindow.expandWindow
+     * @param n the number of columns
+     * @param m the number of rows
+     * @param radius search radius
+     */
+    protected void expandWindow(int n, int m, int radius) {
+        if (radius > 0) {
+            expandSearchWindow(n, m, 1);
+            expandSearchWindow(n, m, radius - 1);
+        }
+    }
+
+    /**
+     * Mark the cells at a radius in eight directions of every cell in the window, clipped to the matrix edges
+     * @param n the number of columns
+     * @param m the number of rows
+     * @param radius search radius
+     */
+    private void expandSearchWindow(int n, int m, int radius) {
+        if (radius <= 0) return;
+
+        if (this.mSnapshotMinJ.length < n) {
+            this.mSnapshotMinJ = new int[grow(this.mSnapshotMinJ.length, n)];
+            this.mSnapshotMaxJ = new int[this.mSnapshotMinJ.length];
+        }
+        System.arraycopy(this.mMinJ, 0, this.mSnapshotMinJ, 0, n);
+        System.arraycopy(this.mMaxJ, 0, this.mSnapshotMaxJ, 0, n);
+
+        int maxI = n - 1;
+        int maxJ = m - 1;
+        for (int col = 0; col < n; col++) {
+            // the cells are visited as SearchWindow's iterator does, which starts the first column at row 0
+            int fromRow = col == 0 ? 0 : this.mSnapshotMinJ[col];
+            for (int row = fromRow; row <= this.mSnapshotMaxJ[col]; row++) {
+                if (col != 0 && row != maxJ) { // move to upper left if possible
+                    int targetCol = col - radius;
+                    int targetRow = row + radius;
+                    if (targetCol >= 0 && targetRow <= maxJ) {
+                        markVisited(targetCol, targetRow);
+                    } else {
+                        int cellsPastEdge = Math.max(-targetCol, targetRow - maxJ);
+                        markVisited(targetCol + cellsPastEdge, targetRow - cellsPastEdge);
+                    }
+                }
+                if (row != maxJ) { // move up if possible
+                    markVisited(col, Math.min(row + radius, maxJ));
+                }
+                if (col != maxI && row != maxJ) { // move to upper-right if possible
+                    int targetCol = col + radius;
+                    int targetRow = row + radius;
+                    if (targetCol <= maxI && targetRow <= maxJ) {
+                        markVisited(targetCol, targetRow);
+                    } else {
+                        int cellsPastEdge = Math.max(targetCol - maxI, targetRow - maxJ);
+                        markVisited(targetCol - cellsPastEdge, targetRow - cellsPastEdge);
+                    }
+                }
+                if (col != 0) { // move left if possible
+                    markVisited(Math.max(col - radius, 0), row);
+                }
+                if (col != maxI) { // move right if possible
+                    markVisited(Math.min(col + radius, maxI), row);
+                }
+                if (col != 0 && row != 0) { // move to lower-left if possible
+                    int targetCol = col - radius;
+                    int targetRow = row - radius;
+                    if (targetCol >= 0 && targetRow >= 0) {
+                        markVisited(targetCol, targetRow);
+                    } else {
+                        int cellsPastEdge = Math.max(-targetCol, -targetRow);
+                        markVisited(targetCol + cellsPastEdge, targetRow + cellsPastEdge);
+                    }
+                }
+                if (row != 0) { // move down if possible
+                    markVisited(col, Math.max(row - radius, 0));
+                }
+                if (col != maxI && row != 0) { // move to lower-right if possible
+                    int targetCol = col + radius;
+                    int targetRow = row - radius;
+                    if (targetCol <= maxI && targetRow >= 0) {
+                        markVisited(targetCol, targetRow);
+                    } else {
+                        int cellsPastEdge = Math.max(targetCol - maxI, -targetRow);
+                        markVisited(targetCol - cellsPastEdge, targetRow + cellsPastEdge);
+                    }
+                }
+            }
+        }
+    }
+
+    // --------------------------------- Dynamic Programming --------------------------------- //
+
+    /**
+     * Warp two sequences inside the window with two rolling columns, the same as DTW.getWarpInfoBetween
+     * with a search window but without the warp path
+     * @param series1 the first sequence
+     * @param n length of the first sequence, the number of columns
+     * @param series2 the second sequence
+     * @param m length of the second sequence, the number of rows
+     * @return the minimum cost at (n - 1, m - 1)
+     */
+    protected double windowDistance(double[] series1, int n, double[] series2, int m) {
+        if (this.mLastColumn.length < m) {
+            this.mLastColumn = new double[grow(this.mLastColumn.length, m)];
+            this.mCurrentColumn = new double[this.mLastColumn.length];
+        }
+
+        double[] lastColumn = this.mLastColumn;
+        double[] currentColumn = this.mCurrentColumn;
+        int lastMinJ = 0;
+        int lastMaxJ = -1;
+        for (int i = 0; i < n; i++) {
+            int minJ = i == 0 ? 0 : this.mMinJ[i];
+            int maxJ = this.mMaxJ[i];
+            double value = series1[i];
+            double columnMin = Double.POSITIVE_INFINITY;
+            for (int j = minJ; j <= maxJ; j++) {
+                double cost = localDistance(value, series2[j]);
+                if (i == 0 && j == 0) {
+                    currentColumn[j] = cost;
+                } else if (i == 0) {
+                    currentColumn[j] = cost + (j - 1 >= minJ ? currentColumn[j - 1] : Double.POSITIVE_INFINITY);
+                } else if (j == 0) {
+                    currentColumn[j] = cost + (lastMinJ <= 0 && 0 <= lastMaxJ ? lastColumn[0] : Double.POSITIVE_INFINITY);
+                } else {
+                    double left = j >= lastMinJ && j <= lastMaxJ ? lastColumn[j] : Double.POSITIVE_INFINITY;
+                    double diagonal = j - 1 >= lastMinJ && j - 1 <= lastMaxJ ? lastColumn[j - 1] : Double.POSITIVE_INFINITY;
+                    double down = j - 1 >= minJ ? currentColumn[j - 1] : Double.POSITIVE_INFINITY;
+                    currentColumn[j] = Math.min(left, Math.min(diagonal, down)) + cost;
+                }
+                columnMin = Math.min(columnMin, currentColumn[j]);
+            }
+
+            // every warp path crosses this column, and costs only grow along it
+            if (columnMin > this.mThreshold) return Double.POSITIVE_INFINITY;
+
+            double[] temp = lastColumn;
+            lastColumn = currentColumn;
+            currentColumn = temp;
+            lastMinJ = minJ;
+            lastMaxJ = maxJ;
+        }
+
+        return m - 1 >= lastMinJ && m - 1 <= lastMaxJ ? lastColumn[m - 1] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Warp two sequences inside the window keeping all cells of the window, and find the warp path,
+     * the same as DTW.getWarpInfoBetween with a search window
+     * @param series1 the first sequence
+     * @param n length of the first sequence, the number of columns
+     * @param series2 the second sequence
+     * @param m length of the second sequence, the number of rows
+     * @return the minimum cost at (n - 1, m - 1), the warp path is kept in mPathI and mPathJ
+     */
+    protected double windowPath(double[] series1, int n, double[] series2, int m) {
+        if (this.mColumnOffsets.length < n + 1) {
+            this.mColumnOffsets = new int[grow(this.mColumnOffsets.length, n + 1)];
+        }
+        // the first column starts at row 0, as SearchWindow's iterator does
+        if (n > 0) this.mMinJ[0] = 0;
+        this.mColumnOffsets[0] = 0;
+        for (int i = 0; i < n; i++) {
+            this.mColumnOffsets[i + 1] = this.mColumnOffsets[i] + Math.max(this.mMaxJ[i] - this.mMinJ[i] + 1, 0);
+        }
+        if (this.mCells.length < this.mColumnOffsets[n]) {
+            this.mCells = new double[grow(this.mCells.length, this.mColumnOffsets[n])];
+        }
+
+        for (int i = 0; i < n; i++) {
+            double value = series1[i];
+            for (int j = this.mMinJ[i]; j <= this.mMaxJ[i]; j++) {
+                double cost = localDistance(value, series2[j]);
+                double cell;
+                if (i == 0 && j == 0) {
+                    cell = cost;
+                } else if (i == 0) {
+                    cell = cost + getCell(i, j - 1);
+                } else if (j == 0) {
+                    cell = cost + getCell(i - 1, j);
+                } else {
+                    cell = Math.min(getCell(i - 1, j), Math.min(getCell(i - 1, j - 1), getCell(i, j - 1))) + cost;
+                }
+                this.mCells[this.mColumnOffsets[i] + j - this.mMinJ[i]] = cell;
+            }
+        }
+
+        double minimumCost = getCell(n - 1, m - 1);
+
+        // search the path from (n - 1, m - 1) back to (0, 0), preferring diagonal moves and moves towards i == j
+        if (this.mPathI.length < n + m) {
+            this.mPathI = new int[grow(this.mPathI.length, n + m)];
+            this.mPathJ = new int[this.mPathI.length];
+        }
+        int i = n - 1;
+        int j = m - 1;
+        int length = 0;
+        this.mPathI[length] = i;
+        this.mPathJ[length++] = j;
+        while (i > 0 || j > 0) {
+            double diagCost = i > 0 && j > 0 ? getCell(i - 1, j - 1) : Double.POSITIVE_INFINITY;
+            double leftCost = i > 0 ? getCell(i - 1, j) : Double.POSITIVE_INFINITY;
+            double downCost = j > 0 ? getCell(i, j - 1) : Double.POSITIVE_INFINITY;
+
+            if (diagCost <= leftCost && diagCost <= downCost) {
+                i--;
+                j--;
+            } else if (leftCost < diagCost && leftCost < downCost) {
+                i--;
+            } else if (downCost < diagCost && downCost < leftCost) {
+                j--;
+            } else if (i <= j) {
+                j--;
+            } else {
+                i--;
+            }
+            this.mPathI[length] = i;
+            this.mPathJ[length++] = j;
+        }
+
+        // reverse into the order from (0, 0)
+        for (int a = 0, b = length - 1; a < b; a++, b--) {
+            int temp = this.mPathI[a];
+            this.mPathI[a] = this.mPathI[b];
+            this.mPathI[b] = temp;
+            temp = this.mPathJ[a];
+            this.mPathJ[a] = this.mPathJ[b];
+            this.mPathJ[b] = temp;
+        }
+        this.mPathLength = length;
+
+        return minimumCost;
+    }
+
+    /**
+     * A filled cell of the window, infinity outside the window
+     * @param col column
+     * @param row row
+     * @return the cost of the cell
+     */
+    private double getCell(int col, int row) {
+        if (row < this.mMinJ[col] || row > this.mMaxJ[col]) return Double.POSITIVE_INFINITY;
+        return this.mCells[this.mColumnOffsets[col] + row - this.mMinJ[col]];
+    }
+
+    // --------------------------------------- Buffers --------------------------------------- //
+
+    /**
+     * New capacity of a buffer
+     * @param capacity current capacity
+     * @param required required capacity
+     * @return new capacity, at least doubling the current one
+     */
+    protected static int grow(int capacity, int required) {
+        return Math.max(required, 2 * capacity);
+    }
+
+    /**
+     * Copy a list into a buffer
+     * @param values values
+     * @param buffer buffer to reuse
+     * @return the buffer, or a larger one
+     */
+    private static double[] copy(List<Double> values, double[] buffer) {
+        int n = values.size();
+        if (buffer.length < n) buffer = new double[grow(buffer.length, n)];
+        for (int i = 0; i < n; i++) buffer[i] = values.get(i);
+        return buffer;
+    }
+
+    /**
+     * Copy integers into a buffer
+     * @param values values
+     * @param buffer buffer to reuse
+     * @return the buffer, or a larger one
+     */
+    private static double[] copy(int[] values, double[] buffer) {
+        int n = values.length;
+        if (buffer.length < n) buffer = new double[grow(buffer.length, n)];
+        for (int i = 0; i < n; i++) buffer[i] = values[i];
+        return buffer;
+    }
+}
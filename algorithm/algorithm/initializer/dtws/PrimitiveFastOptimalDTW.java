@@ -0,0 +1,250 @@
+package initializer.dtws;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Project: DCDMC
+ * Package: initializer.dtws
+ * Date: 17/Oct/2026
+ * Time: 21:00
+ * System Time: 9:00 PM
+ */
+
+/*
+    Fast Dynamic Time Warping over primitive arrays, the same distances as FastOptimalDTW.
+
+    Both sequences are halved by piecewise aggregate approximation until they are no longer than the search radius
+    plus 2, warped there with full dynamic time warping, and the warp path of each resolution is projected onto
+    the next finer resolution and expanded by the search radius, as com.dtw.FastDTW does. The shrunk sequences of
+    every resolution are kept in buffers of the instance, or are read from the PAAPyramid of each sequence when
+    all pairs of a dataset are warped, so that each sequence is shrunk once instead of once per pair.
+ */
+public class PrimitiveFastOptimalDTW extends PrimitiveDTW implements IMultiResolutionDTW {
+
+    private static final int DEFAULTSEARCHRADIUS = 10; // the search radius used by FastOptimalDTW
+    private static final double RESOLUTIONFACTOR = 2.0;
+
+    private final int mSearchRadius;
+
+    // shrunk sequences and the number of points aggregated into each point, one buffer per resolution
+    private double[][] mShrunk1;
+    private double[][] mShrunk2;
+    private int[][] mAggregateSizes1;
+    private int[][] mAggregateSizes2;
+
+    /**
+     * Class constructor
+     * @param distanceName local distance
+     */
+    public PrimitiveFastOptimalDTW(String distanceName) {
+        this(distanceName, DEFAULTSEARCHRADIUS);
+    }
+
+    /**
+     * Class constructor
+     * @param distanceName local distance
+     * @param searchRadius search radius at each resolution
+     */
+    public PrimitiveFastOptimalDTW(String distanceName, int searchRadius) {
+        super(distanceName);
+        this.mSearchRadius = Math.max(searchRadius, 0);
+        this.mShrunk1 = new double[0][];
+        this.mShrunk2 = new double[0][];
+        this.mAggregateSizes1 = new int[0][];
+        this.mAggregateSizes2 = new int[0][];
+    }
+
+    /**
+     * Warp two sequences with fast dynamic time warping
+     * @param series1 the first sequence
+     * @param n length of the first sequence
+     * @param series2 the second sequence
+     * @param m length of the second sequence
+     * @param withPath true to keep the warp path
+     * @return the distance between two sequences
+     */
+    @Override
+    protected double warp(double[] series1, int n, double[] series2, int m, boolean withPath) {
+        return fastWarp(0, series1, n, series2, m, withPath);
+    }
+
+    /**
+     * Warp two sequences at a resolution
+     * @param level resolution, 0 is the original sequences
+     * @param series1 the first sequence
+     * @param n length of the first sequence
+     * @param series2 the second sequence
+     * @param m length of the second sequence
+     * @param withPath true to keep the warp path
+     * @return the distance between two sequences
+     */
+    private double fastWarp(int level, double[] series1, int n, double[] series2, int m, boolean withPath) {
+        int minSize = this.mSearchRadius + 2;
+        if (n <= minSize || m <= minSize) {
+            fullWindow(n, m);
+            return withPath ? windowPath(series1, n, series2, m) : windowDistance(series1, n, series2, m);
+        }
+
+        ensureLevel(level + 1, n, m);
+        double[] shrunk1 = this.mShrunk1[level + 1];
+        double[] shrunk2 = this.mShrunk2[level + 1];
+        int[] aggregateSizes1 = this.mAggregateSizes1[level + 1];
+        int[] aggregateSizes2 = this.mAggregateSizes2[level + 1];
+        int shrunkN = PAAPyramid.aggregate(series1, n, (int) (n / RESOLUTIONFACTOR), shrunk1, aggregateSizes1);
+        int shrunkM = PAAPyramid.aggregate(series2, m, (int) (m / RESOLUTIONFACTOR), shrunk2, aggregateSizes2);
+
+        // the warp path at the lower resolution is kept in mPathI and mPathJ
+        fastWarp(level + 1, shrunk1, shrunkN, shrunk2, shrunkM, true);
+
+        expandedResWindow(n, m, aggregateSizes1, aggregateSizes2);
+        return withPath ? windowPath(series1, n, series2, m) : windowDistance(series1, n, series2, m);
+    }
+
+    /**
+     * Build the resolutions of a sequence down to the size warped in full
+     * @param sequence a sequence, not copied
+     * @return the pyramid of the sequence, null if the sequence is null or empty
+     */
+    @Override
+    public PAAPyramid createPyramid(double[] sequence) {
+        return PAAPyramid.create(sequence, this.mSearchRadius + 2);
+    }
+
+    /**
+     * Compute the DTW-related distance between two time series from their pyramids
+     * @param pyramid1 pyramid of the first time series
+     * @param pyramid2 pyramid of the second time series
+     * @return the distance between two time series
+     */
+    @Override
+    public double computeDistance(PAAPyramid pyramid1, PAAPyramid pyramid2) {
+        if (pyramid1 == null || pyramid2 == null) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        // pyramids of another search radius stop at other levels
+        if (pyramid1.getMinSize() != this.mSearchRadius + 2 || pyramid2.getMinSize() != this.mSearchRadius + 2) {
+            return computeDistance(pyramid1.getLevel(0), pyramid2.getLevel(0));
+        }
+        return pyramidWarp(0, pyramid1, pyramid2, false);
+    }
+
+    /**
+     * Warp two sequences at a resolution of their pyramids, as fastWarp does
+     * @param level resolution, 0 is the original sequences
+     * @param pyramid1 pyramid of the first sequence
+     * @param pyramid2 pyramid of the second sequence
+     * @param withPath true to keep the warp path
+     * @return the distance between two sequences
+     */
+    private double pyramidWarp(int level, PAAPyramid pyramid1, PAAPyramid pyramid2, boolean withPath) {
+        double[] series1 = pyramid1.getLevel(level);
+        double[] series2 = pyramid2.getLevel(level);
+        int n = series1.length;
+        int m = series2.length;
+        int minSize = this.mSearchRadius + 2;
+        if (n <= minSize || m <= minSize) {
+            fullWindow(n, m);
+            return withPath ? windowPath(series1, n, series2, m) : windowDistance(series1, n, series2, m);
+        }
+
+        // the warp path at the lower resolution is kept in mPathI and mPathJ
+        pyramidWarp(level + 1, pyramid1, pyramid2, true);
+
+        expandedResWindow(n, m, pyramid1.getAggregateSizes(level + 1), pyramid2.getAggregateSizes(level + 1));
+        return withPath ? windowPath(series1, n, series2, m) : windowDistance(series1, n, series2, m);
+    }
+
+    /**
+     * Project the warp path of the lower resolution onto this resolution and expand it by the search radius,
+     * the same as com.dtw.ExpandedResWindow
+     * @param n the number of columns
+     * @param m the number of rows
+     * @param aggregateSizes1 the number of points aggregated into each point of the first shrunk sequence
+     * @param aggregateSizes2 the number of points aggregated into each point of the second shrunk sequence
+     */
+    private void expandedResWindow(int n, int m, int[] aggregateSizes1, int[] aggregateSizes2) {
+        clearWindow(n);
+
+        int currentI = this.mPathI[0];
+        int currentJ = this.mPathJ[0];
+        int lastWarpedI = Integer.MAX_VALUE;
+        int lastWarpedJ = Integer.MAX_VALUE;
+        for (int w = 0; w < this.mPathLength; w++) {
+            int warpedI = this.mPathI[w];
+            int warpedJ = this.mPathJ[w];
+            int blockISize = aggregateSizes1[warpedI];
+            int blockJSize = aggregateSizes2[warpedJ];
+
+            // if the path moved up or right, the current cell moves to the next block
+            if (warpedJ > lastWarpedJ) currentJ += aggregateSizes2[lastWarpedJ];
+            if (warpedI > lastWarpedI) currentI += aggregateSizes1[lastWarpedI];
+
+            // a diagonal move also adds the cells that make the path continuous at this resolution
+            if (warpedJ > lastWarpedJ && warpedI > lastWarpedI) {
+                markVisited(currentI - 1, currentJ);
+                markVisited(currentI, currentJ - 1);
+            }
+
+            // mark the bottom and top rows of the block in each of its columns
+            for (int x = 0; x < blockISize; x++) {
+                markVisited(currentI + x, currentJ);
+                markVisited(currentI + x, currentJ + blockJSize - 1);
+            }
+
+            lastWarpedI = warpedI;
+            lastWarpedJ = warpedJ;
+        }
+
+        expandWindow(n, m, this.mSearchRadius);
+    }
+
+    /**
+     * Make room for the shrunk sequences of a resolution
+     * @param level resolution
+     * @param n length of the first sequence at the finer resolution
+     * @param m length of the second sequence at the finer resolution
+     */
+    private void ensureLevel(int level, int n, int m) {
+        if (this.mShrunk1.length <= level) {
+            int levels = grow(this.mShrunk1.length, level + 1);
+            this.mShrunk1 = Arrays.copyOf(this.mShrunk1, levels);
+            this.mShrunk2 = Arrays.copyOf(this.mShrunk2, levels);
+            this.mAggregateSizes1 = Arrays.copyOf(this.mAggregateSizes1, levels);
+            this.mAggregateSizes2 = Arrays.copyOf(this.mAggregateSizes2, levels);
+        }
+
+        int shrunkN = (int) (n / RESOLUTIONFACTOR) + 1; // one spare point against rounding
+        int shrunkM = (int) (m / RESOLUTIONFACTOR) + 1;
+        if (this.mShrunk1[level] == null || this.mShrunk1[level].length < shrunkN) {
+            int capacity = grow(this.mShrunk1[level] == null ? 0 : this.mShrunk1[level].length, shrunkN);
+            this.mShrunk1[level] = new double[capacity];
+            this.mAggregateSizes1[level] = new int[capacity];
+        }
+        if (this.mShrunk2[level] == null || this.mShrunk2[level].length < shrunkM) {
+            int capacity = grow(this.mShrunk2[level] == null ? 0 : this.mShrunk2[level].length, shrunkM);
+            this.mShrunk2[level] = new double[capacity];
+            this.mAggregateSizes2[level] = new int[capacity];
+        }
+    }
+
+    /**
+     * test
+     * @param args user input
+     */
+    public static void main(String[] args) {
+        double[] t1 = new double[40];
+        double[] t2 = new double[35];
+        for (int i = 0; i < t1.length; i++) t1[i] = 1 + (i / 7) % 3;
+        for (int i = 0; i < t2.length; i++) t2[i] = 1 + (i / 5) % 3;
+        PrimitiveFastOptimalDTW test = new PrimitiveFastOptimalDTW("BinaryDistance");
+
+        System.out.println(test.computeDistance(t1, t2) + " vs " + new FastOptimalDTW("BinaryDistance").computeDistance(t1, t2));
+        List<List<Integer>> path = test.computePath(t1, t2);
+
+        for (List<Integer> point : path) {
+            System.out.println("x = " + point.get(0) + " y = " + point.get(1));
+        }
+    }
+}
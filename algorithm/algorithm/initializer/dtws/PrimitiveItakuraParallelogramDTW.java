@@ -0,0 +1,143 @@
+package initializer.dtws;
+
+import java.util.List;
+
+/**
+ * Project: DCDMC
+ * Package: initializer.dtws
+ * Date: 17/Oct/2026
+ * Time: 20:50
+ * System Time: 8:50 PM
+ */
+
+/**
+ * Itakura parallelogram Dynamic Time Warping over primitive arrays, the same distances as ItakuraParallelogramDTW
+ */
+public class PrimitiveItakuraParallelogramDTW extends PrimitiveDTW {
+
+    private final int mSearchRadius;
+
+    /**
+     * Class constructor
+     * @param distanceName local distance
+     * @param searchRadius search radius of the parallelogram
+     */
+    public PrimitiveItakuraParallelogramDTW(String distanceName, int searchRadius) {
+        super(distanceName);
+        this.mSearchRadius = searchRadius;
+    }
+
+    /**
+     * Warp two sequences inside the Itakura parallelogram
+     * @param series1 the first sequence
+     * @param n length of the first sequence
+     * @param series2 the second sequence
+     * @param m length of the second sequence
+     * @param withPath true to keep the warp path
+     * @return the distance between two sequences
+     */
+    @Override
+    protected double warp(double[] series1, int n, double[] series2, int m, boolean withPath) {
+        searchWindow(n, m);
+        return withPath ? windowPath(series1, n, series2, m) : windowDistance(series1, n, series2, m);
+    }
+
+    /**
+     * Build the Itakura parallelogram, for warping and for the lower bounds
+     * @param n the number of columns
+     * @param m the number of rows
+     */
+    @Override
+    protected void searchWindow(int n, int m) {
+        parallelogramWindow(n, m);
+    }
+
+    /**
+     * Build the parallelogram, the same as com.dtw.ParallelogramWindow with the rows of each column kept in [0, m - 1]
+     * @param n the number of columns
+     * @param m the number of rows
+     */
+    private void parallelogramWindow(int n, int m) {
+        clearWindow(n);
+
+        int maxI = n - 1;
+        int maxJ = m - 1;
+        int searchRadius = this.mSearchRadius;
+
+        // Find the coordinates of the parallelogram's corners..other than (minI,minJ) and (maxI, maxJ)
+        final double upperCornerI = Math.max(maxI / 2.0 - searchRadius * ((double) maxI / maxJ), 0);
+        final double upperCornerJ = Math.min(maxJ / 2.0 + searchRadius * ((double) maxJ / maxI), maxJ);
+        final double lowerCornerI = Math.min(maxI / 2.0 + searchRadius * ((double) maxI / maxJ), maxI);
+        final double lowerCornerJ = Math.max(maxJ / 2.0 - searchRadius * ((double) maxJ / maxI), 0);
+
+        // For each column determine the minimum and maximum row ranges that are in the paralellogram's window.
+        boolean isIlargest = n >= m;
+        for (int i = 0; i < n; i++) {
+            int minJForI;
+            int maxJForI;
+
+            if (i < upperCornerI) { // left side of upper line
+                if (isIlargest) {
+                    final double interpRatio = i / upperCornerI;
+                    maxJForI = (int) Math.round(interpRatio * upperCornerJ);
+                } else {
+                    final double interpRatio = (i + 1) / upperCornerI;
+                    maxJForI = (int) Math.round(interpRatio * upperCornerJ) - 1;
+                }
+            } else { // right side of upper line
+                if (isIlargest) {
+                    final double interpRatio = (i - upperCornerI) / (maxI - upperCornerI);
+                    maxJForI = (int) Math.round(upperCornerJ + interpRatio * (maxJ - upperCornerJ));
+                } else {
+                    final double interpRatio = (i + 1 - upperCornerI) / (maxI - upperCornerI);
+                    maxJForI = (int) Math.round(upperCornerJ + interpRatio * (maxJ - upperCornerJ)) - 1;
+                }
+            }
+
+            if (i <= lowerCornerI) { // left side of lower line
+                final double interpRatio = i / lowerCornerI;
+                minJForI = (int) Math.round(interpRatio * lowerCornerJ);
+            } else { // right side of lower line
+                final double interpRatio = (i - lowerCornerI) / (maxI - lowerCornerI);
+                minJForI = (int) Math.round(lowerCornerJ + interpRatio * (maxJ - lowerCornerJ));
+            }
+
+            // the corners are rounded, so the bounds may leave the rows when the first sequence is the shorter
+            minJForI = Math.max(0, Math.min(minJForI, maxJ));
+            maxJForI = Math.max(0, Math.min(maxJForI, maxJ));
+            if (minJForI > maxJForI) {
+                int swap = minJForI;
+                minJForI = maxJForI;
+                maxJForI = swap;
+            }
+
+            markVisited(i, minJForI);
+            markVisited(i, maxJForI);
+        }
+    }
+
+    /**
+     * test
+     * @param args user input
+     */
+    public static void main(String[] args) {
+        double[] t1 = new double[]{1, 1, 2, 2, 2, 3, 3, 1, 1, 1};
+        double[] t2 = new double[]{1, 2, 2, 3, 3, 3, 1, 1};
+        PrimitiveItakuraParallelogramDTW test = new PrimitiveItakuraParallelogramDTW("BinaryDistance", 2);
+
+        System.out.println(test.computeDistance(t1, t2) + " vs " + new ItakuraParallelogramDTW("BinaryDistance", 2).computeDistance(t1, t2));
+        List<List<Integer>> path = test.computePath(t1, t2);
+
+        for (List<Integer> point : path) {
+            System.out.println("x = " + point.get(0) + " y = " + point.get(1));
+        }
+
+        // the first sequence shorter than the second, with the radius of the initializer
+        double[] t3 = new double[10];
+        double[] t4 = new double[40];
+        for (int i = 0; i < t3.length; i++) t3[i] = i % 3 == 0 ? 1 : 2;
+        for (int i = 0; i < t4.length; i++) t4[i] = i % 5 == 0 ? 2 : 1;
+        PrimitiveItakuraParallelogramDTW shorter = new PrimitiveItakuraParallelogramDTW("BinaryDistance", t3.length / 5);
+        System.out.println(shorter.computeDistance(t3, t4) + " and " + shorter.computeDistance(t4, t3));
+    }
+}
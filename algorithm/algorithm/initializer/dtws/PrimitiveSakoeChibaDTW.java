@@ -0,0 +1,93 @@
+package initializer.dtws;
+
+import java.util.List;
+
+/**
+ * Project: DCDMC
+ * Package: initializer.dtws
+ * Date: 17/Oct/2026
+ * Time: 20:40
+ * System Time: 8:40 PM
+ */
+
+/**
+ * Sakoe Chiba Dynamic Time Warping over primitive arrays, the same distances as SakoeChibaDTW
+ */
+public class PrimitiveSakoeChibaDTW extends PrimitiveDTW {
+
+    private final int mSearchRadius;
+
+    /**
+     * Class constructor
+     * @param distanceName local distance
+     * @param searchRadius search radius around the diagonal
+     */
+    public PrimitiveSakoeChibaDTW(String distanceName, int searchRadius) {
+        super(distanceName);
+        this.mSearchRadius = searchRadius;
+    }
+
+    /**
+     * Warp two sequences inside the Sakoe-Chiba band
+     * @param series1 the first sequence
+     * @param n length of the first sequence
+     * @param series2 the second sequence
+     * @param m length of the second sequence
+     * @param withPath true to keep the warp path
+     * @return the distance between two sequences
+     */
+    @Override
+    protected double warp(double[] series1, int n, double[] series2, int m, boolean withPath) {
+        searchWindow(n, m);
+        return withPath ? windowPath(series1, n, series2, m) : windowDistance(series1, n, series2, m);
+    }
+
+    /**
+     * Build the Sakoe-Chiba band, for warping and for the lower bounds
+     * @param n the number of columns
+     * @param m the number of rows
+     */
+    @Override
+    protected void searchWindow(int n, int m) {
+        linearWindow(n, m);
+    }
+
+    /**
+     * Build the band along the linear path from (0, 0) to (n - 1, m - 1), the same as com.dtw.LinearWindow
+     * @param n the number of columns
+     * @param m the number of rows
+     */
+    private void linearWindow(int n, int m) {
+        clearWindow(n);
+
+        double ijRatio = (double) n / (double) m;
+        boolean isIlargest = n >= m;
+        for (int i = 0; i < n; i++) {
+            if (isIlargest) {
+                markVisited(i, Math.min((int) Math.round(i / ijRatio), m - 1));
+            } else {
+                markVisited(i, (int) Math.round(i / ijRatio));
+                markVisited(i, ((int) Math.round((i + 1) / ijRatio)) - 1);
+            }
+        }
+
+        expandWindow(n, m, this.mSearchRadius);
+    }
+
+    /**
+     * test
+     * @param args user input
+     */
+    public static void main(String[] args) {
+        double[] t1 = new double[]{1, 1, 2, 2, 2, 3, 3, 1, 1, 1};
+        double[] t2 = new double[]{1, 2, 2, 3, 3, 3, 1, 1};
+        PrimitiveSakoeChibaDTW test = new PrimitiveSakoeChibaDTW("BinaryDistance", 2);
+
+        System.out.println(test.computeDistance(t1, t2) + " vs " + new SakoeChibaDTW("BinaryDistance", 2).computeDistance(t1, t2));
+        List<List<Integer>> path = test.computePath(t1, t2);
+
+        for (List<Integer> point : path) {
+            System.out.println("x = " + point.get(0) + " y = " + point.get(1));
+        }
+    }
+}
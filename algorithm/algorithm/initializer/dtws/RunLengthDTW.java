@@ -0,0 +1,311 @@
+package initializer.dtws;
+
+import java.util.List;
+
+/**
+ * Project: DCDMC
+ * Package: initializer.dtws
+ * Date: 17/Oct/2026
+ * Time: 21:40
+ * System Time: 9:40 PM
+ */
+
+/*
+    Original dynamic time warping with the binary local distance, computed on run-length encodings.
+
+    The sequences are symbolic, so the cost matrix is made of blocks, one per pair of runs, and the local cost is
+    the same (0 if the two runs have the same state and 1 otherwise) in every cell of a block. A warp path crossing
+    a block with cost c from an entry cell on its bottom or left boundary to a cell (i, j) of the block passes
+    through at least max(i + 1, j - j') or max(j + 1, i - i') cells, so the top row and the right column of a block
+    follow from its bottom row and left column in closed form:
+
+        D(i, j) = min( min_{j' <= j} B[j'] + c * max(i + 1, j - j'), min_{i' <= i} L[i'] + c * max(j + 1, i - i') )
+
+    where B is the row below the block, L is the column to the left of the block, and B[-1] = L[-1] is the corner.
+    Only the boundaries of the blocks are computed, which takes time proportional to the number of runs of one
+    sequence times the length of the other, instead of the product of both lengths. The distances are the same
+    as OriginalDTW with BinaryDistance. Warp paths are found on the full cost matrix. Bounded calls are abandoned
+    after a run whose whole top row exceeds the best distance so far.
+ */
+public class RunLengthDTW extends PrimitiveDTW {
+
+    private static final int INFINITY = Integer.MAX_VALUE / 4; // out of the cost matrix, safe to add lengths
+
+    // run-length encodings of the last pair of sequences
+    private double[] mValues1;
+    private int[] mLengths1;
+    private double[] mValues2;
+    private int[] mLengths2;
+
+    // block boundaries, index 0 keeps the corner (index -1 of the formula above)
+    private int[] mRow; // the row below the current run of the first sequence, over all columns
+    private int[] mColumn; // the column to the left of the current block
+    private int[] mNextColumn; // the right column of the current block
+    private int[] mTop; // the top row of the current block
+
+    // scratch arrays of the closed form
+    private int[] mPrefix;
+    private int[] mSuffix;
+    private int[] mDeque;
+
+    /**
+     * Class constructor
+     */
+    public RunLengthDTW() {
+        super("BinaryDistance");
+        this.mValues1 = new double[0];
+        this.mLengths1 = new int[0];
+        this.mValues2 = new double[0];
+        this.mLengths2 = new int[0];
+        this.mRow = new int[0];
+        this.mColumn = new int[0];
+        this.mNextColumn = new int[0];
+        this.mTop = new int[0];
+        this.mPrefix = new int[0];
+        this.mSuffix = new int[0];
+        this.mDeque = new int[0];
+    }
+
+    /**
+     * Warp two sequences, on run-length encodings for distances and on the full cost matrix for paths
+     * @param series1 the first sequence
+     * @param n length of the first sequence
+     * @param series2 the second sequence
+     * @param m length of the second sequence
+     * @param withPath true to keep the warp path
+     * @return the distance between two sequences
+     */
+    @Override
+    protected double warp(double[] series1, int n, double[] series2, int m, boolean withPath) {
+        if (withPath) {
+            fullWindow(n, m);
+            return windowPath(series1, n, series2, m);
+        }
+
+        if (this.mValues1.length < n) {
+            this.mValues1 = new double[grow(this.mValues1.length, n)];
+            this.mLengths1 = new int[this.mValues1.length];
+        }
+        if (this.mValues2.length < m) {
+            this.mValues2 = new double[grow(this.mValues2.length, m)];
+            this.mLengths2 = new int[this.mValues2.length];
+        }
+        int runNum1 = encode(series1, n, this.mValues1, this.mLengths1);
+        int runNum2 = encode(series2, m, this.mValues2, this.mLengths2);
+
+        return computeDistance(this.mValues1, this.mLengths1, runNum1, this.mValues2, this.mLengths2, runNum2);
+    }
+
+    /**
+     * Run-length encode a sequence, runs are maximal stretches of bitwise equal values as BinaryDistance compares
+     * @param series a sequence
+     * @param n length of the sequence
+     * @param values state of each run, filled in place
+     * @param lengths length of each run, filled in place
+     * @return the number of runs
+     */
+    private static int encode(double[] series, int n, double[] values, int[] lengths) {
+        int runNum = 0;
+        long last = 0;
+        for (int i = 0; i < n; i++) {
+            long bits = Double.doubleToLongBits(series[i]);
+            if (i == 0 || bits != last) {
+                values[runNum] = series[i];
+                lengths[runNum++] = 0;
+                last = bits;
+            }
+            lengths[runNum - 1]++;
+        }
+        return runNum;
+    }
+
+    /**
+     * Compute the dynamic time warping distance between two run-length encoded sequences
+     * @param values1 state of each run of the first sequence
+     * @param lengths1 length of each run of the first sequence
+     * @param runNum1 the number of runs of the first sequence
+     * @param values2 state of each run of the second sequence
+     * @param lengths2 length of each run of the second sequence
+     * @param runNum2 the number of runs of the second sequence
+     * @return the distance between two sequences
+     */
+    public double computeDistance(double[] values1, int[] lengths1, int runNum1,
+                                  double[] values2, int[] lengths2, int runNum2) {
+        int n = 0;
+        int m = 0;
+        int maxLength1 = 0;
+        int maxLength2 = 0;
+        for (int a = 0; a < runNum1; a++) {
+            n += lengths1[a];
+            maxLength1 = Math.max(maxLength1, lengths1[a]);
+        }
+        for (int b = 0; b < runNum2; b++) {
+            m += lengths2[b];
+            maxLength2 = Math.max(maxLength2, lengths2[b]);
+        }
+        if (n == 0 || m == 0) return Double.POSITIVE_INFINITY;
+        ensureCapacity(m, maxLength1, maxLength2);
+
+        // nothing lies below the first run, except the corner (-1, -1) where all warp paths start
+        int[] row = this.mRow;
+        row[0] = 0;
+        for (int j = 1; j <= m; j++) row[j] = INFINITY;
+
+        for (int a = 0; a < runNum1; a++) {
+            int p = lengths1[a];
+            long bits1 = Double.doubleToLongBits(values1[a]);
+
+            // nothing lies to the left of the first block, except the corner
+            int[] column = this.mColumn;
+            column[0] = row[0];
+            for (int i = 1; i <= p; i++) column[i] = INFINITY;
+
+            int c0 = 0;
+            int lastTop = INFINITY;
+            for (int b = 0; b < runNum2; b++) {
+                int q = lengths2[b];
+                int cost = bits1 == Double.doubleToLongBits(values2[b]) ? 0 : 1;
+
+                // row[c0] is the corner and row[c0 + 1 .. c0 + q] the bottom boundary of the block
+                int nextCorner = row[c0 + q];
+                int[] nextColumn = this.mNextColumn;
+                crossBlock(column, 0, p, row, c0, q, cost, nextColumn);
+                crossBlock(row, c0, q, column, 0, p, cost, this.mTop);
+
+                // the corner goes back to the top row of the previous block, and the last cell of the bottom
+                // boundary stays until the next block has read it as its corner
+                row[c0] = b == 0 ? INFINITY : lastTop;
+                System.arraycopy(this.mTop, 1, row, c0 + 1, q);
+                lastTop = row[c0 + q];
+                row[c0 + q] = nextCorner;
+
+                nextColumn[0] = nextCorner;
+                this.mNextColumn = column;
+                this.mColumn = nextColumn;
+                column = nextColumn;
+                c0 += q;
+            }
+            row[m] = lastTop;
+
+            // every warp path crosses the top row of the run, abandon once all of it exceeds the threshold
+            if (this.mThreshold < Double.POSITIVE_INFINITY) {
+                int rowMin = INFINITY;
+                for (int j = 1; j <= m; j++) rowMin = Math.min(rowMin, row[j]);
+                if (rowMin > this.mThreshold) return Double.POSITIVE_INFINITY;
+            }
+        }
+
+        return row[m] >= INFINITY ? Double.POSITIVE_INFINITY : row[m];
+    }
+
+    /**
+     * Compute the far boundary of a block in one direction, the formula of the class comment with the roles of
+     * rows and columns given by the arguments
+     * @param along boundary along the output, along[from] is the corner and along[from + 1 .. from + length]
+     *              the cells next to the block
+     * @param from offset of the corner in along
+     * @param length the number of cells of the output
+     * @param across boundary across the output, across[acrossFrom] is the corner and
+     *               across[acrossFrom + 1 .. acrossFrom + thickness] the cells next to the block
+     * @param acrossFrom offset of the corner in across
+     * @param thickness the number of cells of the block across the output
+     * @param cost local cost of the block, 0 or 1
+     * @param out out[1 .. length] is filled with the far boundary
+     */
+    private void crossBlock(int[] along, int from, int length, int[] across, int acrossFrom, int thickness,
+                            int cost, int[] out) {
+        if (cost == 0) {
+            // the cheapest entry which can reach the cell
+            int acrossMin = INFINITY;
+            for (int y = 0; y <= thickness; y++) acrossMin = Math.min(acrossMin, across[acrossFrom + y]);
+            int alongMin = along[from];
+            for (int k = 1; k <= length; k++) {
+                alongMin = Math.min(alongMin, along[from + k]);
+                out[k] = Math.min(alongMin, acrossMin);
+            }
+            return;
+        }
+
+        // an entry y across reaches cell k through max(k, thickness - y) cells, which is thickness - y for
+        // y <= thickness - k (prefix minima) and k for the others (suffix minima)
+        int[] prefix = this.mPrefix;
+        int[] suffix = this.mSuffix;
+        int running = INFINITY;
+        for (int y = 0; y <= thickness; y++) {
+            running = Math.min(running, across[acrossFrom + y] + thickness - y);
+            prefix[y] = running;
+        }
+        running = INFINITY;
+        for (int y = thickness; y >= 0; y--) {
+            running = Math.min(running, across[acrossFrom + y]);
+            suffix[y] = running;
+        }
+
+        // an entry x along reaches cell k through max(thickness, k - x) cells, which is thickness for the last
+        // thickness + 1 entries (sliding window minimum) and k - x for the earlier ones (minimum of along[x] - x)
+        int[] deque = this.mDeque;
+        int head = 0;
+        int tail = 0;
+        deque[tail++] = 0;
+        int far = INFINITY;
+        for (int k = 1; k <= length; k++) {
+            int value = along[from + k];
+            while (tail > head && along[from + deque[tail - 1]] >= value) tail--;
+            deque[tail++] = k;
+
+            int oldest = k - thickness - 1; // leaves the window at cell k
+            if (oldest >= 0) {
+                far = Math.min(far, along[from + oldest] - oldest);
+                if (deque[head] == oldest) head++;
+            }
+
+            int best = Math.min(along[from + deque[head]] + thickness, far + k);
+            int threshold = thickness - k;
+            if (threshold >= 0) {
+                best = Math.min(best, Math.min(prefix[threshold], suffix[threshold + 1] + k));
+            } else {
+                best = Math.min(best, suffix[0] + k);
+            }
+            out[k] = Math.min(best, INFINITY);
+        }
+    }
+
+    /**
+     * Make room for the boundaries
+     * @param m length of the second sequence
+     * @param maxLength1 the longest run of the first sequence
+     * @param maxLength2 the longest run of the second sequence
+     */
+    private void ensureCapacity(int m, int maxLength1, int maxLength2) {
+        if (this.mRow.length < m + 1) {
+            this.mRow = new int[grow(this.mRow.length, m + 1)];
+        }
+        int length = Math.max(maxLength1, maxLength2) + 1;
+        if (this.mColumn.length < length) {
+            int capacity = grow(this.mColumn.length, length);
+            this.mColumn = new int[capacity];
+            this.mNextColumn = new int[capacity];
+            this.mTop = new int[capacity];
+            this.mPrefix = new int[capacity];
+            this.mSuffix = new int[capacity];
+            this.mDeque = new int[capacity + 1];
+        }
+    }
+
+    /**
+     * test
+     * @param args user input
+     */
+    public static void main(String[] args) {
+        double[] t1 = {1, 1, 1, 2, 2, 3, 3, 3, 3, 1};
+        double[] t2 = {1, 1, 2, 2, 2, 2, 3, 1, 1};
+        RunLengthDTW test = new RunLengthDTW();
+
+        System.out.println(test.computeDistance(t1, t2) + " vs " + new OriginalDTW("BinaryDistance").computeDistance(t1, t2));
+        List<List<Integer>> path = test.computePath(t1, t2);
+
+        for (List<Integer> point : path) {
+            System.out.println("x = " + point.get(0) + " y = " + point.get(1));
+        }
+    }
+}
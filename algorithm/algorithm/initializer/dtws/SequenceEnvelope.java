@@ -0,0 +1,220 @@
+package initializer.dtws;
+
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+/**
+ * Project: DCDMC
+ * Package: initializer.dtws
+ * Date: 17/Oct/2026
+ * Time: 22:45
+ * System Time: 10:45 PM
+ */
+
+/*
+    Per-sequence data for the lower bounds of dynamic time warping, built once and shared by all queries.
+
+    A lower bound needs, for a point of one sequence, the cheapest local distance to a range of the other sequence
+    (the rows of the search window in that column). For the binary distance that is whether the range holds the
+    same value, answered from the runs of each distinct value. For the other distances it is the distance to the
+    range minimum or maximum, answered from sparse tables. Queries take no allocation, so one envelope can be
+    read by many threads.
+ */
+public class SequenceEnvelope {
+
+    private static final Logger LOGGER = Logger.getLogger(SequenceEnvelope.class.getName());
+
+    private final double[] mValues; // the sequence
+
+    // runs of each distinct value, for the binary distance
+    private final long[] mKeys; // sorted bits of the distinct values
+    private final int[] mRunOffsets; // runs of mKeys[k] are mRunStarts[mRunOffsets[k] .. mRunOffsets[k + 1])
+    private final int[] mRunStarts; // first position of each run, ascending per value
+    private final int[] mRunEnds; // last position of each run
+
+    // sparse tables, mMin[l][i] is the minimum of values[i .. i + 2^l), for the other distances
+    private final double[][] mMin;
+    private final double[][] mMax;
+
+    /**
+     * class constructor
+     * @param values the sequence
+     * @param keys sorted bits of the distinct values
+     * @param runOffsets runs of each distinct value
+     * @param runStarts first position of each run
+     * @param runEnds last position of each run
+     * @param min sparse table of minima
+     * @param max sparse table of maxima
+     */
+    private SequenceEnvelope(double[] values, long[] keys, int[] runOffsets, int[] runStarts, int[] runEnds,
+                             double[][] min, double[][] max) {
+        this.mValues = values;
+        this.mKeys = keys;
+        this.mRunOffsets = runOffsets;
+        this.mRunStarts = runStarts;
+        this.mRunEnds = runEnds;
+        this.mMin = min;
+        this.mMax = max;
+    }
+
+    /**
+     * Build the envelope of a symbolic sequence, for the binary distance
+     * @param values the sequence, kept without copy
+     * @return the envelope, null if the sequence is null or empty
+     */
+    public static SequenceEnvelope symbolic(double[] values) {
+
+        if (values == null || values.length == 0) {
+            LOGGER.info("The sequence is null or empty!");
+            return null;
+        }
+
+        // runs in order of position
+        int runNum = 0;
+        for (int j = 0; j < values.length; j++) {
+            if (j == 0 || Double.doubleToLongBits(values[j]) != Double.doubleToLongBits(values[j - 1])) runNum++;
+        }
+        long[] runKeys = new long[runNum];
+        int[] starts = new int[runNum];
+        int[] ends = new int[runNum];
+        int run = -1;
+        for (int j = 0; j < values.length; j++) {
+            long bits = Double.doubleToLongBits(values[j]);
+            if (j == 0 || bits != runKeys[run]) {
+                run++;
+                runKeys[run] = bits;
+                starts[run] = j;
+            }
+            ends[run] = j;
+        }
+
+        // distinct values, then the runs grouped by value keeping the order of position
+        long[] sorted = Arrays.copyOf(runKeys, runNum);
+        Arrays.sort(sorted);
+        int keyNum = 0;
+        for (int r = 0; r < runNum; r++) {
+            if (r == 0 || sorted[r] != sorted[r - 1]) sorted[keyNum++] = sorted[r];
+        }
+        long[] keys = Arrays.copyOf(sorted, keyNum);
+
+        int[] runOffsets = new int[keyNum + 1];
+        for (int r = 0; r < runNum; r++) {
+            runOffsets[Arrays.binarySearch(keys, runKeys[r]) + 1]++;
+        }
+        for (int k = 0; k < keyNum; k++) runOffsets[k + 1] += runOffsets[k];
+
+        int[] next = Arrays.copyOf(runOffsets, keyNum);
+        int[] runStarts = new int[runNum];
+        int[] runEnds = new int[runNum];
+        for (int r = 0; r < runNum; r++) {
+            int slot = next[Arrays.binarySearch(keys, runKeys[r])]++;
+            runStarts[slot] = starts[r];
+            runEnds[slot] = ends[r];
+        }
+
+        return new SequenceEnvelope(values, keys, runOffsets, runStarts, runEnds, null, null);
+    }
+
+    /**
+     * Build the envelope of a numeric sequence, for the Euclidean and Manhattan distances
+     * @param values the sequence, kept without copy
+     * @return the envelope, null if the sequence is null or empty
+     */
+    public static SequenceEnvelope numeric(double[] values) {
+
+        if (values == null || values.length == 0) {
+            LOGGER.info("The sequence is null or empty!");
+            return null;
+        }
+
+        int N = values.length;
+        int levels = 1;
+        while ((1 << levels) <= N) levels++;
+
+        double[][] min = new double[levels][];
+        double[][] max = new double[levels][];
+        min[0] = values;
+        max[0] = values;
+        for (int l = 1; l < levels; l++) {
+            int half = 1 << (l - 1);
+            int size = N - (1 << l) + 1;
+            min[l] = new double[size];
+            max[l] = new double[size];
+            for (int i = 0; i < size; i++) {
+                min[l][i] = Math.min(min[l - 1][i], min[l - 1][i + half]);
+                max[l][i] = Math.max(max[l - 1][i], max[l - 1][i + half]);
+            }
+        }
+
+        return new SequenceEnvelope(values, null, null, null, null, min, max);
+    }
+
+    /**
+     * Getter
+     * @return the sequence
+     */
+    public double[] getValues() {
+        return this.mValues;
+    }
+
+    /**
+     * Getter
+     * @return length of the sequence
+     */
+    public int length() {
+        return this.mValues.length;
+    }
+
+    /**
+     * Whether a value occurs in a range of the sequence, comparing bits as the binary distance does.
+     * Only for symbolic envelopes
+     * @param value a value
+     * @param from first position, inclusive
+     * @param to last position, inclusive
+     * @return true if the value occurs in the range
+     */
+    public boolean contains(double value, int from, int to) {
+        int k = Arrays.binarySearch(this.mKeys, Double.doubleToLongBits(value));
+        if (k < 0) return false;
+
+        // the first run of the value which ends at or after from
+        int low = this.mRunOffsets[k];
+        int high = this.mRunOffsets[k + 1];
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.mRunEnds[middle] < from) low = middle + 1;
+            else high = middle;
+        }
+        return low < this.mRunOffsets[k + 1] && this.mRunStarts[low] <= to;
+    }
+
+    /**
+     * The minimum of a range of the sequence, only for numeric envelopes
+     * @param from first position, inclusive
+     * @param to last position, inclusive
+     * @return the minimum
+     */
+    public double min(int from, int to) {
+        int l = 31 - Integer.numberOfLeadingZeros(to - from + 1);
+        return Math.min(this.mMin[l][from], this.mMin[l][to - (1 << l) + 1]);
+    }
+
+    /**
+     * The maximum of a range of the sequence, only for numeric envelopes
+     * @param from first position, inclusive
+     * @param to last position, inclusive
+     * @return the maximum
+     */
+    public double max(int from, int to) {
+        int l = 31 - Integer.numberOfLeadingZeros(to - from + 1);
+        return Math.max(this.mMax[l][from], this.mMax[l][to - (1 << l) + 1]);
+    }
+
+    /**
+     * Getter
+     * @return true if the envelope answers contains, false if it answers min and max
+     */
+    public boolean isSymbolic() {
+        return this.mKeys != null;
+    }
+}
@@ -2,7 +2,12 @@ package initializer.initializers;
 
 import gui.ConsoleProgressGUI;
 import initializer.clusterings.IClusteringAlgorithm;
-import initializer.dtws.IDTW;
+import initializer.clusterings.ISequenceClusteringAlgorithm;
+import initializer.distancematrix.DistanceMatrix;
+import initializer.distancematrix.DistanceMatrixEngine;
+import initializer.distancematrix.PRECISION;
+import initializer.dtws.IDTWFactory;
+import starter.RunConfig;
 
 import java.util.List;
 import java.util.logging.Level;
@@ -19,15 +24,42 @@ public class AbstractInitializer {
 
     private static final Logger LOGGER = Logger.getLogger(AbstractInitializer.class.getName());
 
+    private final RunConfig mRunConfig; // configuration of the run
+    private IClusteringAlgorithm mClusteringAlgorithm; // null to compute the distance matrix only
+
+    /**
+     * class constructor
+     * @param runConfig configuration of the run
+     */
+    public AbstractInitializer(RunConfig runConfig) {
+        this.mRunConfig = runConfig;
+    }
+
+    /**
+     * Setter
+     * @param ica a type of clustering algorithm, the sequence clustering algorithms skip the distance matrix
+     */
+    public void setClusteringAlgorithm(IClusteringAlgorithm ica) {
+        this.mClusteringAlgorithm = ica;
+    }
+
+    /**
+     * Getter
+     * @return the clustering algorithm, null to compute the distance matrix only
+     */
+    public IClusteringAlgorithm getClusteringAlgorithm() {
+        return this.mClusteringAlgorithm;
+    }
+
     /**
      * Calculate initial cluster labels for input data
      * @param instances input data
      * @param clusterNum the maximum number of clusters
-     * @param idtw a type of dynamic time warping algorithm
+     * @param idtwFactory the factory of a type of dynamic time warping algorithm, one instance per worker thread
      * @param ica a type of clustering algorithm
      * @return initial cluster guesses
      */
-    public int[] initializer(List<List<Double>> instances, int clusterNum, IDTW idtw, IClusteringAlgorithm ica) {
+    public int[] initializer(List<List<Double>> instances, int clusterNum, IDTWFactory idtwFactory, IClusteringAlgorithm ica) {
         int[] clusterLabels = null;
         if (instances == null) {
             LOGGER.log(Level.INFO, "The instances are null!");
@@ -39,22 +71,28 @@ public class AbstractInitializer {
             return clusterLabels;
         }
 
+        // clusters without the distance matrix, the distances are computed as they are needed
+        if (ica instanceof ISequenceClusteringAlgorithm) {
+            LOGGER.info("Initializer: Compute Initial Cluster Labels");
+            return ((ISequenceClusteringAlgorithm) ica).getClusterAssignment(clusterNum, instances, idtwFactory);
+        }
+
         int ROW = instances.size();
-        double[][] distanceMatrix = null;
+        DistanceMatrix distanceMatrix = null;
 
         LOGGER.info("Initializer: Compute Distance Matrix");
 
         // -------------------------- GUI Distance Matrix Computation--------------------------- //
-        ConsoleProgressGUI cpg = new ConsoleProgressGUI("Compute Distance Matrix", ROW, instances, idtw);
+        ConsoleProgressGUI cpg = new ConsoleProgressGUI("Compute Distance Matrix", ROW, instances, idtwFactory, this.mRunConfig);
 
         // ---------------- Cally Routine Function To Compute Distance Matrix ---------------- //
-        // distanceMatrix = compuateDistanceMatrix(ROW, instances, idtw);
+        // distanceMatrix = compuateDistanceMatrix(ROW, instances, idtwFactory);
 
         // ---------------------- Directly Read Distance Matrix From File -------------------- //
-        // distanceMatrix = IOOperation.readMatrix("/Users/chiyingwang/Documents/IntelliJIdeaSpace/DCDMCS/results/MatlabOriginalDTWDistanceMatrix.txt");
+        // distanceMatrix = DistanceMatrixIO.readText("/Users/chiyingwang/Documents/IntelliJIdeaSpace/DCDMCS/results/MatlabOriginalDTWDistanceMatrix.txt", PRECISION.DOUBLE);
 
         // save distance matrix
-        // IOOperation.writeFile(distanceMatrix, "/Users/chiyingwang/Documents/IntelliJIdeaSpace/DCDMCS/results/DistanceMatrix.txt");
+        // DistanceMatrixIO.writeText(distanceMatrix, "/Users/chiyingwang/Documents/IntelliJIdeaSpace/DCDMCS/results/DistanceMatrix.txt");
 
 
         // ---------------------- Compute Initializ Cluster Assignment ----------------------- //
@@ -72,31 +110,13 @@ public class AbstractInitializer {
      * Compute the distance matrix in terms of the given type of dynamic time warping algorithm
      * @param ROW the number of instances
      * @param instances instance dataset
-     * @param idtw the dynamic time warping algorithm
-     * @return the distance matrix of the instances
+     * @param idtwFactory the factory of the dynamic time warping algorithm
+     * @return the condensed distance matrix of the instances
      */
-    private double[][] compuateDistanceMatrix(int ROW, List<List<Double>> instances, IDTW idtw) {
-        double[][] distanceMatrix = new double[ROW][ROW];
-        System.out.println("Compute Distance Matrix [ " + ROW + " by " + ROW + " ].");
-        // compute distance matrix in terms of the given type of dynamic time warping algorithm
-        for (int i = 0; i < ROW; i++) {
-            for (int j = i + 1; j < ROW; j++) {
-
-                // get the dynamic time warping distance between two sequences
-                distanceMatrix[i][j] = idtw.computeDistance(instances.get(i), instances.get(j));
-
-                // get the optimal warping path between two sequences
-                // List<List<Integer>> optimalPath = idtw.computePath(null, null);
-
-                // here assume it guarantees the symmetric feature for DTW
-                if (j < ROW && i < ROW) distanceMatrix[j][i] = distanceMatrix[i][j];
-
-            }
-
-//            System.out.println("The distances of instances [ " + i + " ] is finished.");
-        }
-
-        return distanceMatrix;
+    private DistanceMatrix compuateDistanceMatrix(int ROW, List<List<Double>> instances, IDTWFactory idtwFactory) {
+        // compute the upper triangle tile by tile on a fork-join pool, one dynamic time warping worker per thread
+        DistanceMatrixEngine engine = new DistanceMatrixEngine(idtwFactory);
+        return engine.computeDistanceMatrix(instances, PRECISION.valueOf(this.mRunConfig.getDISTANCEMATRIXPRECISION()));
     }
 
 }
@@ -1,9 +1,12 @@
 package initializer.initializers;
 
+import dao.SequenceDataset;
 import initializer.clusterings.HierarchicalClusterAdapter;
 import initializer.clusterings.IClusteringAlgorithm;
 import initializer.dtws.DeviatedDTW;
 import initializer.dtws.IDTW;
+import initializer.dtws.IDTWFactory;
+import starter.RunConfig;
 
 import java.util.List;
 import java.util.logging.Level;
@@ -27,9 +30,10 @@ public class DeviatedDTWInitializer extends AbstractInitializer implements IInit
 
     /**
      * class constructor
+     * @param runConfig configuration of the run
      */
-    public DeviatedDTWInitializer() {
-        super();
+    public DeviatedDTWInitializer(RunConfig runConfig) {
+        super(runConfig);
     }
 
     /**
@@ -52,14 +56,30 @@ public class DeviatedDTWInitializer extends AbstractInitializer implements IInit
             return clusterLabels;
         }
 
-        // initialize a dynamic time warping instance
-        IDTW idtw = new DeviatedDTW();
+        // initialize a factory of dynamic time warping instances, one instance per worker thread
+        IDTWFactory idtwFactory = new IDTWFactory() {
+            @Override
+            public IDTW createDTW() {
+                return new DeviatedDTW();
+            }
+        };
 
         // do hierarchical cluster to provide initial cluster guesses
         // IClusteringAlgorithm ica = new HierarchicalClusterAdapter();
 
         // call super method to do initialize cluster guesses
-        return super.initializer(instances, clusterNum, idtw, null);
+        return super.initializer(instances, clusterNum, idtwFactory, getClusteringAlgorithm());
+    }
+
+    /**
+     * Calculate initial cluster labels for input data
+     * @param instances input data
+     * @param clusterNum the maximum number of clusters
+     * @return initial cluster guesses
+     */
+    @Override
+    public int[] initializer(SequenceDataset instances, int clusterNum) {
+        return initializer(instances == null ? null : instances.asLists(), clusterNum);
     }
 
     /**
@@ -67,7 +87,7 @@ public class DeviatedDTWInitializer extends AbstractInitializer implements IInit
      * @param args user input
      */
     public static void main(String[] args) {
-        MatlabOriginalDTWInitializer test = new MatlabOriginalDTWInitializer();
+        MatlabOriginalDTWInitializer test = new MatlabOriginalDTWInitializer(RunConfig.fromConfig());
 
     }
 
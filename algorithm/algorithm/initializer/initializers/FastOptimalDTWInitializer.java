@@ -1,9 +1,12 @@
 package initializer.initializers;
 
+import dao.SequenceDataset;
 import initializer.clusterings.HierarchicalClusterAdapter;
 import initializer.clusterings.IClusteringAlgorithm;
-import initializer.dtws.FastOptimalDTW;
 import initializer.dtws.IDTW;
+import initializer.dtws.IDTWFactory;
+import initializer.dtws.PrimitiveFastOptimalDTW;
+import starter.RunConfig;
 
 import java.util.List;
 import java.util.logging.Level;
@@ -25,9 +28,10 @@ public class FastOptimalDTWInitializer extends AbstractInitializer implements II
 
     /**
      * class constructor
+     * @param runConfig configuration of the run
      */
-    public FastOptimalDTWInitializer() {
-        super();
+    public FastOptimalDTWInitializer(RunConfig runConfig) {
+        super(runConfig);
     }
 
     /**
@@ -50,14 +54,30 @@ public class FastOptimalDTWInitializer extends AbstractInitializer implements II
             return clusterLabels;
         }
 
-        // initialize a dynamic time warping instance
-        IDTW idtw = new FastOptimalDTW("BinaryDistance");
+        // initialize a factory of dynamic time warping instances, one instance per worker thread
+        IDTWFactory idtwFactory = new IDTWFactory() {
+            @Override
+            public IDTW createDTW() {
+                return new PrimitiveFastOptimalDTW("BinaryDistance");
+            }
+        };
 
         // do hierarchical cluster to provide initial cluster guesses
         // IClusteringAlgorithm ica = new HierarchicalClusterAdapter();
 
         // call super method to do initialize cluster guesses
-        return super.initializer(instances, clusterNum, idtw, null);
+        return super.initializer(instances, clusterNum, idtwFactory, getClusteringAlgorithm());
+    }
+
+    /**
+     * Calculate initial cluster labels for input data
+     * @param instances input data
+     * @param clusterNum the maximum number of clusters
+     * @return initial cluster guesses
+     */
+    @Override
+    public int[] initializer(SequenceDataset instances, int clusterNum) {
+        return initializer(instances == null ? null : instances.asLists(), clusterNum);
     }
 
     /**
@@ -65,7 +85,7 @@ public class FastOptimalDTWInitializer extends AbstractInitializer implements II
      * @param args user input
      */
     public static void main(String[] args) {
-        FastOptimalDTWInitializer test = new FastOptimalDTWInitializer();
+        FastOptimalDTWInitializer test = new FastOptimalDTWInitializer(RunConfig.fromConfig());
 
     }
 }
@@ -1,9 +1,12 @@
 package initializer.initializers;
 
+import dao.SequenceDataset;
 import initializer.clusterings.HierarchicalClusterAdapter;
 import initializer.clusterings.IClusteringAlgorithm;
 import initializer.dtws.GlobalWeightedDTW;
 import initializer.dtws.IDTW;
+import initializer.dtws.IDTWFactory;
+import starter.RunConfig;
 
 import java.util.List;
 import java.util.logging.Level;
@@ -26,9 +29,10 @@ public class GlobalWeightedDTWInitializer extends AbstractInitializer implements
 
     /**
      * class constructor
+     * @param runConfig configuration of the run
      */
-    public GlobalWeightedDTWInitializer() {
-        super();
+    public GlobalWeightedDTWInitializer(RunConfig runConfig) {
+        super(runConfig);
     }
 
     /**
@@ -51,14 +55,30 @@ public class GlobalWeightedDTWInitializer extends AbstractInitializer implements
             return clusterLabels;
         }
 
-        // initialize a dynamic time warping instance
-        IDTW idtw = new GlobalWeightedDTW();
+        // initialize a factory of dynamic time warping instances, one instance per worker thread
+        IDTWFactory idtwFactory = new IDTWFactory() {
+            @Override
+            public IDTW createDTW() {
+                return new GlobalWeightedDTW();
+            }
+        };
 
         // do hierarchical cluster to provide initial cluster guesses
         // IClusteringAlgorithm ica = new HierarchicalClusterAdapter();
 
         // call super method to do initialize cluster guesses
-        return super.initializer(instances, clusterNum, idtw, null);
+        return super.initializer(instances, clusterNum, idtwFactory, getClusteringAlgorithm());
+    }
+
+    /**
+     * Calculate initial cluster labels for input data
+     * @param instances input data
+     * @param clusterNum the maximum number of clusters
+     * @return initial cluster guesses
+     */
+    @Override
+    public int[] initializer(SequenceDataset instances, int clusterNum) {
+        return initializer(instances == null ? null : instances.asLists(), clusterNum);
     }
 
     /**
@@ -66,7 +86,7 @@ public class GlobalWeightedDTWInitializer extends AbstractInitializer implements
      * @param args user input
      */
     public static void main(String[] args) {
-        GlobalWeightedDTWInitializer test = new GlobalWeightedDTWInitializer();
+        GlobalWeightedDTWInitializer test = new GlobalWeightedDTWInitializer(RunConfig.fromConfig());
 
     }
 
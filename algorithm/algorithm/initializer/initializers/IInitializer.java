@@ -1,5 +1,8 @@
 package initializer.initializers;
 
+import dao.SequenceDataset;
+import initializer.clusterings.IClusteringAlgorithm;
+
 import java.util.List;
 
 /**
@@ -18,4 +21,18 @@ public interface IInitializer {
      * @return initial cluster guesses
      */
     public int[] initializer(List<List<Double>> instances, int clusterNum);
+
+    /**
+     * Calculate initial cluster labels for input data
+     * @param instances input data
+     * @param clusterNum the maximum number of clusters
+     * @return initial cluster guesses
+     */
+    public int[] initializer(SequenceDataset instances, int clusterNum);
+
+    /**
+     * Setter
+     * @param ica a type of clustering algorithm, the sequence clustering algorithms skip the distance matrix
+     */
+    public void setClusteringAlgorithm(IClusteringAlgorithm ica);
 }
@@ -25,6 +25,8 @@ package initializer.initializers;
         * Global Weighted Dynamic Time Warping
     8. StepwiseDeviatedDTW
         * Stepwsie Deviated Dynamic Time Warpng
+    9. RunLengthDTW
+        * Original Dynamic Time Warping On Run-Length Encodings
  */
 
 public enum INITIALIZERTYPE {
@@ -35,5 +37,6 @@ public enum INITIALIZERTYPE {
     MATLABORIGINALDTW,
     DEVIATEDDTW,
     GLOBALWEIGHTEDDTW,
-    STEPWISEDEVIATEDDTW;
+    STEPWISEDEVIATEDDTW,
+    RUNLENGTHDTW;
 }
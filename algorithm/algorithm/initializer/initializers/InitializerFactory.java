@@ -2,6 +2,7 @@ package initializer.initializers;
 
 import initializer.dtws.GlobalWeightedDTW;
 import initializer.dtws.StepwiseDeviatedDTW;
+import starter.RunConfig;
 
 import java.util.logging.Logger;
 
@@ -34,35 +35,40 @@ public class InitializerFactory {
     /**
      * Generate data source
      * @param dt data type
+     * @param runConfig configuration of the run
      * @return data interface
      */
-    public IInitializer createInitializer(INITIALIZERTYPE dt) {
+    public IInitializer createInitializer(INITIALIZERTYPE dt, RunConfig runConfig) {
         IInitializer iInitializer = null;
 
         switch (dt) {
             case ORIGINALDTW:
-                iInitializer = new OriginalDTWInitializer();
+                iInitializer = new OriginalDTWInitializer(runConfig);
                 break;
             case SAKOECHIBADTW:
-                iInitializer = new SakoeChibaDTWInitializer();
+                iInitializer = new SakoeChibaDTWInitializer(runConfig);
                 break;
             case ITAKURAPARALLELOGRAMDTW:
-                iInitializer = new ItakuraParallelogramDTWInitializer();
+                iInitializer = new ItakuraParallelogramDTWInitializer(runConfig);
                 break;
             case FASTOPTIMALDTW:
-                iInitializer = new FastOptimalDTWInitializer();
+                iInitializer = new FastOptimalDTWInitializer(runConfig);
                 break;
             case MATLABORIGINALDTW:
-                iInitializer = new MatlabOriginalDTWInitializer();
+                iInitializer = new MatlabOriginalDTWInitializer(runConfig);
                 break;
             case DEVIATEDDTW:
-                iInitializer = new DeviatedDTWInitializer();
+                iInitializer = new DeviatedDTWInitializer(runConfig);
                 break;
             case GLOBALWEIGHTEDDTW:
-                iInitializer = new GlobalWeightedDTWInitializer();
+                iInitializer = new GlobalWeightedDTWInitializer(runConfig);
                 break;
             case STEPWISEDEVIATEDDTW:
-                iInitializer = new StepwiseDeviatedDTWInitializer();
+                iInitializer = new StepwiseDeviatedDTWInitializer(runConfig);
+                break;
+            case RUNLENGTHDTW:
+                iInitializer = new RunLengthDTWInitializer(runConfig);
+                break;
             default:
                 LOGGER.info("No Matching Instance To Created!");
         }
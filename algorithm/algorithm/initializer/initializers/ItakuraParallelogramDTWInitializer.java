@@ -1,9 +1,12 @@
 package initializer.initializers;
 
+import dao.SequenceDataset;
 import initializer.clusterings.HierarchicalClusterAdapter;
 import initializer.clusterings.IClusteringAlgorithm;
 import initializer.dtws.IDTW;
-import initializer.dtws.ItakuraParallelogramDTW;
+import initializer.dtws.IDTWFactory;
+import initializer.dtws.PrimitiveItakuraParallelogramDTW;
+import starter.RunConfig;
 
 import java.util.List;
 import java.util.logging.Level;
@@ -25,9 +28,10 @@ public class ItakuraParallelogramDTWInitializer extends AbstractInitializer impl
 
     /**
      * class constructor
+     * @param runConfig configuration of the run
      */
-    public ItakuraParallelogramDTWInitializer() {
-        super();
+    public ItakuraParallelogramDTWInitializer(RunConfig runConfig) {
+        super(runConfig);
     }
 
     /**
@@ -50,15 +54,31 @@ public class ItakuraParallelogramDTWInitializer extends AbstractInitializer impl
             return clusterLabels;
         }
 
-        // initialize a dynamic time warping instance
-        int searchRadius = instances.get(0).size() / 5;
-        IDTW idtw = new ItakuraParallelogramDTW("BinaryDistance", searchRadius);
+        // initialize a factory of dynamic time warping instances, one instance per worker thread
+        final int searchRadius = instances.get(0).size() / 5;
+        IDTWFactory idtwFactory = new IDTWFactory() {
+            @Override
+            public IDTW createDTW() {
+                return new PrimitiveItakuraParallelogramDTW("BinaryDistance", searchRadius);
+            }
+        };
 
         // do hierarchical cluster to provide initial cluster guesses
         // IClusteringAlgorithm ica = new HierarchicalClusterAdapter();
 
         // call super method to do initialize cluster guesses
-        return super.initializer(instances, clusterNum, idtw, null);
+        return super.initializer(instances, clusterNum, idtwFactory, getClusteringAlgorithm());
+    }
+
+    /**
+     * Calculate initial cluster labels for input data
+     * @param instances input data
+     * @param clusterNum the maximum number of clusters
+     * @return initial cluster guesses
+     */
+    @Override
+    public int[] initializer(SequenceDataset instances, int clusterNum) {
+        return initializer(instances == null ? null : instances.asLists(), clusterNum);
     }
 
     /**
@@ -66,7 +86,7 @@ public class ItakuraParallelogramDTWInitializer extends AbstractInitializer impl
      * @param args user input
      */
     public static void main(String[] args) {
-        ItakuraParallelogramDTWInitializer test = new ItakuraParallelogramDTWInitializer();
+        ItakuraParallelogramDTWInitializer test = new ItakuraParallelogramDTWInitializer(RunConfig.fromConfig());
 
     }
 }
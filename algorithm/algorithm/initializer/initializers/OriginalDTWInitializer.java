@@ -1,9 +1,12 @@
 package initializer.initializers;
 
+import dao.SequenceDataset;
 import initializer.clusterings.HierarchicalClusterAdapter;
 import initializer.clusterings.IClusteringAlgorithm;
 import initializer.dtws.IDTW;
+import initializer.dtws.IDTWFactory;
 import initializer.dtws.OriginalDTW;
+import starter.RunConfig;
 
 import java.util.List;
 import java.util.logging.Level;
@@ -26,9 +29,10 @@ public class OriginalDTWInitializer extends AbstractInitializer implements IInit
 
     /**
      * class constructor
+     * @param runConfig configuration of the run
      */
-    public OriginalDTWInitializer() {
-        super();
+    public OriginalDTWInitializer(RunConfig runConfig) {
+        super(runConfig);
     }
 
     /**
@@ -51,14 +55,30 @@ public class OriginalDTWInitializer extends AbstractInitializer implements IInit
             return clusterLabels;
         }
 
-        // initialize a dynamic time warping instance
-        IDTW idtw = new OriginalDTW("BinaryDistance");
+        // initialize a factory of dynamic time warping instances, one instance per worker thread
+        IDTWFactory idtwFactory = new IDTWFactory() {
+            @Override
+            public IDTW createDTW() {
+                return new OriginalDTW("BinaryDistance");
+            }
+        };
 
         // do hierarchical cluster to provide initial cluster guesses
         // IClusteringAlgorithm ica = new HierarchicalClusterAdapter();
 
         // call super method to do initialize cluster guesses
-        return super.initializer(instances, clusterNum, idtw, null);
+        return super.initializer(instances, clusterNum, idtwFactory, getClusteringAlgorithm());
+    }
+
+    /**
+     * Calculate initial cluster labels for input data
+     * @param instances input data
+     * @param clusterNum the maximum number of clusters
+     * @return initial cluster guesses
+     */
+    @Override
+    public int[] initializer(SequenceDataset instances, int clusterNum) {
+        return initializer(instances == null ? null : instances.asLists(), clusterNum);
     }
 
     /**
@@ -66,7 +86,7 @@ public class OriginalDTWInitializer extends AbstractInitializer implements IInit
      * @param args user input
      */
     public static void main(String[] args) {
-        OriginalDTWInitializer test = new OriginalDTWInitializer();
+        OriginalDTWInitializer test = new OriginalDTWInitializer(RunConfig.fromConfig());
 
     }
 }
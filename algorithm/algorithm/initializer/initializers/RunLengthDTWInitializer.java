@@ -0,0 +1,92 @@
+package initializer.initializers;
+
+import dao.SequenceDataset;
+import initializer.clusterings.HierarchicalClusterAdapter;
+import initializer.clusterings.IClusteringAlgorithm;
+import initializer.dtws.IDTW;
+import initializer.dtws.IDTWFactory;
+import initializer.dtws.RunLengthDTW;
+import starter.RunConfig;
+
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Project: DCDMC
+ * Package: initializer
+ * Date: 17/Oct/2026
+ * Time: 22:10
+ * System Time: 10:10 PM
+ */
+
+/*
+    Apply original dynamic time warping on run-length encodings to do cluster initialization
+ */
+public class RunLengthDTWInitializer extends AbstractInitializer implements IInitializer {
+
+    private static final Logger LOGGER = Logger.getLogger(RunLengthDTWInitializer.class.getName());
+
+    /**
+     * class constructor
+     * @param runConfig configuration of the run
+     */
+    public RunLengthDTWInitializer(RunConfig runConfig) {
+        super(runConfig);
+    }
+
+    /**
+     * Calculate initial cluster labels for input data
+     * @param instances input data
+     * @param clusterNum the maximum number of clusters
+     * @return initial cluster guesses
+     */
+    @Override
+    public int[] initializer(List<List<Double>> instances, int clusterNum) {
+
+        int[] clusterLabels = null;
+        if (instances == null) {
+            LOGGER.log(Level.INFO, "The instances are null!");
+            return clusterLabels;
+        }
+
+        if (instances.size() == 0) {
+            LOGGER.log(Level.INFO, "The instances are empty!");
+            return clusterLabels;
+        }
+
+        // initialize a factory of dynamic time warping instances, one instance per worker thread
+        IDTWFactory idtwFactory = new IDTWFactory() {
+            @Override
+            public IDTW createDTW() {
+                return new RunLengthDTW();
+            }
+        };
+
+        // do hierarchical cluster to provide initial cluster guesses
+        // IClusteringAlgorithm ica = new HierarchicalClusterAdapter();
+
+        // call super method to do initialize cluster guesses
+        return super.initializer(instances, clusterNum, idtwFactory, getClusteringAlgorithm());
+    }
+
+    /**
+     * Calculate initial cluster labels for input data
+     * @param instances input data
+     * @param clusterNum the maximum number of clusters
+     * @return initial cluster guesses
+     */
+    @Override
+    public int[] initializer(SequenceDataset instances, int clusterNum) {
+        return initializer(instances == null ? null : instances.asLists(), clusterNum);
+    }
+
+    /**
+     * test
+     * @param args user input
+     */
+    public static void main(String[] args) {
+        RunLengthDTWInitializer test = new RunLengthDTWInitializer(RunConfig.fromConfig());
+
+    }
+}
@@ -1,9 +1,12 @@
 package initializer.initializers;
 
+import dao.SequenceDataset;
 import initializer.clusterings.HierarchicalClusterAdapter;
 import initializer.clusterings.IClusteringAlgorithm;
 import initializer.dtws.IDTW;
-import initializer.dtws.SakoeChibaDTW;
+import initializer.dtws.IDTWFactory;
+import initializer.dtws.PrimitiveSakoeChibaDTW;
+import starter.RunConfig;
 
 import java.util.List;
 import java.util.logging.Level;
@@ -22,9 +25,10 @@ public class SakoeChibaDTWInitializer extends AbstractInitializer implements IIn
 
     /**
      * class constructor
+     * @param runConfig configuration of the run
      */
-    public SakoeChibaDTWInitializer() {
-        super();
+    public SakoeChibaDTWInitializer(RunConfig runConfig) {
+        super(runConfig);
     }
 
     /**
@@ -47,15 +51,31 @@ public class SakoeChibaDTWInitializer extends AbstractInitializer implements IIn
             return clusterLabels;
         }
 
-        // initialize a dynamic time warping instance
-        int searchRadius = instances.get(0).size() / 5;
-        IDTW idtw = new SakoeChibaDTW("BinaryDistance", searchRadius);
+        // initialize a factory of dynamic time warping instances, one instance per worker thread
+        final int searchRadius = instances.get(0).size() / 5;
+        IDTWFactory idtwFactory = new IDTWFactory() {
+            @Override
+            public IDTW createDTW() {
+                return new PrimitiveSakoeChibaDTW("BinaryDistance", searchRadius);
+            }
+        };
 
         // do hierarchical cluster to provide initial cluster guesses
         // IClusteringAlgorithm ica = new HierarchicalClusterAdapter();
 
         // call super method to do initialize cluster guesses
-        return super.initializer(instances, clusterNum, idtw, null);
+        return super.initializer(instances, clusterNum, idtwFactory, getClusteringAlgorithm());
+    }
+
+    /**
+     * Calculate initial cluster labels for input data
+     * @param instances input data
+     * @param clusterNum the maximum number of clusters
+     * @return initial cluster guesses
+     */
+    @Override
+    public int[] initializer(SequenceDataset instances, int clusterNum) {
+        return initializer(instances == null ? null : instances.asLists(), clusterNum);
     }
 
     /**
@@ -63,7 +83,7 @@ public class SakoeChibaDTWInitializer extends AbstractInitializer implements IIn
      * @param args user input
      */
     public static void main(String[] args) {
-        SakoeChibaDTWInitializer test = new SakoeChibaDTWInitializer();
+        SakoeChibaDTWInitializer test = new SakoeChibaDTWInitializer(RunConfig.fromConfig());
 
     }
 }
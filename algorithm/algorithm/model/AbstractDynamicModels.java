@@ -11,15 +11,23 @@ package model;
 import Utilities.IOOperation;
 import Utilities.Utilities;
 import adapters.HistogramChartAdapter;
-import starter.Config;
+import dao.SequenceDataset;
+import starter.EXECUTIONMODE;
+import starter.RunConfig;
+import starter.SharedExecutor;
 import umontreal.iro.lecuyer.charts.HistogramSeriesCollection;
 
 import javax.swing.*;
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.logging.Logger;
 
 /**
@@ -28,6 +36,7 @@ import java.util.logging.Logger;
 abstract public class AbstractDynamicModels implements IModels{
 
     private static final Logger LOGGER = Logger.getLogger(AbstractDynamicModels.class.getName());
+    private static final int MINCHUNKSIZE = 64; // minimum instances per scoring task
 
     // models
     private List<IModel> mModels; // dynamic models
@@ -39,13 +48,25 @@ abstract public class AbstractDynamicModels implements IModels{
     // Intermidiate results
     private List<List<Double>> mProbsOfInstances; // posterior probabilities of instances given the best model
     private List<Double> mProbsTrendline; // posterior probabilities of instances trendline
+    private List<int[]> mIterationNumTrendline; // training iterations of each warm started model in each iteration
+
+    // sufficient statistics, kept across iterations and updated by the instances whose labels changed
+    private RunLengthEncoding mRunLengthEncoding; // run-length encoding of the instances
+    private ClusterStatistics[] mClusterStatistics; // statistics of each cluster
+    private int[] mStatisticsLabels; // cluster labels the statistics are counted with
+    private TransitionCountMatrix mTransitionCounts; // transition counts of the encoded instances, for batch scoring
+
+    private final RunConfig mRunConfig; // configuration of the run
 
     /**
      * Class constructor
+     * @param runConfig configuration of the run
      */
-    public AbstractDynamicModels() {
+    public AbstractDynamicModels(RunConfig runConfig) {
+        this.mRunConfig = runConfig;
         this.mModels = null;
         this.mProbsTrendline = new ArrayList<Double>();
+        this.mIterationNumTrendline = new ArrayList<int[]>();
     }
 
 
@@ -58,6 +79,18 @@ abstract public class AbstractDynamicModels implements IModels{
      */
     @Override
     public void trainDynamicModels(List<List<Double>> instances, int clusterNum, int[] initialClusterLables, MODELTYPE mt) {
+        trainDynamicModels(SequenceDataset.fromLists(instances), clusterNum, initialClusterLables, mt);
+    }
+
+    /**
+     * Build models over instances
+     * @param instances input instances
+     * @param clusterNum cluster num
+     * @param initialClusterLables initial cluster labels
+     * @param mt model type
+     */
+    @Override
+    public void trainDynamicModels(SequenceDataset instances, int clusterNum, int[] initialClusterLables, MODELTYPE mt) {
 
         if (instances == null) {
             LOGGER.info("The instances are null!");
@@ -74,35 +107,53 @@ abstract public class AbstractDynamicModels implements IModels{
             return;
         }
 
+        // models trained iteratively start from the model of their cluster in the previous iteration
+        List<IModel> previousModels = this.mModels;
         this.mModels = new ArrayList<IModel>(); // dynamic models
 
         for (int i = 0; i < clusterNum; i++) {
-            this.mModels.add(ModelFactory.getInstance().createModel(mt));
+            IModel model = ModelFactory.getInstance().createModel(mt, this.mRunConfig);
+            if (model instanceof IWarmStartModel && previousModels != null && previousModels.size() == clusterNum) {
+                ((IWarmStartModel) model).warmStart(previousModels.get(i));
+            }
+            this.mModels.add(model);
         }
 
-        // cluster each instance into corresponding clusters
-        Map<Integer, List<List<Double>>> clusterInstances = new HashMap<Integer, List<List<Double>>>();
-        for (int i = 0; i < instances.size(); i++) {
-            int clusterNo = initialClusterLables[i];
-            if (clusterInstances.containsKey(clusterNo)) {
-                clusterInstances.get(clusterNo).add(instances.get(i));
+        // cluster each instance into corresponding clusters, each cluster is a view over the instances
+        Map<Integer, SequenceDataset> clusterInstances = groupByCluster(instances, clusterNum, initialClusterLables);
 
-            } else {
-                List<List<Double>> list = new ArrayList<List<Double>>();
-                list.add(instances.get(i));
-                clusterInstances.put(clusterNo, list);
+        // update sufficient statistics before training, the models only read them
+        boolean statistics = this.mModels.get(0) instanceof IStatisticsModel;
+        if (statistics) {
+            updateClusterStatistics(instances, clusterNum, initialClusterLables);
+        }
+
+        // build dynamic models, concurrently in parallel execution mode
+        if (isParallel()) {
+            trainModelsInParallel(clusterInstances, clusterNum, statistics);
+        } else {
+            for (int i = 0; i < clusterNum; i++) {
+                trainModel(i, clusterInstances.get(i), statistics);
             }
         }
 
-        // build dynamic models
-        for (int i = 0; i < clusterNum; i++) {
-            this.mModels.get(i).trainModel(clusterInstances.get(i));
+        // record training iterations of the warm started models
+        int[] iterationNums = null;
+        if (this.mModels.get(0) instanceof IWarmStartModel) {
+            iterationNums = new int[clusterNum];
+            for (int i = 0; i < clusterNum; i++) {
+                iterationNums[i] = ((IWarmStartModel) this.mModels.get(i)).getIterationNum();
+            }
+            this.mIterationNumTrendline.add(iterationNums);
+        }
 
+        for (int i = 0; i < clusterNum; i++) {
             // output cluster instances distributions
+            String iterations = iterationNums == null ? "." : ", " + iterationNums[i] + " iterations.";
             if (clusterInstances.get(i) == null) {
-                System.out.println("        Model[" + (i + 1) + "]: 0 instances.");
+                System.out.println("        Model[" + (i + 1) + "]: 0 instances" + iterations);
             } else {
-                System.out.println("        Model[" + (i + 1) + "]: " + clusterInstances.get(i).size() + " instances.");
+                System.out.println("        Model[" + (i + 1) + "]: " + clusterInstances.get(i).size() + " instances" + iterations);
             }
         }
 
@@ -132,6 +183,16 @@ abstract public class AbstractDynamicModels implements IModels{
      */
     @Override
     public int[] assignClusterLabels(List<List<Double>> instances) {
+        return assignClusterLabels(SequenceDataset.fromLists(instances));
+    }
+
+    /**
+     * Assign instances into clusters in terms of input, cluster label starts with index 0
+     * @param instances instances dataset
+     * @return cluster labels
+     */
+    @Override
+    public int[] assignClusterLabels(SequenceDataset instances) {
 
         int[] clusterLabels = null;
 
@@ -162,10 +223,38 @@ abstract public class AbstractDynamicModels implements IModels{
 
         double[][] instancesProbsOfModels = new double[ModelsNum][InstancesNum];
 
+        // models trained from statistics score the run-length encoding, which is shared by all models
+        RunLengthEncoding rle = null;
+        if (this.mModels.get(0) instanceof IStatisticsModel) {
+            rle = this.mRunLengthEncoding != null && this.mRunLengthEncoding.getInstances() == instances
+                    ? this.mRunLengthEncoding : RunLengthEncoding.encode(instances);
+        }
+
+        // models scored by transition counts score all instances under all models in one product
+        TransitionCountMatrix transitionCounts = rle == null ? null : getTransitionCounts(rle);
+        double[][] logTransitions = transitionCounts == null ? null : getLogTransitions(transitionCounts.getStateNum());
+
         // initialize intermediate results variables
         this.mProbsOfInstances = new ArrayList<List<Double>>();
+        if (logTransitions != null) {
+            if (isParallel()) {
+                if (!multiplyInParallel(transitionCounts, logTransitions, instancesProbsOfModels)) {
+                    return clusterLabels;
+                }
+            } else {
+                transitionCounts.multiply(logTransitions, instancesProbsOfModels, 0, InstancesNum);
+            }
+        } else if (isParallel()) {
+            if (!scoreInstancesInParallel(instances, rle, instancesProbsOfModels)) {
+                return clusterLabels;
+            }
+        } else {
+            for (int i = 0; i < ModelsNum; i++) {
+                instancesProbsOfModels[i] = rle == null ? this.mModels.get(i).getInstancesProbs(instances)
+                        : ((IStatisticsModel) this.mModels.get(i)).getInstancesProbs(rle, 0, InstancesNum);
+            }
+        }
         for (int i = 0; i < ModelsNum; i++) {
-            instancesProbsOfModels[i] = this.mModels.get(i).getInstancesProbs(instances);
             this.mProbsOfInstances.add(new ArrayList<Double>());
         }
 
@@ -202,6 +291,245 @@ abstract public class AbstractDynamicModels implements IModels{
         return clusterLabels;
     }
 
+    /**
+     * Group instances by cluster labels, instances of a cluster keep their order in the dataset
+     * @param instances input instances
+     * @param clusterNum cluster num
+     * @param clusterLabels cluster labels of the instances
+     * @return cluster No. -> view over the instances of the cluster, empty clusters are absent
+     */
+    private Map<Integer, SequenceDataset> groupByCluster(SequenceDataset instances, int clusterNum, int[] clusterLabels) {
+
+        int N = instances.size();
+        int[] clusterSizes = new int[clusterNum];
+        for (int i = 0; i < N; i++) {
+            if (clusterLabels[i] >= 0 && clusterLabels[i] < clusterNum) clusterSizes[clusterLabels[i]]++;
+        }
+
+        int[][] clusterIndices = new int[clusterNum][];
+        for (int k = 0; k < clusterNum; k++) {
+            clusterIndices[k] = new int[clusterSizes[k]];
+            clusterSizes[k] = 0;
+        }
+        for (int i = 0; i < N; i++) {
+            int clusterNo = clusterLabels[i];
+            if (clusterNo >= 0 && clusterNo < clusterNum) clusterIndices[clusterNo][clusterSizes[clusterNo]++] = i;
+        }
+
+        Map<Integer, SequenceDataset> clusterInstances = new HashMap<Integer, SequenceDataset>();
+        for (int k = 0; k < clusterNum; k++) {
+            if (clusterIndices[k].length > 0) clusterInstances.put(k, instances.subset(clusterIndices[k]));
+        }
+        return clusterInstances;
+    }
+
+    /**
+     * Keep the statistics of each cluster up to date with the cluster labels. The instances are run-length encoded
+     * once, and afterwards only the instances whose labels changed since the last call are moved between clusters.
+     * Instances with labels out of [0, clusterNum) belong to no cluster.
+     * @param instances input instances
+     * @param clusterNum cluster num
+     * @param clusterLabels cluster labels of the instances
+     */
+    private void updateClusterStatistics(SequenceDataset instances, int clusterNum, int[] clusterLabels) {
+
+        boolean rebuild = false;
+        if (this.mRunLengthEncoding == null || this.mRunLengthEncoding.getInstances() != instances) {
+            this.mRunLengthEncoding = RunLengthEncoding.encode(instances);
+            rebuild = true;
+        }
+
+        if (rebuild || this.mClusterStatistics == null || this.mClusterStatistics.length != clusterNum) {
+            this.mClusterStatistics = new ClusterStatistics[clusterNum];
+            for (int k = 0; k < clusterNum; k++) {
+                this.mClusterStatistics[k] = new ClusterStatistics(this.mRunConfig.getSTATENUM());
+            }
+            this.mStatisticsLabels = new int[clusterLabels.length];
+            Arrays.fill(this.mStatisticsLabels, -1); // no instance is counted yet
+        }
+
+        int N = instances.size();
+        for (int i = 0; i < N; i++) {
+            int oldLabel = this.mStatisticsLabels[i];
+            int newLabel = clusterLabels[i];
+            if (oldLabel == newLabel) continue;
+
+            if (oldLabel >= 0 && oldLabel < clusterNum) this.mClusterStatistics[oldLabel].remove(this.mRunLengthEncoding, i);
+            if (newLabel >= 0 && newLabel < clusterNum) this.mClusterStatistics[newLabel].add(this.mRunLengthEncoding, i);
+            this.mStatisticsLabels[i] = newLabel;
+        }
+    }
+
+    /**
+     * Train one model on its cluster, from the cluster statistics if they are kept
+     * @param clusterNo cluster No.
+     * @param modelInstances instances of the cluster, null if the cluster is empty
+     * @param statistics true if the cluster statistics are kept
+     */
+    private void trainModel(int clusterNo, SequenceDataset modelInstances, boolean statistics) {
+        IModel model = this.mModels.get(clusterNo);
+        if (statistics) {
+            ((IStatisticsModel) model).trainModel(modelInstances, this.mClusterStatistics[clusterNo]);
+        } else {
+            model.trainModel(modelInstances);
+        }
+    }
+
+    /**
+     * true if models are trained and scored on the shared executor
+     * @return true in parallel execution mode
+     */
+    private boolean isParallel() {
+        // tasks running on the shared executor already keep it busy, they must not wait for it
+        return EXECUTIONMODE.valueOf(this.mRunConfig.getEXECUTIONMODE()) == EXECUTIONMODE.PARALLEL
+                && !SharedExecutor.getInstance().isWorkerThread();
+    }
+
+    /**
+     * Train each model on its own cluster concurrently, models are independent of each other
+     * @param clusterInstances instances grouped by cluster labels
+     * @param clusterNum cluster num
+     * @param statistics true if the cluster statistics are kept
+     */
+    private void trainModelsInParallel(final Map<Integer, SequenceDataset> clusterInstances, int clusterNum, final boolean statistics) {
+
+        ExecutorService executor = SharedExecutor.getInstance().getExecutorService(this.mRunConfig.getTHREADNUM());
+        List<Future<?>> futures = new ArrayList<Future<?>>();
+        for (int i = 0; i < clusterNum; i++) {
+            final int clusterNo = i;
+            final SequenceDataset modelInstances = clusterInstances.get(i);
+            futures.add(executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    trainModel(clusterNo, modelInstances, statistics);
+                }
+            }));
+        }
+
+        waitFor(futures);
+    }
+
+    /**
+     * Score instance chunks by all models on the shared executor.
+     * Every instance is scored independently, so the result is the same as the serial path.
+     * @param instances instances dataset
+     * @param rle run-length encoding of the instances, null if the models score the instances
+     * @param instancesProbsOfModels posterior probabilities of instances given models, filled in place
+     * @return true if all chunks are scored
+     */
+    private boolean scoreInstancesInParallel(final SequenceDataset instances, final RunLengthEncoding rle, final double[][] instancesProbsOfModels) {
+
+        int InstancesNum = instances.size();
+        ExecutorService executor = SharedExecutor.getInstance().getExecutorService(this.mRunConfig.getTHREADNUM());
+        int threadNum = SharedExecutor.getInstance().getThreadNum();
+        int chunkSize = Math.max(MINCHUNKSIZE, (InstancesNum + 4 * threadNum - 1) / (4 * threadNum));
+
+        List<Future<?>> futures = new ArrayList<Future<?>>();
+        for (int m = 0; m < this.mModels.size(); m++) {
+            final IModel model = this.mModels.get(m);
+            final double[] probs = instancesProbsOfModels[m];
+            for (int start = 0; start < InstancesNum; start += chunkSize) {
+                final int from = start;
+                final int to = Math.min(start + chunkSize, InstancesNum);
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        double[] chunkProbs = rle == null ? model.getInstancesProbs(instances.subset(from, to))
+                                : ((IStatisticsModel) model).getInstancesProbs(rle, from, to);
+                        System.arraycopy(chunkProbs, 0, probs, from, to - from);
+                        return null;
+                    }
+                }));
+            }
+        }
+
+        return waitFor(futures);
+    }
+
+    /**
+     * Transition counts of the encoded instances, built once per encoding
+     * @param rle run-length encoding of the instances
+     * @return transition counts, null if a state is out of range
+     */
+    private TransitionCountMatrix getTransitionCounts(RunLengthEncoding rle) {
+        if (!(this.mModels.get(0) instanceof ITransitionModel)) return null;
+
+        if (this.mTransitionCounts == null || this.mTransitionCounts.getRunLengthEncoding() != rle) {
+            this.mTransitionCounts = TransitionCountMatrix.build(rle, this.mRunConfig.getSTATENUM());
+        }
+        return this.mTransitionCounts;
+    }
+
+    /**
+     * Flattened log state transition matrices of all models
+     * @param stateNum the number of states
+     * @return log state transition matrix of each model, null if a model is not trained or of another size
+     */
+    private double[][] getLogTransitions(int stateNum) {
+        double[][] logTransitions = new double[this.mModels.size()][];
+        for (int i = 0; i < logTransitions.length; i++) {
+            logTransitions[i] = ((ITransitionModel) this.mModels.get(i)).getLogTransitionVector();
+            if (logTransitions[i] == null || logTransitions[i].length != stateNum * stateNum) return null;
+        }
+        return logTransitions;
+    }
+
+    /**
+     * Multiply chunks of the transition counts by the log state transition matrices on the shared executor.
+     * Every instance is scored independently, so the result is the same as the serial product.
+     * @param transitionCounts transition counts of the instances
+     * @param logTransitions log state transition matrix of each model
+     * @param instancesProbsOfModels posterior probabilities of instances given models, filled in place
+     * @return true if all chunks are scored
+     */
+    private boolean multiplyInParallel(final TransitionCountMatrix transitionCounts, final double[][] logTransitions, final double[][] instancesProbsOfModels) {
+
+        int InstancesNum = transitionCounts.size();
+        ExecutorService executor = SharedExecutor.getInstance().getExecutorService(this.mRunConfig.getTHREADNUM());
+        int threadNum = SharedExecutor.getInstance().getThreadNum();
+        int chunkSize = Math.max(MINCHUNKSIZE, (InstancesNum + 4 * threadNum - 1) / (4 * threadNum));
+
+        List<Future<?>> futures = new ArrayList<Future<?>>();
+        for (int start = 0; start < InstancesNum; start += chunkSize) {
+            final int from = start;
+            final int to = Math.min(start + chunkSize, InstancesNum);
+            futures.add(executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    transitionCounts.multiply(logTransitions, instancesProbsOfModels, from, to);
+                }
+            }));
+        }
+
+        return waitFor(futures);
+    }
+
+    /**
+     * Wait for all tasks to finish
+     * @param futures submitted tasks
+     * @return true if all tasks finished normally
+     */
+    private boolean waitFor(List<Future<?>> futures) {
+        boolean finished = true;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                e.printStackTrace();
+                finished = false;
+            } catch (ExecutionException e) {
+                e.printStackTrace();
+                finished = false;
+            }
+        }
+
+        if (!finished) {
+            LOGGER.info("Some parallel tasks of dynamic models failed!");
+        }
+        return finished;
+    }
+
     /**
      * Visualize outputs of all dynamic models
      */
@@ -237,11 +565,7 @@ abstract public class AbstractDynamicModels implements IModels{
 
             @Override
             public void done() {
-                // save probabilities of each instance by the best model
-                IOOperation.writeProbsToFile(AbstractDynamicModels.this.mProbsOfInstances, Config.getFINALPROBSFORALLINSTANCESFILEPATH());
-
-                // save total probabilities of all instances in each iteration
-                IOOperation.writeFile(Utilities.convertToOneDimensionalDoubleArray(AbstractDynamicModels.this.mProbsTrendline), Config.getTOTALPROBABILITIESTRENDLINEFILEPATH());
+                AbstractDynamicModels.this.saveOutputs();
             }
         };
 
@@ -249,6 +573,18 @@ abstract public class AbstractDynamicModels implements IModels{
 
     }
 
+    /**
+     * Save intermediate results of all dynamic models
+     */
+    @Override
+    public void saveOutputs() {
+        // save probabilities of each instance by the best model
+        IOOperation.writeProbsToFile(this.mProbsOfInstances, this.mRunConfig.getFINALPROBSFORALLINSTANCESFILEPATH());
+
+        // save total probabilities of all instances in each iteration
+        IOOperation.writeFile(Utilities.convertToOneDimensionalDoubleArray(this.mProbsTrendline), this.mRunConfig.getTOTALPROBABILITIESTRENDLINEFILEPATH());
+    }
+
     /**
      * Make a histogram plot on cluster labels distribution
      */
@@ -257,10 +593,10 @@ abstract public class AbstractDynamicModels implements IModels{
         String modelName = this.mModels == null? "" : this.mModels.get(0).getModelName();
         chart = new HistogramChartAdapter("Cluster Distribution [" + modelName + "]", "Clusters", "Frequency", this.mClusterLabelDistributions);
         HistogramSeriesCollection collec = chart.getSeriesCollection();
-        collec.setBins(0, 2 * Config.getCLUSTERNUM());
+        collec.setBins(0, 2 * this.mRunConfig.getCLUSTERNUM());
         collec.setColor(0, new Color(179, 232, 172));
 
-        double[] bounds = { 0, 2 * Config.getCLUSTERNUM(), 0, this.mMaxSizeInOneClusters};
+        double[] bounds = { 0, 2 * this.mRunConfig.getCLUSTERNUM(), 0, this.mMaxSizeInOneClusters};
         chart.setManualRange(bounds);
 
         Dimension screenDimension = Toolkit.getDefaultToolkit().getScreenSize();
@@ -269,6 +605,14 @@ abstract public class AbstractDynamicModels implements IModels{
         jFrame.setVisible(true);
     }
 
+    /**
+     * Getter
+     * @return training iterations of each model in each CDMC iteration, empty if the models are not warm started
+     */
+    public List<int[]> getIterationNumTrendline() {
+        return this.mIterationNumTrendline;
+    }
+
     /**
      * Model name
      * @return model name
@@ -0,0 +1,149 @@
+package model;
+
+import java.util.logging.Logger;
+
+/**
+ * Project: DCDMC
+ * Package: model
+ * Date: 17/Oct/2026
+ * Time: 19:20
+ * System Time: 7:20 PM
+ */
+
+/*
+    Sufficient statistics of the instances of one cluster for Markov and semi-Markov chain models:
+    transition counts between different states, self transition counts, and a run-length histogram per state.
+    Instances are added and removed through their run-length encoding, so moving an instance between clusters
+    costs time proportional to its number of runs instead of the size of the clusters.
+ */
+public class ClusterStatistics {
+
+    private static final Logger LOGGER = Logger.getLogger(ClusterStatistics.class.getName());
+
+    private final int mStateNum;
+    private final int[][] mNoSelfTransitions; // transitions between different states
+    private final int[] mSelfTransitions; // self transitions of each state
+    private final int[][] mDurations; // mDurations[s][d]: the number of runs of state s + 1 with length d
+    private final int[] mRunNums; // the number of runs of each state
+    private int mInstanceNum;
+
+    /**
+     * class constructor
+     * @param stateNum state number
+     */
+    public ClusterStatistics(int stateNum) {
+        this.mStateNum = stateNum;
+        this.mNoSelfTransitions = new int[stateNum][stateNum];
+        this.mSelfTransitions = new int[stateNum];
+        this.mDurations = new int[stateNum][1];
+        this.mRunNums = new int[stateNum];
+        this.mInstanceNum = 0;
+    }
+
+    /**
+     * Add the statistics of an instance
+     * @param rle run-length encoding of the dataset
+     * @param i instance No.
+     */
+    public void add(RunLengthEncoding rle, int i) {
+        update(rle, i, 1);
+    }
+
+    /**
+     * Remove the statistics of an instance, which was added before
+     * @param rle run-length encoding of the dataset
+     * @param i instance No.
+     */
+    public void remove(RunLengthEncoding rle, int i) {
+        update(rle, i, -1);
+    }
+
+    /**
+     * Add or remove the statistics of an instance
+     * @param rle run-length encoding of the dataset
+     * @param i instance No.
+     * @param sign 1 to add and -1 to remove
+     */
+    private void update(RunLengthEncoding rle, int i, int sign) {
+        int runNum = rle.getRunNum(i);
+        for (int r = 0; r < runNum; r++) {
+            int state = rle.getState(i, r) - 1;
+            int length = rle.getLength(i, r);
+
+            if (r > 0) this.mNoSelfTransitions[rle.getState(i, r - 1) - 1][state] += sign;
+            this.mSelfTransitions[state] += sign * (length - 1);
+
+            if (length >= this.mDurations[state].length) {
+                int[] durations = new int[Math.max(length + 1, 2 * this.mDurations[state].length)];
+                System.arraycopy(this.mDurations[state], 0, durations, 0, this.mDurations[state].length);
+                this.mDurations[state] = durations;
+            }
+            this.mDurations[state][length] += sign;
+            this.mRunNums[state] += sign;
+        }
+        this.mInstanceNum += sign;
+
+        if (this.mInstanceNum < 0) {
+            LOGGER.info("An instance is removed from a cluster without being added!");
+        }
+    }
+
+    /**
+     * Getter
+     * @return state number
+     */
+    public int getStateNum() {
+        return this.mStateNum;
+    }
+
+    /**
+     * Getter
+     * @return the number of instances in the cluster
+     */
+    public int getInstanceNum() {
+        return this.mInstanceNum;
+    }
+
+    /**
+     * Count state transition of the cluster in a matrix, the same as Models.countStateTransitionForSequences
+     * @return a new matrix of state transition
+     */
+    public int[][] getStateTransitions() {
+        int[][] stateTransition = getNoSelfStateTransitions();
+        for (int s = 0; s < this.mStateNum; s++) {
+            stateTransition[s][s] = this.mSelfTransitions[s];
+        }
+        return stateTransition;
+    }
+
+    /**
+     * Count state transition (no self transition) of the cluster in a matrix,
+     * the same as Models.countNoSelfStateTransitionForSequences
+     * @return a new matrix of state transition (no self transition)
+     */
+    public int[][] getNoSelfStateTransitions() {
+        int[][] stateTransition = new int[this.mStateNum][this.mStateNum];
+        for (int s = 0; s < this.mStateNum; s++) {
+            System.arraycopy(this.mNoSelfTransitions[s], 0, stateTransition[s], 0, this.mStateNum);
+        }
+        return stateTransition;
+    }
+
+    /**
+     * The number of runs of a state
+     * @param state a given state, starting with index 1
+     * @return the number of runs
+     */
+    public int getRunNum(int state) {
+        return this.mRunNums[state - 1];
+    }
+
+    /**
+     * Histogram of state durations of a state
+     * @param state a given state, starting with index 1
+     * @return histogram[d] is the number of runs with duration d, only read it
+     */
+    public int[] getDurationHistogram(int state) {
+        return this.mDurations[state - 1];
+    }
+}
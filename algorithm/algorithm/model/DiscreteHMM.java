@@ -0,0 +1,566 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.logging.Logger;
+
+/**
+ * Project: DCDMC
+ * Package: model
+ * Date: 18/Oct/2026
+ * Time: 13:20
+ * System Time: 1:20 PM
+ */
+
+/*
+    Discrete hidden Markov model on int-coded sequences, symbols 0 .. outputNum - 1.
+
+    The forward and backward passes are scaled: the forward variables of every time step are normalized to sum to
+    1, and the log-likelihood of a sequence is the sum of the logs of the scales, so it neither underflows nor goes
+    through exp. Training is Baum-Welch as in HMMAdapter: the expected counts of the initial states, transitions and
+    emissions are accumulated over all sequences, then normalized, until the relative change of the average
+    log-likelihood falls under the iteration cutoff. The initial parameters are drawn the same way as
+    HMMAdapter.initEstimatorsUnivariateDiscrete with uniform state initializers.
+
+    The lattice of a sequence lives in a Lattice, and scoring only needs a work array of 2 * stateNum, so both can
+    be allocated once per thread and reused. The parameters are only read by forward and backward, so one model can
+    score from many threads as long as it is not trained at the same time.
+
+    The E-step splits the sequences into blocks whose size only depends on the number of sequences. Each block adds
+    its expected counts into its own Counts, with the Lattice of the worker thread, and the blocks are summed in
+    order before the M-step. The sums are therefore the same for any number of threads, and a parallel training
+    gives exactly the parameters of a serial one.
+ */
+public class DiscreteHMM {
+
+    private static final Logger LOGGER = Logger.getLogger(DiscreteHMM.class.getName());
+
+    public final static int DEFAULTMAXITERATIONS = 100; // default maximum of EM steps
+    public final static double DEFAULTITERATIONCUTOFF = 0.01; // default relative change of likelihood to stop
+    public final static long DEFAULTSEED = 1; // default seed of the initial parameters
+    private final static double MINSCALE = 1.0E-200; // smaller scales make the sequence impossible
+    private final static int MINBLOCKSIZE = 16; // the minimum of sequences in a block of the E-step
+    private final static int MAXBLOCKNUM = 256; // the maximum of blocks of the E-step
+
+    private final int mStateNum;
+    private final int mOutputNum;
+    private final double[] mInitial; // initial state probabilities
+    private final double[][] mTransition; // state transition probabilities, [previous state][state]
+    private final double[][] mEmission; // emission probabilities, [state][output]
+    private int mIterationNum; // EM steps of the last training
+
+    /**
+     * class constructor, the parameters are drawn with the default seed
+     * @param stateNum the number of hidden states
+     * @param outputNum the number of output symbols
+     */
+    public DiscreteHMM(int stateNum, int outputNum) {
+        this.mStateNum = Math.max(1, stateNum);
+        this.mOutputNum = Math.max(1, outputNum);
+        this.mInitial = new double[this.mStateNum];
+        this.mTransition = new double[this.mStateNum][this.mStateNum];
+        this.mEmission = new double[this.mStateNum][this.mOutputNum];
+        this.mIterationNum = 0;
+        initialize(DEFAULTSEED);
+    }
+
+    /**
+     * class constructor, a copy of the parameters of another model
+     * @param other a model
+     */
+    public DiscreteHMM(DiscreteHMM other) {
+        this.mStateNum = other.mStateNum;
+        this.mOutputNum = other.mOutputNum;
+        this.mInitial = Arrays.copyOf(other.mInitial, other.mStateNum);
+        this.mTransition = copy(other.mTransition);
+        this.mEmission = copy(other.mEmission);
+        this.mIterationNum = 0;
+    }
+
+    /**
+     * Draw the initial parameters: uniform initial states, transitions ten times likelier to stay, and random
+     * emissions, mixed as the counts of HMMAdapter.initEstimatorsUnivariateDiscrete
+     * @param seed seed of the random emissions
+     */
+    public void initialize(long seed) {
+        Random rand = new Random(seed);
+        double[][] outputs = new double[this.mStateNum][this.mOutputNum];
+        for (int s = 0; s < this.mStateNum; s++) {
+            for (int o = 0; o < this.mOutputNum; o++) outputs[s][o] = rand.nextInt(100);
+        }
+
+        for (int s = 0; s < this.mStateNum; s++) {
+            double outputSum = 0;
+            for (int o = 0; o < this.mOutputNum; o++) outputSum += outputs[s][o];
+
+            this.mInitial[s] = outputSum;
+            double stateWeight = 1; // the initial state count of s
+            for (int ps = 0; ps < this.mStateNum; ps++) {
+                double stay = ps == s ? 10 : 1;
+                this.mTransition[ps][s] = stay * outputSum;
+                stateWeight += stay;
+            }
+            for (int o = 0; o < this.mOutputNum; o++) this.mEmission[s][o] = stateWeight * outputs[s][o];
+        }
+
+        normalize(this.mInitial, null);
+        for (int s = 0; s < this.mStateNum; s++) {
+            normalize(this.mTransition[s], null);
+            normalize(this.mEmission[s], null);
+        }
+    }
+
+    /**
+     * Log-likelihood of a sequence by the scaled forward pass
+     * @param sequence output symbols
+     * @param length the number of symbols of the sequence to use
+     * @param work work array of at least 2 * stateNum
+     * @return the log-likelihood, negative infinity if the sequence is impossible or has an unknown symbol
+     */
+    public double logLikelihood(int[] sequence, int length, double[] work) {
+        if (length == 0) return 0.0;
+
+        int S = this.mStateNum;
+        int previous = 0;
+        int current = S;
+        double logLik = 0.0;
+
+        for (int t = 0; t < length; t++) {
+            int o = sequence[t];
+            if (o < 0 || o >= this.mOutputNum) return Double.NEGATIVE_INFINITY;
+
+            double scale = stepForward(t, o, work, previous, work, current);
+            if (scale <= MINSCALE) return Double.NEGATIVE_INFINITY;
+            for (int s = 0; s < S; s++) work[current + s] /= scale;
+            logLik += Math.log(scale);
+
+            int swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return logLik;
+    }
+
+    /**
+     * Unscaled forward variables of one time step
+     * @param t time step
+     * @param o output symbol at t
+     * @param from scaled forward variables of t - 1
+     * @param fromOffset offset of the variables of t - 1
+     * @param to forward variables of t, filled
+     * @param toOffset offset of the variables of t
+     * @return the scale, the sum of the variables of t
+     */
+    private double stepForward(int t, int o, double[] from, int fromOffset, double[] to, int toOffset) {
+        int S = this.mStateNum;
+        if (t == 0) {
+            for (int s = 0; s < S; s++) to[toOffset + s] = this.mInitial[s];
+        } else {
+            Arrays.fill(to, toOffset, toOffset + S, 0.0);
+            for (int ps = 0; ps < S; ps++) {
+                double a = from[fromOffset + ps];
+                if (a == 0) continue;
+                double[] row = this.mTransition[ps];
+                for (int s = 0; s < S; s++) to[toOffset + s] += a * row[s];
+            }
+        }
+
+        double scale = 0.0;
+        for (int s = 0; s < S; s++) {
+            to[toOffset + s] *= this.mEmission[s][o];
+            scale += to[toOffset + s];
+        }
+        return scale;
+    }
+
+    /**
+     * Scaled forward and backward passes of a sequence and its expected counts
+     * @param sequence output symbols, all known
+     * @param length the number of symbols of the sequence to use
+     * @param lattice work arrays, grown if needed
+     * @param counts expected counts, the counts of the sequence are added
+     * @return the log-likelihood, negative infinity if the sequence is impossible and nothing was added
+     */
+    double accumulate(int[] sequence, int length, Lattice lattice, Counts counts) {
+        if (length == 0) return 0.0;
+
+        int S = this.mStateNum;
+        lattice.ensure(length, S);
+        double[] alpha = lattice.alpha;
+        double[] beta = lattice.beta;
+        double[] scales = lattice.scales;
+
+        // forward
+        double logLik = 0.0;
+        for (int t = 0; t < length; t++) {
+            double scale = stepForward(t, sequence[t], alpha, (t - 1) * S, alpha, t * S);
+            if (scale <= MINSCALE) return Double.NEGATIVE_INFINITY;
+            for (int s = 0; s < S; s++) alpha[t * S + s] /= scale;
+            scales[t] = scale;
+            logLik += Math.log(scale);
+        }
+
+        // backward
+        Arrays.fill(beta, (length - 1) * S, length * S, 1.0);
+        for (int t = length - 2; t >= 0; t--) {
+            int o = sequence[t + 1];
+            for (int s = 0; s < S; s++) {
+                double[] row = this.mTransition[s];
+                double b = 0.0;
+                for (int ns = 0; ns < S; ns++) b += row[ns] * this.mEmission[ns][o] * beta[(t + 1) * S + ns];
+                beta[t * S + s] = b / scales[t + 1];
+            }
+        }
+
+        // expected initial states and emissions, gamma of each time step sums to 1
+        for (int t = 0; t < length; t++) {
+            double[] gamma = lattice.gamma;
+            double sum = 0.0;
+            for (int s = 0; s < S; s++) {
+                gamma[s] = alpha[t * S + s] * beta[t * S + s];
+                sum += gamma[s];
+            }
+            if (sum <= MINSCALE) continue;
+            for (int s = 0; s < S; s++) {
+                double g = gamma[s] / sum;
+                counts.emission[s][sequence[t]] += g;
+                if (t == 0) counts.initial[s] += g;
+            }
+        }
+
+        // expected transitions
+        for (int t = 1; t < length; t++) {
+            int o = sequence[t];
+            for (int ps = 0; ps < S; ps++) {
+                double a = alpha[(t - 1) * S + ps] / scales[t];
+                if (a == 0) continue;
+                double[] row = this.mTransition[ps];
+                double[] count = counts.transition[ps];
+                for (int s = 0; s < S; s++) count[s] += a * row[s] * this.mEmission[s][o] * beta[t * S + s];
+            }
+        }
+
+        counts.logLikelihood += logLik;
+        counts.sequenceNum++;
+        return logLik;
+    }
+
+    /**
+     * Replace the parameters by the normalized expected counts, rows without counts are kept
+     * @param counts expected counts of all sequences
+     */
+    void maximize(Counts counts) {
+        normalize(counts.initial, this.mInitial);
+        for (int s = 0; s < this.mStateNum; s++) {
+            normalize(counts.transition[s], this.mTransition[s]);
+            normalize(counts.emission[s], this.mEmission[s]);
+        }
+    }
+
+    /**
+     * Train the model by Baum-Welch from its current parameters on the calling thread
+     * @param sequences output symbols of each sequence
+     * @param maxIterations the maximum of EM steps
+     * @param iterationCutoff relative change of the average log-likelihood to stop
+     * @return the average log-likelihood of the sequences before the last step, NaN if no sequence is possible
+     */
+    public double train(int[][] sequences, int maxIterations, double iterationCutoff) {
+        return train(sequences, maxIterations, iterationCutoff, 1);
+    }
+
+    /**
+     * Train the model by Baum-Welch from its current parameters, the E-step runs on a fork-join pool
+     * @param sequences output symbols of each sequence
+     * @param maxIterations the maximum of EM steps
+     * @param iterationCutoff relative change of the average log-likelihood to stop
+     * @param threadNum the number of threads of the E-step, 1 to stay on the calling thread
+     * @return the average log-likelihood of the sequences before the last step, NaN if no sequence is possible
+     */
+    public double train(int[][] sequences, int maxIterations, double iterationCutoff, int threadNum) {
+
+        this.mIterationNum = 0;
+        if (sequences == null || sequences.length == 0) {
+            LOGGER.info("The sequences are null or empty!");
+            return Double.NaN;
+        }
+
+        for (int[] sequence : sequences) {
+            for (int o : sequence) {
+                if (o < 0 || o >= this.mOutputNum) {
+                    LOGGER.info("The output symbol " + o + " is not between 0 and " + (this.mOutputNum - 1) + "!");
+                    return Double.NaN;
+                }
+            }
+        }
+
+        // the blocks do not depend on the number of threads, so neither does the order of the sums
+        int blockSize = Math.max(MINBLOCKSIZE, (sequences.length + MAXBLOCKNUM - 1) / MAXBLOCKNUM);
+        Counts[] blockCounts = new Counts[(sequences.length + blockSize - 1) / blockSize];
+        for (int b = 0; b < blockCounts.length; b++) blockCounts[b] = new Counts(this.mStateNum, this.mOutputNum);
+        Counts counts = new Counts(this.mStateNum, this.mOutputNum);
+
+        ThreadLocal<Lattice> lattices = new ThreadLocal<Lattice>() {
+            @Override
+            protected Lattice initialValue() {
+                return new Lattice();
+            }
+        };
+
+        threadNum = Math.max(1, Math.min(threadNum, blockCounts.length));
+        ForkJoinPool pool = threadNum > 1 ? new ForkJoinPool(threadNum) : null;
+        double lik = Double.NaN;
+        try {
+            double prevlik = -10000000.0;
+            for (int step = 0; step < maxIterations; step++) {
+                ExpectationTask task = new ExpectationTask(sequences, blockSize, blockCounts, lattices, 0, blockCounts.length);
+                if (pool == null) {
+                    task.expect();
+                } else {
+                    pool.invoke(task);
+                }
+
+                counts.clear();
+                for (Counts block : blockCounts) counts.add(block);
+                if (counts.sequenceNum == 0) {
+                    LOGGER.info("No sequence is possible under the model, EM stops!");
+                    break;
+                }
+
+                maximize(counts);
+                this.mIterationNum++;
+                lik = counts.logLikelihood / sequences.length;
+                if (Math.abs((lik - prevlik) / lik) < iterationCutoff) break;
+                prevlik = lik;
+            }
+        } finally {
+            if (pool != null) pool.shutdown();
+        }
+
+        return lik;
+    }
+
+    /**
+     * Normalize a row into the target, the target is kept if the row sums to 0
+     * @param row non-negative values
+     * @param target the normalized row, null to normalize in place
+     */
+    private static void normalize(double[] row, double[] target) {
+        double sum = 0.0;
+        for (double value : row) sum += value;
+        if (target == null) target = row;
+        if (sum <= 0) return;
+        for (int i = 0; i < row.length; i++) target[i] = row[i] / sum;
+    }
+
+    /**
+     * Getter
+     * @return the number of hidden states
+     */
+    public int getStateNum() {
+        return this.mStateNum;
+    }
+
+    /**
+     * Getter
+     * @return the number of output symbols
+     */
+    public int getOutputNum() {
+        return this.mOutputNum;
+    }
+
+    /**
+     * Getter
+     * @return the number of EM steps of the last training
+     */
+    public int getIterationNum() {
+        return this.mIterationNum;
+    }
+
+    /**
+     * Getter
+     * @return a copy of the initial state probabilities
+     */
+    public double[] getInitial() {
+        return Arrays.copyOf(this.mInitial, this.mStateNum);
+    }
+
+    /**
+     * Getter
+     * @return a copy of the state transition probabilities
+     */
+    public double[][] getTransition() {
+        return copy(this.mTransition);
+    }
+
+    /**
+     * Getter
+     * @return a copy of the emission probabilities
+     */
+    public double[][] getEmission() {
+        return copy(this.mEmission);
+    }
+
+    /**
+     * Copy a matrix
+     * @param matrix a matrix
+     * @return a deep copy
+     */
+    private static double[][] copy(double[][] matrix) {
+        double[][] res = new double[matrix.length][];
+        for (int i = 0; i < matrix.length; i++) res[i] = Arrays.copyOf(matrix[i], matrix[i].length);
+        return res;
+    }
+
+    /**
+     * Forward and backward variables of a sequence, reused across sequences
+     */
+    static final class Lattice {
+        double[] alpha = new double[0]; // scaled forward variables, [t * stateNum + s]
+        double[] beta = new double[0]; // scaled backward variables, [t * stateNum + s]
+        double[] scales = new double[0]; // scale of each time step
+        double[] gamma = new double[0]; // state occupancy of one time step
+
+        /**
+         * Grow the arrays to hold a sequence
+         * @param length the length of the sequence
+         * @param stateNum the number of hidden states
+         */
+        void ensure(int length, int stateNum) {
+            if (this.scales.length < length) {
+                int capacity = Math.max(length, this.scales.length + (this.scales.length >> 1));
+                this.alpha = new double[capacity * stateNum];
+                this.beta = new double[capacity * stateNum];
+                this.scales = new double[capacity];
+            }
+            if (this.gamma.length < stateNum) this.gamma = new double[stateNum];
+        }
+    }
+
+    /**
+     * Expected counts of the initial states, transitions and emissions
+     */
+    static final class Counts {
+        final double[] initial;
+        final double[][] transition;
+        final double[][] emission;
+        double logLikelihood; // log-likelihood of the counted sequences
+        int sequenceNum; // the number of counted sequences
+
+        Counts(int stateNum, int outputNum) {
+            this.initial = new double[stateNum];
+            this.transition = new double[stateNum][stateNum];
+            this.emission = new double[stateNum][outputNum];
+        }
+
+        /**
+         * Reset all counts to 0
+         */
+        void clear() {
+            Arrays.fill(this.initial, 0.0);
+            for (double[] row : this.transition) Arrays.fill(row, 0.0);
+            for (double[] row : this.emission) Arrays.fill(row, 0.0);
+            this.logLikelihood = 0.0;
+            this.sequenceNum = 0;
+        }
+
+        /**
+         * Add the counts of other sequences
+         * @param other expected counts of the same shape
+         */
+        void add(Counts other) {
+            for (int s = 0; s < this.initial.length; s++) this.initial[s] += other.initial[s];
+            for (int s = 0; s < this.transition.length; s++) {
+                for (int ns = 0; ns < this.transition[s].length; ns++) this.transition[s][ns] += other.transition[s][ns];
+            }
+            for (int s = 0; s < this.emission.length; s++) {
+                for (int o = 0; o < this.emission[s].length; o++) this.emission[s][o] += other.emission[s][o];
+            }
+            this.logLikelihood += other.logLikelihood;
+            this.sequenceNum += other.sequenceNum;
+        }
+    }
+
+    /**
+     * Recursively split the blocks of sequences until one block is left, each block fills its own counts
+     */
+    private class ExpectationTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 5375270654777870840L;
+
+        private final int[][] sequences;
+        private final int blockSize;
+        private final Counts[] blockCounts;
+        private final ThreadLocal<Lattice> lattices; // lattice of each worker thread
+        private final int from; // the first block
+        private final int to;
+
+        ExpectationTask(int[][] sequences, int blockSize, Counts[] blockCounts, ThreadLocal<Lattice> lattices,
+                        int from, int to) {
+            this.sequences = sequences;
+            this.blockSize = blockSize;
+            this.blockCounts = blockCounts;
+            this.lattices = lattices;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                expect();
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new ExpectationTask(sequences, blockSize, blockCounts, lattices, from, middle),
+                    new ExpectationTask(sequences, blockSize, blockCounts, lattices, middle, to));
+        }
+
+        /**
+         * Fill the counts of the blocks one after another on the current thread
+         */
+        void expect() {
+            Lattice lattice = lattices.get();
+            for (int b = from; b < to; b++) {
+                Counts counts = blockCounts[b];
+                counts.clear();
+                int end = Math.min(sequences.length, (b + 1) * blockSize);
+                for (int i = b * blockSize; i < end; i++) {
+                    accumulate(sequences[i], sequences[i].length, lattice, counts);
+                }
+            }
+        }
+    }
+
+    /**
+     * test
+     * @param args user input
+     */
+    public static void main(String[] args) {
+        Random rand = new Random(7);
+        int[][] sequences = new int[100][];
+        for (int i = 0; i < sequences.length; i++) {
+            sequences[i] = new int[50 + rand.nextInt(50)];
+            int state = rand.nextInt(2);
+            for (int t = 0; t < sequences[i].length; t++) {
+                if (rand.nextDouble() < 0.1) state = 1 - state;
+                sequences[i][t] = state == 0 ? rand.nextInt(2) : 2 + rand.nextInt(2);
+            }
+        }
+
+        DiscreteHMM test = new DiscreteHMM(2, 4);
+        System.out.println("Average log-likelihood " + test.train(sequences, DEFAULTMAXITERATIONS, 1e-6)
+                + " after " + test.getIterationNum() + " EM steps.");
+        System.out.println(Arrays.deepToString(test.getTransition()));
+        System.out.println(Arrays.deepToString(test.getEmission()));
+        System.out.println(test.logLikelihood(sequences[0], sequences[0].length, new double[4]));
+
+        DiscreteHMM parallel = new DiscreteHMM(2, 4);
+        parallel.train(sequences, DEFAULTMAXITERATIONS, 1e-6, 4);
+        System.out.println("Same as serial: " + (Arrays.deepEquals(test.getTransition(), parallel.getTransition())
+                && Arrays.deepEquals(test.getEmission(), parallel.getEmission())));
+    }
+}
@@ -0,0 +1,300 @@
+package model;
+
+import cluster.ICluster;
+import dao.SequenceDataset;
+import starter.EXECUTIONMODE;
+import starter.RunConfig;
+import starter.SharedExecutor;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Project: DCDMC
+ * Package: model
+ * Date: 18/Oct/2026
+ * Time: 14:05
+ * System Time: 2:05 PM
+ */
+
+/**
+ * Hidden Markov model on the native DiscreteHMM engine. The states 1 .. STATENUM of the sequences are the output
+ * symbols, and there are as many hidden states. The sequences are read straight from the dataset as int codes,
+ * and the probability of an instance is its true log-likelihood from the scaled forward pass. A model warm started
+ * from the model of its cluster in the previous iteration runs Baum-Welch from those parameters instead of the random
+ * ones, which are nearly converged when only a few labels changed
+ */
+public class DiscreteHiddenMarkovModel implements IWarmStartModel, ICluster {
+
+    private static final Logger LOGGER = Logger.getLogger(DiscreteHiddenMarkovModel.class.getName());
+
+    private DiscreteHMM mHmm; // trained model, null before training or if there was nothing to train on
+    private DiscreteHMM mStart; // parameters to start the training from, null to draw them
+    private double[] mInitialTranMatrix; // initial state transition matrix
+    private double[][] mTranMatrix; // state transition matrix
+    private double[][] mEmitMatrix; // emission transition matrix
+    private static int Seq = 0;
+    private int curSeq;
+    private final RunConfig mRunConfig; // configuration of the run
+
+    // per-thread work arrays, since chunks of instances may be scored concurrently
+    private final ThreadLocal<int[]> mSymbols = new ThreadLocal<int[]>();
+    private final ThreadLocal<double[]> mWork = new ThreadLocal<double[]>();
+
+    /**
+     * class constructor
+     * @param runConfig configuration of the run
+     */
+    public DiscreteHiddenMarkovModel(RunConfig runConfig) {
+        this.mRunConfig = runConfig;
+        this.mHmm = null;
+        this.mStart = null;
+        this.curSeq = Seq++;
+        clearParameters();
+    }
+
+    /**
+     * Build models over instances
+     * @param instances input instances
+     */
+    @Override
+    public void trainModel(List<List<Double>> instances) {
+        trainModel(instances == null ? null : SequenceDataset.fromLists(instances));
+    }
+
+    /**
+     * Build models over instances
+     * @param instances input instances
+     */
+    @Override
+    public void trainModel(SequenceDataset instances) {
+
+        if (instances == null) {
+            LOGGER.info("The instances are null!");
+            this.mHmm = null;
+            clearParameters();
+            return;
+        }
+
+        if (instances.size() == 0) {
+            LOGGER.info("The instances are empty!");
+            this.mHmm = null;
+            clearParameters();
+            return;
+        }
+
+        int stateNum = this.mRunConfig.getSTATENUM();
+        int[][] sequences = new int[instances.size()][];
+        for (int i = 0; i < sequences.length; i++) {
+            sequences[i] = instances.toIntArray(i);
+            if (!toSymbols(sequences[i], sequences[i].length, stateNum)) {
+                LOGGER.info("The states of instance " + i + " are not between 1 and " + stateNum + "!");
+                this.mHmm = null;
+                clearParameters();
+                return;
+            }
+        }
+
+        // the E-step splits the sequences over the threads in parallel execution mode, with the same result. Models
+        // trained on the shared executor already keep its threads busy, so they stay on their own thread
+        int threadNum = EXECUTIONMODE.valueOf(this.mRunConfig.getEXECUTIONMODE()) == EXECUTIONMODE.PARALLEL
+                && !SharedExecutor.getInstance().isWorkerThread() ? this.mRunConfig.getTHREADNUM() : 1;
+        DiscreteHMM hmm = this.mStart != null && this.mStart.getStateNum() == stateNum
+                && this.mStart.getOutputNum() == stateNum ? new DiscreteHMM(this.mStart) : new DiscreteHMM(stateNum, stateNum);
+        hmm.train(sequences, DiscreteHMM.DEFAULTMAXITERATIONS, DiscreteHMM.DEFAULTITERATIONCUTOFF, threadNum);
+
+        this.mInitialTranMatrix = hmm.getInitial();
+        this.mTranMatrix = hmm.getTransition();
+        this.mEmitMatrix = hmm.getEmission();
+        this.mHmm = hmm;
+        this.mStart = null; // the previous model is no longer needed
+    }
+
+    /**
+     * Start the next training from the parameters of the previous model of the cluster
+     * @param previous the model of the same cluster in the previous iteration
+     */
+    @Override
+    public void warmStart(IModel previous) {
+        this.mStart = previous instanceof DiscreteHiddenMarkovModel ? ((DiscreteHiddenMarkovModel) previous).mHmm : null;
+    }
+
+    /**
+     * Compute the posterior probability of instances given the model
+     * @param instances instances matrix
+     * @return the log-likelihood of each instance given the model
+     */
+    @Override
+    public double[] getInstancesProbs(List<List<Double>> instances) {
+
+        if (instances == null) {
+            LOGGER.info("The instances are null!");
+            return null;
+        }
+
+        if (instances.size() == 0) {
+            LOGGER.info("The instances are empty!");
+            return null;
+        }
+
+        return getInstancesProbs(SequenceDataset.fromLists(instances));
+    }
+
+    /**
+     * Compute the posterior probability of instances given the model
+     * @param instances instances dataset
+     * @return the log-likelihood of each instance given the model
+     */
+    @Override
+    public double[] getInstancesProbs(SequenceDataset instances) {
+
+        if (instances == null) {
+            LOGGER.info("The instances are null!");
+            return null;
+        }
+
+        if (instances.size() == 0) {
+            LOGGER.info("The instances are empty!");
+            return null;
+        }
+
+        double[] probsOfAllInstances = new double[instances.size()];
+
+        // if the trained HMM is null
+        DiscreteHMM hmm = this.mHmm;
+        if (hmm == null) {
+            for (int i = 0; i < probsOfAllInstances.length; i++) probsOfAllInstances[i] = Double.NEGATIVE_INFINITY;
+            return probsOfAllInstances;
+        }
+
+        int[] symbols = this.mSymbols.get();
+        if (symbols == null || symbols.length < instances.getMaxLength()) {
+            symbols = new int[instances.getMaxLength()];
+            this.mSymbols.set(symbols);
+        }
+        double[] work = this.mWork.get();
+        if (work == null || work.length < 2 * hmm.getStateNum()) {
+            work = new double[2 * hmm.getStateNum()];
+            this.mWork.set(work);
+        }
+
+        for (int i = 0; i < probsOfAllInstances.length; i++) {
+            int length = instances.getStates(i, symbols);
+            probsOfAllInstances[i] = toSymbols(symbols, length, hmm.getOutputNum())
+                    ? hmm.logLikelihood(symbols, length, work) : Double.NEGATIVE_INFINITY;
+        }
+
+        return probsOfAllInstances;
+    }
+
+    /**
+     * Turn the states 1 .. stateNum into the output symbols 0 .. stateNum - 1 in place
+     * @param states states of a sequence
+     * @param length the number of states
+     * @param stateNum the number of states
+     * @return false if a state is out of range
+     */
+    private static boolean toSymbols(int[] states, int length, int stateNum) {
+        for (int t = 0; t < length; t++) {
+            states[t]--;
+            if (states[t] < 0 || states[t] >= stateNum) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Zero parameters of an untrained model
+     */
+    private void clearParameters() {
+        int stateNum = this.mRunConfig.getSTATENUM();
+        this.mInitialTranMatrix = new double[stateNum];
+        this.mTranMatrix = new double[stateNum][stateNum];
+        this.mEmitMatrix = new double[stateNum][stateNum];
+    }
+
+    /**
+     * Visualize output of the dynamic model
+     */
+    @Override
+    public void visualizeOutput() {
+        int stateNum = this.mRunConfig.getSTATENUM();
+        int modelSeq = this.curSeq % this.mRunConfig.getCLUSTERNUM() + 1; // modulo current model sequence value under total clusters scope
+        System.out.println();
+        System.out.println("               -------- Model [ " + modelSeq + " ] -------- ");
+
+        // print out initial state transition matrix
+        System.out.print("                          Initial State Matrix");
+        System.out.println();
+        for (int i = 0; i < stateNum; i++) {
+            System.out.print("            " + String.format("%.4f", this.mInitialTranMatrix[i]) + " ");
+        }
+        System.out.println();
+        System.out.println();
+
+        // print out state transition matrix
+        System.out.print("                      State Transition Matrix");
+        System.out.println();
+        for (int i = 0; i < stateNum; i++) {
+            for (int j = 0; j < stateNum; j++) {
+
+                System.out.print("            " + String.format("%.4f", this.mTranMatrix[i][j]) + " ");
+            }
+            System.out.println();
+        }
+        System.out.println();
+
+        // print out output transition matrix
+        System.out.print("                      Emission Output Matrix");
+        System.out.println();
+        for (int i = 0; i < stateNum; i++) {
+            for (int j = 0; j < stateNum; j++) {
+
+                System.out.print("            " + String.format("%.4f", this.mEmitMatrix[i][j]) + " ");
+            }
+            System.out.println();
+        }
+        System.out.println();
+    }
+
+    /**
+     * getter of initialTranMatrix member variable
+     * @return initialTranMatrix
+     */
+    public double[] getInitialTranMatrix() {
+        return this.mInitialTranMatrix;
+    }
+
+    /**
+     * getter of tranMatrix member variable
+     * @return tranMatrix
+     */
+    public double[][] getTranMatrix() {
+        return this.mTranMatrix;
+    }
+
+    /**
+     * getter of emitMatrix member variable
+     * @return emitMatrix
+     */
+    public double[][] getEmitMatrix() {
+        return this.mEmitMatrix;
+    }
+
+    /**
+     * Getter
+     * @return the number of EM steps of the last training, 0 if it is not trained
+     */
+    @Override
+    public int getIterationNum() {
+        return this.mHmm == null ? 0 : this.mHmm.getIterationNum();
+    }
+
+    /**
+     * Model name
+     * @return model name
+     */
+    @Override
+    public String getModelName() {
+        return "Discrete Hidden Markov Model";
+    }
+}
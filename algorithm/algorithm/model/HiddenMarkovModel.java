@@ -2,15 +2,13 @@ package model;
 
 import Utilities.Utilities;
 import cluster.ICluster;
-import starter.Config;
+import dao.SequenceDataset;
+import starter.RunConfig;
 import weka.core.Attribute;
 import weka.core.DenseInstance;
 import weka.core.Instance;
 import weka.core.Instances;
 
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
@@ -34,21 +32,22 @@ public class HiddenMarkovModel implements IModel, ICluster {
     private double[][] emitMatrix; // emission transition matrix
     private static int Seq = 0;
     private int curSeq;
+    private final RunConfig mRunConfig; // configuration of the run
 
     // weka package variables
     private HMMAdapter mHmm; // hidden markov model
     private Instances mTrainWekaInstances; // weka formated instances
-    private Instances mTestWekaInstances; // weka formated instances
     /**
      * class constructor
+     * @param runConfig configuration of the run
      */
-    public HiddenMarkovModel() {
+    public HiddenMarkovModel(RunConfig runConfig) {
+        this.mRunConfig = runConfig;
         this.mHmm = null;
-        this.mTestWekaInstances = null;
-        this.mTestWekaInstances = null;
+        this.mTrainWekaInstances = null;
         this.curSeq = Seq++;
-        this.stateNum = Config.getSTATENUM();
-        this.emitNum = Config.getSTATENUM();
+        this.stateNum = this.mRunConfig.getSTATENUM();
+        this.emitNum = this.mRunConfig.getSTATENUM();
     }
 
     /**
@@ -56,6 +55,7 @@ public class HiddenMarkovModel implements IModel, ICluster {
      */
     @Deprecated
     public HiddenMarkovModel(int stateNum, int emitNum) {
+        this.mRunConfig = RunConfig.fromConfig();
         this.stateNum = stateNum;
         this.emitNum = emitNum;
         tranMatrix = new double[stateNum][stateNum];
@@ -93,7 +93,7 @@ public class HiddenMarkovModel implements IModel, ICluster {
 
         this.mTrainWekaInstances = convertDataToInstances(instances);
         this.mHmm = new HMMAdapter();
-        this.mHmm.setNumStates(Config.getSTATENUM());
+        this.mHmm.setNumStates(this.mRunConfig.getSTATENUM());
 //        if (this.mHmm.isNumeric()) System.out.println("         It is not discrete HMM.");
 //        else System.out.println("           It is a discrete HMM.");
 //        System.out.println("        The number of states in HMM: " + this.mHmm.getNumStates());
@@ -118,8 +118,28 @@ public class HiddenMarkovModel implements IModel, ICluster {
         return;
     }
 
+    /**
+     * Build models over instances, the weka instances are built from a list view of the dataset
+     * @param instances input instances
+     */
+    @Override
+    public void trainModel(SequenceDataset instances) {
+        trainModel(instances == null ? null : instances.asLists());
+    }
+
     /**
      * Compute the posterior probability of instances given the model
+     * @param instances instances dataset
+     * @return the posterior probability of instances given the model
+     */
+    @Override
+    public double[] getInstancesProbs(SequenceDataset instances) {
+        return getInstancesProbs(instances == null ? null : instances.asLists());
+    }
+
+    /**
+     * Compute the posterior probability of instances given the model. Chunks of instances may be scored
+     * concurrently, so nothing is written into the model or a file
      * @param instances instances matrix
      * @return the posterior probability of instances given the model
      */
@@ -130,30 +150,28 @@ public class HiddenMarkovModel implements IModel, ICluster {
 
         if (instances == null) {
             LOGGER.info("The instances are null!");
-            this.mTestWekaInstances = null;
             return probsOfAllInstances;
         }
 
         if (instances.size() == 0 ) {
             LOGGER.info("The instances are empty!");
-            this.mTestWekaInstances = null;
             return probsOfAllInstances;
         }
 
-        this.mTestWekaInstances = convertDataToInstances(instances);
+        Instances testWekaInstances = convertDataToInstances(instances);
 
-        probsOfAllInstances = new double[this.mTestWekaInstances.size()];
+        probsOfAllInstances = new double[testWekaInstances.size()];
 
         // if the trained HMM is null
         if (this.mHmm == null) {
-            for (int i = 0; i < this.mTestWekaInstances.size(); i++) {
+            for (int i = 0; i < testWekaInstances.size(); i++) {
                 probsOfAllInstances[i] = Double.NEGATIVE_INFINITY;
             }
         } else {
             try {
-                for (int i = 0; i < this.mTestWekaInstances.size(); i++) {
+                for (int i = 0; i < testWekaInstances.size(); i++) {
 
-                    double[] probs = this.mHmm.distributionForInstance(this.mTestWekaInstances.get(i));
+                    double[] probs = this.mHmm.distributionForInstance(testWekaInstances.get(i));
                     probsOfAllInstances[i] = Math.log(probs[0]);
                 }
             } catch (Exception e) {
@@ -199,7 +217,7 @@ public class HiddenMarkovModel implements IModel, ICluster {
 
         // It must be between [0 StateNum] since it looks for output_1, output_2, ..., output_StateNum
         // It must start with index 0 in case for the search process in the next step
-        for(int i = 0; i <= Config.getSTATENUM(); i++) outputs.add("output_"+i);
+        for(int i = 0; i <= this.mRunConfig.getSTATENUM(); i++) outputs.add("output_"+i);
         seqAttrs.add(new Attribute("output", outputs));
 
         Instances seqHeader = new Instances("seq", seqAttrs, 0);
@@ -234,17 +252,6 @@ public class HiddenMarkovModel implements IModel, ICluster {
             inst.setValue(seqA, seqA.addRelation(sequence));
         }
 
-        // save weka-formated instances into file
-        try {
-            BufferedWriter bw = new BufferedWriter(new FileWriter(new File("results" + File.separator + "sleepsequences.arff").getAbsoluteFile()));
-
-            bw.write(seqs.toString());
-            bw.flush();
-            bw.close();
-        }catch (Exception e) {
-            e.printStackTrace();
-        }
-
         return seqs;
     }
 
@@ -253,8 +260,8 @@ public class HiddenMarkovModel implements IModel, ICluster {
      */
     @Override
     public void visualizeOutput() {
-        int stateNum = Config.getSTATENUM();
-        int modelSeq = this.curSeq % Config.getCLUSTERNUM() + 1; // modulo current model sequence value under total clusters scope
+        int stateNum = this.mRunConfig.getSTATENUM();
+        int modelSeq = this.curSeq % this.mRunConfig.getCLUSTERNUM() + 1; // modulo current model sequence value under total clusters scope
         System.out.println();
         System.out.println("               -------- Model [ " + modelSeq + " ] -------- ");
 
@@ -1,6 +1,7 @@
 package model;
 
 import cluster.ICluster;
+import dao.SequenceDataset;
 
 import java.util.List;
 
@@ -30,6 +31,19 @@ public interface IModel {
      */
     public double[] getInstancesProbs(List<List<Double>> instances);
 
+    /**
+     * Build models over instances
+     * @param instances input instances
+     */
+    public void trainModel(SequenceDataset instances);
+
+    /**
+     * Compute the posterior probability of instances given the model
+     * @param instances instances dataset
+     * @return the posterior probability of instances given the model
+     */
+    public double[] getInstancesProbs(SequenceDataset instances);
+
     /**
      * Visualize output of the dynamic model
      */
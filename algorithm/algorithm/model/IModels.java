@@ -8,6 +8,8 @@ package model;
  * System Time: 5:22 PM
  */
 
+import dao.SequenceDataset;
+
 import java.util.List;
 
 /**
@@ -31,12 +33,33 @@ public interface IModels {
      */
     public int[] assignClusterLabels(List<List<Double>> instances);
 
+    /**
+     * Build models over instances
+     * @param instances input instances
+     * @param clusterNum cluster num
+     * @param initialClusterLables initial cluster labels
+     * @param mt dynamic model type
+     */
+    public void trainDynamicModels(SequenceDataset instances, int clusterNum, int[] initialClusterLables, MODELTYPE mt);
+
+    /**
+     * Assign instances into clusters in terms of input, cluster label starts with index 0
+     * @param instances instances dataset
+     * @return cluster labels
+     */
+    public int[] assignClusterLabels(SequenceDataset instances);
+
 
     /**
      * Visualize output of the dynamic model
      */
     public void visualizeOutputs();
 
+    /**
+     * Save intermediate results of the dynamic models into files
+     */
+    public void saveOutputs();
+
     /**
      * Model name
      * @return model name
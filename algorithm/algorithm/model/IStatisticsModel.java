@@ -0,0 +1,34 @@
+package model;
+
+import dao.SequenceDataset;
+
+/**
+ * Project: DCDMC
+ * Package: model
+ * Date: 17/Oct/2026
+ * Time: 19:35
+ * System Time: 7:35 PM
+ */
+
+/**
+ * A dynamic model which can be trained from the sufficient statistics of its cluster
+ */
+public interface IStatisticsModel extends IModel {
+
+    /**
+     * Build models over instances whose sufficient statistics are already counted
+     * @param instances input instances
+     * @param statistics sufficient statistics of the instances
+     */
+    public void trainModel(SequenceDataset instances, ClusterStatistics statistics);
+
+    /**
+     * Compute the posterior probability of a range of encoded instances given the model,
+     * the same as getInstancesProbs over the instances
+     * @param rle run-length encoding of the instances
+     * @param from first instance No., inclusive
+     * @param to last instance No., exclusive
+     * @return the posterior probability of the instances in [from, to) given the model
+     */
+    public double[] getInstancesProbs(RunLengthEncoding rle, int from, int to);
+}
@@ -0,0 +1,23 @@
+package model;
+
+/**
+ * Project: DCDMC
+ * Package: model
+ * Date: 18/Oct/2026
+ * Time: 16:20
+ * System Time: 4:20 PM
+ */
+
+/**
+ * A dynamic model whose log-likelihood of a sequence only depends on its state transition counts, so all instances
+ * can be scored under all models at once by a TransitionCountMatrix
+ */
+public interface ITransitionModel extends IModel {
+
+    /**
+     * Getter
+     * @return log state transition matrix flattened row by row, [(state - 1) * stateNum + (next state - 1)], null if
+     * the model is not trained
+     */
+    public double[] getLogTransitionVector();
+}
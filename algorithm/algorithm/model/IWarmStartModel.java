@@ -0,0 +1,28 @@
+package model;
+
+/**
+ * Project: DCDMC
+ * Package: model
+ * Date: 18/Oct/2026
+ * Time: 15:10
+ * System Time: 3:10 PM
+ */
+
+/**
+ * A dynamic model trained iteratively, which can start from the parameters of the model of the same cluster in the
+ * previous CDMC iteration instead of from scratch
+ */
+public interface IWarmStartModel extends IModel {
+
+    /**
+     * Start the next training from the parameters of a previous model, ignored if it is not trained or of another kind
+     * @param previous the model of the same cluster in the previous iteration
+     */
+    public void warmStart(IModel previous);
+
+    /**
+     * Getter
+     * @return the number of iterations of the last training, 0 if it is not trained
+     */
+    public int getIterationNum();
+}
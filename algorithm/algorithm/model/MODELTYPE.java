@@ -10,5 +10,6 @@ package model;
 public enum MODELTYPE {
     MARKOVCHAINMODEL,     // Markov Chain Model
     SEMIMARKOVCHAINMODEL, // semi-Markov Chain Model
-    HIDDENMARKOVMODEL;    // Hidden Markov Model
+    HIDDENMARKOVMODEL,    // Hidden Markov Model
+    DISCRETEHIDDENMARKOVMODEL; // Hidden Markov Model on the native discrete engine
 }
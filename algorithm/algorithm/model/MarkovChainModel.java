@@ -11,7 +11,8 @@ package model;
 import Utilities.Utilities;
 import Utilities.Models;
 import cluster.ICluster;
-import starter.Config;
+import dao.SequenceDataset;
+import starter.RunConfig;
 
 import java.util.List;
 import java.util.logging.Logger;
@@ -19,16 +20,23 @@ import java.util.logging.Logger;
 /**
  * Markov Chain Model
  */
-public class MarkovChainModel implements IModel, ICluster {
+public class MarkovChainModel implements IStatisticsModel, ITransitionModel, ICluster {
 
     private static final Logger LOGGER = Logger.getLogger(MarkovChainModel.class.getName());
 
     double[][] mStateTransitionProbability;
-    List<List<Integer>> mInstances;
+    private double[][] mLogStateTransitionProbability; // log of state transition probability, for scoring
+    SequenceDataset mInstances;
     private static int Seq = 0;
     private int curSeq;
+    private final RunConfig mRunConfig; // configuration of the run
 
-    public MarkovChainModel() {
+    /**
+     * class constructor
+     * @param runConfig configuration of the run
+     */
+    public MarkovChainModel(RunConfig runConfig) {
+        this.mRunConfig = runConfig;
         this.mStateTransitionProbability = null;
         this.mInstances = null;
         this.curSeq = Seq++;
@@ -40,32 +48,62 @@ public class MarkovChainModel implements IModel, ICluster {
      */
     @Override
     public void trainModel(List<List<Double>> instances) {
+        trainModel(SequenceDataset.fromLists(instances));
+    }
+
+    /**
+     * Build models over instances
+     * @param instances input instances
+     */
+    @Override
+    public void trainModel(SequenceDataset instances) {
 
-        // convert from double list into integer list
-        this.mInstances = Utilities.convertToListOfListOfIntegers(instances);
+        this.mInstances = instances;
 
         // compute state transition
-        int[][] stateTransition = Models.countStateTransitionForSequences(this.mInstances);
+        int[][] stateTransition = Models.countStateTransitionForSequences(this.mInstances, this.mRunConfig.getSTATENUM());
 
         // compute state transition probablity
         this.mStateTransitionProbability = Utilities.normalizeMatrix(stateTransition);
+        this.mLogStateTransitionProbability = logMatrix(this.mStateTransitionProbability);
 
     }
 
+    /**
+     * Build models over instances from the state transitions already counted in the cluster statistics
+     * @param instances input instances
+     * @param statistics sufficient statistics of the instances
+     */
+    @Override
+    public void trainModel(SequenceDataset instances, ClusterStatistics statistics) {
+
+        if (statistics == null) {
+            trainModel(instances);
+            return;
+        }
+
+        this.mInstances = instances;
+
+        // compute state transition probablity
+        this.mStateTransitionProbability = Utilities.normalizeMatrix(statistics.getStateTransitions());
+        this.mLogStateTransitionProbability = logMatrix(this.mStateTransitionProbability);
+    }
+
     /**
      * Build models over instances
      * @param instances input instances
      */
     public void trainModel(double[][] instances) {
 
-        // convert from double array into integer array
-        this.mInstances = Utilities.convertToListOfListOfIntegers(instances);
+        // copy from double array into a dataset
+        this.mInstances = SequenceDataset.fromArray(instances);
 
         // compute state transition
-        int[][] stateTransition = Models.countStateTransitionForSequences(this.mInstances);
+        int[][] stateTransition = Models.countStateTransitionForSequences(this.mInstances, this.mRunConfig.getSTATENUM());
 
         // compute state transition probablity
         this.mStateTransitionProbability = Utilities.normalizeMatrix(stateTransition);
+        this.mLogStateTransitionProbability = logMatrix(this.mStateTransitionProbability);
     }
 
     /**
@@ -88,17 +126,104 @@ public class MarkovChainModel implements IModel, ICluster {
             return instancesProbs;
         }
 
+        return getInstancesProbs(SequenceDataset.fromLists(instances));
+    }
+
+    /**
+     * Compute the posterior probability of instances given the model
+     * @param instances instances dataset
+     * @return the posterior probability of instances given the model
+     */
+    @Override
+    public double[] getInstancesProbs(SequenceDataset instances) {
+
+        double[] instancesProbs = null;
+
+        if (instances == null) {
+            LOGGER.info("The sequences are null!");
+            return instancesProbs;
+        }
+
+        if (instances.size() == 0) {
+            LOGGER.info("The sequences are empty!");
+            return instancesProbs;
+        }
+
         int N = instances.size();
         instancesProbs = new double[N];
 
         // compute state transition probability for each instance
         for (int i = 0; i < N; i++) {
-            instancesProbs[i] = getLogProbabilityStateTransition(instances.get(i));
+            instancesProbs[i] = getLogProbabilityStateTransition(instances.getSequence(i));
+        }
+
+        return instancesProbs;
+    }
+
+    /**
+     * Compute the posterior probability of a range of encoded instances given the model.
+     * A run of length d adds d - 1 self transitions, which are summed one by one in sequence order,
+     * so the result is the same as getInstancesProbs over the instances.
+     * @param rle run-length encoding of the instances
+     * @param from first instance No., inclusive
+     * @param to last instance No., exclusive
+     * @return the posterior probability of the instances in [from, to) given the model
+     */
+    @Override
+    public double[] getInstancesProbs(RunLengthEncoding rle, int from, int to) {
+
+        double[] instancesProbs = new double[to - from];
+
+        for (int i = from; i < to; i++) {
+            double logProb = 0.0;
+            int runNum = rle.getRunNum(i);
+            for (int r = 0; r < runNum; r++) {
+                int state = rle.getState(i, r) - 1;
+                if (r > 0) logProb += this.mLogStateTransitionProbability[rle.getState(i, r - 1) - 1][state];
+
+                double logSelf = this.mLogStateTransitionProbability[state][state];
+                for (int d = rle.getLength(i, r); d > 1; d--) logProb += logSelf;
+            }
+            instancesProbs[i - from] = logProb;
         }
 
         return instancesProbs;
     }
 
+    /**
+     * Getter
+     * @return log state transition matrix flattened row by row, null if the model is not trained
+     */
+    @Override
+    public double[] getLogTransitionVector() {
+        if (this.mLogStateTransitionProbability == null) return null;
+
+        int stateNum = this.mLogStateTransitionProbability.length;
+        double[] res = new double[stateNum * stateNum];
+        for (int i = 0; i < stateNum; i++) {
+            System.arraycopy(this.mLogStateTransitionProbability[i], 0, res, i * stateNum, stateNum);
+        }
+        return res;
+    }
+
+    /**
+     * Take the log of each element of a matrix
+     * @param matrix a matrix
+     * @return a new matrix of logs, null if the matrix is null
+     */
+    private static double[][] logMatrix(double[][] matrix) {
+        if (matrix == null) return null;
+
+        double[][] res = new double[matrix.length][];
+        for (int i = 0; i < matrix.length; i++) {
+            res[i] = new double[matrix[i].length];
+            for (int j = 0; j < matrix[i].length; j++) {
+                res[i][j] = Math.log(matrix[i][j]);
+            }
+        }
+        return res;
+    }
+
     /**
      * Compute the log probability of state transition in a seq staring with index 1 given the model
      * @param seq a sequence data
@@ -121,15 +246,24 @@ public class MarkovChainModel implements IModel, ICluster {
 
     /**
      * Compute the log probability of state transition in a seq staring with index 1 given the model
-     * @param instance a sequence data
+     * @param seq a sequence data
      * @return the log probability of state transition in a seq given the model
      */
-    private double getLogProbabilityStateTransition(List<Double> instance) {
+    private double getLogProbabilityStateTransition(SequenceDataset.Sequence seq) {
 
-        // convert a list of doubles into an integer array
-        int[] seq = Utilities.convertToOneDimensionalIntegerArray(instance);
+        // seq starts with index 1
+        double logProb = 0.0;
+        if (seq.length() == 0) return logProb;
 
-        return getLogProbabilityStateTransition(seq);
+        int curState = seq.getState(0);
+
+        for (int i = 1; i < seq.length(); i++) {
+            int nextState = seq.getState(i);
+            logProb += Math.log(this.mStateTransitionProbability[curState - 1][nextState - 1]);
+            curState = nextState;
+        }
+
+        return logProb;
     }
 
     /**
@@ -137,8 +271,8 @@ public class MarkovChainModel implements IModel, ICluster {
      */
     @Override
     public void visualizeOutput() {
-        int stateNum = Config.getSTATENUM();
-        int modelSeq = this.curSeq % Config.getCLUSTERNUM() + 1; // modulo current model sequence value under total clusters scope
+        int stateNum = this.mRunConfig.getSTATENUM();
+        int modelSeq = this.curSeq % this.mRunConfig.getCLUSTERNUM() + 1; // modulo current model sequence value under total clusters scope
         System.out.println();
         System.out.println("               -------- Model [ " + modelSeq + " ] -------- ");
 
@@ -1,5 +1,7 @@
 package model;
 
+import starter.RunConfig;
+
 import java.util.logging.Logger;
 
 /**
@@ -35,21 +37,25 @@ public class ModelFactory {
     }
 
     /**
-     * Build dynamic model
+     * Build dynamic model for a run
      * @param mt dynamic model type
+     * @param runConfig configuration of the run
      * @return a dynamic model given the model type
      */
-    public IModel createModel(MODELTYPE mt) {
+    public IModel createModel(MODELTYPE mt, RunConfig runConfig) {
         IModel iModel =  null;
         switch(mt) {
             case MARKOVCHAINMODEL:    // Markov Chain Model
-                iModel = new MarkovChainModel();
+                iModel = new MarkovChainModel(runConfig);
                 break;
             case SEMIMARKOVCHAINMODEL: // semi-Markov Chain Model
-                iModel = new SemiMarkovChainModel();
+                iModel = new SemiMarkovChainModel(runConfig);
                 break;
             case HIDDENMARKOVMODEL:    // Hidden Markov Model
-                iModel = new HiddenMarkovModel();
+                iModel = new HiddenMarkovModel(runConfig);
+                break;
+            case DISCRETEHIDDENMARKOVMODEL: // Hidden Markov Model on the native discrete engine
+                iModel = new DiscreteHiddenMarkovModel(runConfig);
                 break;
             default:
                 LOGGER.info("No matching data type of dynamic model!");
@@ -1,5 +1,7 @@
 package model;
 
+import starter.RunConfig;
+
 import java.util.logging.Logger;
 
 /**
@@ -33,15 +35,16 @@ public class ModelsFactory {
     }
 
     /**
-     * Build dynamic model
+     * Build dynamic models for a run
      * @param mt dynamic model type
+     * @param runConfig configuration of the run
      * @return a dynamic model given the model type
      */
-    public IModels createModels(MODELSTYPE mt) {
+    public IModels createModels(MODELSTYPE mt, RunConfig runConfig) {
         IModels iModels =  null;
         switch(mt) {
             case STATEBASEDDYNAMICMODELS:    // Markov Chain Model
-                iModels = new StateBasedDynamicModels();
+                iModels = new StateBasedDynamicModels(runConfig);
                 break;
             default:
                 LOGGER.info("No matching data type of dynamic models!");
@@ -0,0 +1,158 @@
+package model;
+
+import dao.SequenceDataset;
+
+import java.util.logging.Logger;
+
+/**
+ * Project: DCDMC
+ * Package: model
+ * Date: 17/Oct/2026
+ * Time: 19:05
+ * System Time: 7:05 PM
+ */
+
+/*
+    Run-length encoding of every sequence of a dataset, states start with index 1.
+
+    A run is a maximal stretch of one state, so run r of sequence i is the state getState(i, r) repeated
+    getLength(i, r) times. The runs of a sequence are its sufficient statistics for state-based models:
+    a run of length d contributes d - 1 self transitions and one duration d, and consecutive runs contribute
+    the transitions between different states. The encoding is built once per dataset.
+ */
+public class RunLengthEncoding {
+
+    private static final Logger LOGGER = Logger.getLogger(RunLengthEncoding.class.getName());
+
+    private final SequenceDataset mInstances; // encoded dataset
+    private final int[] mOffsets; // first run of each sequence, mOffsets[size] is the total number of runs
+    private final int[] mStates; // state of each run
+    private final int[] mLengths; // length of each run
+    private final int mMaxLength; // the longest run
+    private final int mMaxState; // the largest state
+
+    /**
+     * class constructor
+     * @param instances encoded dataset
+     * @param offsets first run of each sequence
+     * @param states state of each run
+     * @param lengths length of each run
+     * @param maxLength the longest run
+     * @param maxState the largest state
+     */
+    private RunLengthEncoding(SequenceDataset instances, int[] offsets, int[] states, int[] lengths, int maxLength, int maxState) {
+        this.mInstances = instances;
+        this.mOffsets = offsets;
+        this.mStates = states;
+        this.mLengths = lengths;
+        this.mMaxLength = maxLength;
+        this.mMaxState = maxState;
+    }
+
+    /**
+     * Encode all sequences of a dataset
+     * @param instances dataset
+     * @return run-length encoding, null if the dataset is null
+     */
+    public static RunLengthEncoding encode(SequenceDataset instances) {
+
+        if (instances == null) {
+            LOGGER.info("The instances are null!");
+            return null;
+        }
+
+        // count runs first, so the runs are stored in exactly sized arrays
+        int N = instances.size();
+        int[] offsets = new int[N + 1];
+        for (int i = 0; i < N; i++) {
+            SequenceDataset.Sequence seq = instances.getSequence(i);
+            int runNum = 0;
+            for (int j = 0; j < seq.length(); j++) {
+                if (j == 0 || seq.getState(j) != seq.getState(j - 1)) runNum++;
+            }
+            offsets[i + 1] = offsets[i] + runNum;
+        }
+
+        int[] states = new int[offsets[N]];
+        int[] lengths = new int[offsets[N]];
+        int maxLength = 0;
+        int maxState = 0;
+        for (int i = 0; i < N; i++) {
+            SequenceDataset.Sequence seq = instances.getSequence(i);
+            int run = offsets[i] - 1;
+            for (int j = 0; j < seq.length(); j++) {
+                int state = seq.getState(j);
+                if (j == 0 || state != states[run]) {
+                    run++;
+                    states[run] = state;
+                    maxState = Math.max(maxState, state);
+                }
+                lengths[run]++;
+                maxLength = Math.max(maxLength, lengths[run]);
+            }
+        }
+
+        return new RunLengthEncoding(instances, offsets, states, lengths, maxLength, maxState);
+    }
+
+    /**
+     * Getter
+     * @return encoded dataset
+     */
+    public SequenceDataset getInstances() {
+        return this.mInstances;
+    }
+
+    /**
+     * The number of sequences
+     * @return the number of sequences
+     */
+    public int size() {
+        return this.mOffsets.length - 1;
+    }
+
+    /**
+     * The number of runs of a sequence
+     * @param i sequence No.
+     * @return the number of runs
+     */
+    public int getRunNum(int i) {
+        return this.mOffsets[i + 1] - this.mOffsets[i];
+    }
+
+    /**
+     * The state of a run
+     * @param i sequence No.
+     * @param r run No. in the sequence
+     * @return the state, starting with index 1
+     */
+    public int getState(int i, int r) {
+        return this.mStates[this.mOffsets[i] + r];
+    }
+
+    /**
+     * The length of a run
+     * @param i sequence No.
+     * @param r run No. in the sequence
+     * @return the length of the run
+     */
+    public int getLength(int i, int r) {
+        return this.mLengths[this.mOffsets[i] + r];
+    }
+
+    /**
+     * Getter
+     * @return the longest run of all sequences
+     */
+    public int getMaxLength() {
+        return this.mMaxLength;
+    }
+
+    /**
+     * Getter
+     * @return the largest state of all sequences
+     */
+    public int getMaxState() {
+        return this.mMaxState;
+    }
+}
@@ -3,11 +3,13 @@ package model;
 import Utilities.Utilities;
 import Utilities.Models;
 import cluster.ICluster;
+import dao.SequenceDataset;
 import adapters.ContinuousDistChartAdapter;
 import adapters.XYLineChartApdater;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.title.TextTitle;
 import starter.Config;
+import starter.RunConfig;
 import umontreal.iro.lecuyer.charts.XYListSeriesCollection;
 import umontreal.iro.lecuyer.probdist.ContinuousDistribution;
 import umontreal.iro.lecuyer.probdist.WeibullDist;
@@ -27,18 +29,28 @@ import java.util.logging.Logger;
  * System Time: 7:57 AM
  */
 
-public class SemiMarkovChainModel implements IModel, ICluster {
+public class SemiMarkovChainModel implements IStatisticsModel, ICluster {
 
     private static final Logger LOGGER = Logger.getLogger(SemiMarkovChainModel.class.getName());
 
     private double[][] mStateTransitionProbability;
-    private List<List<Integer>> mInstances;
+    private SequenceDataset mInstances;
     public double[][] mParameters; // trained parameters
     private static int Seq = 0;
     private int curSeq;
     private List<List<Integer>> scopeForStateDurations; // min and max of state durations for each state
+    private double[][] mLogStateTransitionProbability; // log of state transition probability, for scoring
+    private WeibullDist[] mDurationDists; // state duration distribution of each state, null if invalid
+    private double[][] mLogDurationTables; // mLogDurationTables[s][d] = log(F(d + 1) - F(d)) of state s + 1
+    private boolean[] mSaturatedTails; // true if F is 1 beyond the table of a state
+    private final RunConfig mRunConfig; // configuration of the run
 
-    public SemiMarkovChainModel() {
+    /**
+     * class constructor
+     * @param runConfig configuration of the run
+     */
+    public SemiMarkovChainModel(RunConfig runConfig) {
+        this.mRunConfig = runConfig;
         this.mStateTransitionProbability = null;
         this.mInstances = null;
         this.curSeq = Seq++;
@@ -59,44 +71,55 @@ public class SemiMarkovChainModel implements IModel, ICluster {
      */
     @Override
     public void trainModel(List<List<Double>> instances) {
+        trainModel(SequenceDataset.fromLists(instances));
+    }
+
+    /**
+     * Build models over instances
+     * @param instances input instances
+     */
+    @Override
+    public void trainModel(SequenceDataset instances) {
 
         if (instances == null) {
             LOGGER.info("The instances are null!");
             // compute state transition probablity
-            this.mStateTransitionProbability = new double[Config.getSTATENUM()][Config.getSTATENUM()];
-            this.mParameters = new double[Config.getSTATENUM()][3];
-            for (int i = 0; i < Config.getSTATENUM(); i++) {
+            this.mStateTransitionProbability = new double[this.mRunConfig.getSTATENUM()][this.mRunConfig.getSTATENUM()];
+            this.mParameters = new double[this.mRunConfig.getSTATENUM()][3];
+            for (int i = 0; i < this.mRunConfig.getSTATENUM(); i++) {
                 this.mParameters[i] = new double[]{0.0, 0.0, 0.0}; // set alpha, lambda, and delta to be 0
                 this.scopeForStateDurations.add(new ArrayList<Integer>(Arrays.asList(0, 0)));
             }
+            buildLogDurationTables(new int[this.mRunConfig.getSTATENUM()]);
             return;
         }
 
         if (instances.size() == 0) {
             LOGGER.info("The instances are empty!");
             // compute state transition probablity
-            this.mStateTransitionProbability = new double[Config.getSTATENUM()][Config.getSTATENUM()];
-            this.mParameters = new double[Config.getSTATENUM()][3];
-            for (int i = 0; i < Config.getSTATENUM(); i++) {
+            this.mStateTransitionProbability = new double[this.mRunConfig.getSTATENUM()][this.mRunConfig.getSTATENUM()];
+            this.mParameters = new double[this.mRunConfig.getSTATENUM()][3];
+            for (int i = 0; i < this.mRunConfig.getSTATENUM(); i++) {
                 this.mParameters[i] = new double[]{0.0, 0.0, 0.0}; // set alpha, lambda, and delta to be 0
                 this.scopeForStateDurations.add(new ArrayList<Integer>(Arrays.asList(0, 0)));
             }
+            buildLogDurationTables(new int[this.mRunConfig.getSTATENUM()]);
             return;
         }
 
         // --------------------- Compute State Transition -------------------- //
-        // convert from double list into integer list
-        this.mInstances = Utilities.convertToListOfListOfIntegers(instances);
+        this.mInstances = instances;
 
         // compute state transition
-        int[][] stateTransition = Models.countNoSelfStateTransitionForSequences(this.mInstances);
+        int[][] stateTransition = Models.countNoSelfStateTransitionForSequences(this.mInstances, this.mRunConfig.getSTATENUM());
 
         // compute state transition probablity
         this.mStateTransitionProbability = Utilities.normalizeMatrix(stateTransition);
 
         // ---------------------- Compute State Duration --------------------- //
-        int StateNum = Config.getSTATENUM();
+        int StateNum = this.mRunConfig.getSTATENUM();
         this.mParameters = new double[StateNum][3];
+        int[] maxDurations = new int[StateNum];
         Map<Integer, Map<Integer, Integer>> map = Models.countStateDurationForSequences(this.mInstances);
 
         for (int i = 0; i < StateNum; i++) {
@@ -105,25 +128,24 @@ public class SemiMarkovChainModel implements IModel, ICluster {
             if (i < map.keySet().size()) {
                 Map<Integer, Integer> oneStateDurationDistribution = map.get(i + 1);
 
-                int total = 0;
-
-                for (Integer key : oneStateDurationDistribution.keySet())
-                    total += oneStateDurationDistribution.get(key);
-
-                double[] durations = new double[total];
+                // distinct durations and their frequencies
+                double[] durations = new double[oneStateDurationDistribution.size()];
+                double[] frequencies = new double[durations.length];
                 int count = 0;
                 int min = Integer.MAX_VALUE;
                 int max = Integer.MIN_VALUE;
                 for (Integer key : oneStateDurationDistribution.keySet()) {
                     min = Math.min(min, key);
                     max = Math.max(max, key);
-                    for (int j = 0; j < oneStateDurationDistribution.get(key); j++) durations[count++] = key;
+                    durations[count] = key;
+                    frequencies[count++] = oneStateDurationDistribution.get(key);
                 }
 
                 this.scopeForStateDurations.add(new ArrayList<Integer>(Arrays.asList(min, max)));
+                maxDurations[i] = max;
 
                 // do probability density estimation
-                this.mParameters[i] = WeibullDist.getMLE(durations, durations.length);
+                this.mParameters[i] = WeibullDist.getMLE(durations, frequencies, durations.length);
             } else {
                 this.mParameters[i] = new double[]{0.0, 0.0, 0.0}; // set alpha, lambda, and delta to be 0
                 this.scopeForStateDurations.add(new ArrayList<Integer>(Arrays.asList(0, 0)));
@@ -131,6 +153,72 @@ public class SemiMarkovChainModel implements IModel, ICluster {
 
         }
 
+        buildLogDurationTables(maxDurations);
+
+    }
+
+    /**
+     * Build models over instances from the transitions and run-length histograms already counted in the cluster
+     * statistics. The distinct durations of a state and their frequencies are passed to the Weibull MLE in ascending order.
+     * @param instances input instances
+     * @param statistics sufficient statistics of the instances
+     */
+    @Override
+    public void trainModel(SequenceDataset instances, ClusterStatistics statistics) {
+
+        if (instances == null || instances.size() == 0 || statistics == null) {
+            trainModel(instances); // empty models, or counted from the instances
+            return;
+        }
+
+        // --------------------- Compute State Transition -------------------- //
+        this.mInstances = instances;
+
+        // compute state transition probablity
+        this.mStateTransitionProbability = Utilities.normalizeMatrix(statistics.getNoSelfStateTransitions());
+
+        // ---------------------- Compute State Duration --------------------- //
+        int StateNum = this.mRunConfig.getSTATENUM();
+        this.mParameters = new double[StateNum][3];
+        int[] maxDurations = new int[StateNum];
+
+        for (int i = 0; i < StateNum; i++) {
+            int total = i < statistics.getStateNum() ? statistics.getRunNum(i + 1) : 0;
+
+            // state duration distribution is not null
+            if (total > 0) {
+                int[] histogram = statistics.getDurationHistogram(i + 1);
+
+                // distinct durations and their frequencies
+                int distinct = 0;
+                for (int d = 0; d < histogram.length; d++) {
+                    if (histogram[d] > 0) distinct++;
+                }
+                double[] durations = new double[distinct];
+                double[] frequencies = new double[distinct];
+                int count = 0;
+                int min = Integer.MAX_VALUE;
+                int max = Integer.MIN_VALUE;
+                for (int d = 0; d < histogram.length; d++) {
+                    if (histogram[d] == 0) continue;
+                    min = Math.min(min, d);
+                    max = Math.max(max, d);
+                    durations[count] = d;
+                    frequencies[count++] = histogram[d];
+                }
+
+                this.scopeForStateDurations.add(new ArrayList<Integer>(Arrays.asList(min, max)));
+                maxDurations[i] = max;
+
+                // do probability density estimation
+                this.mParameters[i] = WeibullDist.getMLE(durations, frequencies, durations.length);
+            } else {
+                this.mParameters[i] = new double[]{0.0, 0.0, 0.0}; // set alpha, lambda, and delta to be 0
+                this.scopeForStateDurations.add(new ArrayList<Integer>(Arrays.asList(0, 0)));
+            }
+        }
+
+        buildLogDurationTables(maxDurations);
     }
 
     /**
@@ -142,33 +230,35 @@ public class SemiMarkovChainModel implements IModel, ICluster {
         if (instances == null) {
             LOGGER.info("The instances are null!");
             // compute state transition probablity
-            this.mStateTransitionProbability = new double[Config.getSTATENUM()][Config.getSTATENUM()];
-            this.mParameters = new double[Config.getSTATENUM()][3];
-            for (int i = 0; i < Config.getSTATENUM(); i++) {
+            this.mStateTransitionProbability = new double[this.mRunConfig.getSTATENUM()][this.mRunConfig.getSTATENUM()];
+            this.mParameters = new double[this.mRunConfig.getSTATENUM()][3];
+            for (int i = 0; i < this.mRunConfig.getSTATENUM(); i++) {
                 this.mParameters[i] = new double[]{0.0, 0.0, 0.0}; // set alpha, lambda, and delta to be 0
                 this.scopeForStateDurations.add(new ArrayList<Integer>(Arrays.asList(0, 0)));
             }
+            buildLogDurationTables(new int[this.mRunConfig.getSTATENUM()]);
             return;
         }
 
         if (instances.length == 0 || instances[0].length == 0) {
             LOGGER.info("The instances are empty!");
             // compute state transition probablity
-            this.mStateTransitionProbability = new double[Config.getSTATENUM()][Config.getSTATENUM()];
-            this.mParameters = new double[Config.getSTATENUM()][3];
-            for (int i = 0; i < Config.getSTATENUM(); i++) {
+            this.mStateTransitionProbability = new double[this.mRunConfig.getSTATENUM()][this.mRunConfig.getSTATENUM()];
+            this.mParameters = new double[this.mRunConfig.getSTATENUM()][3];
+            for (int i = 0; i < this.mRunConfig.getSTATENUM(); i++) {
                 this.mParameters[i] = new double[]{0.0, 0.0, 0.0}; // set alpha, lambda, and delta to be 0
                 this.scopeForStateDurations.add(new ArrayList<Integer>(Arrays.asList(0, 0)));
             }
+            buildLogDurationTables(new int[this.mRunConfig.getSTATENUM()]);
             return;
         }
 
         // --------------------- Compute State Transition -------------------- //
-        // convert from double array into integer array
-        this.mInstances = Utilities.convertToListOfListOfIntegers(instances);
+        // copy from double array into a dataset
+        this.mInstances = SequenceDataset.fromArray(instances);
 
         // compute state transition
-        int[][] stateTransition = Models.countNoSelfStateTransitionForSequences(this.mInstances);
+        int[][] stateTransition = Models.countNoSelfStateTransitionForSequences(this.mInstances, this.mRunConfig.getSTATENUM());
 
         // compute state transition probablity
         this.mStateTransitionProbability = Utilities.normalizeMatrix(stateTransition);
@@ -177,6 +267,7 @@ public class SemiMarkovChainModel implements IModel, ICluster {
 
         int StateNum = stateTransition.length;
         this.mParameters = new double[StateNum][3];
+        int[] maxDurations = new int[StateNum];
         Map<Integer, Map<Integer, Integer>> map = Models.countStateDurationForSequences(this.mInstances);
 
         for (int i = 0; i < StateNum; i++) {
@@ -184,27 +275,24 @@ public class SemiMarkovChainModel implements IModel, ICluster {
             if (i < map.keySet().size()) {
                 Map<Integer, Integer> oneStateDurationDistribution = map.get(i + 1);
 
-                int total = 0;
-
-                for (Integer key : oneStateDurationDistribution.keySet())
-                    total += oneStateDurationDistribution.get(key);
-
-                double[] durations = new double[total];
+                // distinct durations and their frequencies
+                double[] durations = new double[oneStateDurationDistribution.size()];
+                double[] frequencies = new double[durations.length];
                 int count = 0;
                 int min = Integer.MAX_VALUE;
                 int max = Integer.MIN_VALUE;
                 for (Integer key : oneStateDurationDistribution.keySet()) {
                     min = Math.min(min, key);
                     max = Math.max(max, key);
-                    while (count < total) {
-                        for (int j = 0; j < oneStateDurationDistribution.get(key); j++) durations[count++] = key;
-                    }
+                    durations[count] = key;
+                    frequencies[count++] = oneStateDurationDistribution.get(key);
                 }
 
                 this.scopeForStateDurations.add(new ArrayList<Integer>(Arrays.asList(min, max)));
+                maxDurations[i] = max;
 
                 // do probability density estimation
-                this.mParameters[i] = WeibullDist.getMLE(durations, durations.length);
+                this.mParameters[i] = WeibullDist.getMLE(durations, frequencies, durations.length);
             } else {
                 this.mParameters[i] = new double[]{0.0, 0.0, 0.0}; // set alpha, lambda, and delta to be 0
                 this.scopeForStateDurations.add(new ArrayList<Integer>(Arrays.asList(0, 0)));
@@ -212,6 +300,8 @@ public class SemiMarkovChainModel implements IModel, ICluster {
 
         }
 
+        buildLogDurationTables(maxDurations);
+
     }
 
     /**
@@ -234,33 +324,192 @@ public class SemiMarkovChainModel implements IModel, ICluster {
             return instancesProbs;
         }
 
-        int N = instances.size();
-        instancesProbs = new double[N];
+        return getInstancesProbs(SequenceDataset.fromLists(instances));
+    }
+
+    /**
+     * Compute the posterior probability of instances given the model
+     * @param instances instances dataset
+     * @return the posterior probability of instances given the model
+     */
+    @Override
+    public double[] getInstancesProbs(SequenceDataset instances) {
+
+        double[] instancesProbs = null;
+
+        if (instances == null) {
+            LOGGER.info("The sequences are null!");
+            return instancesProbs;
+        }
 
-        // compute state transition probability for each instance
-        for (int i = 0; i < N; i++) {
-            instancesProbs[i] = getLogProbabilityStateTransition(instances.get(i));
+        if (instances.size() == 0) {
+            LOGGER.info("The sequences are empty!");
+            return instancesProbs;
         }
 
-        // compute state duration probability for each instance
-        for (int i = 0; i < N; i++) {
-            instancesProbs[i] += getLogProbabilityStateDuration(instances.get(i));
+        return getInstancesProbs(RunLengthEncoding.encode(instances), 0, instances.size());
+    }
+
+    /**
+     * Compute the posterior probability of a range of encoded instances given the model.
+     * State durations are looked up in the log duration tables, and the distinct durations of each state are summed in
+     * ascending order. The state duration maps of getLogProbabilityStateDuration are summed in hash iteration order,
+     * which is the same for durations below 16, so the two results may only differ by rounding in the last bits.
+     * @param rle run-length encoding of the instances
+     * @param from first instance No., inclusive
+     * @param to last instance No., exclusive
+     * @return the posterior probability of the instances in [from, to) given the model
+     */
+    @Override
+    public double[] getInstancesProbs(RunLengthEncoding rle, int from, int to) {
+
+        double[] instancesProbs = new double[to - from];
+
+        // scratch space shared by all instances of the range
+        int maxRunNum = 0;
+        for (int i = from; i < to; i++) maxRunNum = Math.max(maxRunNum, rle.getRunNum(i));
+        int[] stateStamps = new int[rle.getMaxState() + 1]; // instance stamp of each state in the instance
+        int[] durationStamps = new int[rle.getMaxLength() + 1]; // (instance, state) stamp of each duration
+        int[] durationCounts = new int[rle.getMaxLength() + 1]; // frequency of each duration
+        int[] durations = new int[maxRunNum]; // distinct durations of a state
+        int stamp = 0;
+
+        for (int i = from; i < to; i++) {
+            int runNum = rle.getRunNum(i);
+
+            // compute state transition probability, only transitions between runs are counted
+            double transitionLogProb = 0.0;
+            for (int r = 1; r < runNum; r++) {
+                // if mStateTransitionProbability[curState - 1][nextState - 1] == 0, the log is -infinity
+                transitionLogProb += this.mLogStateTransitionProbability[rle.getState(i, r - 1) - 1][rle.getState(i, r) - 1];
+            }
+
+            // states present in the instance
+            int instanceStamp = ++stamp;
+            int stateNum = 0;
+            for (int r = 0; r < runNum; r++) {
+                int state = rle.getState(i, r);
+                if (stateStamps[state] != instanceStamp) {
+                    stateStamps[state] = instanceStamp;
+                    stateNum++;
+                }
+            }
+
+            // compute state duration probability, only states 1 to stateNum are counted as the map-based scoring does
+            double durationLogProb = Double.NEGATIVE_INFINITY;
+            boolean flag = true; // it indicates the first time that it is valid parameters set up
+            for (int s = 1; s <= stateNum; s++) {
+
+                // If some sequence has no corresponding state duration information
+                if (stateStamps[s] != instanceStamp) continue;
+
+                // Invalid weibull parameters
+                if (this.mDurationDists[s - 1] == null) {
+                    durationLogProb = Double.NEGATIVE_INFINITY;
+                    break;
+                }
+
+                if (flag == true) {
+                    durationLogProb = 0; // reset to 0 instead of -infinity
+                    flag = false;
+                }
+
+                // distinct durations of the state and their frequencies
+                int stateStamp = ++stamp;
+                int n = 0;
+                for (int r = 0; r < runNum; r++) {
+                    if (rle.getState(i, r) != s) continue;
+                    int duration = rle.getLength(i, r);
+                    if (durationStamps[duration] != stateStamp) {
+                        durationStamps[duration] = stateStamp;
+                        durationCounts[duration] = 1;
+                        durations[n++] = duration;
+                    } else {
+                        durationCounts[duration]++;
+                    }
+                }
+
+                // summed in ascending order of durations
+                Arrays.sort(durations, 0, n);
+                for (int k = 0; k < n; k++) {
+                    durationLogProb += durationCounts[durations[k]] * getLogDurationProbability(s - 1, durations[k]);
+                }
+            }
+
+            instancesProbs[i - from] = transitionLogProb + durationLogProb;
         }
 
         return instancesProbs;
     }
 
+    /**
+     * Build the log state transition matrix and the log duration table of each state up to the longest duration
+     * in training.
+     * Durations beyond the table are computed when scored, or are -infinity once F reaches 1.
+     * @param maxDurations the longest duration of each state in training
+     */
+    private void buildLogDurationTables(int[] maxDurations) {
+        int StateNum = this.mParameters.length;
+
+        this.mLogStateTransitionProbability = new double[this.mStateTransitionProbability.length][];
+        for (int i = 0; i < this.mStateTransitionProbability.length; i++) {
+            this.mLogStateTransitionProbability[i] = new double[this.mStateTransitionProbability[i].length];
+            for (int j = 0; j < this.mStateTransitionProbability[i].length; j++) {
+                this.mLogStateTransitionProbability[i][j] = Math.log(this.mStateTransitionProbability[i][j]);
+            }
+        }
+
+        this.mDurationDists = new WeibullDist[StateNum];
+        this.mLogDurationTables = new double[StateNum][];
+        this.mSaturatedTails = new boolean[StateNum];
+
+        for (int i = 0; i < StateNum; i++) {
+            double alpha = this.mParameters[i][0];
+            double lambda = this.mParameters[i][1];
+            double delta = this.mParameters[i][2];
+
+            // Invalid weibull parameters
+            if (alpha <= 0 || lambda <= 0) continue;
+
+            WeibullDist wd = new WeibullDist(alpha, lambda, delta);
+            int maxDuration = i < maxDurations.length ? maxDurations[i] : 0;
+            double[] table = new double[maxDuration + 1];
+            for (int d = 0; d <= maxDuration; d++) {
+                table[d] = Math.log(wd.cdf(d + 1) - wd.cdf(d));
+            }
+
+            this.mDurationDists[i] = wd;
+            this.mLogDurationTables[i] = table;
+            // F is non-decreasing and capped at 1, so F(d + 1) - F(d) = 0 for all later durations
+            this.mSaturatedTails[i] = wd.cdf(maxDuration + 1) == 1.0;
+        }
+    }
+
+    /**
+     * The log probability of a state duration, log(F(d + 1) - F(d))
+     * @param state state, starting with index 0
+     * @param duration state duration
+     * @return the log probability of the state duration
+     */
+    private double getLogDurationProbability(int state, int duration) {
+        double[] table = this.mLogDurationTables[state];
+        if (duration < table.length) return table[duration];
+        if (this.mSaturatedTails[state]) return Double.NEGATIVE_INFINITY;
+
+        WeibullDist wd = this.mDurationDists[state];
+        return Math.log(wd.cdf(duration + 1) - wd.cdf(duration));
+    }
+
     /**
      * Compute the log probability of state duration in a seq starting with index 1 given the model
      * @param seq a sequence data
      * @return the log probability of state duration in a seq given the model
      */
-    private double getLogProbabilityStateDuration(List<Double> seq) {
+    private double getLogProbabilityStateDuration(SequenceDataset.Sequence seq) {
 
         // seq starts with index 1
         double logProb = Double.NEGATIVE_INFINITY;
-        int[] aSeq = Utilities.convertToOneDimensionalIntegerArray(seq);
-        Map<Integer, Map<Integer, Integer>> map = Models.countStateDurationForOneSequence(aSeq);
+        Map<Integer, Map<Integer, Integer>> map = Models.countStateDurationForOneSequence(seq);
         int stateNum = map.keySet().size();
         boolean flag = true; // it indicates the first time that it is valid parameters set up
 
@@ -323,17 +572,28 @@ public class SemiMarkovChainModel implements IModel, ICluster {
 
     /**
      * Compute the log probability of state transition in a seq staring with index 1 given the model
-     * @param instance a sequence data
+     * @param seq a sequence data
      * @return the log probability of state transition in a seq given the model
      */
-    private double getLogProbabilityStateTransition(List<Double> instance) {
+    private double getLogProbabilityStateTransition(SequenceDataset.Sequence seq) {
 
         // seq starts with index 1
+        double logProb = 0.0;
+        if (seq.length() == 0) return logProb;
 
-        // convert a list of doubles into an integer array
-        int[] seq = Utilities.convertToOneDimensionalIntegerArray(instance);
+        int curState = seq.getState(0);
 
-        return getLogProbabilityStateTransition(seq);
+        for (int i = 1; i < seq.length(); i++) {
+            int nextState = seq.getState(i);
+            // compute the probability of state transition only when two consecutive states are not same
+            if(curState != nextState) {
+                // if mStateTransitionProbability[curState - 1][nextState - 1] == 0, Math.log would take -infinity
+                logProb += Math.log(this.mStateTransitionProbability[curState - 1][nextState - 1]);
+            }
+            curState = nextState;
+        }
+
+        return logProb;
     }
 
     /**
@@ -355,8 +615,8 @@ public class SemiMarkovChainModel implements IModel, ICluster {
      * Visualize PDF view
      */
     private void visualizePDFView() {
-        int stateNum = Config.getSTATENUM();
-        int modelSeq = this.curSeq % Config.getCLUSTERNUM() + 1; // modulo current model sequence value under total clusters scope
+        int stateNum = this.mRunConfig.getSTATENUM();
+        int modelSeq = this.curSeq % this.mRunConfig.getCLUSTERNUM() + 1; // modulo current model sequence value under total clusters scope
         System.out.println();
         System.out.println("               -------- Model [ " + modelSeq + " ] -------- ");
 
@@ -376,7 +636,7 @@ public class SemiMarkovChainModel implements IModel, ICluster {
         c.weightx = 0.5;
         c.weighty = 0.5;
         Dimension screenDimension = Toolkit.getDefaultToolkit().getScreenSize();
-        Dimension componentDimension = new Dimension(screenDimension.width / (Config.getCLUSTERNUM() + 1), screenDimension.height / (Config.getCLUSTERNUM() + 1));
+        Dimension componentDimension = new Dimension(screenDimension.width / (this.mRunConfig.getCLUSTERNUM() + 1), screenDimension.height / (this.mRunConfig.getCLUSTERNUM() + 1));
 
         if (Config.isCUMULATIVEDISTRIBUTIONVIEW()) {
             componentDimension = new Dimension((int)componentDimension.getWidth(), (int)componentDimension.getHeight() / 2);
@@ -446,7 +706,7 @@ public class SemiMarkovChainModel implements IModel, ICluster {
         }
 
         generalJframe.pack();
-        generalJframe.setLocation(screenDimension.width - componentDimension.width, (modelSeq - 1) * screenDimension.height / Config.getCLUSTERNUM());
+        generalJframe.setLocation(screenDimension.width - componentDimension.width, (modelSeq - 1) * screenDimension.height / this.mRunConfig.getCLUSTERNUM());
         generalJframe.setSize(componentDimension);
         generalJframe.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
         generalJframe.setVisible(true);
@@ -537,8 +797,8 @@ public class SemiMarkovChainModel implements IModel, ICluster {
      * Visualize CDF view
      */
     private void visualizeCDFView() {
-        int stateNum = Config.getSTATENUM();
-        int modelSeq = this.curSeq % Config.getCLUSTERNUM() + 1; // modulo current model sequence value under total clusters scope
+        int stateNum = this.mRunConfig.getSTATENUM();
+        int modelSeq = this.curSeq % this.mRunConfig.getCLUSTERNUM() + 1; // modulo current model sequence value under total clusters scope
 
         JFrame generalJframe = new JFrame("Model [ " + modelSeq + " ] - " + stateNum + " States" + " {" + (this.mInstances == null ? 0 : this.mInstances.size()) + " Instances}");
         generalJframe.setLayout(new GridBagLayout());
@@ -547,7 +807,7 @@ public class SemiMarkovChainModel implements IModel, ICluster {
         c.weightx = 0.5;
         c.weighty = 0.5;
         Dimension screenDimension = Toolkit.getDefaultToolkit().getScreenSize();
-        Dimension componentDimension = new Dimension(screenDimension.width / (Config.getCLUSTERNUM() + 1), screenDimension.height / (Config.getCLUSTERNUM() + 1));
+        Dimension componentDimension = new Dimension(screenDimension.width / (this.mRunConfig.getCLUSTERNUM() + 1), screenDimension.height / (this.mRunConfig.getCLUSTERNUM() + 1));
         componentDimension = new Dimension(componentDimension.width, componentDimension.height / 2);
         Point original = new Point(0, 0);
 
@@ -611,7 +871,7 @@ public class SemiMarkovChainModel implements IModel, ICluster {
         }
 
         generalJframe.pack();
-        generalJframe.setLocation(screenDimension.width - componentDimension.width, (modelSeq - 1) * screenDimension.height / Config.getCLUSTERNUM() + componentDimension.height);
+        generalJframe.setLocation(screenDimension.width - componentDimension.width, (modelSeq - 1) * screenDimension.height / this.mRunConfig.getCLUSTERNUM() + componentDimension.height);
         generalJframe.setSize(componentDimension);
         generalJframe.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
         generalJframe.setVisible(true);
@@ -1,5 +1,8 @@
 package model;
 
+import dao.SequenceDataset;
+import starter.RunConfig;
+
 import java.util.List;
 import java.util.logging.Logger;
 
@@ -16,9 +19,10 @@ public class StateBasedDynamicModels extends AbstractDynamicModels {
 
     /**
      * class constructor
+     * @param runConfig configuration of the run
      */
-    public StateBasedDynamicModels() {
-        super();
+    public StateBasedDynamicModels(RunConfig runConfig) {
+        super(runConfig);
     }
 
     /**
@@ -47,6 +51,28 @@ public class StateBasedDynamicModels extends AbstractDynamicModels {
         return super.assignClusterLabels(instances);
     }
 
+    /**
+     * Build models over instances
+     * @param instances input instances
+     * @param clusterNum cluster num
+     * @param initialClusterLables initial cluster labels
+     * @param mt model type
+     */
+    @Override
+    public void trainDynamicModels(SequenceDataset instances, int clusterNum, int[] initialClusterLables, MODELTYPE mt) {
+        super.trainDynamicModels(instances, clusterNum, initialClusterLables, mt);
+    }
+
+    /**
+     * Assign instances into clusters in terms of input, cluster label starts with index 0
+     * @param instances instances dataset
+     * @return cluster labels
+     */
+    @Override
+    public int[] assignClusterLabels(SequenceDataset instances) {
+        return super.assignClusterLabels(instances);
+    }
+
     /**
      * Visualize outputs of all dynamic models
      */
@@ -0,0 +1,166 @@
+package model;
+
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+/**
+ * Project: DCDMC
+ * Package: model
+ * Date: 18/Oct/2026
+ * Time: 16:00
+ * System Time: 4:00 PM
+ */
+
+/*
+    State transition counts of every sequence of a dataset, one sparse row of stateNum * stateNum cells per sequence.
+
+    The log-likelihood of a sequence under a Markov chain model is the dot product of its row with the flattened
+    log state transition matrix of the model, so the scores of all sequences under all models are one product of
+    this N x S^2 matrix with the S^2 x K matrix of the models. The rows are stored compressed: the non-zero cells of
+    a sequence in increasing order and their counts, which are built once per dataset from its run-length encoding.
+    Cells a sequence never visits are skipped, so a log(0) = -Infinity of a model only counts where the sequence
+    actually makes that transition and never becomes 0 * -Infinity = NaN.
+ */
+public class TransitionCountMatrix {
+
+    private static final Logger LOGGER = Logger.getLogger(TransitionCountMatrix.class.getName());
+
+    private final RunLengthEncoding mRunLengthEncoding; // encoding the counts are built from
+    private final int mStateNum; // the number of states, a row has stateNum * stateNum cells
+    private final int[] mStarts; // first non-zero cell of each sequence, mStarts[size] is the number of non-zeros
+    private final int[] mCells; // non-zero cells, (state - 1) * stateNum + (next state - 1)
+    private final double[] mCounts; // transition count of each non-zero cell
+
+    /**
+     * class constructor
+     * @param rle encoding the counts are built from
+     * @param stateNum the number of states
+     * @param starts first non-zero cell of each sequence
+     * @param cells non-zero cells
+     * @param counts transition count of each non-zero cell
+     */
+    private TransitionCountMatrix(RunLengthEncoding rle, int stateNum, int[] starts, int[] cells, double[] counts) {
+        this.mRunLengthEncoding = rle;
+        this.mStateNum = stateNum;
+        this.mStarts = starts;
+        this.mCells = cells;
+        this.mCounts = counts;
+    }
+
+    /**
+     * Count the state transitions of all encoded sequences. A run of length d adds d - 1 self transitions and
+     * consecutive runs add one transition between their states
+     * @param rle run-length encoding of the sequences
+     * @param stateNum the number of states, states are 1 .. stateNum
+     * @return transition counts, null if the encoding is null or a state is out of range
+     */
+    public static TransitionCountMatrix build(RunLengthEncoding rle, int stateNum) {
+
+        if (rle == null) {
+            LOGGER.info("The run-length encoding is null!");
+            return null;
+        }
+
+        if (rle.getMaxState() > stateNum) {
+            LOGGER.info("The state " + rle.getMaxState() + " is larger than " + stateNum + "!");
+            return null;
+        }
+
+        int N = rle.size();
+        int[] starts = new int[N + 1];
+        int[] dense = new int[stateNum * stateNum]; // counts of the current sequence
+        int[] touched = new int[stateNum * stateNum]; // its non-zero cells
+        int[] cells = new int[Math.max(16, N)];
+        double[] counts = new double[cells.length];
+
+        for (int i = 0; i < N; i++) {
+            int touchedNum = 0;
+            int runNum = rle.getRunNum(i);
+            for (int r = 0; r < runNum; r++) {
+                int state = rle.getState(i, r) - 1;
+                if (r > 0) {
+                    int cell = (rle.getState(i, r - 1) - 1) * stateNum + state;
+                    if (dense[cell]++ == 0) touched[touchedNum++] = cell;
+                }
+
+                int selfNum = rle.getLength(i, r) - 1;
+                if (selfNum > 0) {
+                    int cell = state * stateNum + state;
+                    if (dense[cell] == 0) touched[touchedNum++] = cell;
+                    dense[cell] += selfNum;
+                }
+            }
+
+            // append the non-zero cells of the row in increasing order and reset the dense counts
+            Arrays.sort(touched, 0, touchedNum);
+            int start = starts[i];
+            if (start + touchedNum > cells.length) {
+                int capacity = Math.max(start + touchedNum, cells.length + (cells.length >> 1));
+                cells = Arrays.copyOf(cells, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+            }
+            for (int c = 0; c < touchedNum; c++) {
+                cells[start + c] = touched[c];
+                counts[start + c] = dense[touched[c]];
+                dense[touched[c]] = 0;
+            }
+            starts[i + 1] = start + touchedNum;
+        }
+
+        return new TransitionCountMatrix(rle, stateNum, starts, Arrays.copyOf(cells, starts[N]),
+                Arrays.copyOf(counts, starts[N]));
+    }
+
+    /**
+     * Multiply a range of rows by the log state transition matrices of all models
+     * @param logTransitions flattened log state transition matrix of each model, stateNum * stateNum cells each
+     * @param scores log-likelihood of each sequence under each model, [model][sequence], filled in [from, to)
+     * @param from first sequence No., inclusive
+     * @param to last sequence No., exclusive
+     */
+    public void multiply(double[][] logTransitions, double[][] scores, int from, int to) {
+        int K = logTransitions.length;
+        double[] row = new double[K];
+        for (int i = from; i < to; i++) {
+            Arrays.fill(row, 0.0);
+            for (int c = this.mStarts[i]; c < this.mStarts[i + 1]; c++) {
+                int cell = this.mCells[c];
+                double count = this.mCounts[c];
+                for (int k = 0; k < K; k++) row[k] += count * logTransitions[k][cell];
+            }
+            for (int k = 0; k < K; k++) scores[k][i] = row[k];
+        }
+    }
+
+    /**
+     * Getter
+     * @return encoding the counts are built from
+     */
+    public RunLengthEncoding getRunLengthEncoding() {
+        return this.mRunLengthEncoding;
+    }
+
+    /**
+     * Getter
+     * @return the number of states
+     */
+    public int getStateNum() {
+        return this.mStateNum;
+    }
+
+    /**
+     * The number of sequences
+     * @return the number of sequences
+     */
+    public int size() {
+        return this.mStarts.length - 1;
+    }
+
+    /**
+     * The number of non-zero cells of all sequences
+     * @return the number of non-zero cells
+     */
+    public int getNonZeroNum() {
+        return this.mStarts[this.mStarts.length - 1];
+    }
+}
@@ -0,0 +1,256 @@
+package starter;
+
+import dao.SequenceDataset;
+import initializer.distancematrix.DistanceMatrix;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.logging.Logger;
+
+/**
+ * Project: DCDMC
+ * Package: starter
+ * Date: 17/Oct/2026
+ * Time: 16:45
+ * System Time: 4:45 PM
+ */
+
+/*
+    Run many CDMC configurations in one JVM.
+
+    Every run has its own RunConfig and results directory, and runs execute concurrently on the SharedExecutor.
+    Datasets and distance matrices are loaded once and shared by all runs which use them; both are only read.
+    Each line of a batch file describes one run:
+        configPath@@@distanceMatrixPath[@@@resultsDirectory]
+    Empty lines and lines starting with # are skipped.
+ */
+public class BatchStarter {
+
+    private static final Logger LOGGER = Logger.getLogger(BatchStarter.class.getName());
+
+    private final ConcurrentMap<String, Future<SequenceDataset>> mDatasets; // shared dataset cache
+    private final ConcurrentMap<String, Future<DistanceMatrix>> mDistanceMatrices; // shared distance matrix cache
+    private final int mThreadNum; // size of the shared executor if the batch creates it
+
+    /**
+     * class constructor
+     * @param threadNum size of the shared executor if the batch creates it, 0 for all processors
+     */
+    public BatchStarter(int threadNum) {
+        this.mThreadNum = threadNum > 0 ? threadNum : Runtime.getRuntime().availableProcessors();
+        this.mDatasets = new ConcurrentHashMap<String, Future<SequenceDataset>>();
+        this.mDistanceMatrices = new ConcurrentHashMap<String, Future<DistanceMatrix>>();
+    }
+
+    /**
+     * Run all configurations concurrently
+     * @param runConfigs configurations of the runs
+     * @return final cluster labels of each run, null for a failed run
+     */
+    public List<int[]> run(List<RunConfig> runConfigs) {
+
+        List<int[]> results = new ArrayList<int[]>();
+        if (runConfigs == null) {
+            LOGGER.info("The run configurations are null!");
+            return results;
+        }
+
+        ExecutorService executor = SharedExecutor.getInstance().getExecutorService(this.mThreadNum);
+        List<Future<int[]>> futures = new ArrayList<Future<int[]>>();
+        for (final RunConfig runConfig : runConfigs) {
+            futures.add(executor.submit(new Callable<int[]>() {
+                @Override
+                public int[] call() throws Exception {
+                    return runOne(runConfig);
+                }
+            }));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            int[] labels = null;
+            try {
+                labels = futures.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                e.printStackTrace();
+            } catch (ExecutionException e) {
+                e.printStackTrace();
+            }
+
+            if (labels == null) {
+                LOGGER.info("Run " + (i + 1) + " failed: " + runConfigs.get(i));
+            }
+            results.add(labels);
+        }
+
+        return results;
+    }
+
+    /**
+     * Run a single configuration
+     * @param runConfig configuration of the run
+     * @return final cluster labels
+     */
+    private int[] runOne(RunConfig runConfig) {
+
+        DistanceMatrix distanceMatrix = getDistanceMatrix(runConfig);
+        if (distanceMatrix == null) {
+            LOGGER.info("The distance matrix is null: " + runConfig.getDISTANCEMATRIXFILEPATH());
+            return null;
+        }
+
+        Starter starter = new Starter(runConfig, distanceMatrix);
+        SequenceDataset instances = getInstances(runConfig, starter);
+        if (instances == null || instances.size() == 0) {
+            LOGGER.info("The instances are empty: " + runConfig.getDATASETPATH());
+            return null;
+        }
+
+        int[] labels = starter.runCDMC(instances);
+        starter.saveOutputs();
+        return labels;
+    }
+
+    /**
+     * Get the instances of a run, the dataset is loaded by the first run which needs it
+     * @param runConfig configuration of the run
+     * @param starter starter of the run which can load the dataset
+     * @return instances, shared and only read
+     */
+    private SequenceDataset getInstances(RunConfig runConfig, final Starter starter) {
+        String key = runConfig.getDATASETTYPE() + CONSTANTS.CONFIGSEPARATOR + runConfig.getDATASETPATH()
+                + CONSTANTS.CONFIGSEPARATOR + runConfig.getDATAFORMAT();
+        FutureTask<SequenceDataset> task = new FutureTask<SequenceDataset>(new Callable<SequenceDataset>() {
+            @Override
+            public SequenceDataset call() throws Exception {
+                return starter.loadInstances();
+            }
+        });
+        return getOrLoad(this.mDatasets, key, task);
+    }
+
+    /**
+     * Get the distance matrix of a run, the file is read by the first run which needs it
+     * @param runConfig configuration of the run
+     * @return condensed distance matrix, shared and only read
+     */
+    private DistanceMatrix getDistanceMatrix(final RunConfig runConfig) {
+        // the matrix is checked against the dataset and DTW type of the run, so they are part of the key
+        String key = runConfig.getDISTANCEMATRIXFILEPATH() + CONSTANTS.CONFIGSEPARATOR
+                + runConfig.getDISTANCEMATRIXPRECISION() + CONSTANTS.CONFIGSEPARATOR + runConfig.getDATASETPATH()
+                + CONSTANTS.CONFIGSEPARATOR + runConfig.getDTWTYPE();
+        FutureTask<DistanceMatrix> task = new FutureTask<DistanceMatrix>(new Callable<DistanceMatrix>() {
+            @Override
+            public DistanceMatrix call() throws Exception {
+                return Starter.readDistanceMatrix(runConfig.getDISTANCEMATRIXFILEPATH(), runConfig);
+            }
+        });
+        return getOrLoad(this.mDistanceMatrices, key, task);
+    }
+
+    /**
+     * Get a cached value, or load it in the current thread if no other run has started loading it
+     * @param cache shared cache
+     * @param key cache key
+     * @param task loading task
+     * @param <T> value type
+     * @return the cached value, null if loading failed
+     */
+    private <T> T getOrLoad(ConcurrentMap<String, Future<T>> cache, String key, FutureTask<T> task) {
+        Future<T> future = cache.putIfAbsent(key, task);
+        if (future == null) {
+            future = task;
+            task.run();
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            e.printStackTrace();
+        } catch (ExecutionException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Read a batch file into run configurations
+     * @param path batch file path
+     * @return configurations of the runs
+     */
+    public static List<RunConfig> readBatchFile(String path) {
+
+        List<RunConfig> runConfigs = new ArrayList<RunConfig>();
+        try{
+            BufferedReader br = new BufferedReader(new FileReader(path));
+            String line = null;
+
+            while((line = br.readLine()) != null) {
+                line = line.trim();
+                if (line.length() == 0 || line.startsWith("#")) continue;
+
+                String[] strs = line.split(CONSTANTS.CONFIGSEPARATOR);
+                RunConfig runConfig = RunConfig.read(strs[0]);
+                if (runConfig == null || strs.length < 2) {
+                    LOGGER.info("Invalid batch line: " + line);
+                    continue;
+                }
+
+                // every run writes into its own results directory
+                String name = new File(strs[0]).getName().replaceAll("\\.[^.]*$", "");
+                File directory = strs.length > 2 ? new File(strs[2]) : new File("results" + File.separator + name);
+                if (!directory.isDirectory() && !directory.mkdirs()) {
+                    LOGGER.info("Cannot create the results directory: " + directory);
+                    continue;
+                }
+
+                runConfigs.add(runConfig.withDistanceMatrixFilePath(strs[1]).withResultsDirectory(directory.getPath()));
+            }
+            br.close();
+
+        } catch(IOException e) {
+            e.printStackTrace();
+        }
+
+        return runConfigs;
+    }
+
+    /**
+     * Run a batch file
+     * @param args batch file path [thread number]
+     */
+    public static void main(String[] args) {
+
+        if (args == null || args.length < 1) {
+            LOGGER.info("Usage: BatchStarter batchFilePath [threadNum]");
+            return;
+        }
+
+        // size of the shared executor, which is created by the batch
+        int threadNum = args.length > 1 ? Integer.parseInt(args[1]) : CONSTANTS.THREADNUM;
+
+        List<RunConfig> runConfigs = readBatchFile(args[0]);
+        long start = System.currentTimeMillis();
+        List<int[]> results = new BatchStarter(threadNum).run(runConfigs);
+
+        System.out.println();
+        System.out.println("||**************** Batch Results ****************||");
+        for (int i = 0; i < results.size(); i++) {
+            String status = results.get(i) == null ? "FAILED" : results.get(i).length + " instances";
+            System.out.println("    Run " + (i + 1) + ": " + runConfigs.get(i) + " -> " + status);
+        }
+        System.out.println("    " + results.size() + " runs in " + (System.currentTimeMillis() - start) + " ms.");
+    }
+}
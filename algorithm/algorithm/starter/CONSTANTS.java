@@ -29,6 +29,9 @@ public final class CONSTANTS {
     public final static String INITIALCLUSTERINGTYPE; // initial clustering type
     public final static String HIERARCHICALLINKAGETYPE; // hierarchical linkage type
     public final static int DATAFORMAT; // source data format
+    public final static String DISTANCEMATRIXPRECISION; // distance matrix precision
+    public final static String EXECUTIONMODE; // serial or parallel execution of models
+    public final static int THREADNUM; // thread number of shared executor, 0 for all processors
 
     /*--------------------- File Paths --------------------*/
     public final static String CONFIGPATH; // config file path
@@ -82,6 +85,9 @@ public final class CONSTANTS {
         INITIALCLUSTERINGTYPE = "HIERARCHICALCLUSTERING";
         HIERARCHICALLINKAGETYPE = "AVERAGELINKAGESTRATEGY";
         DATAFORMAT = 3;
+        DISTANCEMATRIXPRECISION = "DOUBLE";
+        EXECUTIONMODE = "SERIAL";
+        THREADNUM = 0;
 
         // GUI variables
         PROBABILITYDENSITYVIEW = true;
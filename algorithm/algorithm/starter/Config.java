@@ -34,6 +34,9 @@ public final class Config {
     private static String INITIALCLUSTERINGTYPE; // initial clustering type
     private static String HIERARCHICALLINKAGETYPE; // hierarchical linkage type
     private static int DATAFORMAT; // source data format
+    private static String DISTANCEMATRIXPRECISION; // distance matrix precision
+    private static String EXECUTIONMODE; // serial or parallel execution of models
+    private static int THREADNUM; // thread number of shared executor, 0 for all processors
 
     /*--------------------- File Paths --------------------*/
     private static String CONFIGPATH; // config file path
@@ -89,6 +92,9 @@ public final class Config {
         INITIALCLUSTERINGTYPE = CONSTANTS.INITIALCLUSTERINGTYPE;
         HIERARCHICALLINKAGETYPE = CONSTANTS.HIERARCHICALLINKAGETYPE;
         DATAFORMAT = CONSTANTS.DATAFORMAT;
+        DISTANCEMATRIXPRECISION = CONSTANTS.DISTANCEMATRIXPRECISION;
+        EXECUTIONMODE = CONSTANTS.EXECUTIONMODE;
+        THREADNUM = CONSTANTS.THREADNUM;
 
         // GUI variables
         PROBABILITYDENSITYVIEW = CONSTANTS.PROBABILITYDENSITYVIEW;
@@ -118,23 +124,21 @@ public final class Config {
             return;
         }
 
-        CLUSTERNUM = Integer.parseInt(args.get(0));
-
-        SIMILARITY = Double.parseDouble(args.get(1));
-
-        String[] strs = args.get(2).split(CONFIGSEPARATOR);
-        DATASETTYPE = strs[0];
-        DATASETPATH = strs[1];
-        STATENUM = Integer.parseInt(strs[2]);
-        DATAFORMAT = Integer.parseInt(strs[3]);
-        DTWTYPE = args.get(3);
-        STOPPINGCRITERIATYPE = args.get(4);
-        strs = args.get(5).split(CONFIGSEPARATOR);
-        MODELINGMODE = strs[0];
-        DYNAMICMODELTYPE = strs[1];
-        String[] params = args.get(6).split(CONFIGSEPARATOR);
-        INITIALCLUSTERINGTYPE = params[0];
-        HIERARCHICALLINKAGETYPE = params.length < 2 ? ("N" + File.separator + "A") : params[1];
+        RunConfig runConfig = RunConfig.parse(args);
+        CLUSTERNUM = runConfig.getCLUSTERNUM();
+        SIMILARITY = runConfig.getSIMILARITY();
+        DATASETTYPE = runConfig.getDATASETTYPE();
+        DATASETPATH = runConfig.getDATASETPATH();
+        STATENUM = runConfig.getSTATENUM();
+        DATAFORMAT = runConfig.getDATAFORMAT();
+        DTWTYPE = runConfig.getDTWTYPE();
+        STOPPINGCRITERIATYPE = runConfig.getSTOPPINGCRITERIATYPE();
+        MODELINGMODE = runConfig.getMODELINGMODE();
+        DYNAMICMODELTYPE = runConfig.getDYNAMICMODELTYPE();
+        INITIALCLUSTERINGTYPE = runConfig.getINITIALCLUSTERINGTYPE();
+        HIERARCHICALLINKAGETYPE = runConfig.getHIERARCHICALLINKAGETYPE();
+        EXECUTIONMODE = runConfig.getEXECUTIONMODE();
+        THREADNUM = runConfig.getTHREADNUM();
     }
 
     /**
@@ -169,6 +173,9 @@ public final class Config {
         INITIALCLUSTERINGTYPE = CONSTANTS.INITIALCLUSTERINGTYPE;
         HIERARCHICALLINKAGETYPE = CONSTANTS.HIERARCHICALLINKAGETYPE;
         DATAFORMAT = CONSTANTS.DATAFORMAT;
+        DISTANCEMATRIXPRECISION = CONSTANTS.DISTANCEMATRIXPRECISION;
+        EXECUTIONMODE = CONSTANTS.EXECUTIONMODE;
+        THREADNUM = CONSTANTS.THREADNUM;
 
         // GUI variables
         PROBABILITYDENSITYVIEW = CONSTANTS.PROBABILITYDENSITYVIEW;
@@ -454,6 +461,54 @@ public final class Config {
         Config.HIERARCHICALLINKAGETYPE = HIERARCHICALLINKAGETYPE.toUpperCase();
     }
 
+    /**
+     * Getter
+     * @return distance matrix precision
+     */
+    public static String getDISTANCEMATRIXPRECISION() {
+        return DISTANCEMATRIXPRECISION.toUpperCase();
+    }
+
+    /**
+     * Setter
+     * @param DISTANCEMATRIXPRECISION distance matrix precision
+     */
+    public static void setDISTANCEMATRIXPRECISION(String DISTANCEMATRIXPRECISION) {
+        Config.DISTANCEMATRIXPRECISION = DISTANCEMATRIXPRECISION.toUpperCase();
+    }
+
+    /**
+     * Getter
+     * @return execution mode
+     */
+    public static String getEXECUTIONMODE() {
+        return EXECUTIONMODE.toUpperCase();
+    }
+
+    /**
+     * Setter
+     * @param EXECUTIONMODE execution mode
+     */
+    public static void setEXECUTIONMODE(String EXECUTIONMODE) {
+        Config.EXECUTIONMODE = EXECUTIONMODE.toUpperCase();
+    }
+
+    /**
+     * Getter
+     * @return thread number of shared executor, all processors if it is not positive
+     */
+    public static int getTHREADNUM() {
+        return THREADNUM > 0 ? THREADNUM : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Setter
+     * @param THREADNUM thread number of shared executor
+     */
+    public static void setTHREADNUM(int THREADNUM) {
+        Config.THREADNUM = THREADNUM;
+    }
+
     /**
      * Setter
      * @param DATAFORMAT dataset format
@@ -0,0 +1,13 @@
+package starter;
+
+/**
+ * Project: DCDMC
+ * Package: starter
+ * Date: 17/Oct/2026
+ * Time: 15:20
+ * System Time: 3:20 PM
+ */
+public enum EXECUTIONMODE {
+    SERIAL,
+    PARALLEL;
+}
@@ -90,11 +90,13 @@ public class InitialStarter {
             return;
         }
 
+        RunConfig runConfig = RunConfig.fromConfig(); // snapshot of the parameters just read
+
         //-------------------------- Dataset --------------------------//
-        this.mIdao = DaoFactory.getInstance().createData(DATATYPE.valueOf(Config.getDATASETTYPE()));
+        this.mIdao = DaoFactory.getInstance().createData(DATATYPE.valueOf(runConfig.getDATASETTYPE()), runConfig);
 
         //----------------------- Initialization ----------------------//
-        this.mInitializer = InitializerFactory.getInstance().createInitializer(INITIALIZERTYPE.valueOf(Config.getDTWTYPE()));
+        this.mInitializer = InitializerFactory.getInstance().createInitializer(INITIALIZERTYPE.valueOf(runConfig.getDTWTYPE()), runConfig);
 
     }
 
@@ -112,11 +114,13 @@ public class InitialStarter {
             return;
         }
 
+        RunConfig runConfig = RunConfig.fromConfig(); // snapshot of the parameters just read
+
         //-------------------------- Dataset --------------------------//
-        this.mIdao = DaoFactory.getInstance().createData(DATATYPE.valueOf(Config.getDATASETTYPE()));
+        this.mIdao = DaoFactory.getInstance().createData(DATATYPE.valueOf(runConfig.getDATASETTYPE()), runConfig);
 
         //----------------------- Initialization ----------------------//
-        this.mInitializer = InitializerFactory.getInstance().createInitializer(INITIALIZERTYPE.valueOf(Config.getDTWTYPE()));
+        this.mInitializer = InitializerFactory.getInstance().createInitializer(INITIALIZERTYPE.valueOf(runConfig.getDTWTYPE()), runConfig);
 
     }
 
@@ -0,0 +1,473 @@
+package starter;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Project: DCDMC
+ * Package: starter
+ * Date: 17/Oct/2026
+ * Time: 16:10
+ * System Time: 4:10 PM
+ */
+
+/*
+    Configuration of a single CDMC run.
+
+    Unlike Config, whose parameters are static and shared by the whole JVM, a RunConfig is immutable: it has no
+    setters, and the with* methods return a modified copy. It is handed to Starter, the initializers, the dynamic
+    models, the DAOs and the factories, so several runs with different parameters can share one JVM.
+    RunConfig.fromConfig() takes a snapshot of the static configuration for the GUI.
+ */
+public final class RunConfig {
+
+    private static final Logger LOGGER = Logger.getLogger(RunConfig.class.getName());
+
+    /*-------------------- Variables ---------------------*/
+    private int CLUSTERNUM; // cluster number
+    private double SIMILARITY; // similarity threshold
+    private String DATASETTYPE; // dataset type
+    private String DATASETPATH; // dataset  path
+    private int STATENUM; // state number
+    private String DTWTYPE; // DTW type
+    private String STOPPINGCRITERIATYPE; // stopping criteria
+    private String MODELINGMODE; // modeling mode
+    private String DYNAMICMODELTYPE; // dynamic model type
+    private String INITIALCLUSTERINGTYPE; // initial clustering type
+    private String HIERARCHICALLINKAGETYPE; // hierarchical linkage type
+    private int DATAFORMAT; // source data format
+    private String DISTANCEMATRIXPRECISION; // distance matrix precision
+    private String EXECUTIONMODE; // serial or parallel execution of models
+    private int THREADNUM; // thread number of shared executor, 0 for all processors
+
+    /*--------------------- File Paths --------------------*/
+    private String CONFIGPATH; // config file path
+    private String INITIALCLUSTERSFILEPATH; // initial cluster file path
+    private String FINALCLUSTERSFILEPATH; // final cluster file path
+    private String DISTANCEMATRIXFILEPATH; // distance matrix file path
+    private String SIMILARITYTRENDLINEFILEPATH; // similarity trendline file path
+    private String FINALPROBSFORALLINSTANCESFILEPATH; // final probabilities for all instances file path
+    private String TOTALPROBABILITIESTRENDLINEFILEPATH; // total probabilities trendline file path
+    private String WEBUSERNAVIGATIONBEHAVIORDATALENGTHFILEPATH; // web user navigation behavior dataset length file path
+
+    /*---------------------- Separator --------------------*/
+    private String CSVFILESEPARATOR; // csv file separator
+
+    /**
+     * class constructor with default configuration
+     */
+    private RunConfig() {
+
+        // File Path Default Settings
+        CONFIGPATH = CONSTANTS.CONFIGPATH;
+        INITIALCLUSTERSFILEPATH = CONSTANTS.INITIALCLUSTERSFILEPATH;
+        FINALCLUSTERSFILEPATH = CONSTANTS.FINALCLUSTERSFILEPATH;
+        DISTANCEMATRIXFILEPATH = CONSTANTS.DISTANCEMATRIXFILEPATH;
+        SIMILARITYTRENDLINEFILEPATH = CONSTANTS.SIMILARITYTRENDLINEFILEPATH;
+        FINALPROBSFORALLINSTANCESFILEPATH = CONSTANTS.FINALPROBSFORALLINSTANCESFILEPATH;
+        TOTALPROBABILITIESTRENDLINEFILEPATH = CONSTANTS.TOTALPROBABILITIESTRENDLINEFILEPATH;
+        WEBUSERNAVIGATIONBEHAVIORDATALENGTHFILEPATH = CONSTANTS.WEBUSERNAVIGATIONBEHAVIORDATALENGTHFILEPATH;
+
+        // DCDMC Parameter Default Configuration
+        CLUSTERNUM = CONSTANTS.CLUSTERNUM;
+        SIMILARITY = CONSTANTS.SIMILARITY;
+        DATASETTYPE = CONSTANTS.DATASETTYPE;
+        DATASETPATH = CONSTANTS.DATASETPATH;
+        STATENUM = CONSTANTS.STATENUM;
+        DTWTYPE = CONSTANTS.DTWTYPE;
+        STOPPINGCRITERIATYPE= CONSTANTS.STOPPINGCRITERIATYPE;
+        MODELINGMODE = CONSTANTS.MODELINGMODE;
+        DYNAMICMODELTYPE = CONSTANTS.DYNAMICMODELTYPE;
+        INITIALCLUSTERINGTYPE = CONSTANTS.INITIALCLUSTERINGTYPE;
+        HIERARCHICALLINKAGETYPE = CONSTANTS.HIERARCHICALLINKAGETYPE;
+        DATAFORMAT = CONSTANTS.DATAFORMAT;
+        DISTANCEMATRIXPRECISION = CONSTANTS.DISTANCEMATRIXPRECISION;
+        EXECUTIONMODE = CONSTANTS.EXECUTIONMODE;
+        THREADNUM = CONSTANTS.THREADNUM;
+
+        // Separator
+        CSVFILESEPARATOR = CONSTANTS.CSVFILESEPARATOR;
+    }
+
+    /**
+     * Copy constructor
+     * @param other configuration to copy
+     */
+    private RunConfig(RunConfig other) {
+        CONFIGPATH = other.CONFIGPATH;
+        INITIALCLUSTERSFILEPATH = other.INITIALCLUSTERSFILEPATH;
+        FINALCLUSTERSFILEPATH = other.FINALCLUSTERSFILEPATH;
+        DISTANCEMATRIXFILEPATH = other.DISTANCEMATRIXFILEPATH;
+        SIMILARITYTRENDLINEFILEPATH = other.SIMILARITYTRENDLINEFILEPATH;
+        FINALPROBSFORALLINSTANCESFILEPATH = other.FINALPROBSFORALLINSTANCESFILEPATH;
+        TOTALPROBABILITIESTRENDLINEFILEPATH = other.TOTALPROBABILITIESTRENDLINEFILEPATH;
+        WEBUSERNAVIGATIONBEHAVIORDATALENGTHFILEPATH = other.WEBUSERNAVIGATIONBEHAVIORDATALENGTHFILEPATH;
+
+        CLUSTERNUM = other.CLUSTERNUM;
+        SIMILARITY = other.SIMILARITY;
+        DATASETTYPE = other.DATASETTYPE;
+        DATASETPATH = other.DATASETPATH;
+        STATENUM = other.STATENUM;
+        DTWTYPE = other.DTWTYPE;
+        STOPPINGCRITERIATYPE= other.STOPPINGCRITERIATYPE;
+        MODELINGMODE = other.MODELINGMODE;
+        DYNAMICMODELTYPE = other.DYNAMICMODELTYPE;
+        INITIALCLUSTERINGTYPE = other.INITIALCLUSTERINGTYPE;
+        HIERARCHICALLINKAGETYPE = other.HIERARCHICALLINKAGETYPE;
+        DATAFORMAT = other.DATAFORMAT;
+        DISTANCEMATRIXPRECISION = other.DISTANCEMATRIXPRECISION;
+        EXECUTIONMODE = other.EXECUTIONMODE;
+        THREADNUM = other.THREADNUM;
+
+        CSVFILESEPARATOR = other.CSVFILESEPARATOR;
+    }
+
+    /**
+     * Default configuration
+     * @return configuration with the default values of CONSTANTS
+     */
+    public static RunConfig defaults() {
+        return new RunConfig();
+    }
+
+    /**
+     * Snapshot of the static configuration
+     * @return configuration with the current values of Config
+     */
+    public static RunConfig fromConfig() {
+        RunConfig runConfig = new RunConfig();
+
+        runConfig.CONFIGPATH = Config.getCONFIGPATH();
+        runConfig.INITIALCLUSTERSFILEPATH = Config.getINITIALCLUSTERSFILEPATH();
+        runConfig.FINALCLUSTERSFILEPATH = Config.getFINALCLUSTERSFILEPATH();
+        runConfig.DISTANCEMATRIXFILEPATH = Config.getDISTANCEMATRIXFILEPATH();
+        runConfig.SIMILARITYTRENDLINEFILEPATH = Config.getSIMILARITYTRENDLINEFILEPATH();
+        runConfig.FINALPROBSFORALLINSTANCESFILEPATH = Config.getFINALPROBSFORALLINSTANCESFILEPATH();
+        runConfig.TOTALPROBABILITIESTRENDLINEFILEPATH = Config.getTOTALPROBABILITIESTRENDLINEFILEPATH();
+        runConfig.WEBUSERNAVIGATIONBEHAVIORDATALENGTHFILEPATH = Config.getWEBUSERNAVIGATIONBEHAVIORDATALENGTHFILEPATH();
+
+        runConfig.CLUSTERNUM = Config.getCLUSTERNUM();
+        runConfig.SIMILARITY = Config.getSIMILARITY();
+        runConfig.DATASETTYPE = Config.getDATASETTYPE();
+        runConfig.DATASETPATH = Config.getDATASETPATH();
+        runConfig.STATENUM = Config.getSTATENUM();
+        runConfig.DTWTYPE = Config.getDTWTYPE();
+        runConfig.STOPPINGCRITERIATYPE = Config.getSTOPPINGCRITERIATYPE();
+        runConfig.MODELINGMODE = Config.getMODELINGMODE();
+        runConfig.DYNAMICMODELTYPE = Config.getDYNAMICMODELTYPE();
+        runConfig.INITIALCLUSTERINGTYPE = Config.getINITIALCLUSTERINGTYPE();
+        runConfig.HIERARCHICALLINKAGETYPE = Config.getHIERARCHICALLINKAGETYPE();
+        runConfig.DATAFORMAT = Config.getDATAFORMAT();
+        runConfig.DISTANCEMATRIXPRECISION = Config.getDISTANCEMATRIXPRECISION();
+        runConfig.EXECUTIONMODE = Config.getEXECUTIONMODE();
+        runConfig.THREADNUM = Config.getTHREADNUM();
+
+        runConfig.CSVFILESEPARATOR = Config.getCSVFILESEPARATOR();
+
+        return runConfig;
+    }
+
+    /**
+     * Parse the lines of a config file, parameters which are not in the file keep their default values
+     * @param args string parameters
+     * @return configuration, null if the parameters are empty
+     */
+    public static RunConfig parse(List<String> args) {
+        if (args == null) {
+            LOGGER.info("The args are null!");
+            return null;
+        }
+
+        if (args.size() == 0) {
+            LOGGER.info("The args are empty!");
+            return null;
+        }
+
+        String separator = CONSTANTS.CONFIGSEPARATOR;
+        RunConfig runConfig = new RunConfig();
+
+        runConfig.CLUSTERNUM = Integer.parseInt(args.get(0));
+
+        runConfig.SIMILARITY = Double.parseDouble(args.get(1));
+
+        String[] strs = args.get(2).split(separator);
+        runConfig.DATASETTYPE = strs[0];
+        runConfig.DATASETPATH = strs[1];
+        runConfig.STATENUM = Integer.parseInt(strs[2]);
+        runConfig.DATAFORMAT = Integer.parseInt(strs[3]);
+        runConfig.DTWTYPE = args.get(3);
+        runConfig.STOPPINGCRITERIATYPE = args.get(4);
+        strs = args.get(5).split(separator);
+        runConfig.MODELINGMODE = strs[0];
+        runConfig.DYNAMICMODELTYPE = strs[1];
+        String[] params = args.get(6).split(separator);
+        runConfig.INITIALCLUSTERINGTYPE = params[0];
+        runConfig.HIERARCHICALLINKAGETYPE = params.length < 2 ? ("N" + File.separator + "A") : params[1];
+
+        // optional execution mode, e.g. parallel@@@8
+        if (args.size() > 7 && args.get(7).trim().length() > 0) {
+            params = args.get(7).trim().split(separator);
+            runConfig.EXECUTIONMODE = params[0];
+            runConfig.THREADNUM = params.length < 2 ? CONSTANTS.THREADNUM : Integer.parseInt(params[1]);
+        }
+
+        return runConfig;
+    }
+
+    /**
+     * Read a config file
+     * @param path config file path
+     * @return configuration, null if the file cannot be read
+     */
+    public static RunConfig read(String path) {
+        List<String> cache = new ArrayList<String>(); // cache configuration parameters
+        try{
+            BufferedReader br = new BufferedReader(new FileReader(path));
+            String line = null;
+
+            while((line = br.readLine()) != null) {
+                cache.add(line);
+            }
+            br.close();
+
+        } catch(IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+
+        RunConfig runConfig = parse(cache);
+        if (runConfig != null) {
+            runConfig.CONFIGPATH = path;
+        }
+        return runConfig;
+    }
+
+    /**
+     * Copy with another distance matrix file
+     * @param path distance matrix file path
+     * @return a new configuration
+     */
+    public RunConfig withDistanceMatrixFilePath(String path) {
+        RunConfig runConfig = new RunConfig(this);
+        runConfig.DISTANCEMATRIXFILEPATH = path;
+        return runConfig;
+    }
+
+    /**
+     * Copy whose result files are written into the given directory, so parallel runs do not overwrite each other
+     * @param directory results directory
+     * @return a new configuration
+     */
+    public RunConfig withResultsDirectory(String directory) {
+        RunConfig runConfig = new RunConfig(this);
+        runConfig.INITIALCLUSTERSFILEPATH = new File(directory, new File(INITIALCLUSTERSFILEPATH).getName()).getAbsolutePath();
+        runConfig.FINALCLUSTERSFILEPATH = new File(directory, new File(FINALCLUSTERSFILEPATH).getName()).getAbsolutePath();
+        runConfig.SIMILARITYTRENDLINEFILEPATH = new File(directory, new File(SIMILARITYTRENDLINEFILEPATH).getName()).getAbsolutePath();
+        runConfig.FINALPROBSFORALLINSTANCESFILEPATH = new File(directory, new File(FINALPROBSFORALLINSTANCESFILEPATH).getName()).getAbsolutePath();
+        runConfig.TOTALPROBABILITIESTRENDLINEFILEPATH = new File(directory, new File(TOTALPROBABILITIESTRENDLINEFILEPATH).getName()).getAbsolutePath();
+        return runConfig;
+    }
+
+    /**
+     * Getter
+     * @return cluster number
+     */
+    public int getCLUSTERNUM() {
+        return CLUSTERNUM;
+    }
+
+    /**
+     * Getter
+     * @return similiarity threshold
+     */
+    public double getSIMILARITY() {
+        return SIMILARITY;
+    }
+
+    /**
+     * Getter
+     * @return dataset type
+     */
+    public String getDATASETTYPE() {
+        return DATASETTYPE.toUpperCase();
+    }
+
+    /**
+     * Getter
+     * @return dataset path
+     */
+    public String getDATASETPATH() {
+        return DATASETPATH;
+    }
+
+    /**
+     * Getter
+     * @return state number
+     */
+    public int getSTATENUM() {
+        return STATENUM;
+    }
+
+    /**
+     * Getter
+     * @return DTW type
+     */
+    public String getDTWTYPE() {
+        return DTWTYPE.toUpperCase();
+    }
+
+    /**
+     * Getter
+     * @return stopping criteria
+     */
+    public String getSTOPPINGCRITERIATYPE() {
+        return STOPPINGCRITERIATYPE.toUpperCase();
+    }
+
+    /**
+     * Getter
+     * @return modeling model
+     */
+    public String getMODELINGMODE() {
+        return MODELINGMODE.toUpperCase();
+    }
+
+    /**
+     * Getter
+     * @return dynamic model type
+     */
+    public String getDYNAMICMODELTYPE() {
+        return DYNAMICMODELTYPE.toUpperCase();
+    }
+
+    /**
+     * Getter
+     * @return initial clustering type
+     */
+    public String getINITIALCLUSTERINGTYPE() {
+        return INITIALCLUSTERINGTYPE.toUpperCase();
+    }
+
+    /**
+     * Getter
+     * @return hierarchical linkage type
+     */
+    public String getHIERARCHICALLINKAGETYPE() {
+        return HIERARCHICALLINKAGETYPE.toUpperCase();
+    }
+
+    /**
+     * Getter
+     * @return data format
+     */
+    public int getDATAFORMAT() {
+        return DATAFORMAT;
+    }
+
+    /**
+     * Getter
+     * @return distance matrix precision
+     */
+    public String getDISTANCEMATRIXPRECISION() {
+        return DISTANCEMATRIXPRECISION.toUpperCase();
+    }
+
+    /**
+     * Getter
+     * @return execution mode
+     */
+    public String getEXECUTIONMODE() {
+        return EXECUTIONMODE.toUpperCase();
+    }
+
+    /**
+     * Getter
+     * @return thread number, all available processors if it is not positive
+     */
+    public int getTHREADNUM() {
+        return THREADNUM > 0 ? THREADNUM : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Getter
+     * @return config file path
+     */
+    public String getCONFIGPATH() {
+        return CONFIGPATH;
+    }
+
+    /**
+     * Getter
+     * @return initial clusters file path
+     */
+    public String getINITIALCLUSTERSFILEPATH() {
+        return INITIALCLUSTERSFILEPATH;
+    }
+
+    /**
+     * Getter
+     * @return final clusters file path
+     */
+    public String getFINALCLUSTERSFILEPATH() {
+        return FINALCLUSTERSFILEPATH;
+    }
+
+    /**
+     * Getter
+     * @return distance matrix path
+     */
+    public String getDISTANCEMATRIXFILEPATH() {
+        return DISTANCEMATRIXFILEPATH;
+    }
+
+    /**
+     * Getter
+     * @return similarity trendline file path
+     */
+    public String getSIMILARITYTRENDLINEFILEPATH() {
+        return SIMILARITYTRENDLINEFILEPATH;
+    }
+
+    /**
+     * Getter
+     * @return final probabilities for all instances file path
+     */
+    public String getFINALPROBSFORALLINSTANCESFILEPATH() {
+        return FINALPROBSFORALLINSTANCESFILEPATH;
+    }
+
+    /**
+     * Getter
+     * @return total probabilities trendline file path
+     */
+    public String getTOTALPROBABILITIESTRENDLINEFILEPATH() {
+        return TOTALPROBABILITIESTRENDLINEFILEPATH;
+    }
+
+    /**
+     * Getter
+     * @return web user navigation behavior dataset length file path
+     */
+    public String getWEBUSERNAVIGATIONBEHAVIORDATALENGTHFILEPATH() {
+        return WEBUSERNAVIGATIONBEHAVIORDATALENGTHFILEPATH;
+    }
+
+    /**
+     * Getter
+     * @return csv file separator
+     */
+    public String getCSVFILESEPARATOR() {
+        return CSVFILESEPARATOR;
+    }
+
+    @Override
+    public String toString() {
+        return "RunConfig [ " + getDATASETTYPE() + ", " + DATASETPATH + ", K = " + CLUSTERNUM + ", S = " + STATENUM
+                + ", " + getDTWTYPE() + ", " + getDYNAMICMODELTYPE() + ", " + getINITIALCLUSTERINGTYPE() + " ]";
+    }
+}
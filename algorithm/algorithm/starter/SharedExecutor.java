@@ -0,0 +1,92 @@
+package starter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Project: DCDMC
+ * Package: starter
+ * Date: 17/Oct/2026
+ * Time: 15:25
+ * System Time: 3:25 PM
+ */
+
+/*
+    Thread pool shared by the parallel execution mode and the batch runs of BatchStarter.
+    It is created by the first caller with the number of threads that caller asks for, and later callers share it
+    whatever they ask for. Its threads are daemons, so it never keeps the JVM alive.
+ */
+public class SharedExecutor {
+
+    private static final Logger LOGGER = Logger.getLogger(SharedExecutor.class.getName());
+    private static final SharedExecutor instance = new SharedExecutor();
+
+    private static final ThreadLocal<Boolean> WORKER = new ThreadLocal<Boolean>(); // set on pool threads
+
+    private ExecutorService mExecutorService;
+    private int mThreadNum;
+
+    /**
+     * Singleton pattern
+     */
+    private SharedExecutor() {
+        this.mExecutorService = null;
+        this.mThreadNum = 0;
+    }
+
+    /**
+     * Get single instance
+     * @return a single instance
+     */
+    public static SharedExecutor getInstance() {
+        return instance;
+    }
+
+    /**
+     * Get the shared executor service
+     * @param threadNum the number of threads if the executor is not created yet, at least 1
+     * @return the executor service
+     */
+    public synchronized ExecutorService getExecutorService(int threadNum) {
+        if (this.mExecutorService == null) {
+            this.mThreadNum = Math.max(1, threadNum);
+            final AtomicInteger count = new AtomicInteger(0);
+            this.mExecutorService = Executors.newFixedThreadPool(this.mThreadNum, new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable r) {
+                    Thread thread = new Thread(new Runnable() {
+                        @Override
+                        public void run() {
+                            WORKER.set(Boolean.TRUE);
+                            r.run();
+                        }
+                    }, "DCDMC-worker-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            LOGGER.info("Shared executor starts with " + this.mThreadNum + " threads.");
+        }
+        return this.mExecutorService;
+    }
+
+    /**
+     * Whether the current thread belongs to the shared executor.
+     * Such a thread must not block on tasks it submits to the same pool, or all threads may end up waiting.
+     * @return true on a thread of the shared executor
+     */
+    public boolean isWorkerThread() {
+        return WORKER.get() != null;
+    }
+
+    /**
+     * Getter
+     * @return the number of threads in the shared executor, 0 before it is created
+     */
+    public synchronized int getThreadNum() {
+        return this.mThreadNum;
+    }
+}
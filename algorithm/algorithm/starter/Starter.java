@@ -6,9 +6,18 @@ import adapters.HistogramChartAdapter;
 import dao.DATATYPE;
 import dao.DaoFactory;
 import dao.IDAO;
+import dao.SequenceDataset;
 import initializer.clusterings.InitialClusteringFactory;
 import initializer.clusterings.IClusteringAlgorithm;
 import initializer.clusterings.INITIALCLUSTERINGTYPE;
+import initializer.clusterings.ISequenceClusteringAlgorithm;
+import initializer.distancematrix.DistanceMatrix;
+import initializer.distancematrix.DistanceMatrixHeader;
+import initializer.distancematrix.DistanceMatrixIO;
+import initializer.distancematrix.PRECISION;
+import initializer.initializers.IInitializer;
+import initializer.initializers.INITIALIZERTYPE;
+import initializer.initializers.InitializerFactory;
 import model.*;
 import stoppingcriteria.IStoppingCriteria;
 import stoppingcriteria.STOPPINGCRITERIA;
@@ -40,13 +49,14 @@ public class Starter {
 
     private static final Logger LOGGER = Logger.getLogger(Starter.class.getName());
 
-    private Config mConfigs; // configuation
+    private RunConfig mRunConfig; // configuation of this run
     private IDAO mIdao; // data
     private IStoppingCriteria mIsc; // stopping criteria
     private IModels mIModels; // dynamic model
+    private IClusteringAlgorithm mIca; // initial clustering
 
     // initialization variables
-    private double[][] distanceMatrix; // distance matrix
+    private DistanceMatrix distanceMatrix; // condensed distance matrix
 
     // CDMC results
     private int[] initialClusterLalels; // initial cluster labels
@@ -71,6 +81,17 @@ public class Starter {
         init(configurationList, distanceMatrixFilePath); // initialize member variables
     }
 
+    /**
+     * class constructor which leaves the static configuration untouched
+     * @param runConfig configuration of this run
+     * @param distanceMatrix condensed distance matrix, it is only read
+     */
+    public Starter(RunConfig runConfig, DistanceMatrix distanceMatrix) {
+        this.mRunConfig = runConfig;
+        this.distanceMatrix = distanceMatrix;
+        init(); // initialize member variables
+    }
+
     /**
      * Read initial cluster labels into memory
      * @param path file path
@@ -122,45 +143,49 @@ public class Starter {
         }
 
         // set up configurations
-        this.mConfigs = new Config(cache);
-        this.mConfigs.setCONFIGPATH(path);
+        new Config(cache);
+        Config.setCONFIGPATH(path);
 
     }
 
     /**
-     * Read the input two-dimensional distance matrix from the file
+     * Read the input distance matrix from the file, binary files are memory-mapped without parsing
      * @param path file path
      */
     public void readDistanceMatrix(String path) {
+        this.distanceMatrix = readDistanceMatrix(path, this.mRunConfig);
+    }
+
+    /**
+     * Read a distance matrix from the file, binary files are memory-mapped without parsing
+     * @param path file path
+     * @param runConfig configuration the distance matrix is checked against
+     * @return a condensed distance matrix, null if it was computed from another dataset or by another DTW type
+     */
+    public static DistanceMatrix readDistanceMatrix(String path, RunConfig runConfig) {
 
         if (path == null || path.length() == 0) {
             LOGGER.info("The input path is null!");
-            return;
+            return null;
         }
 
-        try{
-            BufferedReader br = new BufferedReader(new FileReader(path));
-            String line = br.readLine();
-            String[] strs = line.split(" ");
-            int ROW = strs.length;
-            this.distanceMatrix = new double[ROW][ROW];
-
-            for (int i = 0; i < ROW; i++) {
-                this.distanceMatrix[0][i] = Double.parseDouble(strs[i]);
+        // binary files are checked against the current dataset and DTW type, a stale matrix is never used
+        DistanceMatrixHeader header = DistanceMatrixIO.readHeader(path);
+        if (header != null) {
+            LOGGER.fine(header.toString());
+            long checksum = DistanceMatrixIO.computeChecksum(runConfig.getDATASETPATH());
+            if (header.getChecksum() != 0 && header.getChecksum() != checksum) {
+                LOGGER.warning("The distance matrix " + path + " was computed from a different dataset!");
+                return null;
             }
-
-            int count = 1;
-            while((line = br.readLine()) != null) {
-                String [] parts = line.split(" ");
-                for (int i = 0; i < ROW; i++) {
-                    this.distanceMatrix[count][i] = Double.parseDouble(parts[i]);
-                }
-                count++;
+            if (header.getDTWType().length() > 0 && !header.getDTWType().equals(runConfig.getDTWTYPE())) {
+                LOGGER.warning("The distance matrix " + path + " was computed by " + header.getDTWType() + "!");
+                return null;
             }
-
-        } catch(IOException e) {
-            e.printStackTrace();
         }
+
+        // only the upper triangle is kept
+        return DistanceMatrixIO.read(path, PRECISION.valueOf(runConfig.getDISTANCEMATRIXPRECISION()));
     }
 
     /**
@@ -173,34 +198,16 @@ public class Starter {
         //-------------- Read Configurations From File ---------------//
         // read config file
         readConfigFile(configFilePath);
+        Config.setDISTANCEMATRIXFILEPATH(distanceMatrixFilePath);
+        this.mRunConfig = RunConfig.fromConfig();
 
         // read distance matrix
         readDistanceMatrix(distanceMatrixFilePath);
-        Config.setDISTANCEMATRIXFILEPATH(distanceMatrixFilePath);
 
         // read initial cluster lable file
         // readInitialClusterLabels(initialClusterFilePath);
 
-        if (this.mConfigs == null) {
-            LOGGER.log(Level.INFO, "Config file is null!");
-            return;
-        }
-
-        //----------------------- Initialization ----------------------//
-        IClusteringAlgorithm ica = InitialClusteringFactory.getInstance().createInitialClusters(INITIALCLUSTERINGTYPE.valueOf(Config.getINITIALCLUSTERINGTYPE()));
-        this.initialClusterLalels = ica.getClusterAssignment(Config.getCLUSTERNUM(), this.distanceMatrix);
-
-        //-------------------------- Dataset --------------------------//
-        this.mIdao = DaoFactory.getInstance().createData(DATATYPE.valueOf(Config.getDATASETTYPE()));
-
-        //--------------------- Stopping Criteria ---------------------//
-        this.mIsc = StoppingCriteriaFactory.getInstance().createStoppingCriteria(STOPPINGCRITERIA.valueOf(Config.getSTOPPINGCRITERIATYPE()));
-
-        //----------------------- Dynamic Models ----------------------//
-        this.mIModels = ModelsFactory.getInstance().createModels(MODELSTYPE.valueOf(Config.getMODELINGMODE()));
-
-        //----------------------- Dynamic Models ----------------------//
-        this.mIModels = ModelsFactory.getInstance().createModels(MODELSTYPE.valueOf(Config.getMODELINGMODE()));
+        init();
     }
 
     /**
@@ -211,134 +218,212 @@ public class Starter {
     private void init(List<String> configurationList, String distanceMatrixFilePath) {
 
         //--------------- Read Configuration From File ---------------//
-        this.mConfigs = new Config(configurationList);
+        new Config(configurationList);
+        Config.setDISTANCEMATRIXFILEPATH(distanceMatrixFilePath);
+        this.mRunConfig = RunConfig.fromConfig();
 
         // read distance matrix
         readDistanceMatrix(distanceMatrixFilePath);
-        Config.setDISTANCEMATRIXFILEPATH(distanceMatrixFilePath);
 
         // read the initial cluster labels
         // readInitialClusterLabels(initialClusterFilePath);
 
-        if (this.mConfigs == null) {
+        init();
+    }
+
+    /**
+     * Initialize member variables according to the configuration of this run
+     */
+    private void init() {
+
+        if (this.mRunConfig == null) {
             LOGGER.log(Level.INFO, "Config file is null!");
             return;
         }
 
         //----------------------- Initialization ----------------------//
-        IClusteringAlgorithm ica = InitialClusteringFactory.getInstance().createInitialClusters(INITIALCLUSTERINGTYPE.valueOf(Config.getINITIALCLUSTERINGTYPE()));
-        this.initialClusterLalels = ica.getClusterAssignment(Config.getCLUSTERNUM(), this.distanceMatrix);
+        this.mIca = InitialClusteringFactory.getInstance().createInitialClusters(INITIALCLUSTERINGTYPE.valueOf(this.mRunConfig.getINITIALCLUSTERINGTYPE()), this.mRunConfig);
+        if (this.distanceMatrix != null || !(this.mIca instanceof ISequenceClusteringAlgorithm)) {
+            this.initialClusterLalels = this.mIca.getClusterAssignment(this.mRunConfig.getCLUSTERNUM(), this.distanceMatrix);
+        } // otherwise clustered from the instances when they are loaded
 
         //-------------------------- Dataset --------------------------//
-        this.mIdao = DaoFactory.getInstance().createData(DATATYPE.valueOf(Config.getDATASETTYPE()));
+        this.mIdao = DaoFactory.getInstance().createData(DATATYPE.valueOf(this.mRunConfig.getDATASETTYPE()), this.mRunConfig);
 
         //--------------------- Stopping Criteria ---------------------//
-        this.mIsc = StoppingCriteriaFactory.getInstance().createStoppingCriteria(STOPPINGCRITERIA.valueOf(Config.getSTOPPINGCRITERIATYPE()));
+        this.mIsc = StoppingCriteriaFactory.getInstance().createStoppingCriteria(STOPPINGCRITERIA.valueOf(this.mRunConfig.getSTOPPINGCRITERIATYPE()));
 
         //----------------------- Dynamic Models ----------------------//
-        this.mIModels = ModelsFactory.getInstance().createModels(MODELSTYPE.valueOf(Config.getMODELINGMODE()));
+        this.mIModels = ModelsFactory.getInstance().createModels(MODELSTYPE.valueOf(this.mRunConfig.getMODELINGMODE()), this.mRunConfig);
+    }
 
+    /**
+     * Load the instances of the dataset of this run
+     * @return instances
+     */
+    public SequenceDataset loadInstances() {
+        // the MSNBC loader takes the file of sequence lengths, the other loaders the data format
+        String args = DATATYPE.valueOf(this.mRunConfig.getDATASETTYPE()) == DATATYPE.MSNBC
+                ? this.mRunConfig.getWEBUSERNAVIGATIONBEHAVIORDATALENGTHFILEPATH() : String.valueOf(this.mRunConfig.getDATAFORMAT());
+        return this.mIdao.getDataSourceAsDataset(this.mRunConfig.getDATASETPATH(), args);
     }
 
     /**
-     * Collective Dynamic Modeling & Clustering algorithm
+     * Collective Dynamic Modeling & Clustering algorithm without GUI, results are saved into the files of this run
+     * @param instances instances of the dataset
+     * @return final cluster labels
      */
-    public void runCDMC() {
+    public int[] runCDMC(List<List<Double>> instances) {
+        return runCDMC(SequenceDataset.fromLists(instances));
+    }
 
-        // start a new background thread to run CDMC algorithm
-        SwingWorker task = new SwingWorker<Void, String>() {
+    /**
+     * Collective Dynamic Modeling & Clustering algorithm without GUI, results are saved into the files of this run
+     * @param instances instances of the dataset
+     * @return final cluster labels, null if the run cannot start
+     */
+    public int[] runCDMC(SequenceDataset instances) {
 
-            ProgressBar progressBar = new ProgressBar();
+        if (instances == null || instances.size() == 0) {
+            LOGGER.info("The instances are null or empty!");
+            return null;
+        }
 
-            /**
-             * Print out information
-             * @param info printed-out information
-             */
-            private void printInBackground(String info) {
-                if (info == null) {
-                    System.out.println();
-                } else {
-                    System.out.println(info);
-                }
-                // publish(info);
-            }
+        // a matrix of another dataset must not give the initial clusters
+        if (this.distanceMatrix != null && this.distanceMatrix.size() != instances.size()) {
+            LOGGER.warning("The distance matrix has " + this.distanceMatrix.size() + " instances but the dataset has "
+                    + instances.size() + "!");
+            return null;
+        }
 
-            @Override
-            protected Void doInBackground() throws Exception {
+        LOGGER.info("Cluster & Models Starts");
+        printInfo(null); // print out a new line
+        printInfo("||************** Cluster & Models Starts ************||");
 
-                progressBar.createAndShowGUI();
+        //------------------- Initialization --------------------//
+        if (this.initialClusterLalels == null && this.mIca instanceof ISequenceClusteringAlgorithm) {
+            // no distance matrix, the initial clustering computes the distances it needs
+            IInitializer initializer = InitializerFactory.getInstance().createInitializer(INITIALIZERTYPE.valueOf(this.mRunConfig.getDTWTYPE()), this.mRunConfig);
+            initializer.setClusteringAlgorithm(this.mIca);
+            this.initialClusterLalels = initializer.initializer(instances, this.mRunConfig.getCLUSTERNUM());
+        }
+        if (this.initialClusterLalels == null) {
+            LOGGER.info("The initial cluster labels are null!");
+            return null;
+        }
+        int[] previousClusterLabels = this.initialClusterLalels;
+        MODELTYPE modelType = MODELTYPE.valueOf(this.mRunConfig.getDYNAMICMODELTYPE());
 
-                LOGGER.info("Cluster & Models Starts");
-                printInBackground(null); // print out a new line
-                printInBackground("||************** Cluster & Models Starts ************||");
+        //--------------- CDMC Iterative Process ----------------//
+        int instancesNum = instances.size();
+        int[] initialClusterLabels  = new int[instancesNum];
+        double similarity = this.mIsc.computeSimilarity(initialClusterLabels, previousClusterLabels);
+        int[] currentClusterLabels = null;
+        int iterationCount = 1;
 
-                //------------------- Initialization --------------------//
-                List<List<Double>> instances = Starter.this.mIdao.getDataSourceAsLists(Config.getDATASETPATH(), String.valueOf(Config.getDATAFORMAT()));
-                int[] previousClusterLabels = Starter.this.initialClusterLalels;
+        //-------------- CDMC Intermediate Results --------------//
+        this.mSimilarities = new ArrayList<Double>();
+        this.mSimilarities.add(similarity);
 
-                //--------------- CDMC Iterative Process ----------------//
-                int instancesNum = instances.size();
-                int[] initialClusterLabels  = new int[instancesNum];
-                double similarity = mIsc.computeSimilarity(initialClusterLabels, previousClusterLabels);
-                int[] currentClusterLabels = null;
-                int iterationCount = 1;
+        while(similarity < this.mRunConfig.getSIMILARITY()) {
 
-                //-------------- CDMC Intermediate Results --------------//
-                Starter.this.mSimilarities = new ArrayList<Double>();
-                Starter.this.mSimilarities.add(similarity);
+            printInfo(null); // print out a new line
+            printInfo("   ============== " + iterationCount + " ==============");
+            String preSimilarity = String.format("%.4f", similarity);
 
-                while(similarity < Config.getSIMILARITY()) {
+            printInfo("        Previous Similarity = " + preSimilarity + " [ " + this.mRunConfig.getSIMILARITY() + " ].");
+            LOGGER.info("Train Models Starts");
+            printInfo("        Train Models Starts.");
 
-                    printInBackground(null); // print out a new line
-                    printInBackground("   ============== " + iterationCount + " ==============");
-                    String preSimilarity = String.format("%.4f", similarity);
 
-                    printInBackground("        Previous Similarity = " + preSimilarity + " [ " + Config.getSIMILARITY() + " ].");
-                    LOGGER.info("Train Models Starts");
-                    printInBackground("        Train Models Starts.");
+            // build dynamic model
+            this.mIModels.trainDynamicModels(instances, this.mRunConfig.getCLUSTERNUM(), previousClusterLabels, modelType);
+            LOGGER.info("       Train Models Ends");
+            printInfo("        Train Models Ends.");
 
+            LOGGER.info("Cluster Process Starts");
+            printInfo("        Cluster Process Starts.");
 
-                    // build dynamic model
-                    Starter.this.mIModels.trainDynamicModels(instances, Config.getCLUSTERNUM(), previousClusterLabels, MODELTYPE.valueOf(Config.getDYNAMICMODELTYPE()));
-                    LOGGER.info("       Train Models Ends");
-                    printInBackground("        Train Models Ends.");
+            // assign cluster labels
+            currentClusterLabels = this.mIModels.assignClusterLabels(instances);
+            LOGGER.info("Cluster Process Ends");
+            printInfo("        Cluster Process Ends.");
 
-                    LOGGER.info("Cluster Process Starts");
-                    printInBackground("        Cluster Process Starts.");
 
-                    // assign cluster labels
-                    currentClusterLabels = Starter.this.mIModels.assignClusterLabels(instances);
-                    LOGGER.info("Cluster Process Ends");
-                    printInBackground("        Cluster Process Ends.");
+            LOGGER.info("Cluster Agreement Evaluation Starts");
+            // compute similarity
+            similarity = this.mIsc.computeSimilarity(previousClusterLabels, currentClusterLabels);
+            this.mSimilarities.add(similarity);
+            LOGGER.info("Cluster Agreement Evaluation Ends");
+            String curSimilarity = String.format("%.4f", similarity);
+            printInfo("        Current Similarity  = " + curSimilarity + " [ " + this.mRunConfig.getSIMILARITY() + " ].");
 
+            // update cluster labels
+            previousClusterLabels = currentClusterLabels;
+            printInfo("   ==============================");
+            printInfo(null); // print out a new line
 
-                    LOGGER.info("Cluster Agreement Evaluation Starts");
-                    // compute similarity
-                    similarity = mIsc.computeSimilarity(previousClusterLabels, currentClusterLabels);
-                    Starter.this.mSimilarities.add(similarity);
-                    LOGGER.info("Cluster Agreement Evaluation Ends");
-                    String curSimilarity = String.format("%.4f", similarity);
-                    printInBackground("        Current Similarity  = " + curSimilarity + " [ " + Config.getSIMILARITY() + " ].");
+            iterationCount++;
+        }
 
-                    // update cluster labels
-                    previousClusterLabels = currentClusterLabels;
-                    printInBackground("   ==============================");
-                    printInBackground(null); // print out a new line
+        // save results
+        this.finalClusterLabels = currentClusterLabels;
+        IOOperation.writeFile(this.initialClusterLalels, this.mRunConfig.getINITIALCLUSTERSFILEPATH());
+        IOOperation.writeFile(currentClusterLabels, this.mRunConfig.getFINALCLUSTERSFILEPATH());
 
-                    iterationCount++;
-                }
+        // Just in case if initial clusters have provided a good enough clustering, it never goes into the above CDMC loop
+        if(currentClusterLabels == null) {
+            // build dynamic model over initial clusters
+            LOGGER.warning("        Never Enter Into CDMC Algorithm!");
+            this.mIModels.trainDynamicModels(instances, this.mRunConfig.getCLUSTERNUM(), previousClusterLabels, modelType);
+        }
 
-                // save results
-                finalClusterLabels = currentClusterLabels;
-                IOOperation.writeFile(Starter.this.initialClusterLalels, Config.getINITIALCLUSTERSFILEPATH());
-                IOOperation.writeFile(currentClusterLabels, Config.getFINALCLUSTERSFILEPATH());
+        return currentClusterLabels;
+    }
 
-                // Just in case if initial clusters have provided a good enough clustering, it never goes into the above CDMC loop
-                if(currentClusterLabels == null) {
-                    // build dynamic model over initial clusters
-                    LOGGER.warning("        Never Enter Into CDMC Algorithm!");
-                    Starter.this.mIModels.trainDynamicModels(instances, Config.getCLUSTERNUM(), previousClusterLabels,  MODELTYPE.valueOf(Config.getDYNAMICMODELTYPE()));
-                }
+    /**
+     * Save the similarity trendline and the intermediate results of the dynamic models
+     */
+    public void saveOutputs() {
+        if (this.mSimilarities == null) {
+            LOGGER.info("CDMC has not run, there are no outputs!");
+            return;
+        }
+
+        this.mIModels.saveOutputs();
+        IOOperation.writeFile(Utilities.convertToOneDimensionalDoubleArray(this.mSimilarities), this.mRunConfig.getSIMILARITYTRENDLINEFILEPATH());
+    }
+
+    /**
+     * Print out information
+     * @param info printed-out information
+     */
+    private void printInfo(String info) {
+        if (info == null) {
+            System.out.println();
+        } else {
+            System.out.println(info);
+        }
+    }
+
+    /**
+     * Collective Dynamic Modeling & Clustering algorithm
+     */
+    public void runCDMC() {
+
+        // start a new background thread to run CDMC algorithm
+        SwingWorker task = new SwingWorker<Void, String>() {
+
+            ProgressBar progressBar = new ProgressBar();
+
+            @Override
+            protected Void doInBackground() throws Exception {
+
+                progressBar.createAndShowGUI();
+
+                // run CDMC algorithm over the dataset of this run
+                Starter.this.runCDMC(Starter.this.loadInstances());
+                if (Starter.this.mSimilarities == null) return null; // the run could not start
 
                 // visualize initial and final cluster distributions
                 Starter.this.visualizeClusterDistributionVariation();
@@ -363,7 +448,7 @@ public class Starter {
             public void done() {
                 progressBar.dispose();
                 // save similarity trendline dataset
-                IOOperation.writeFile(Utilities.convertToOneDimensionalDoubleArray(Starter.this.mSimilarities), Config.getSIMILARITYTRENDLINEFILEPATH());
+                if (Starter.this.mSimilarities != null) IOOperation.writeFile(Utilities.convertToOneDimensionalDoubleArray(Starter.this.mSimilarities), Starter.this.mRunConfig.getSIMILARITYTRENDLINEFILEPATH());
                 Toolkit.getDefaultToolkit().beep();
             }
         };
@@ -504,10 +589,10 @@ public class Starter {
         chart = new HistogramChartAdapter(name + " [" + modelName + "]", "Clusters", "Frequency", initialClusterDistribution);
         chart.getXAxis().setLabels(1); // set up X axis ticks
         HistogramSeriesCollection collec = chart.getSeriesCollection();
-        collec.setBins(0, 2 * Config.getCLUSTERNUM());
+        collec.setBins(0, 2 * this.mRunConfig.getCLUSTERNUM());
         collec.setColor(0, new Color(179, 232, 172));
 
-        double[] bounds = { 0, 2 * Config.getCLUSTERNUM(), 0, maxSizeInOneClusters};
+        double[] bounds = { 0, 2 * this.mRunConfig.getCLUSTERNUM(), 0, maxSizeInOneClusters};
         chart.setManualRange(bounds);
 
         Dimension screenDimension = Toolkit.getDefaultToolkit().getScreenSize();
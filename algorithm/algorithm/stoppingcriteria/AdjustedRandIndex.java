@@ -81,8 +81,8 @@ public class AdjustedRandIndex extends AbstractClusterAgreement implements IStop
      */
     private double computeAdjustedRandIndex(int[] cluster1, int[] cluster2) {
 
-        // create the confusion matrix
-        int[][] confusionMatrix = null;
+        // create the contingency table
+        ContingencyTable contingencyTable = null;
         double randIndex = 0.0;
 
         if (cluster1 == null || cluster1.length == 0) {
@@ -95,12 +95,11 @@ public class AdjustedRandIndex extends AbstractClusterAgreement implements IStop
             return 0.0;
         }
 
-        // here call functions in the base class to compute the confusion matrix
-        // Confusion Matrix should be n by n matrix, otherwise it should not be input.
-        confusionMatrix = computeConfusionMatrix(cluster1, cluster2);
+        // here call functions in the base class to compute the contingency table
+        contingencyTable = computeContingencyTable(cluster1, cluster2);
 
         // compute the rand index
-        randIndex = AdjustedRandIndex(confusionMatrix);
+        randIndex = AdjustedRandIndex(contingencyTable);
         return randIndex;
     }
 
@@ -109,60 +108,38 @@ public class AdjustedRandIndex extends AbstractClusterAgreement implements IStop
      * @param confusionMatrix confusion matrix containing false positive, true positive, false negative, and false positive
      * @return rand index
      */
-    private double AdjustedRandIndex(int[][] confusionMatrix) {
+    private double AdjustedRandIndex(ContingencyTable contingencyTable) {
 
-        if (confusionMatrix == null) {
-            LOGGER.log(Level.INFO, "confusion matrix is null!");
-            return 0;
-        }
-        if (confusionMatrix.length == 0) {
-            LOGGER.log(Level.INFO, "Row info in confusion matrix is null!");
-            return 0;
-        }
-
-        if (confusionMatrix[0].length == 0) {
-            LOGGER.log(Level.INFO, "Column info in confusion matrix is null!");
+        if (contingencyTable == null) {
+            LOGGER.log(Level.INFO, "contingency table is null!");
             return 0;
         }
 
         // The lagest NO of cluster label for each of clustering
-        int ku = confusionMatrix.length;
-        int kv = confusionMatrix[0].length;
-
+        int ku = contingencyTable.getRowNum();
+        int kv = contingencyTable.getColumnNum();
 
         // The number of instances for clustering
-        int n = 0;
-        for (int i = 0; i < ku; i++) {
-            for (int j = 0; j < kv; j++) {
-                n += confusionMatrix[i][j];
-            }
-        }
-
-        // Confusition Matrix
-        int[] mu = new int[ku];
-        int[] mv = new int[kv];
-        for (int i = 0; i < ku; i++) {
-            for (int j = 0; j < kv; j++) {
-                mu[i] += confusionMatrix[i][j];
-                mv[j] += confusionMatrix[i][j];
-            }
-        }
+        long n = contingencyTable.getTotal();
 
         long a = 0;
         for (int i = 0; i < ku; i++) {
             for (int j = 0; j < kv; j++) {
-                if (confusionMatrix[i][j] > 1) a += Combinations.nchoosek(confusionMatrix[i][j], 2);
+                long count = contingencyTable.get(i, j);
+                if (count > 1) a += Combinations.nchoosek(count, 2);
             }
         }
 
         long b1=0;
         for (int i = 0; i < ku; i++) {
-            if (mu[i] > 1) b1 += Combinations.nchoosek(mu[i], 2);
+            long mu = contingencyTable.getRowSum(i);
+            if (mu > 1) b1 += Combinations.nchoosek(mu, 2);
         }
 
         long b2=0;
         for (int i = 0; i < kv; i++) {
-            if (mv[i] > 1) b2 += Combinations.nchoosek(mv[i], 2);
+            long mv = contingencyTable.getColumnSum(i);
+            if (mv > 1) b2 += Combinations.nchoosek(mv, 2);
         }
 
         long c = Combinations.nchoosek(n, 2);
@@ -191,7 +168,7 @@ public class AdjustedRandIndex extends AbstractClusterAgreement implements IStop
         confusionMatrix[0][1] = 24;
         confusionMatrix[1][0] = 20;
         confusionMatrix[1][1] = 72;
-        System.out.println(test.AdjustedRandIndex(confusionMatrix));
+        System.out.println(test.AdjustedRandIndex(ContingencyTable.fromMatrix(confusionMatrix)));
 
         int[] a1 = new int[]{0, 1, 1, 0, 0, 2, 2};
         int[] a2 = new int[]{1, 0, 0, 1, 1, 2, 2};
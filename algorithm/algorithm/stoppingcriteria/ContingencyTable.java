@@ -0,0 +1,194 @@
+package stoppingcriteria;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Project: DCDMC
+ * Package: stoppingcriteria
+ * Date: 17/Oct/2026
+ * Time: 18:40
+ * System Time: 6:40 PM
+ */
+
+/*
+    Contingency table of two clusterings, the row denotes the cluster label of the first clustering (class label)
+    and the column denotes the cluster label of the second clustering.
+    It is K1 by K2 where K1 and K2 are the largest cluster labels plus 1, so it takes O(K1 * K2) memory whatever the
+    number of instances. It is filled in one pass over the labels and grows when a larger label turns up.
+    Counts and marginal sums are longs.
+ */
+public class ContingencyTable {
+
+    private static final Logger LOGGER = Logger.getLogger(ContingencyTable.class.getName());
+
+    private static final int INITIALCAPACITY = 8;
+
+    private long[][] mCounts; // counts, may be larger than mRowNum by mColumnNum
+    private long[] mRowSums; // instances per cluster of the first clustering
+    private long[] mColumnSums; // instances per cluster of the second clustering
+    private long mTotal; // the number of instances
+    private int mRowNum;
+    private int mColumnNum;
+
+    /**
+     * class constructor
+     * @param rowCapacity initial number of rows
+     * @param columnCapacity initial number of columns
+     */
+    private ContingencyTable(int rowCapacity, int columnCapacity) {
+        this.mCounts = new long[rowCapacity][columnCapacity];
+        this.mRowSums = new long[rowCapacity];
+        this.mColumnSums = new long[columnCapacity];
+        this.mTotal = 0;
+        this.mRowNum = 0;
+        this.mColumnNum = 0;
+    }
+
+    /**
+     * Build the contingency table of two clusterings, cluster labels start with index 0
+     * @param cluster1 one clustering results, taken as class labels
+     * @param cluster2 the other clustering results
+     * @return contingency table, null if the clusterings are empty or inconsistent
+     */
+    public static ContingencyTable build(int[] cluster1, int[] cluster2) {
+
+        if (cluster1 == null || cluster1.length == 0) {
+            LOGGER.log(Level.INFO, "Cluster 1 is null or empty!");
+            return null;
+        }
+
+        if (cluster2 == null || cluster2.length == 0) {
+            LOGGER.log(Level.INFO, "Cluster 2 is null or empty!");
+            return null;
+        }
+
+        if (cluster1.length != cluster2.length) {
+            LOGGER.log(Level.INFO, "Two clustering labels are not consistent in dimensions!");
+            return null;
+        }
+
+        ContingencyTable table = new ContingencyTable(INITIALCAPACITY, INITIALCAPACITY);
+        for (int k = 0; k < cluster1.length; k++) {
+            table.add(cluster1[k], cluster2[k], 1);
+        }
+
+        return table;
+    }
+
+    /**
+     * Build a contingency table from a confusion matrix
+     * @param confusionMatrix confusion matrix, rows are class labels and columns are cluster labels
+     * @return contingency table, null if the matrix is empty
+     */
+    public static ContingencyTable fromMatrix(int[][] confusionMatrix) {
+
+        if (confusionMatrix == null || confusionMatrix.length == 0 || confusionMatrix[0].length == 0) {
+            LOGGER.log(Level.INFO, "confusion matrix is null or empty!");
+            return null;
+        }
+
+        ContingencyTable table = new ContingencyTable(confusionMatrix.length, confusionMatrix[0].length);
+        for (int i = 0; i < confusionMatrix.length; i++) {
+            for (int j = 0; j < confusionMatrix[i].length; j++) {
+                table.add(i, j, confusionMatrix[i][j]);
+            }
+        }
+
+        return table;
+    }
+
+    /**
+     * Add instances into a cell
+     * @param row cluster label of the first clustering
+     * @param column cluster label of the second clustering
+     * @param count the number of instances
+     */
+    private void add(int row, int column, long count) {
+        if (row >= this.mCounts.length || column >= this.mCounts[0].length) {
+            grow(Math.max(row + 1, this.mCounts.length), Math.max(column + 1, this.mCounts[0].length));
+        }
+
+        this.mCounts[row][column] += count;
+        this.mRowSums[row] += count;
+        this.mColumnSums[column] += count;
+        this.mTotal += count;
+        this.mRowNum = Math.max(this.mRowNum, row + 1);
+        this.mColumnNum = Math.max(this.mColumnNum, column + 1);
+    }
+
+    /**
+     * Enlarge the table, at least doubling the capacity that has to grow
+     * @param rowNum required number of rows
+     * @param columnNum required number of columns
+     */
+    private void grow(int rowNum, int columnNum) {
+        int rowCapacity = rowNum > this.mCounts.length ? Math.max(rowNum, 2 * this.mCounts.length) : this.mCounts.length;
+        int columnCapacity = columnNum > this.mCounts[0].length ? Math.max(columnNum, 2 * this.mCounts[0].length) : this.mCounts[0].length;
+
+        long[][] counts = new long[rowCapacity][columnCapacity];
+        for (int i = 0; i < this.mCounts.length; i++) {
+            System.arraycopy(this.mCounts[i], 0, counts[i], 0, this.mCounts[i].length);
+        }
+        long[] rowSums = new long[rowCapacity];
+        System.arraycopy(this.mRowSums, 0, rowSums, 0, this.mRowSums.length);
+        long[] columnSums = new long[columnCapacity];
+        System.arraycopy(this.mColumnSums, 0, columnSums, 0, this.mColumnSums.length);
+
+        this.mCounts = counts;
+        this.mRowSums = rowSums;
+        this.mColumnSums = columnSums;
+    }
+
+    /**
+     * Getter
+     * @return the number of rows, the largest cluster label of the first clustering plus 1
+     */
+    public int getRowNum() {
+        return this.mRowNum;
+    }
+
+    /**
+     * Getter
+     * @return the number of columns, the largest cluster label of the second clustering plus 1
+     */
+    public int getColumnNum() {
+        return this.mColumnNum;
+    }
+
+    /**
+     * The number of instances in a cell
+     * @param row cluster label of the first clustering
+     * @param column cluster label of the second clustering
+     * @return the count
+     */
+    public long get(int row, int column) {
+        return this.mCounts[row][column];
+    }
+
+    /**
+     * The number of instances in a cluster of the first clustering
+     * @param row cluster label of the first clustering
+     * @return the row sum
+     */
+    public long getRowSum(int row) {
+        return this.mRowSums[row];
+    }
+
+    /**
+     * The number of instances in a cluster of the second clustering
+     * @param column cluster label of the second clustering
+     * @return the column sum
+     */
+    public long getColumnSum(int column) {
+        return this.mColumnSums[column];
+    }
+
+    /**
+     * Getter
+     * @return the number of instances
+     */
+    public long getTotal() {
+        return this.mTotal;
+    }
+}
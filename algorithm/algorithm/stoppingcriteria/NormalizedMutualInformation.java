@@ -62,8 +62,8 @@ public class NormalizedMutualInformation  extends AbstractClusterAgreement imple
      */
     private double computeNormalizedMutualInformation(int[] cluster1, int[] cluster2) {
 
-        // create the confusion matrix
-        int[][] confusionMatrix = null;
+        // create the contingency table
+        ContingencyTable contingencyTable = null;
         double randIndex = 0.0;
 
         if (cluster1 == null || cluster1.length == 0) {
@@ -76,12 +76,11 @@ public class NormalizedMutualInformation  extends AbstractClusterAgreement imple
             return 0.0;
         }
 
-        // here call functions in the base class to compute the confusion matrix
-        // Confusion Matrix should be n by n matrix, otherwise it should not be input.
-        confusionMatrix = computeConfusionMatrix(cluster1, cluster2);
+        // here call functions in the base class to compute the contingency table
+        contingencyTable = computeContingencyTable(cluster1, cluster2);
 
         // compute the rand index
-        randIndex = normalizedMutualInformation(confusionMatrix);
+        randIndex = normalizedMutualInformation(contingencyTable);
         return randIndex;
     }
 
@@ -90,44 +89,29 @@ public class NormalizedMutualInformation  extends AbstractClusterAgreement imple
      * @param confusionMatrix confusion matrix containing false positive, true positive, false negative, and false positive
      * @return normalized mutual information
      */
-    private double normalizedMutualInformation(int[][] confusionMatrix) {
+    private double normalizedMutualInformation(ContingencyTable contingencyTable) {
 
-        if (confusionMatrix == null) {
-            LOGGER.log(Level.INFO, "confusion matrix is null!");
-            return 0;
-        }
-        if (confusionMatrix.length == 0) {
-            LOGGER.log(Level.INFO, "Row info in confusion matrix is null!");
-            return 0;
-        }
-
-        if (confusionMatrix[0].length == 0) {
-            LOGGER.log(Level.INFO, "Column info in confusion matrix is null!");
+        if (contingencyTable == null) {
+            LOGGER.log(Level.INFO, "contingency table is null!");
             return 0;
         }
 
-        int RowNum = confusionMatrix.length;
-        int ColumnNum = confusionMatrix[0].length;
+        int RowNum = contingencyTable.getRowNum();
+        int ColumnNum = contingencyTable.getColumnNum();
 
-        int N = 0;
-        for (int i = 0; i < RowNum; i++) {
-            for (int j = 0; j < ColumnNum; j++) {
-                N += confusionMatrix[i][j];
-            }
-        }
+        long N = contingencyTable.getTotal();
 
         LOGGER.log(Level.INFO, "N: " + N);
 
         double I = 0;
         for (int i = 0; i < RowNum; i++) {
+            long sum1 = contingencyTable.getRowSum(i);
             for (int j = 0; j < ColumnNum; j++) {
-                double Part1 = 1.0 * confusionMatrix[i][j] / N;
-                int sum1 = 0;
-                for (int k = 0; k < ColumnNum; k++) sum1 += confusionMatrix[i][k];
-                int sum2 = 0;
-                for (int k = 0; k < RowNum; k++) sum2 += confusionMatrix[k][j];
-                if (sum1 * sum2 != 0) {
-                    double Part2 = (1.0 * N * confusionMatrix[i][j]) / (1.0 * sum1 * sum2);
+                long count = contingencyTable.get(i, j);
+                double Part1 = 1.0 * count / N;
+                long sum2 = contingencyTable.getColumnSum(j);
+                if (sum1 != 0 && sum2 != 0) {
+                    double Part2 = (1.0 * N * count) / (1.0 * sum1 * sum2);
                     if (Part2 != 0) I += Part1 * Math.log(1.0 * Part2);
                 }
             }
@@ -137,8 +121,7 @@ public class NormalizedMutualInformation  extends AbstractClusterAgreement imple
 
         double HCluster = 0;
         for (int i = 0; i < ColumnNum; i++) {
-            int sum = 0;
-            for (int j = 0; j < RowNum; j++) sum += confusionMatrix[j][i];
+            long sum = contingencyTable.getColumnSum(i);
             double Temp = 0.0;
             if (N != 0) Temp = 1.0 * sum / N;
             if (Temp != 0) HCluster = HCluster - Temp * Math.log(Temp);
@@ -148,8 +131,7 @@ public class NormalizedMutualInformation  extends AbstractClusterAgreement imple
 
         double HClassification = 0;
         for (int i = 0; i < RowNum; i++) {
-            int sum = 0;
-            for (int j = 0; j < ColumnNum; j++) sum += confusionMatrix[i][j];
+            long sum = contingencyTable.getRowSum(i);
             double Temp = 0.0;
             if (N != 0) Temp = 1.0 * sum / N;
             if (Temp != 0) HClassification = HClassification - Temp * Math.log(Temp);
@@ -181,7 +163,7 @@ public class NormalizedMutualInformation  extends AbstractClusterAgreement imple
         confusionMatrix[0][1] = 24;
         confusionMatrix[1][0] = 20;
         confusionMatrix[1][1] = 72;
-        System.out.println(test.normalizedMutualInformation(confusionMatrix));
+        System.out.println(test.normalizedMutualInformation(ContingencyTable.fromMatrix(confusionMatrix)));
 
         int[] a1 = new int[]{0, 1, 1, 0, 0, 2, 2};
         int[] a2 = new int[]{1, 0, 0, 1, 1, 2, 2};
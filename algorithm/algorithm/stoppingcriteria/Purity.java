@@ -60,8 +60,8 @@ public class Purity  extends AbstractClusterAgreement implements IStoppingCriter
      * @return purity
      */
     private double computePurity(int[] cluster1, int[] cluster2) {
-        // create the confusion matrix
-        int[][] confusionMatrix = null;
+        // create the contingency table
+        ContingencyTable contingencyTable = null;
         double purity = 0.0;
 
         if (cluster1 == null || cluster1.length == 0) {
@@ -74,12 +74,11 @@ public class Purity  extends AbstractClusterAgreement implements IStoppingCriter
             return 0.0;
         }
 
-        // here call functions in the base class to compute the confusion matrix
-        // Confusion Matrix should be n by n matrix, otherwise it should not be input.
-        confusionMatrix = computeConfusionMatrix(cluster1, cluster2);
+        // here call functions in the base class to compute the contingency table
+        contingencyTable = computeContingencyTable(cluster1, cluster2);
 
         // compute the rand index
-        purity = purity(confusionMatrix);
+        purity = purity(contingencyTable);
         return purity;
     }
 
@@ -88,36 +87,26 @@ public class Purity  extends AbstractClusterAgreement implements IStoppingCriter
      * @param confusionMatrix
      * @return purity
      */
-    private double purity(int[][] confusionMatrix) {
-        if (confusionMatrix == null) {
-            LOGGER.log(Level.INFO, "confusion matrix is null!");
-            return 0;
-        }
-        if (confusionMatrix.length == 0) {
-            LOGGER.log(Level.INFO, "Row info in confusion matrix is null!");
-            return 0;
-        }
+    private double purity(ContingencyTable contingencyTable) {
 
-        if (confusionMatrix[0].length == 0) {
-            LOGGER.log(Level.INFO, "Column info in confusion matrix is null!");
+        if (contingencyTable == null) {
+            LOGGER.log(Level.INFO, "contingency table is null!");
             return 0;
         }
 
-        int RowNum = confusionMatrix.length;
-        int ColumnNum = confusionMatrix[0].length;
+        int RowNum = contingencyTable.getRowNum();
+        int ColumnNum = contingencyTable.getColumnNum();
         double purity = 0.0;
 
-        int numerator = 0;
-        int denominator = 0;
+        long numerator = 0;
+        long denominator = 0;
         for (int i = 0; i < ColumnNum; i++) {
-            int max = confusionMatrix[0][i];
-            int sum = 0;
+            long max = contingencyTable.get(0, i);
             for (int j = 0; j < RowNum; j++) {
-                max = Math.max(max, confusionMatrix[j][i]);
-                sum += confusionMatrix[j][i];
+                max = Math.max(max, contingencyTable.get(j, i));
             }
             numerator = numerator + max;
-            denominator = denominator + sum;
+            denominator = denominator + contingencyTable.getColumnSum(i);
         }
 
         if (denominator > 0) {
@@ -138,7 +127,7 @@ public class Purity  extends AbstractClusterAgreement implements IStoppingCriter
         confusionMatrix[0][1] = 24;
         confusionMatrix[1][0] = 20;
         confusionMatrix[1][1] = 72;
-        System.out.println(test.purity(confusionMatrix));
+        System.out.println(test.purity(ContingencyTable.fromMatrix(confusionMatrix)));
 
         int[] a1 = new int[]{0, 1, 1, 1, 0, 2, 2};
         int[] a2 = new int[]{1, 0, 0, 1, 1, 2, 2};
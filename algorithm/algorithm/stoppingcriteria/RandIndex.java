@@ -68,8 +68,8 @@ public class RandIndex extends AbstractClusterAgreement implements IStoppingCrit
      */
     private double computeRandIndex(int[] cluster1, int[] cluster2) {
 
-        // create the confusion matrix
-        int[][] confusionMatrix = null;
+        // create the contingency table
+        ContingencyTable contingencyTable = null;
         double randIndex = 0.0;
 
         if (cluster1 == null || cluster1.length == 0) {
@@ -82,12 +82,11 @@ public class RandIndex extends AbstractClusterAgreement implements IStoppingCrit
             return 0.0;
         }
 
-        // here call functions in the base class to compute the confusion matrix
-        // Confusion Matrix should be n by n matrix, otherwise it should not be input.
-        confusionMatrix = computeConfusionMatrix(cluster1, cluster2);
+        // here call functions in the base class to compute the contingency table
+        contingencyTable = computeContingencyTable(cluster1, cluster2);
 
         // compute the rand index
-        randIndex = randIndex(confusionMatrix);
+        randIndex = randIndex(contingencyTable);
         return randIndex;
     }
 
@@ -96,73 +95,60 @@ public class RandIndex extends AbstractClusterAgreement implements IStoppingCrit
      * @param confusionMatrix confusion matrix containing false positive, true positive, false negative, and false positive
      * @return rand index
      */
-    private double randIndex(int[][] confusionMatrix) {
+    private double randIndex(ContingencyTable contingencyTable) {
 
-        if (confusionMatrix == null) {
-            LOGGER.log(Level.INFO, "confusion matrix is null!");
-            return 0;
-        }
-        if (confusionMatrix.length == 0) {
-            LOGGER.log(Level.INFO, "Row info in confusion matrix is null!");
-            return 0;
-        }
-
-        if (confusionMatrix[0].length == 0) {
-            LOGGER.log(Level.INFO, "Column info in confusion matrix is null!");
+        if (contingencyTable == null) {
+            LOGGER.log(Level.INFO, "contingency table is null!");
             return 0;
         }
 
-        int RowNum = confusionMatrix.length;
-        int ColumnNum = confusionMatrix[0].length;
+        int RowNum = contingencyTable.getRowNum();
+        int ColumnNum = contingencyTable.getColumnNum();
 
         /*%%%%%%%%%%%%%%%%%%%%%%%%%%%Compute TP + FP%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%*/
-        int TPFP = 0;
+        long TPFP = 0;
         for (int i = 0; i < ColumnNum; i++) {
-            int n = 0;
-            for (int j = 0; j < RowNum; j++) n+= confusionMatrix[j][i];
-
-            if (n >= 2) TPFP += (int)Combinations.nchoosek(n, 2);
+            long n = contingencyTable.getColumnSum(i);
+            if (n >= 2) TPFP += Combinations.nchoosek(n, 2);
         }
 
-//        System.out.println("TPFP = " + TPFP);
         /*%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%Compute TP%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%*/
-        int TP = 0;
-        int sum = 0;
+        long TP = 0;
         for (int i = 0; i < RowNum; i++) {
             for (int j = 0; j < ColumnNum; j++) {
-                sum += confusionMatrix[i][j];
-                if (confusionMatrix[i][j] > 1) {
-                    TP += (int)Combinations.nchoosek(confusionMatrix[i][j], 2);
+                long count = contingencyTable.get(i, j);
+                if (count > 1) {
+                    TP += Combinations.nchoosek(count, 2);
                 }
             }
         }
 
         /*%%%%%%%%%%%%%%%%%%%%%%%%%%%Compute Denominator%%%%%%%%%%%%%%%%%%%%%%%%%%%%%*/
-        int Denominator = (int)Combinations.nchoosek( sum, 2);
+        long Denominator = Combinations.nchoosek(contingencyTable.getTotal(), 2);
 
         /*%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%Compute TN+FN%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%*/
-        int TNFN = Denominator - TPFP;
+        long TNFN = Denominator - TPFP;
 
         /*%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%Compute FN%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%*/
-        int FN = 0;
+        // pairs in the same row but different columns: (rowSum^2 - sum of squared counts) / 2 for each row
+        long FN = 0;
         for (int i = 0; i < RowNum; i++) {
+            long rowSum = contingencyTable.getRowSum(i);
+            long squares = 0;
             for (int j = 0; j < ColumnNum; j++) {
-                for (int k = (j + 1); k < ColumnNum; k++) {
-                    FN = FN + confusionMatrix[i][j] * confusionMatrix[i][k];
-
-                }
+                long count = contingencyTable.get(i, j);
+                squares += count * count;
             }
+            FN += (rowSum * rowSum - squares) / 2;
         }
         /*%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%Compute TN%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%*/
-        int TN = TNFN - FN;
+        long TN = TNFN - FN;
 
         /*%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%Compute Numerator%%%%%%%%%%%%%%%%%%%%%%%%%%%%*/
-        int Numerator = TP + TN;
+        long Numerator = TP + TN;
 
         /*%%%%%%%%%%%%%%%%%%%%%%%%%%%%Compute Result%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%%*/
         double RandIndex = 1.0 * Numerator / Denominator;
-//        LOGGER.log(Level.INFO, "TP: " + TP + " TN: " + TN);
-//        LOGGER.log(Level.INFO, "Numberator: " + Numerator + " Denominator: " + Denominator);
 
         return RandIndex;
     }
@@ -179,7 +165,7 @@ public class RandIndex extends AbstractClusterAgreement implements IStoppingCrit
         confusionMatrix[0][1] = 24;
         confusionMatrix[1][0] = 20;
         confusionMatrix[1][1] = 72;
-        System.out.println(test.randIndex(confusionMatrix));
+        System.out.println(test.randIndex(ContingencyTable.fromMatrix(confusionMatrix)));
 
         int[] a1 = new int[]{0, 1, 1, 1, 0, 2, 2};
         int[] a2 = new int[]{1, 0, 0, 1, 1, 2, 2};
@@ -8,6 +8,8 @@ package dao;
  * System Time: 9:40 AM
  */
 
+import starter.RunConfig;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -16,6 +18,24 @@ import java.util.List;
  */
 public abstract class AbstractDaoInput implements IDAO {
 
+    private final RunConfig mRunConfig; // configuration of the run
+
+    /**
+     * Class constructor
+     * @param runConfig configuration of the run
+     */
+    public AbstractDaoInput(RunConfig runConfig) {
+        this.mRunConfig = runConfig;
+    }
+
+    /**
+     * Getter
+     * @return configuration of the run
+     */
+    protected RunConfig getRunConfig() {
+        return this.mRunConfig;
+    }
+
     /**
      * Generate two dimensional array including data
      * @param datapath source file path
@@ -38,6 +58,19 @@ public abstract class AbstractDaoInput implements IDAO {
         return new ArrayList<List<Double>>();
     }
 
+    /**
+     * Generate a sequence dataset including data, built from the list of list of doubles by default
+     * @param path source file path
+     * @args sparing parameters for other functionality
+     * @return sequence dataset including data
+     */
+    @Override
+    public SequenceDataset getDataSourceAsDataset(String path, String args) {
+        SequenceDataset dataset = SequenceDataset.fromLists(getDataSourceAsLists(path, args));
+        if (dataset != null) dataset.trimToSize();
+        return dataset;
+    }
+
     /**
      * test
      * @param args user input
@@ -1,5 +1,7 @@
 package dao;
 
+import starter.RunConfig;
+
 /**
  * Project: DCDMC
  * Package: dao
@@ -25,18 +27,19 @@ public class DaoFactory {
     }
 
     /**
-     * Generate data source
+     * Generate data source for a run
      * @param dt data type
+     * @param runConfig configuration of the run
      * @return data interface
      */
-    public IDAO createData(DATATYPE dt) {
+    public IDAO createData(DATATYPE dt, RunConfig runConfig) {
         IDAO idao = null;
         switch (dt) {
             case HYPNOGRAM:
-                idao = new HypnogramDao();
+                idao = new HypnogramDao(runConfig);
                 break;
             case MSNBC:
-                idao = new MSNBCDao();
+                idao = new MSNBCDao(runConfig);
                 break;
             default:
                 System.out.println("No Matching Instance To Created!");
@@ -1,6 +1,7 @@
 package dao;
 
 import Utilities.Utilities;
+import starter.RunConfig;
 
 import java.io.BufferedReader;
 import java.io.FileReader;
@@ -48,6 +49,14 @@ import java.util.logging.Logger;
 public class HypnogramDao extends AbstractDaoInput {
 
     private static final Logger LOGGER = Logger.getLogger(HypnogramDao.class.getName());
+
+    /**
+     * Class constructor
+     * @param runConfig configuration of the run
+     */
+    public HypnogramDao(RunConfig runConfig) {
+        super(runConfig);
+    }
     /**
      * Generate two dimensional array including data
      * @param path source file path
@@ -416,6 +425,6 @@ public class HypnogramDao extends AbstractDaoInput {
      * @param args user input
      */
     public static void main(String[] args) {
-        HypnogramDao test = new HypnogramDao();
+        HypnogramDao test = new HypnogramDao(RunConfig.fromConfig());
     }
 }
@@ -30,4 +30,12 @@ public interface IDAO {
      * @return list of list of doubles including data
      */
     public List<List<Double>> getDataSourceAsLists(String path, String args);
+
+    /**
+     * Generate a sequence dataset including data
+     * @param path source file path
+     * @args sparing parameters for other functionality
+     * @return sequence dataset including data
+     */
+    public SequenceDataset getDataSourceAsDataset(String path, String args);
 }
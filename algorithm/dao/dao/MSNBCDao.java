@@ -2,6 +2,7 @@ package dao;
 
 import Utilities.IOOperation;
 import starter.Config;
+import starter.RunConfig;
 
 import java.io.BufferedReader;
 import java.io.File;
@@ -23,6 +24,14 @@ import java.util.logging.Logger;
 public class MSNBCDao extends AbstractDaoInput {
 
     private static final Logger LOGGER = Logger.getLogger(MSNBCDao.class.getName());
+
+    /**
+     * Class constructor
+     * @param runConfig configuration of the run
+     */
+    public MSNBCDao(RunConfig runConfig) {
+        super(runConfig);
+    }
     /**
      * Generate two dimensional array including data
      * @param path source file path
@@ -46,6 +55,42 @@ public class MSNBCDao extends AbstractDaoInput {
         return readFileInArrayList(path);
     }
 
+    /**
+     * Generate a sequence dataset including data, the file is streamed without padding
+     * @param path source file path
+     * @param args path of the file of sequence lengths, used if the data file holds one value per line
+     * @return sequence dataset including data
+     */
+    @Override
+    public SequenceDataset getDataSourceAsDataset(String path, String args) {
+        if (args != null && new File(args).isFile() && isOneValuePerLine(path)) {
+            return SequenceStreamReader.readIndexed(path, args);
+        }
+        return SequenceStreamReader.read(path, getRunConfig().getCSVFILESEPARATOR());
+    }
+
+    /**
+     * Whether a data file holds one value per line, like msnbcData.csv, rather than one sequence per line
+     * @param path data file path
+     * @return true if the first non-empty line has no separator
+     */
+    private boolean isOneValuePerLine(String path) {
+        try {
+            BufferedReader br = new BufferedReader(new FileReader(path));
+            try {
+                String line;
+                while ((line = br.readLine()) != null) {
+                    if (line.trim().length() > 0) return !line.contains(getRunConfig().getCSVFILESEPARATOR());
+                }
+            } finally {
+                br.close();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return false;
+    }
+
     /**
      * Load data into memory
      * @param path data file path
@@ -120,7 +165,7 @@ public class MSNBCDao extends AbstractDaoInput {
             BufferedReader br = new BufferedReader(new FileReader(datapath));
             String line = null;
             while ((line = br.readLine()) != null) {
-                String[] strs = line.split(Config.getCSVFILESEPARATOR());
+                String[] strs = line.split(getRunConfig().getCSVFILESEPARATOR());
                 List<Double> data = new ArrayList<Double>();
                 if (strs != null && strs.length > 0) {
 
@@ -281,7 +326,8 @@ public class MSNBCDao extends AbstractDaoInput {
         System.out.println("Count = " + count);
         System.out.println("Max Length = " + maxlength);
 
-        IOOperation.writeDataAsCSVFile(res, new File("dataset" + File.separator + "msnbcDataRemoveOutliers(higherthan13lessthan500).csv").getAbsolutePath());
+        IOOperation.writeDataAsCSVFile(res, new File("dataset" + File.separator + "msnbcDataRemoveOutliers(higherthan13lessthan500).csv").getAbsolutePath(),
+                getRunConfig().getCSVFILESEPARATOR());
 
 
     }
@@ -292,7 +338,7 @@ public class MSNBCDao extends AbstractDaoInput {
      * @param args user input
      */
     public static void main(String[] args) {
-        MSNBCDao test = new MSNBCDao();
+        MSNBCDao test = new MSNBCDao(RunConfig.fromConfig());
 
         // preprocess original MSNBC dataset
         test.removeOutliers(Config.getWEBUSERNAVIGATIONBEHAVIORDATASETFILEPATH(), Config.getWEBUSERNAVIGATIONBEHAVIORDATALENGTHFILEPATH());
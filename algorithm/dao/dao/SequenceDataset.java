@@ -0,0 +1,510 @@
+package dao;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.logging.Logger;
+
+/**
+ * Project: DCDMC
+ * Package: dao
+ * Date: 17/Oct/2026
+ * Time: 17:30
+ * System Time: 5:30 PM
+ */
+
+/*
+    Columnar store of variable-length sequences.
+
+    All values are kept in one flat primitive buffer, and sequence i occupies [offsets[i], offsets[i + 1]).
+    While every value is a small non-negative integer (a state No.), the buffer is a byte[]; the first other value
+    promotes it to a double[]. Subsets share the buffers and only hold the indices of their sequences, so views are
+    zero-copy and cheap to create per cluster or per scoring chunk. Values are appended only to the root dataset.
+ */
+public class SequenceDataset {
+
+    private static final Logger LOGGER = Logger.getLogger(SequenceDataset.class.getName());
+
+    private static final int INITIALCAPACITY = 1024;
+    private static final int MAXSYMBOL = Byte.MAX_VALUE; // largest value stored as a byte
+
+    // shared buffers, replaced by larger ones while the root dataset grows
+    private byte[] mSymbols; // values as bytes, null once promoted
+    private double[] mValues; // values as doubles, null while symbolic
+    private int[] mOffsets; // start of each sequence, mOffsets[mSequenceNum] is the end of the last one
+    private int mLength; // the number of values
+    private int mSequenceNum; // the number of sequences in the buffers
+
+    // view over the buffers
+    private final boolean mRoot; // true if values can be appended
+    private final int[] mIndices; // sequences of the view, null for the range [mFrom, mFrom + mSize)
+    private final int mFrom;
+    private final int mSize;
+
+    /**
+     * class constructor of an empty root dataset
+     */
+    public SequenceDataset() {
+        this.mSymbols = new byte[INITIALCAPACITY];
+        this.mValues = null;
+        this.mOffsets = new int[INITIALCAPACITY];
+        this.mLength = 0;
+        this.mSequenceNum = 0;
+        this.mRoot = true;
+        this.mIndices = null;
+        this.mFrom = 0;
+        this.mSize = 0;
+    }
+
+    /**
+     * class constructor of a view
+     * @param parent dataset whose buffers are shared
+     * @param indices sequences of the view in the buffers, null for a range
+     * @param from the first sequence of a range
+     * @param size the number of sequences in the view
+     */
+    private SequenceDataset(SequenceDataset parent, int[] indices, int from, int size) {
+        this.mSymbols = parent.mSymbols;
+        this.mValues = parent.mValues;
+        this.mOffsets = parent.mOffsets;
+        this.mLength = parent.mLength;
+        this.mSequenceNum = parent.mSequenceNum;
+        this.mRoot = false;
+        this.mIndices = indices;
+        this.mFrom = from;
+        this.mSize = size;
+    }
+
+    /**
+     * Build a dataset from a list of list of doubles
+     * @param instances list of list of doubles
+     * @return a dataset, null if the instances are null
+     */
+    public static SequenceDataset fromLists(List<List<Double>> instances) {
+        if (instances == null) {
+            LOGGER.info("The instances are null!");
+            return null;
+        }
+
+        SequenceDataset dataset = new SequenceDataset();
+        for (int i = 0; i < instances.size(); i++) {
+            dataset.add(instances.get(i));
+        }
+        return dataset;
+    }
+
+    /**
+     * Build a dataset from a two-dimensional array, each row is a sequence
+     * @param instances two-dimensional array
+     * @return a dataset, null if the instances are null
+     */
+    public static SequenceDataset fromArray(double[][] instances) {
+        if (instances == null) {
+            LOGGER.info("The instances are null!");
+            return null;
+        }
+
+        SequenceDataset dataset = new SequenceDataset();
+        for (int i = 0; i < instances.length; i++) {
+            dataset.add(instances[i], 0, instances[i].length);
+        }
+        return dataset;
+    }
+
+    /**
+     * Append a sequence
+     * @param sequence values of the sequence
+     */
+    public void add(List<Double> sequence) {
+        int N = sequence.size();
+        for (int j = 0; j < N; j++) {
+            append(sequence.get(j));
+        }
+        endSequence();
+    }
+
+    /**
+     * Append a sequence
+     * @param values buffer holding the sequence
+     * @param from the first value of the sequence
+     * @param length the length of the sequence
+     */
+    public void add(double[] values, int from, int length) {
+        for (int j = from; j < from + length; j++) {
+            append(values[j]);
+        }
+        endSequence();
+    }
+
+    /**
+     * Append a value to the current sequence, which is ended by endSequence()
+     * @param value the value
+     */
+    public void append(double value) {
+        if (!this.mRoot) {
+            throw new UnsupportedOperationException("A view of a dataset cannot be modified!");
+        }
+
+        if (this.mSymbols != null && (value < 0 || value > MAXSYMBOL || value != (int) value)) {
+            promote();
+        }
+
+        if (this.mSymbols != null) {
+            if (this.mLength == this.mSymbols.length) {
+                this.mSymbols = grow(this.mSymbols);
+            }
+            this.mSymbols[this.mLength++] = (byte) value;
+        } else {
+            if (this.mLength == this.mValues.length) {
+                this.mValues = grow(this.mValues);
+            }
+            this.mValues[this.mLength++] = value;
+        }
+    }
+
+    /**
+     * End the current sequence, the values appended since the last call form a new sequence
+     */
+    public void endSequence() {
+        if (!this.mRoot) {
+            throw new UnsupportedOperationException("A view of a dataset cannot be modified!");
+        }
+
+        if (this.mSequenceNum + 1 == this.mOffsets.length) {
+            int[] offsets = new int[2 * this.mOffsets.length];
+            System.arraycopy(this.mOffsets, 0, offsets, 0, this.mOffsets.length);
+            this.mOffsets = offsets;
+        }
+        this.mOffsets[++this.mSequenceNum] = this.mLength;
+    }
+
+    /**
+     * Release the unused capacity of the buffers once all sequences are added
+     */
+    public void trimToSize() {
+        if (this.mSymbols != null && this.mSymbols.length > this.mLength) {
+            byte[] symbols = new byte[this.mLength];
+            System.arraycopy(this.mSymbols, 0, symbols, 0, this.mLength);
+            this.mSymbols = symbols;
+        }
+        if (this.mValues != null && this.mValues.length > this.mLength) {
+            double[] values = new double[this.mLength];
+            System.arraycopy(this.mValues, 0, values, 0, this.mLength);
+            this.mValues = values;
+        }
+        if (this.mOffsets.length > this.mSequenceNum + 1) {
+            int[] offsets = new int[this.mSequenceNum + 1];
+            System.arraycopy(this.mOffsets, 0, offsets, 0, this.mSequenceNum + 1);
+            this.mOffsets = offsets;
+        }
+    }
+
+    /**
+     * Switch the buffer from bytes to doubles
+     */
+    private void promote() {
+        this.mValues = new double[Math.max(INITIALCAPACITY, this.mSymbols.length)];
+        for (int k = 0; k < this.mLength; k++) {
+            this.mValues[k] = this.mSymbols[k];
+        }
+        this.mSymbols = null;
+    }
+
+    /**
+     * Double the capacity of a buffer
+     * @param buffer buffer
+     * @return a larger copy
+     */
+    private static byte[] grow(byte[] buffer) {
+        byte[] res = new byte[2 * buffer.length];
+        System.arraycopy(buffer, 0, res, 0, buffer.length);
+        return res;
+    }
+
+    /**
+     * Double the capacity of a buffer
+     * @param buffer buffer
+     * @return a larger copy
+     */
+    private static double[] grow(double[] buffer) {
+        double[] res = new double[2 * buffer.length];
+        System.arraycopy(buffer, 0, res, 0, buffer.length);
+        return res;
+    }
+
+    /**
+     * The position of a sequence in the buffers
+     * @param i sequence No. in this dataset
+     * @return sequence No. in the buffers
+     */
+    private int index(int i) {
+        if (i < 0 || i >= size()) {
+            throw new IndexOutOfBoundsException("Sequence " + i + " of " + size());
+        }
+        return this.mIndices == null ? this.mFrom + i : this.mIndices[i];
+    }
+
+    /**
+     * The number of sequences
+     * @return the number of sequences
+     */
+    public int size() {
+        return this.mRoot ? this.mSequenceNum : this.mSize;
+    }
+
+    /**
+     * The total number of values of all sequences in this dataset
+     * @return the number of values
+     */
+    public long getValueNum() {
+        if (this.mRoot) return this.mLength;
+
+        long total = 0;
+        for (int i = 0; i < this.mSize; i++) {
+            total += length(i);
+        }
+        return total;
+    }
+
+    /**
+     * true if all values are small non-negative integers stored as bytes
+     * @return true for symbolic data
+     */
+    public boolean isSymbolic() {
+        return this.mSymbols != null;
+    }
+
+    /**
+     * The length of a sequence
+     * @param i sequence No.
+     * @return the length of the sequence
+     */
+    public int length(int i) {
+        int k = index(i);
+        return this.mOffsets[k + 1] - this.mOffsets[k];
+    }
+
+    /**
+     * The value at a position of a sequence
+     * @param i sequence No.
+     * @param j position in the sequence
+     * @return the value
+     */
+    public double get(int i, int j) {
+        int offset = this.mOffsets[index(i)] + j;
+        return this.mSymbols != null ? this.mSymbols[offset] : this.mValues[offset];
+    }
+
+    /**
+     * The state at a position of a sequence, the value is truncated to an integer
+     * @param i sequence No.
+     * @param j position in the sequence
+     * @return the state
+     */
+    public int getState(int i, int j) {
+        int offset = this.mOffsets[index(i)] + j;
+        return this.mSymbols != null ? this.mSymbols[offset] : (int) this.mValues[offset];
+    }
+
+    /**
+     * Copy the states of a sequence into an array
+     * @param i sequence No.
+     * @param states destination, at least length(i) long
+     * @return the length of the sequence
+     */
+    public int getStates(int i, int[] states) {
+        int k = index(i);
+        int offset = this.mOffsets[k];
+        int N = this.mOffsets[k + 1] - offset;
+        if (this.mSymbols != null) {
+            for (int j = 0; j < N; j++) states[j] = this.mSymbols[offset + j];
+        } else {
+            for (int j = 0; j < N; j++) states[j] = (int) this.mValues[offset + j];
+        }
+        return N;
+    }
+
+    /**
+     * Copy a sequence into a new double array
+     * @param i sequence No.
+     * @return values of the sequence
+     */
+    public double[] toDoubleArray(int i) {
+        int k = index(i);
+        int offset = this.mOffsets[k];
+        double[] res = new double[this.mOffsets[k + 1] - offset];
+        for (int j = 0; j < res.length; j++) {
+            res[j] = this.mSymbols != null ? this.mSymbols[offset + j] : this.mValues[offset + j];
+        }
+        return res;
+    }
+
+    /**
+     * Copy a sequence into a new integer array
+     * @param i sequence No.
+     * @return states of the sequence
+     */
+    public int[] toIntArray(int i) {
+        int[] res = new int[length(i)];
+        getStates(i, res);
+        return res;
+    }
+
+    /**
+     * The maximum length among sequences
+     * @return the maximum length, 0 if empty
+     */
+    public int getMaxLength() {
+        int maxLength = 0;
+        for (int i = 0; i < size(); i++) {
+            maxLength = Math.max(maxLength, length(i));
+        }
+        return maxLength;
+    }
+
+    /**
+     * A zero-copy view over a sequence
+     * @param i sequence No.
+     * @return the sequence
+     */
+    public Sequence getSequence(int i) {
+        int k = index(i);
+        return new Sequence(this.mOffsets[k], this.mOffsets[k + 1] - this.mOffsets[k]);
+    }
+
+    /**
+     * A zero-copy view over some sequences
+     * @param indices sequence No. in this dataset, in the order of the view
+     * @return the view
+     */
+    public SequenceDataset subset(int[] indices) {
+        int[] res = new int[indices.length];
+        for (int i = 0; i < indices.length; i++) {
+            res[i] = index(indices[i]);
+        }
+        return new SequenceDataset(this, res, 0, res.length);
+    }
+
+    /**
+     * A zero-copy view over a range of sequences
+     * @param from the first sequence, inclusive
+     * @param to the last sequence, exclusive
+     * @return the view
+     */
+    public SequenceDataset subset(int from, int to) {
+        if (from < 0 || to > size() || from > to) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") of " + size());
+        }
+
+        if (this.mIndices == null) {
+            return new SequenceDataset(this, null, this.mFrom + from, to - from);
+        }
+
+        int[] res = new int[to - from];
+        System.arraycopy(this.mIndices, from, res, 0, res.length);
+        return new SequenceDataset(this, res, 0, res.length);
+    }
+
+    /**
+     * A zero-copy list of list of doubles view for code which still works on lists, values are boxed on access
+     * @return read-only list view
+     */
+    public List<List<Double>> asLists() {
+        return new SequenceList();
+    }
+
+    /**
+     * A sequence of a dataset, it shares the buffers of the dataset
+     */
+    public final class Sequence extends AbstractList<Double> implements RandomAccess {
+
+        private final int mOffset; // the first value in the buffers
+        private final int mSequenceLength;
+
+        /**
+         * class constructor
+         * @param offset the first value in the buffers
+         * @param length the length of the sequence
+         */
+        private Sequence(int offset, int length) {
+            this.mOffset = offset;
+            this.mSequenceLength = length;
+        }
+
+        /**
+         * The length of the sequence
+         * @return the length
+         */
+        public int length() {
+            return this.mSequenceLength;
+        }
+
+        /**
+         * The value at a position
+         * @param j position
+         * @return the value
+         */
+        public double getValue(int j) {
+            return SequenceDataset.this.mSymbols != null ? SequenceDataset.this.mSymbols[this.mOffset + j]
+                    : SequenceDataset.this.mValues[this.mOffset + j];
+        }
+
+        /**
+         * The state at a position, the value is truncated to an integer
+         * @param j position
+         * @return the state
+         */
+        public int getState(int j) {
+            return SequenceDataset.this.mSymbols != null ? SequenceDataset.this.mSymbols[this.mOffset + j]
+                    : (int) SequenceDataset.this.mValues[this.mOffset + j];
+        }
+
+        @Override
+        public Double get(int j) {
+            if (j < 0 || j >= this.mSequenceLength) {
+                throw new IndexOutOfBoundsException("Position " + j + " of " + this.mSequenceLength);
+            }
+            return getValue(j);
+        }
+
+        @Override
+        public int size() {
+            return this.mSequenceLength;
+        }
+    }
+
+    /**
+     * List view over all sequences of a dataset
+     */
+    private final class SequenceList extends AbstractList<List<Double>> implements RandomAccess {
+
+        @Override
+        public List<Double> get(int i) {
+            return getSequence(i);
+        }
+
+        @Override
+        public int size() {
+            return SequenceDataset.this.size();
+        }
+    }
+
+    /**
+     * test
+     * @param args user input
+     */
+    public static void main(String[] args) {
+        SequenceDataset test = new SequenceDataset();
+        test.add(new double[] {1, 1, 2, 3}, 0, 4);
+        test.add(new double[] {2, 2}, 0, 2);
+        test.add(new double[] {3, 1, 1}, 0, 3);
+        System.out.println(test.size() + " sequences, symbolic: " + test.isSymbolic() + ", " + test.asLists());
+
+        SequenceDataset view = test.subset(new int[] {2, 0});
+        System.out.println(view.size() + " sequences: " + view.asLists() + ", " + view.subset(1, 2).asLists());
+
+        test.add(new double[] {0.5, 1.5}, 0, 2);
+        System.out.println(test.size() + " sequences, symbolic: " + test.isSymbolic() + ", " + test.asLists());
+        System.out.println("The view is unchanged: " + view.asLists());
+    }
+}
@@ -0,0 +1,368 @@
+package dao;
+
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.logging.Logger;
+
+/**
+ * Project: DCDMC
+ * Package: dao
+ * Date: 17/Oct/2026
+ * Time: 18:10
+ * System Time: 6:10 PM
+ */
+
+/*
+    Streaming reader of sequence files into a SequenceDataset.
+
+    Bytes are read through a file channel into a direct buffer and tokenized in place, so no line strings, split
+    arrays or boxed values are created. Integer tokens are parsed directly from the bytes, other tokens fall back to
+    Double.parseDouble. Sequences are never padded.
+    Two layouts are supported:
+        one sequence per line, values separated by the separator;
+        one value per line in a data file, with the sequence lengths in a second file (msnbcData.csv + msnbcLengths.csv).
+ */
+public class SequenceStreamReader implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(SequenceStreamReader.class.getName());
+
+    private static final int BUFFERSIZE = 1 << 20; // bytes per read
+    private static final int ENDOFFILE = -1;
+    private static final int ENDOFLINE = 0;
+    private static final int VALUE = 1;
+
+    private final String mPath; // file path, for error messages
+    private final FileChannel mChannel;
+    private final ByteBuffer mBuffer;
+    private final byte mSeparator; // value separator
+    private boolean mEndOfFile; // true once the channel is exhausted
+    private boolean mPendingEndOfLine; // a value token was ended by a line break
+    private int mLineNum; // line of the current token, from 1
+
+    // current token
+    private byte[] mToken;
+    private int mTokenLength;
+    private double mValue;
+
+    /**
+     * class constructor
+     * @param path file path
+     * @param separator value separator, a single character
+     * @throws IOException if the file cannot be opened
+     */
+    public SequenceStreamReader(String path, String separator) throws IOException {
+        if (separator == null || separator.length() != 1) {
+            LOGGER.info("The separator should be a single character, \",\" is used instead of: " + separator);
+            separator = ",";
+        }
+
+        this.mPath = path;
+        this.mChannel = new FileInputStream(path).getChannel();
+        this.mBuffer = ByteBuffer.allocateDirect(BUFFERSIZE);
+        this.mBuffer.flip(); // empty until the first read
+        this.mSeparator = (byte) separator.charAt(0);
+        this.mEndOfFile = false;
+        this.mPendingEndOfLine = false;
+        this.mLineNum = 1;
+        this.mToken = new byte[64];
+        this.mTokenLength = 0;
+        this.mValue = 0;
+    }
+
+    /**
+     * Read a file with one sequence per line
+     * @param path file path
+     * @param separator value separator
+     * @return a dataset, null if the file cannot be read
+     */
+    public static SequenceDataset read(String path, String separator) {
+        SequenceDataset dataset = new SequenceDataset();
+        SequenceStreamReader reader = null;
+        try {
+            reader = new SequenceStreamReader(path, separator);
+            while (reader.readSequence(dataset)) {
+                // sequences are appended into the dataset
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            dataset = null;
+        } finally {
+            closeQuietly(reader);
+        }
+
+        if (dataset != null) dataset.trimToSize();
+        return dataset;
+    }
+
+    /**
+     * Read a data file with one value per line, which is split into sequences by a file of sequence lengths
+     * @param dataPath data file path
+     * @param lengthPath file path of sequence lengths, one length per line
+     * @return a dataset, null if the files cannot be read
+     */
+    public static SequenceDataset readIndexed(String dataPath, String lengthPath) {
+        SequenceDataset dataset = new SequenceDataset();
+        SequenceStreamReader data = null;
+        SequenceStreamReader lengths = null;
+        try {
+            data = new SequenceStreamReader(dataPath, "\n");
+            lengths = new SequenceStreamReader(lengthPath, "\n");
+
+            int token;
+            while ((token = lengths.next()) != ENDOFFILE) {
+                if (token != VALUE) continue;
+
+                int length = (int) lengths.mValue;
+                int count = data.readValues(dataset, length);
+                dataset.endSequence();
+                if (count < length) {
+                    LOGGER.info("The data file is shorter than the sequence lengths, the last sequence is truncated!");
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            dataset = null;
+        } finally {
+            closeQuietly(data);
+            closeQuietly(lengths);
+        }
+
+        if (dataset != null) dataset.trimToSize();
+        return dataset;
+    }
+
+    /**
+     * Read a file with one sequence per line as chunks of sequences, only one chunk is held at a time.
+     * The file is closed once the last chunk is delivered.
+     * @param path file path
+     * @param separator value separator
+     * @param chunkSize the maximum number of sequences per chunk
+     * @return an iterator of chunks, each chunk is a separate dataset
+     * @throws IOException if the file cannot be opened
+     */
+    public static Iterator<SequenceDataset> chunks(String path, String separator, final int chunkSize) throws IOException {
+        final SequenceStreamReader reader = new SequenceStreamReader(path, separator);
+
+        return new Iterator<SequenceDataset>() {
+
+            private SequenceDataset mNext = null; // read-ahead chunk
+
+            @Override
+            public boolean hasNext() {
+                if (this.mNext == null && reader.mChannel.isOpen()) {
+                    SequenceDataset chunk = new SequenceDataset();
+                    try {
+                        while (chunk.size() < chunkSize && reader.readSequence(chunk)) {
+                            // sequences are appended into the chunk
+                        }
+                    } catch (IOException e) {
+                        e.printStackTrace();
+                    }
+
+                    if (chunk.size() < chunkSize) closeQuietly(reader); // the file is exhausted or failed
+                    if (chunk.size() > 0) {
+                        chunk.trimToSize();
+                        this.mNext = chunk;
+                    }
+                }
+                return this.mNext != null;
+            }
+
+            @Override
+            public SequenceDataset next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                SequenceDataset chunk = this.mNext;
+                this.mNext = null;
+                return chunk;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException("Chunks cannot be removed!");
+            }
+        };
+    }
+
+    /**
+     * Append the next non-empty line as a sequence
+     * @param dataset dataset to append to
+     * @return false at the end of the file
+     * @throws IOException if the file cannot be read
+     */
+    public boolean readSequence(SequenceDataset dataset) throws IOException {
+        int count = 0;
+        while (true) {
+            int token = next();
+            if (token == VALUE) {
+                dataset.append(this.mValue);
+                count++;
+            } else if (count > 0) {
+                dataset.endSequence();
+                return true;
+            } else if (token == ENDOFFILE) {
+                return false;
+            }
+            // empty lines are skipped
+        }
+    }
+
+    /**
+     * Append values into the current sequence of a dataset regardless of line breaks
+     * @param dataset dataset to append to
+     * @param n the number of values
+     * @return the number of values appended, less than n at the end of the file
+     * @throws IOException if the file cannot be read
+     */
+    public int readValues(SequenceDataset dataset, int n) throws IOException {
+        int count = 0;
+        while (count < n) {
+            int token = next();
+            if (token == VALUE) {
+                dataset.append(this.mValue);
+                count++;
+            } else if (token == ENDOFFILE) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Read the next token
+     * @return VALUE with the value in mValue, ENDOFLINE or ENDOFFILE
+     * @throws IOException if the file cannot be read
+     */
+    private int next() throws IOException {
+        if (this.mPendingEndOfLine) {
+            this.mPendingEndOfLine = false;
+            return ENDOFLINE;
+        }
+
+        this.mTokenLength = 0;
+        while (true) {
+            if (!this.mBuffer.hasRemaining() && !fill()) {
+                if (this.mTokenLength > 0) {
+                    parseToken();
+                    return VALUE;
+                }
+                return ENDOFFILE;
+            }
+
+            byte b = this.mBuffer.get();
+            if (b == this.mSeparator || b == '\n') {
+                if (this.mTokenLength > 0) {
+                    parseToken();
+                    if (b == '\n') this.mLineNum++;
+                    this.mPendingEndOfLine = b == '\n' && this.mSeparator != '\n';
+                    return VALUE;
+                }
+                if (b == '\n') this.mLineNum++;
+                if (b == '\n' && this.mSeparator != '\n') return ENDOFLINE;
+            } else if (b != '\r' && b != ' ' && b != '\t') {
+                if (this.mTokenLength == this.mToken.length) {
+                    byte[] token = new byte[2 * this.mToken.length];
+                    System.arraycopy(this.mToken, 0, token, 0, this.mTokenLength);
+                    this.mToken = token;
+                }
+                this.mToken[this.mTokenLength++] = b;
+            }
+        }
+    }
+
+    /**
+     * Parse the current token, integers directly from the bytes and other numbers by Double.parseDouble
+     * @throws IOException if the token is not a number
+     */
+    private void parseToken() throws IOException {
+        int start = this.mToken[0] == '-' || this.mToken[0] == '+' ? 1 : 0;
+        long number = 0;
+        boolean integral = this.mTokenLength > start && this.mTokenLength - start < 18;
+        for (int k = start; k < this.mTokenLength && integral; k++) {
+            int digit = this.mToken[k] - '0';
+            if (digit < 0 || digit > 9) integral = false;
+            number = 10 * number + digit;
+        }
+
+        if (integral) {
+            this.mValue = this.mToken[0] == '-' ? -number : number;
+        } else {
+            String token = new String(this.mToken, 0, this.mTokenLength);
+            try {
+                this.mValue = Double.parseDouble(token);
+            } catch (NumberFormatException e) {
+                throw new IOException("Malformed value \"" + token + "\" at line " + this.mLineNum + " of " + this.mPath);
+            }
+        }
+    }
+
+    /**
+     * Read the next block of the file into the buffer
+     * @return false at the end of the file
+     * @throws IOException if the file cannot be read
+     */
+    private boolean fill() throws IOException {
+        if (this.mEndOfFile) return false;
+
+        this.mBuffer.clear();
+        int n = 0;
+        while (n == 0) {
+            n = this.mChannel.read(this.mBuffer);
+        }
+        this.mBuffer.flip();
+
+        if (n < 0) {
+            this.mEndOfFile = true;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Close the file
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        this.mChannel.close();
+    }
+
+    /**
+     * Close a reader and report failures
+     * @param reader reader, may be null
+     */
+    private static void closeQuietly(SequenceStreamReader reader) {
+        if (reader == null) return;
+        try {
+            reader.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * test
+     * @param args dataPath [lengthPath]
+     */
+    public static void main(String[] args) {
+        if (args == null || args.length < 1) {
+            LOGGER.info("Usage: SequenceStreamReader dataPath [lengthPath]");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        SequenceDataset dataset = args.length > 1 ? readIndexed(args[0], args[1]) : read(args[0], ",");
+        if (dataset == null) return;
+
+        System.out.println("Read " + dataset.size() + " sequences, " + dataset.getValueNum() + " values, symbolic: "
+                + dataset.isSymbolic() + ", max length: " + dataset.getMaxLength() + " in "
+                + (System.currentTimeMillis() - start) + " ms.");
+    }
+}
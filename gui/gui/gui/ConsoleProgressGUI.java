@@ -1,15 +1,19 @@
 package gui;
 
-import Utilities.IOOperation;
-import initializer.dtws.IDTW;
-import starter.Config;
+import initializer.distancematrix.DistanceMatrix;
+import initializer.distancematrix.DistanceMatrixCheckpoint;
+import initializer.distancematrix.DistanceMatrixEngine;
+import initializer.distancematrix.DistanceMatrixIO;
+import initializer.distancematrix.IProgressListener;
+import initializer.distancematrix.PRECISION;
+import initializer.dtws.IDTWFactory;
+import starter.RunConfig;
 
 import javax.swing.*;
 import java.awt.*;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.List;
-import java.util.Random;
 import java.util.logging.Logger;
 
 /**
@@ -32,10 +36,12 @@ public class ConsoleProgressGUI extends JFrame implements PropertyChangeListener
 
     //------------------- Data Variable -------------------//
     private int progressLength;
-    private double[][] distanceMatrix;
-    private IDTW idtw;
+    private DistanceMatrix distanceMatrix;
+    private IDTWFactory idtwFactory;
     private List<List<Double>> instances;
     private boolean flag;
+    private boolean checkpointed; // true if the matrix was computed into its file
+    private RunConfig runConfig; // configuration of the run
 
     /**
      * Task is used to invoke a background thread of doing a lont-time task
@@ -46,35 +52,42 @@ public class ConsoleProgressGUI extends JFrame implements PropertyChangeListener
          */
         @Override
         public Void doInBackground() {
-            Random random = new Random();
-            int progress = 0;
             //Initialize progress property.
             setProgress(0);
             consoleTextArea.append("\n ||------- Distance Calculation Begins ------||\n");
 
-            // Compute the distance matrix
-            for (int i = 0; i < progressLength; i++) {
-                for (int j = i + 1; j < progressLength; j++) {
-
-                    // get the dynamic time warping distance between two sequences
-                    distanceMatrix[i][j] = idtw.computeDistance(instances.get(i), instances.get(j));
-
-                    // get the optimal warping path between two sequences
-                    // List<List<Integer>> optimalPath = idtw.computePath(null, null);
-
-                    // here assume it guarantees the symmetric feature for DTW
-                    if (j < progressLength && i < progressLength) distanceMatrix[j][i] = distanceMatrix[i][j];
-
+            // Compute the distance matrix tile by tile on a fork-join pool
+            DistanceMatrixEngine engine = new DistanceMatrixEngine(idtwFactory);
+            engine.setProgressListener(new IProgressListener() {
+                @Override
+                public void progressChanged(long finishedPairs, long totalPairs) {
+                    setProgress((int) Math.min(100, 100 * finishedPairs / Math.max(1, totalPairs)));
                 }
+            });
+
+            // binary matrices are computed straight into their file and resume from its checkpoint
+            String path = runConfig.getDISTANCEMATRIXFILEPATH();
+            PRECISION precision = PRECISION.valueOf(runConfig.getDISTANCEMATRIXPRECISION());
+            DistanceMatrixCheckpoint checkpoint = null;
+            if (path != null && path.length() > 0 && !path.toLowerCase().endsWith(".txt")) {
+                checkpoint = DistanceMatrixCheckpoint.open(path, instances, precision,
+                        DistanceMatrixEngine.DEFAULTTILESIZE, runConfig.getDTWTYPE(),
+                        DistanceMatrixIO.computeChecksum(runConfig.getDATASETPATH()),
+                        DistanceMatrixCheckpoint.DEFAULTINTERVAL);
+            }
 
-                System.out.println("            The instance [ " + i + " ] is done.");
-
-                // approximately estimate the time complexity of mapping 244 instances into 100 instances.
-                if (i % 2 == 0) {
-                    progress++;
-                    setProgress(Math.min(progress, 100));
+            if (checkpoint != null) {
+                if (checkpoint.getResumedTileNum() > 0) {
+                    consoleTextArea.append(String.format("       Resumed %d of %d tiles.\n",
+                            checkpoint.getResumedTileNum(), checkpoint.getTileNum()));
                 }
+                distanceMatrix = engine.computeDistanceMatrix(instances, checkpoint);
+                checkpoint.close();
+                checkpointed = true;
+            } else {
+                distanceMatrix = engine.computeDistanceMatrix(instances, precision);
             }
+
             setProgress(100);
             flag = true;
             return null;
@@ -89,8 +102,12 @@ public class ConsoleProgressGUI extends JFrame implements PropertyChangeListener
             setCursor(null); //turn off the wait cursor
             consoleTextArea.append("\n ||-------- Distance Calculation Ends -------||\n");
 
-            // save distance matrix into file
-            IOOperation.writeFile(distanceMatrix, Config.getDISTANCEMATRIXFILEPATH());
+            // save distance matrix into file, binary unless the path is a text file; a checkpointed matrix is
+            // already in its file
+            if (!checkpointed) {
+                DistanceMatrixIO.write(distanceMatrix, runConfig.getDISTANCEMATRIXFILEPATH(), runConfig.getDTWTYPE(),
+                        DistanceMatrixIO.computeChecksum(runConfig.getDATASETPATH()));
+            }
             flag = true;
 
             LOGGER.info("Initialization Ends");
@@ -109,9 +126,9 @@ public class ConsoleProgressGUI extends JFrame implements PropertyChangeListener
 
     /**
      * Getter for distance matrix
-     * @return distance matrix
+     * @return condensed distance matrix
      */
-    public double[][] getDistanceMatrix() {
+    public DistanceMatrix getDistanceMatrix() {
         return this.distanceMatrix;
     }
 
@@ -131,16 +148,22 @@ public class ConsoleProgressGUI extends JFrame implements PropertyChangeListener
      * class constructor
      * @param taskName task name
      * @param progressLength the maximum of progress length
+     * @param instances instance dataset
+     * @param idtwFactory the factory of dynamic time warping instances, one instance per worker thread
+     * @param runConfig configuration of the run, which names the distance matrix file
      */
-    public ConsoleProgressGUI(String taskName, int progressLength, List<List<Double>> instances, IDTW idtw) {
+    public ConsoleProgressGUI(String taskName, int progressLength, List<List<Double>> instances, IDTWFactory idtwFactory,
+                              RunConfig runConfig) {
         super("Console Progress Monitor - " + taskName);
 
         //---------------------- Initialize Data Variable ---------------------//
-        this.distanceMatrix = new double[progressLength][progressLength];
+        this.distanceMatrix = null;
         this.progressLength = progressLength;
-        this.idtw = idtw;
+        this.idtwFactory = idtwFactory;
         this.instances = instances;
         this.flag = false;
+        this.checkpointed = false;
+        this.runConfig = runConfig;
 
         consolePanel.setOpaque(true);
         setContentPane(consolePanel);
@@ -15,6 +15,7 @@ import dao.IDAO;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.title.TextTitle;
 import starter.Config;
+import starter.RunConfig;
 import umontreal.iro.lecuyer.charts.XYListSeriesCollection;
 
 import javax.swing.*;
@@ -51,7 +52,7 @@ public class DataClusterDistributionGraphGUI extends JPanel implements ActionLis
         gridBagConstraints.gridy = 1;
 
         // get data source
-        this.idao = DaoFactory.getInstance().createData(DATATYPE.valueOf(Config.getDATASETTYPE()));
+        this.idao = DaoFactory.getInstance().createData(DATATYPE.valueOf(Config.getDATASETTYPE()), RunConfig.fromConfig());
         this.instances = this.idao.getDataSourceAsLists(Config.getDATASETPATH(), String.valueOf(Config.getSTATENUM()));
 
         // get data distribution for each cluster label